@@ -0,0 +1,87 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.janus.simple.Bucketizer;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigning a million instants of 2000 to 2020 to days and months, one at a time through the factories and in
+ * bulk through a Bucketizer, in a zone with daylight saving time.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BucketizerBenchmark {
+
+    private static final int COUNT = 1000000;
+
+    @Param({"America/New_York", "UTC"})
+    public String zone;
+
+    private long[] millis;
+    private int[] indices;
+    private Bucketizer<Day> days;
+    private Bucketizer<Month> months;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(17);
+        millis = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            millis[i] = 946684800000L + (long) (random.nextDouble() * 20 * 365.25 * 24 * 60 * 60 * 1000);
+        }
+        indices = new int[COUNT];
+        days = Bucketizer.create(Day.class, ZoneId.of(zone));
+        months = Bucketizer.create(Month.class, ZoneId.of(zone));
+    }
+
+    @Benchmark
+    public Object createDays() {
+        ZoneId zoneId = ZoneId.of(zone);
+        Day last = null;
+        for (long instant : millis) {
+            last = Day.create(new Date(instant), zoneId);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public int[] bucketizeDays() {
+        days.bucketize(millis, 0, indices, 0, COUNT);
+        return indices;
+    }
+
+    @Benchmark
+    public int[] bucketizeMonths() {
+        months.bucketize(millis, 0, indices, 0, COUNT);
+        return indices;
+    }
+
+    @Benchmark
+    public int[] parallelBucketizeDays() {
+        days.parallelBucketize(millis, 0, indices, 0, COUNT);
+        return indices;
+    }
+}
@@ -0,0 +1,63 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.plutus.CurrencyExchange;
+import org.paritybits.pantheon.plutus.exchange.CachingExchange;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate lookups through one CachingExchange shared by several threads.  The pairs are all cached after the
+ * first few calls, so this measures the contention on the cache's read path.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CachingExchangeBenchmark {
+
+    private static final String[] CODES = {
+            "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD", "SEK", "NOK", "DKK", "HKD"};
+
+    private Currency[] currencies;
+    private CachingExchange exchange;
+
+    @Setup
+    public void setUp() {
+        currencies = new Currency[CODES.length];
+        for (int i = 0; i < CODES.length; i++) {
+            currencies[i] = Currency.getInstance(CODES[i]);
+        }
+        exchange = new CachingExchange(new CurrencyExchange() {
+            public BigDecimal calculateExchangeRate(Currency from, Currency to) {
+                return new BigDecimal(from.getCurrencyCode().charAt(0) + "." + to.getCurrencyCode().charAt(0));
+            }
+        });
+    }
+
+    @Benchmark
+    public BigDecimal lookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return exchange.calculateExchangeRate(currencies[random.nextInt(currencies.length)],
+                currencies[random.nextInt(currencies.length)]);
+    }
+}
@@ -0,0 +1,56 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.plutus.Money;
+import org.paritybits.pantheon.plutus.calculations.FinancialCalculator;
+import org.paritybits.pantheon.plutus.returns.FixedRate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compounding a fixed monthly rate over ranges of months.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinancialCalculatorBenchmark {
+
+    @Param({"12", "120"})
+    public int months;
+
+    private FixedRate rate;
+    private Range<Month> range;
+    private Money startingValue;
+
+    @Setup
+    public void setUp() {
+        rate = FixedRate.create(Percentage.valueOf("0.5%"));
+        Month first = Month.valueOf("2000-01");
+        range = Range.create(first, first.roll(months - 1));
+        startingValue = Money.valueOf("10000 USD");
+    }
+
+    @Benchmark
+    public Money compoundedReturns() {
+        return FinancialCalculator.compoundedReturns(rate, range, startingValue);
+    }
+}
@@ -0,0 +1,61 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.plutus.Money;
+import org.paritybits.pantheon.plutus.MoneyBag;
+import org.paritybits.pantheon.workloads.MoneyPostings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totalling a ledger of generated postings into a MoneyBag, with the postings spread over the default 32
+ * currencies or skewed harder towards the first few.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerBenchmark {
+
+    @Param({"1.1", "2.0"})
+    public double currencySkew;
+
+    @Param({"10000"})
+    public int postings;
+
+    private List<Money> ledger;
+
+    @Setup
+    public void setUp() {
+        ledger = new ArrayList<Money>(postings);
+        for (Money money : MoneyPostings.create(42, postings).withCurrencySkew(currencySkew)) {
+            ledger.add(money);
+        }
+    }
+
+    @Benchmark
+    public MoneyBag total() {
+        MoneyBag total = MoneyBag.emptyBag();
+        for (Money money : ledger) {
+            total = total.add(money);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,83 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.plutus.CurrencyExchange;
+import org.paritybits.pantheon.plutus.Money;
+import org.paritybits.pantheon.plutus.MoneyBag;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building MoneyBags and converting them to a single currency.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBagBenchmark {
+
+    private static final String[] CURRENCIES = {
+            "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD", "SEK", "NOK", "DKK", "HKD"};
+
+    @Param({"1", "4", "12"})
+    public int currencies;
+
+    private Money[] monies;
+    private MoneyBag bag;
+    private Money addition;
+    private Currency target;
+    private CurrencyExchange exchange;
+
+    @Setup
+    public void setUp() {
+        monies = new Money[currencies];
+        for (int i = 0; i < currencies; i++) {
+            monies[i] = Money.valueOf((100 + i) + ".25 " + CURRENCIES[i]);
+        }
+        bag = MoneyBag.containing(monies);
+        addition = Money.valueOf("10.50 " + CURRENCIES[currencies - 1]);
+        target = Currency.getInstance("USD");
+        exchange = new CurrencyExchange() {
+            public BigDecimal calculateExchangeRate(Currency from, Currency to) {
+                return from.equals(to) ? BigDecimal.ONE : new BigDecimal("1.25");
+            }
+        };
+    }
+
+    @Benchmark
+    public MoneyBag containing() {
+        return MoneyBag.containing(monies);
+    }
+
+    @Benchmark
+    public MoneyBag addMoney() {
+        return bag.add(addition);
+    }
+
+    @Benchmark
+    public MoneyBag addBag() {
+        return bag.add(bag);
+    }
+
+    @Benchmark
+    public Money valueInCurrency() {
+        return bag.valueInCurrency(target, exchange);
+    }
+}
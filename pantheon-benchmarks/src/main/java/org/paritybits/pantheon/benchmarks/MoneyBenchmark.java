@@ -0,0 +1,92 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.plutus.Money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arithmetic and parsing of Money.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private Money price;
+    private Money tax;
+    private BigDecimal quantity;
+    private Percentage rate;
+    private String text;
+    private BigDecimal amount;
+    private Currency currency;
+
+    @Setup
+    public void setUp() {
+        price = Money.valueOf("1234.56 USD");
+        tax = Money.valueOf("98.77 USD");
+        quantity = new BigDecimal("3");
+        rate = Percentage.valueOf("7.25%");
+        text = "1234.56 USD";
+        amount = new BigDecimal("1234.56");
+        currency = Currency.getInstance("USD");
+    }
+
+    @Benchmark
+    public Money add() {
+        return price.add(tax);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return price.subtract(tax);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return price.multiply(quantity);
+    }
+
+    @Benchmark
+    public Money divide() {
+        return price.divide(quantity);
+    }
+
+    @Benchmark
+    public Money compound() {
+        return price.compound(rate);
+    }
+
+    @Benchmark
+    public Money valueOfString() {
+        return Money.valueOf(text);
+    }
+
+    @Benchmark
+    public Money valueOfAmount() {
+        return Money.valueOf(amount, currency);
+    }
+
+    @Benchmark
+    public String format() {
+        return Money.valueOf(amount, currency).toString();
+    }
+}
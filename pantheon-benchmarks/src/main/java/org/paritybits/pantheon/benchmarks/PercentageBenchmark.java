@@ -0,0 +1,100 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.common.Percentage;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and arithmetic of Percentage.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercentageBenchmark {
+
+    private String wholeText;
+    private String fractionalText;
+    private BigDecimal decimalValue;
+    private Percentage rate;
+    private Percentage otherRate;
+    private BigDecimal amount;
+    private BigDecimal factor;
+
+    @Setup
+    public void setUp() {
+        wholeText = "15%";
+        fractionalText = "-1,234.5678%";
+        decimalValue = new BigDecimal("0.0725");
+        rate = Percentage.valueOf("7.25%");
+        otherRate = Percentage.valueOf("3.1%");
+        amount = new BigDecimal("1234.56");
+        factor = new BigDecimal("3");
+    }
+
+    @Benchmark
+    public Percentage valueOfWholeString() {
+        return Percentage.valueOf(wholeText);
+    }
+
+    @Benchmark
+    public Percentage valueOfFractionalString() {
+        return Percentage.valueOf(fractionalText);
+    }
+
+    @Benchmark
+    public Percentage valueOfBigDecimal() {
+        return Percentage.valueOf(decimalValue);
+    }
+
+    @Benchmark
+    public Percentage add() {
+        return rate.add(otherRate);
+    }
+
+    @Benchmark
+    public Percentage subtract() {
+        return rate.subtract(otherRate);
+    }
+
+    @Benchmark
+    public Percentage multiply() {
+        return rate.multiply(factor);
+    }
+
+    @Benchmark
+    public Percentage divide() {
+        return rate.divide(factor);
+    }
+
+    @Benchmark
+    public BigDecimal of() {
+        return rate.of(amount);
+    }
+
+    @Benchmark
+    public BigDecimal change() {
+        return rate.change(amount);
+    }
+
+    @Benchmark
+    public String format() {
+        return Percentage.valueOf(decimalValue).toString();
+    }
+}
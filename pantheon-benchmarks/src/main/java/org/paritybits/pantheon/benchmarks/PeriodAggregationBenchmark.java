@@ -0,0 +1,99 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.janus.simple.Aggregator;
+import org.paritybits.pantheon.janus.simple.Bucketizer;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.janus.simple.PeriodAggregation;
+import org.paritybits.pantheon.janus.simple.Quarter;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The daily sums of a million values over five years, by hand in a HashMap of Days and with a PeriodAggregation,
+ * and the sum, count, min and max by day, month and quarter at once, serially and in parallel.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodAggregationBenchmark {
+
+    private static final int COUNT = 1000000;
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+    private long[] millis;
+    private double[] values;
+    private Bucketizer<Day> days;
+    private PeriodAggregation daySums;
+    private PeriodAggregation everything;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(17);
+        millis = new long[COUNT];
+        values = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            millis[i] = 1262304000000L + (long) (random.nextDouble() * 5 * 365.25 * 24 * 60 * 60 * 1000);
+            values[i] = random.nextInt(100000) / 100.0;
+        }
+        days = Bucketizer.create(Day.class, ZONE);
+        daySums = PeriodAggregation.create(days, Aggregator.SUM);
+        everything = PeriodAggregation.create(Arrays.asList(days, Bucketizer.create(Month.class, ZONE),
+                Bucketizer.create(Quarter.class, ZONE)), Aggregator.SUM, Aggregator.COUNT, Aggregator.MIN,
+                Aggregator.MAX);
+    }
+
+    @Benchmark
+    public Object hashMapDaySums() {
+        Map<Day, Double> sums = new HashMap<Day, Double>();
+        for (int i = 0; i < COUNT; i++) {
+            Day day = Day.create(new Date(millis[i]), ZONE);
+            Double sum = sums.get(day);
+            sums.put(day, sum == null ? values[i] : sum + values[i]);
+        }
+        return sums;
+    }
+
+    @Benchmark
+    public Object daySums() {
+        PeriodAggregation aggregation = daySums.emptyCopy();
+        aggregation.addAll(millis, values);
+        return aggregation.series(days, Aggregator.SUM);
+    }
+
+    @Benchmark
+    public Object allStatistics() {
+        PeriodAggregation aggregation = everything.emptyCopy();
+        aggregation.addAll(millis, values);
+        return aggregation;
+    }
+
+    @Benchmark
+    public Object parallelAllStatistics() {
+        PeriodAggregation aggregation = everything.emptyCopy();
+        aggregation.parallelAddAll(millis, values);
+        return aggregation;
+    }
+}
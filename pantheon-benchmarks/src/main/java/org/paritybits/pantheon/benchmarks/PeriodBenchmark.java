@@ -0,0 +1,126 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.paritybits.pantheon.janus.Period;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.janus.simple.Quarter;
+import org.paritybits.pantheon.janus.simple.Week;
+import org.paritybits.pantheon.janus.simple.Year;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation, next, valueOf and toString of each of the simple period types.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodBenchmark {
+
+    /**
+     * Creates each kind of period so one benchmark method can cover all of them.
+     */
+    public enum PeriodType {
+        DAY {
+            Period create(Date date) {
+                return Day.create(date);
+            }
+
+            Period parse(String text) {
+                return Day.valueOf(text);
+            }
+        },
+        WEEK {
+            Period create(Date date) {
+                return Week.create(date);
+            }
+
+            Period parse(String text) {
+                return Week.valueOf(text);
+            }
+        },
+        MONTH {
+            Period create(Date date) {
+                return Month.create(date);
+            }
+
+            Period parse(String text) {
+                return Month.valueOf(text);
+            }
+        },
+        QUARTER {
+            Period create(Date date) {
+                return Quarter.create(date);
+            }
+
+            Period parse(String text) {
+                return Quarter.valueOf(text);
+            }
+        },
+        YEAR {
+            Period create(Date date) {
+                return Year.create(date);
+            }
+
+            Period parse(String text) {
+                return Year.valueOf(text);
+            }
+        };
+
+        abstract Period create(Date date);
+
+        abstract Period parse(String text);
+    }
+
+    @Param({"DAY", "WEEK", "MONTH", "QUARTER", "YEAR"})
+    public PeriodType type;
+
+    private Date date;
+    private Period period;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        date = new Date(1276603200000L); //2010-06-15
+        period = type.create(date);
+        text = period.toString();
+    }
+
+    @Benchmark
+    public Period create() {
+        return type.create(date);
+    }
+
+    @Benchmark
+    public Object next() {
+        return period.next();
+    }
+
+    @Benchmark
+    public Period valueOf() {
+        return type.parse(text);
+    }
+
+    @Benchmark
+    public String createAndFormat() {
+        return type.create(date).toString();
+    }
+}
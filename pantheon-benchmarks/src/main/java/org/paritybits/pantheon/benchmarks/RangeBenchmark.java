@@ -0,0 +1,87 @@
+package org.paritybits.pantheon.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.paritybits.pantheon.common.NumberRangeRule;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iteration over ranges that use the default rule of a Rangeable type and over ranges that use a
+ * NumberRangeRule, and the contains and hasWithin checks.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RangeBenchmark {
+
+    private Range<Day> yearOfDays;
+    private Range<Integer> thousandIntegers;
+    private Range<BigDecimal> thousandDecimals;
+    private Day dayWithin;
+    private Day dayOutside;
+
+    @Setup
+    public void setUp() {
+        yearOfDays = Range.create(Day.valueOf("2010-01-01"), Day.valueOf("2010-12-31"));
+        thousandIntegers = Range.create(1, 1000, NumberRangeRule.create(1));
+        thousandDecimals = Range.create(BigDecimal.ZERO, new BigDecimal("99.9"),
+                NumberRangeRule.create(new BigDecimal("0.1")));
+        dayWithin = Day.valueOf("2010-06-15");
+        dayOutside = Day.valueOf("2011-06-15");
+    }
+
+    @Benchmark
+    public void iterateDefaultRule(final Blackhole blackhole) {
+        for (Day day : yearOfDays) {
+            blackhole.consume(day);
+        }
+    }
+
+    @Benchmark
+    public void iterateIntegerNumberRule(final Blackhole blackhole) {
+        for (Integer i : thousandIntegers) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void iterateDecimalNumberRule(final Blackhole blackhole) {
+        for (BigDecimal d : thousandDecimals) {
+            blackhole.consume(d);
+        }
+    }
+
+    @Benchmark
+    public boolean hasWithin() {
+        return yearOfDays.hasWithin(dayWithin) & yearOfDays.hasWithin(dayOutside);
+    }
+
+    @Benchmark
+    public boolean containsDefaultRule() {
+        return yearOfDays.contains(dayWithin) & yearOfDays.contains(dayOutside);
+    }
+
+    @Benchmark
+    public boolean containsNumberRule() {
+        return thousandIntegers.contains(500) & thousandIntegers.contains(5000);
+    }
+}
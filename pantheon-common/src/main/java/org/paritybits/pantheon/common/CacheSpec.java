@@ -0,0 +1,143 @@
+package org.paritybits.pantheon.common;
+
+import org.paritybits.pantheon.common.MemoizingCache.Ticker;
+import org.paritybits.pantheon.common.MemoizingCache.Weigher;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes the bounds and expiration of a MemoizingCache.  A spec starts with one of the static
+ * factory methods and can be refined with expireAfterWrite and withTicker, each of which returns a new spec.
+ * <pre>
+ *     CacheSpec.maximumSize(10000).expireAfterWrite(5, TimeUnit.MINUTES)
+ * </pre>
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.MemoizingCache
+ */
+@Immutable
+public final class CacheSpec {
+
+    static final long UNBOUNDED = -1;
+
+    private static final Weigher<Object, Object> SINGLETON_WEIGHER = new Weigher<Object, Object>() {
+        public long weigh(Object key, Object value) {
+            return 1;
+        }
+    };
+
+    private static final Ticker SYSTEM_TICKER = new Ticker() {
+        public long read() {
+            return System.nanoTime();
+        }
+    };
+
+    private static final CacheSpec UNBOUNDED_SPEC = new CacheSpec(UNBOUNDED, SINGLETON_WEIGHER, 0, SYSTEM_TICKER);
+
+    private final long maximumWeight;
+    private final Weigher<?, ?> weigher;
+    private final long expireAfterWriteNanos;
+    private final Ticker ticker;
+
+    private CacheSpec(final long maximumWeight, final Weigher<?, ?> weigher,
+                      final long expireAfterWriteNanos, final Ticker ticker) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @return A spec for a cache that never evicts.
+     */
+    public static CacheSpec unbounded() {
+        return UNBOUNDED_SPEC;
+    }
+
+    /**
+     * Creates a spec for a cache that holds at most the given number of entries.
+     *
+     * @param maximumSize The maximum number of entries.
+     * @return The new spec.
+     * @throws IllegalArgumentException If maximumSize is negative.
+     */
+    public static CacheSpec maximumSize(final long maximumSize) {
+        if (maximumSize < 0) throw new IllegalArgumentException("Maximum size cannot be negative.");
+        return new CacheSpec(maximumSize, SINGLETON_WEIGHER, 0, SYSTEM_TICKER);
+    }
+
+    /**
+     * Creates a spec for a cache whose entries together weigh at most the given amount.  The weight of
+     * an entry is determined once, when it is stored.
+     *
+     * @param maximumWeight The maximum total weight.
+     * @param weigher       Determines the weight of each entry.
+     * @return The new spec.
+     * @throws NullPointerException     If weigher is null.
+     * @throws IllegalArgumentException If maximumWeight is negative.
+     */
+    public static CacheSpec maximumWeight(final long maximumWeight, final Weigher<?, ?> weigher) {
+        if (weigher == null) throw new NullPointerException("Weigher cannot be null.");
+        if (maximumWeight < 0) throw new IllegalArgumentException("Maximum weight cannot be negative.");
+        return new CacheSpec(maximumWeight, weigher, 0, SYSTEM_TICKER);
+    }
+
+    /**
+     * Creates a copy of this spec where entries expire the given duration after they were stored.
+     *
+     * @param duration The time an entry lives, must be positive.
+     * @param unit     The unit of duration.
+     * @return The new spec.
+     * @throws NullPointerException     If unit is null.
+     * @throws IllegalArgumentException If duration is not positive.
+     */
+    public CacheSpec expireAfterWrite(final long duration, final TimeUnit unit) {
+        if (duration <= 0) throw new IllegalArgumentException("Duration must be positive.");
+        return new CacheSpec(maximumWeight, weigher, unit.toNanos(duration), ticker);
+    }
+
+    /**
+     * Creates a copy of this spec that reads time from the given ticker instead of System.nanoTime().
+     *
+     * @param ticker The source of time.
+     * @return The new spec.
+     * @throws NullPointerException If ticker is null.
+     */
+    public CacheSpec withTicker(final Ticker ticker) {
+        if (ticker == null) throw new NullPointerException("Ticker cannot be null.");
+        return new CacheSpec(maximumWeight, weigher, expireAfterWriteNanos, ticker);
+    }
+
+    boolean isBounded() {
+        return maximumWeight != UNBOUNDED;
+    }
+
+    long maximumWeight() {
+        return maximumWeight;
+    }
+
+    boolean isWeighted() {
+        return weigher != SINGLETON_WEIGHER;
+    }
+
+    Weigher<?, ?> weigher() {
+        return weigher;
+    }
+
+    long expireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    Ticker ticker() {
+        return ticker;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("CacheSpec[maximumWeight={0}, weighted={1}, expireAfterWriteNanos={2}]",
+                isBounded() ? Long.toString(maximumWeight) : "unbounded", isWeighted(),
+                Long.toString(expireAfterWriteNanos));
+    }
+}
@@ -0,0 +1,133 @@
+package org.paritybits.pantheon.common;
+
+import java.io.Serializable;
+import java.text.MessageFormat;
+
+/**
+ * A snapshot of the statistics of a MemoizingCache.  The counts are cumulative from the creation of the
+ * cache.  Two snapshots can be subtracted from each other to get the statistics of an interval.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.MemoizingCache#stats()
+ */
+@Immutable
+public final class CacheStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long loadFailureCount;
+    private final long evictionCount;
+    private final long evictionWeight;
+
+    /**
+     * Creates a new CacheStats with the given counts.
+     *
+     * @param hitCount         The number of requests that found a value in the cache.
+     * @param missCount        The number of requests that did not find a value in the cache.
+     * @param loadCount        The number of values successfully loaded.
+     * @param loadFailureCount The number of loads that threw an exception.
+     * @param evictionCount    The number of entries evicted because of the bounds or expiration.
+     * @param evictionWeight   The total weight of the evicted entries.
+     * @throws IllegalArgumentException If any of the counts is negative.
+     */
+    public CacheStats(final long hitCount, final long missCount, final long loadCount,
+                      final long loadFailureCount, final long evictionCount, final long evictionWeight) {
+        if (hitCount < 0 || missCount < 0 || loadCount < 0 || loadFailureCount < 0
+                || evictionCount < 0 || evictionWeight < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative.");
+        }
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long loadCount() {
+        return loadCount;
+    }
+
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long evictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * @return The total number of requests, hits plus misses.
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return The ratio of hits to requests, or 1.0 if there have been no requests.
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Subtracts the given stats from these, floored at zero.
+     *
+     * @param other The earlier stats.
+     * @return The statistics of the interval between other and this.
+     * @throws NullPointerException If other is null.
+     */
+    public CacheStats minus(final CacheStats other) {
+        return new CacheStats(Math.max(0, hitCount - other.hitCount),
+                Math.max(0, missCount - other.missCount),
+                Math.max(0, loadCount - other.loadCount),
+                Math.max(0, loadFailureCount - other.loadFailureCount),
+                Math.max(0, evictionCount - other.evictionCount),
+                Math.max(0, evictionWeight - other.evictionWeight));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheStats)) return false;
+        CacheStats other = (CacheStats) o;
+        return hitCount == other.hitCount && missCount == other.missCount && loadCount == other.loadCount
+                && loadFailureCount == other.loadFailureCount && evictionCount == other.evictionCount
+                && evictionWeight == other.evictionWeight;
+    }
+
+    @Override
+    public int hashCode() {
+        long result = hitCount;
+        result = 31 * result + missCount;
+        result = 31 * result + loadCount;
+        result = 31 * result + loadFailureCount;
+        result = 31 * result + evictionCount;
+        result = 31 * result + evictionWeight;
+        return (int) (result ^ (result >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("CacheStats[hits={0}, misses={1}, loads={2}, loadFailures={3}, evictions={4}, evictionWeight={5}]",
+                Long.toString(hitCount), Long.toString(missCount), Long.toString(loadCount),
+                Long.toString(loadFailureCount), Long.toString(evictionCount), Long.toString(evictionWeight));
+    }
+}
@@ -0,0 +1,151 @@
+package org.paritybits.pantheon.common;
+
+import org.paritybits.pantheon.common.codec.Codec;
+import org.paritybits.pantheon.common.codec.CodecProvider;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+import org.paritybits.pantheon.common.codec.CodecSupport;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The codecs for the value types of pantheon-common and the JDK types they are built on.  A Percentage is
+ * written as the scale and unscaled value of its decimal, a Range as its endpoints and its rule, each with
+ * its own tag, so a Range can hold anything the registry knows how to write.  A Range using the rules of
+ * its Rangeable endpoints writes a null rule.
+ * <p/>
+ * Tags: 1 String, 2 Integer, 3 Long, 4 Double, 5 BigInteger, 6 BigDecimal, 7 Percentage, 8 Range,
+ * 9 NumberRangeRule.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.codec.CodecRegistry
+ */
+public final class CommonCodecs implements CodecProvider {
+
+    public void registerCodecs(final CodecRegistry registry) {
+        registry.register(1, String.class, new Codec<String>() {
+            public void write(final String value, final DataOutput out) throws IOException {
+                CodecSupport.writeString(value, out);
+            }
+
+            public String read(final DataInput in) throws IOException {
+                return CodecSupport.readString(in);
+            }
+        });
+        registry.register(2, Integer.class, new Codec<Integer>() {
+            public void write(final Integer value, final DataOutput out) throws IOException {
+                CodecSupport.writeVarInt(value, out);
+            }
+
+            public Integer read(final DataInput in) throws IOException {
+                return CodecSupport.readVarInt(in);
+            }
+        });
+        registry.register(3, Long.class, new Codec<Long>() {
+            public void write(final Long value, final DataOutput out) throws IOException {
+                CodecSupport.writeVarLong(value, out);
+            }
+
+            public Long read(final DataInput in) throws IOException {
+                return CodecSupport.readVarLong(in);
+            }
+        });
+        registry.register(4, Double.class, new Codec<Double>() {
+            public void write(final Double value, final DataOutput out) throws IOException {
+                out.writeDouble(value);
+            }
+
+            public Double read(final DataInput in) throws IOException {
+                return in.readDouble();
+            }
+        });
+        registry.register(5, BigInteger.class, new Codec<BigInteger>() {
+            public void write(final BigInteger value, final DataOutput out) throws IOException {
+                CodecSupport.writeBigInteger(value, out);
+            }
+
+            public BigInteger read(final DataInput in) throws IOException {
+                return CodecSupport.readBigInteger(in);
+            }
+        });
+        registry.register(6, BigDecimal.class, new Codec<BigDecimal>() {
+            public void write(final BigDecimal value, final DataOutput out) throws IOException {
+                CodecSupport.writeDecimal(value, out);
+            }
+
+            public BigDecimal read(final DataInput in) throws IOException {
+                return CodecSupport.readDecimal(in);
+            }
+        });
+        registry.register(7, Percentage.class, new PercentageCodec());
+        registry.register(8, Range.class, new RangeCodec(registry));
+        registry.register(9, NumberRangeRule.class, new NumberRangeRuleCodec(registry));
+    }
+
+    //Writes the compact form as is, in the same layout CodecSupport uses for decimals.
+    private static final class PercentageCodec implements Codec<Percentage> {
+        public void write(final Percentage value, final DataOutput out) throws IOException {
+            if (value.isCompact()) {
+                CodecSupport.writeVarInt(value.scale(), out);
+                out.writeByte(0);
+                CodecSupport.writeVarLong(value.unscaled(), out);
+            } else {
+                CodecSupport.writeDecimal(value.value(), out);
+            }
+        }
+
+        public Percentage read(final DataInput in) throws IOException {
+            int scale = CodecSupport.readVarInt(in);
+            int length = CodecSupport.readLength(in);
+            if (length == 0) return Percentage.valueOfUnscaled(CodecSupport.readVarLong(in), scale);
+            return Percentage.valueOf(new BigDecimal(new BigInteger(CodecSupport.readBytes(in, length)), scale));
+        }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private static final class RangeCodec implements Codec<Range> {
+        private final CodecRegistry registry;
+
+        private RangeCodec(final CodecRegistry registry) {
+            this.registry = registry;
+        }
+
+        public void write(final Range value, final DataOutput out) throws IOException {
+            registry.write(value.from(), out);
+            registry.write(value.to(), out);
+            registry.write(value.rangeRule(), out);
+        }
+
+        public Range read(final DataInput in) throws IOException {
+            Object from = registry.read(in);
+            Object to = registry.read(in);
+            RangeRule rule = registry.read(in, RangeRule.class);
+            if (rule == null && !(from instanceof Rangeable && to instanceof Rangeable)) {
+                throw new IOException("A range without a rule must have Rangeable endpoints.");
+            }
+            return Range.create(from, to, rule);
+        }
+    }
+
+    private static final class NumberRangeRuleCodec implements Codec<NumberRangeRule> {
+        private final CodecRegistry registry;
+
+        private NumberRangeRuleCodec(final CodecRegistry registry) {
+            this.registry = registry;
+        }
+
+        public void write(final NumberRangeRule value, final DataOutput out) throws IOException {
+            registry.write(value.increment(), out);
+        }
+
+        public NumberRangeRule read(final DataInput in) throws IOException {
+            Number increment = registry.read(in, Number.class);
+            if (increment == null) throw new IOException("A NumberRangeRule must have an increment.");
+            return NumberRangeRule.create(increment);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.paritybits.pantheon.common;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -16,7 +19,27 @@ public final class CommonUtil {
 
     private static final Set<Class> IMMUTABLE_CLASSES = Collections.unmodifiableSet(new HashSet<Class>(Arrays.asList(
             Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
-            Class.class, BigInteger.class, BigDecimal.class, Currency.class)));
+            Character.class, String.class, Class.class, BigInteger.class, BigDecimal.class, Currency.class)));
+
+    //Classes registered by applications as immutable.  The version changes with every registration so
+    //cached results computed before a registration are recomputed.
+    private static final Set<Class<?>> REGISTERED_IMMUTABLE_CLASSES = new CopyOnWriteArraySet<Class<?>>();
+    private static volatile int registrationVersion;
+
+    //Per class caches of the immutability checks.
+    private static final ClassValue<Immutability> DECLARED_IMMUTABILITY = new ClassValue<Immutability>() {
+        protected Immutability computeValue(final Class<?> type) {
+            int version = registrationVersion;
+            return new Immutability(version, isDeclaredImmutable(type));
+        }
+    };
+
+    private static final ClassValue<Immutability> DEEP_IMMUTABILITY = new ClassValue<Immutability>() {
+        protected Immutability computeValue(final Class<?> type) {
+            int version = registrationVersion;
+            return new Immutability(version, isDeeplyImmutable(type, new HashSet<Class<?>>()));
+        }
+    };
 
     /**
      * Gets either the value in the map for a key or the default value if there is no value.
@@ -38,22 +61,92 @@ public final class CommonUtil {
         }
     }
 
-    /**
-
     /**
      * Tests if the given object is Immutable.  An object is considered Immutable either: <ol>
      * <li>One of the following
-     * classes in the Standard Java Library: .</li>
-     * <li>Marked with the org.paritybits.pantheon.common.Immutable<li> annotation.
+     * classes in the Standard Java Library: Boolean, Byte, Short, Integer, Long, Float, Double, Character, String,
+     * Class, BigInteger, BigDecimal and Currency.</li>
+     * <li>Marked with the org.paritybits.pantheon.common.Immutable or org.paritybits.pantheon.common.Idempotent
+     * annotation.</li>
+     * <li>Registered with registerImmutable.</li></ol>
+     * Only the class of the object is checked, subclasses of an immutable class are not immutable unless
+     * they are marked as well.  The result is cached per class, so repeated checks are a single lookup.
+     *
      * @param object The object under test.
      * @return True if immutable
      * @throws NullPointerException If object is null.
      */
     public static boolean isImmutable(final Object object) {
-        Class objClass = object.getClass();
-        return IMMUTABLE_CLASSES.contains(objClass) ||
-                objClass.isAnnotationPresent(Immutable.class)||
-                objClass.isAnnotationPresent(Idempotent.class);
+        return lookup(DECLARED_IMMUTABILITY, object.getClass());
+    }
+
+    /**
+     * Tests if the given object is immutable all the way down.  An object is deeply immutable if it is
+     * immutable according to isImmutable, or if all of the instance fields of its class and superclasses
+     * are final and each field is either:<ol>
+     * <li>A primitive.</li>
+     * <li>Of a type that is immutable according to isImmutable.</li>
+     * <li>Of a final class that is itself deeply immutable by these rules.</li></ol>
+     * Arrays, interfaces and non final classes are never accepted as field types, since the value held
+     * could be mutable.  The analysis is done once per class and cached.
+     *
+     * @param object The object under test.
+     * @return True if the object is deeply immutable.
+     * @throws NullPointerException If object is null.
+     */
+    public static boolean isDeeplyImmutable(final Object object) {
+        return lookup(DEEP_IMMUTABILITY, object.getClass());
+    }
+
+    /**
+     * Registers classes as immutable.  This is for classes that are immutable but cannot be annotated,
+     * such as classes from other libraries.  Instances of the classes will be immutable according
+     * to isImmutable and isDeeplyImmutable, and fields of these types will be accepted by isDeeplyImmutable.
+     *
+     * @param classes The classes to register.
+     * @throws NullPointerException If any of the classes are null.
+     */
+    public static synchronized void registerImmutable(final Class<?>... classes) {
+        for (Class<?> type : classes) {
+            if (type == null) throw new NullPointerException("Cannot register a null class.");
+            REGISTERED_IMMUTABLE_CLASSES.add(type);
+        }
+        registrationVersion++;
+    }
+
+    private static boolean lookup(final ClassValue<Immutability> cache, final Class<?> type) {
+        Immutability immutability = cache.get(type);
+        if (immutability.version != registrationVersion) {
+            cache.remove(type);
+            immutability = cache.get(type);
+        }
+        return immutability.immutable;
+    }
+
+    private static boolean isDeclaredImmutable(final Class<?> type) {
+        return IMMUTABLE_CLASSES.contains(type) ||
+                REGISTERED_IMMUTABLE_CLASSES.contains(type) ||
+                type.isAnnotationPresent(Immutable.class) ||
+                type.isAnnotationPresent(Idempotent.class);
+    }
+
+    //Classes being analyzed are assumed to be immutable so that self referencing classes can be.
+    private static boolean isDeeplyImmutable(final Class<?> type, final Set<Class<?>> analyzing) {
+        if (isDeclaredImmutable(type) || !analyzing.add(type)) return true;
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)) continue;
+                if (!Modifier.isFinal(modifiers)) return false;
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive() || isDeclaredImmutable(fieldType)) continue;
+                if (fieldType.isArray() || fieldType.isInterface() || !Modifier.isFinal(fieldType.getModifiers())
+                        || !isDeeplyImmutable(fieldType, analyzing)) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
 
@@ -254,6 +347,17 @@ public final class CommonUtil {
         }
         return count >= atLeast && count <= atMost;
     }
+
+    //A cached immutability result and the registration version it was computed for.
+    private static final class Immutability {
+        private final int version;
+        private final boolean immutable;
+
+        Immutability(final int version, final boolean immutable) {
+            this.version = version;
+            this.immutable = immutable;
+        }
+    }
 }
 
 
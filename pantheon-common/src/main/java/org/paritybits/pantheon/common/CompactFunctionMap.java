@@ -0,0 +1,353 @@
+package org.paritybits.pantheon.common;
+
+import org.paritybits.pantheon.common.FunctionMap.PutFunction;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+
+/**
+ * A FunctionMap that keeps its entries in its own open addressing table instead of wrapping another map.
+ * It has the same put semantics as FunctionMap; when a key that already exists is put, the PutFunction for
+ * that key determines the value that will be stored.  The key, the value and the key function all live in
+ * the same slot of the table, so a put hashes the key once and finds everything it needs with a single probe.
+ * This makes it a good fit for aggregating over small key sets, such as totals per currency, where a put
+ * becomes a couple of array accesses.
+ * <p/>
+ * Collisions are resolved by linear probing.  Removing a key only clears its value, the key keeps its slot
+ * (and its key function) until the table is next rebuilt.
+ * <p/>
+ * This map does not allow null keys or values.  This class is not thread safe.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <K> The type of key.
+ * @param <V> The type of value
+ * @see org.paritybits.pantheon.common.FunctionMap
+ */
+@SuppressWarnings({"unchecked"})
+public final class CompactFunctionMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private static final PutFunction SIMPLE_REPLACE = new PutFunction() {
+        public Object determineValue(Object oldValue, Object newValue) {
+            return newValue;
+        }
+    };
+
+    private final PutFunction<V> defaultFunction;
+
+    //The table, a key in keys[i] has its value in values[i] and its function, if any, in functions[i]
+    private Object[] keys;
+    private Object[] values;
+    private PutFunction<V>[] functions;
+
+    //Number of slots with a value, and number of slots with a key.
+    private int size;
+    private int occupied;
+    private int modCount;
+
+    private transient Set<Entry<K, V>> entrySet;
+
+    /**
+     * Create a new empty CompactFunctionMap that does a simple replace on puts.
+     */
+    public CompactFunctionMap() {
+        this(SIMPLE_REPLACE);
+    }
+
+    /**
+     * Create a new empty CompactFunctionMap with the given default function.
+     *
+     * @param defaultFunction The default function for puts.
+     * @throws NullPointerException If defaultFunction is null.
+     */
+    public CompactFunctionMap(final PutFunction<V> defaultFunction) {
+        this(defaultFunction, MINIMUM_CAPACITY / 2);
+    }
+
+    /**
+     * Create a new empty CompactFunctionMap with the given default function, sized so that the expected
+     * number of keys can be put without rebuilding the table.
+     *
+     * @param defaultFunction The default function for puts.
+     * @param expectedKeys    The number of keys the map is expected to hold.
+     * @throws NullPointerException     If defaultFunction is null.
+     * @throws IllegalArgumentException If expectedKeys is negative.
+     */
+    public CompactFunctionMap(final PutFunction<V> defaultFunction, final int expectedKeys) {
+        if (defaultFunction == null) throw new NullPointerException("Default function cannot be null.");
+        if (expectedKeys < 0) throw new IllegalArgumentException("Expected keys cannot be negative.");
+        this.defaultFunction = defaultFunction;
+        allocate(capacityFor(expectedKeys));
+    }
+
+    /**
+     * Puts a new value in the Map for the given key.  The actual value that will be stored
+     * will be determined by the PutFunction for the key.
+     *
+     * @param key   The key to update
+     * @param value The new value to use in the update
+     * @return The old value of the key.
+     * @throws NullPointerException If key or value is null.
+     */
+    @Override
+    public V put(final K key, final V value) {
+        if (value == null) throw new NullPointerException("Value cannot be null.");
+        int slot = slotFor(key);
+        Object oldValue = values[slot];
+        if (oldValue == null) {
+            if (keys[slot] == null) claim(slot, key);
+            values[slot] = value;
+            size++;
+            if (occupied > maximumOccupancy()) rebuild(size);
+            return null;
+        }
+        PutFunction<V> keyFunction = functions[slot] != null ? functions[slot] : defaultFunction;
+        values[slot] = keyFunction.determineValue((V) oldValue, value);
+        return (V) oldValue;
+    }
+
+    /**
+     * Puts all the entries of the given map into this map, each going through the PutFunction of its key.
+     * The table is sized once for the incoming entries, and if the given map is also a CompactFunctionMap
+     * its table is read directly.
+     *
+     * @param map The map whose entries will be put.
+     * @throws NullPointerException If map is null or contains null keys or values.
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        if (occupied + map.size() > maximumOccupancy()) rebuild(size + map.size());
+        if (map instanceof CompactFunctionMap) {
+            CompactFunctionMap<? extends K, ? extends V> other = (CompactFunctionMap<? extends K, ? extends V>) map;
+            Object[] otherKeys = other.keys;
+            Object[] otherValues = other.values;
+            for (int i = 0; i < otherValues.length; i++) {
+                if (otherValues[i] != null) put((K) otherKeys[i], (V) otherValues[i]);
+            }
+        } else {
+            for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Sets a key function for the given key.
+     *
+     * @param key         The key to set the function for.
+     * @param keyFunction The key function that will be used for all future calles to put for this given key.
+     * @throws NullPointerException If key is null.
+     */
+    public void setKeyFunction(final K key, final PutFunction<V> keyFunction) {
+        int slot = slotFor(key);
+        if (keys[slot] == null) {
+            claim(slot, key);
+            functions[slot] = keyFunction;
+            if (occupied > maximumOccupancy()) rebuild(size);
+        } else {
+            functions[slot] = keyFunction;
+        }
+    }
+
+    @Override
+    public V get(final Object key) {
+        return (V) values[slotFor(key)];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return values[slotFor(key)] != null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        int slot = slotFor(key);
+        Object oldValue = values[slot];
+        if (oldValue != null) clearValue(slot);
+        return (V) oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all values from the map.  Key functions that have been set are kept.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < values.length; i++) values[i] = null;
+        size = 0;
+        modCount++;
+        rebuild(0);
+    }
+
+    /**
+     * @return A view of the entries in the map.
+     */
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<K, V>>() {
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                public int size() {
+                    return size;
+                }
+
+                public void clear() {
+                    CompactFunctionMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    //Finds the slot holding the key, or the empty slot where it would be placed.
+    private int slotFor(final Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        int mask = keys.length - 1;
+        int slot = (h ^ (h >>> 16)) & mask;
+        Object slotKey;
+        while ((slotKey = keys[slot]) != null && !slotKey.equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void claim(final int slot, final Object key) {
+        keys[slot] = key;
+        occupied++;
+        modCount++;
+    }
+
+    private void clearValue(final int slot) {
+        values[slot] = null;
+        size--;
+        modCount++;
+    }
+
+    private int maximumOccupancy() {
+        return keys.length - (keys.length >>> 2);
+    }
+
+    //Rebuilds the table, dropping keys that have neither a value nor a function.
+    private void rebuild(final int expectedKeys) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        PutFunction<V>[] oldFunctions = functions;
+        int retained = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null || oldFunctions[i] != null) retained++;
+        }
+        allocate(capacityFor(Math.max(expectedKeys, size) + retained - size));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null || oldFunctions[i] != null) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                functions[slot] = oldFunctions[i];
+                occupied++;
+            }
+        }
+        modCount++;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        functions = new PutFunction[capacity];
+        occupied = 0;
+    }
+
+    //The smallest power of two table that holds the keys at no more than half full.
+    private static int capacityFor(final int expectedKeys) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < expectedKeys * 2) capacity <<= 1;
+        return capacity;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Object[] iteratedValues = values;
+        private int expectedModCount = modCount;
+        private int next = advance(0);
+        private int current = -1;
+
+        private int advance(int slot) {
+            while (slot < iteratedValues.length && iteratedValues[slot] == null) slot++;
+            return slot;
+        }
+
+        public boolean hasNext() {
+            return next < iteratedValues.length;
+        }
+
+        public Entry<K, V> next() {
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException();
+            current = next;
+            next = advance(next + 1);
+            return new SlotEntry(current);
+        }
+
+        public void remove() {
+            if (current < 0) throw new IllegalStateException();
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+            clearValue(current);
+            expectedModCount = modCount;
+            current = -1;
+        }
+    }
+
+    private final class SlotEntry implements Entry<K, V> {
+        private final int slot;
+        private final K key;
+
+        SlotEntry(final int slot) {
+            this.slot = slot;
+            this.key = (K) keys[slot];
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            return (V) values[slot];
+        }
+
+        public V setValue(final V value) {
+            if (value == null) throw new NullPointerException("Value cannot be null.");
+            V oldValue = (V) values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry other = (Entry) o;
+            return key.equals(other.getKey()) && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
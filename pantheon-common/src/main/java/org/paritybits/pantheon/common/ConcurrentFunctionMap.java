@@ -0,0 +1,175 @@
+package org.paritybits.pantheon.common;
+
+import org.paritybits.pantheon.common.FunctionMap.PutFunction;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * The thread safe counterpart of FunctionMap.  It behaves the same way during puts; when a key
+ * already exists the PutFunction for that key determines the value that is actually stored.  Each key
+ * can have a unique function, and the map can have a default function for all nondefined keys.
+ * <p/>
+ * The put is applied atomically per key without taking a lock.  The current value is read, the
+ * function is applied and the result is only stored if the value has not been changed by another thread
+ * in the meantime, otherwise the put is retried with the new value.  Because of this a PutFunction
+ * used with this map may be called more than once for a single put and should be free of side effects.
+ * Puts against different keys never block each other, so aggregating totals from many threads scales with
+ * the number of keys rather than serializing on one monitor.
+ * <p/>
+ * The map is backed by a ConcurrentHashMap and, like it, does not allow null keys or values.  Iteration
+ * over the map is weakly consistent, use snapshot() to get a copy that will not change during iteration.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <K> The type of key.
+ * @param <V> The type of value
+ * @see org.paritybits.pantheon.common.FunctionMap
+ */
+public final class ConcurrentFunctionMap<K, V> extends AbstractMap<K, V> {
+
+    private final ConcurrentMap<K, V> values;
+    private final PutFunction<V> defaultFunction;
+    private final ConcurrentMap<K, PutFunction<V>> keyFunctions =
+            new ConcurrentHashMap<K, PutFunction<V>>();
+
+    private static final PutFunction SIMPLE_REPLACE = new PutFunction() {
+        public Object determineValue(Object oldValue, Object newValue) {
+            return newValue;
+        }
+    };
+
+    /**
+     * Create a new empty ConcurrentFunctionMap that does a simple replace on puts.
+     */
+    public ConcurrentFunctionMap() {
+        this(SIMPLE_REPLACE);
+    }
+
+    /**
+     * Create a new empty ConcurrentFunctionMap with the given default function.
+     *
+     * @param defaultFunction The default function for puts.
+     * @throws NullPointerException If defaultFunction is null.
+     */
+    public ConcurrentFunctionMap(final PutFunction<V> defaultFunction) {
+        this(defaultFunction, 16);
+    }
+
+    /**
+     * Create a new empty ConcurrentFunctionMap with the given default function, sized for the expected
+     * number of keys.
+     *
+     * @param defaultFunction The default function for puts.
+     * @param expectedKeys    The number of keys the map is expected to hold.
+     * @throws NullPointerException     If defaultFunction is null.
+     * @throws IllegalArgumentException If expectedKeys is negative.
+     */
+    public ConcurrentFunctionMap(final PutFunction<V> defaultFunction, final int expectedKeys) {
+        if (defaultFunction == null) throw new NullPointerException("Default function cannot be null.");
+        this.values = new ConcurrentHashMap<K, V>(expectedKeys);
+        this.defaultFunction = defaultFunction;
+    }
+
+    /**
+     * @return A weakly consistent view of the entries in the map.
+     */
+    public Set<Entry<K, V>> entrySet() {
+        return values.entrySet();
+    }
+
+    @Override
+    public V get(final Object key) {
+        return values.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return values.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * Puts a new value in the Map for the given key.  The actual value that will be stored
+     * will be determined by the PutFunction for the key.  The update is atomic for the key.
+     *
+     * @param key   The key to update
+     * @param value The new value to use in the update
+     * @return The old value of the key.
+     * @throws NullPointerException If key or value is null, or if the PutFunction returns null.
+     */
+    @Override
+    public V put(final K key, final V value) {
+        if (value == null) throw new NullPointerException("Value cannot be null.");
+        PutFunction<V> keyFunction = getKeyFunction(key);
+        for (; ; ) {
+            V oldValue = values.get(key);
+            if (oldValue == null) {
+                oldValue = values.putIfAbsent(key, value);
+                if (oldValue == null) return null;
+            }
+            V newValue = keyFunction.determineValue(oldValue, value);
+            if (values.replace(key, oldValue, newValue)) return oldValue;
+        }
+    }
+
+    /**
+     * Puts all the entries of the given map into this map.  Each entry goes through the PutFunction of its
+     * key as if put had been called, but the entries are not applied as a single atomic unit.
+     *
+     * @param map The map whose entries will be put.
+     * @throws NullPointerException If map is null or contains null keys or values.
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private PutFunction<V> getKeyFunction(final K key) {
+        PutFunction<V> keyFunction = keyFunctions.get(key);
+        return keyFunction != null ? keyFunction : defaultFunction;
+    }
+
+    /**
+     * Sets a key function for the given key.
+     *
+     * @param key         The key to set the function for.
+     * @param keyFunction The key function that will be used for all future calls to put for this given key.
+     * @throws NullPointerException If key or keyFunction is null.
+     */
+    public void setKeyFunction(final K key, final PutFunction<V> keyFunction) {
+        keyFunctions.put(key, keyFunction);
+    }
+
+    /**
+     * Creates a copy of the current contents of the map.  Every value in the copy was the value of its key
+     * at some point during the call, puts that happen after the call will not be seen by the copy.
+     *
+     * @return An unmodifiable copy of the map.
+     */
+    public Map<K, V> snapshot() {
+        return Collections.unmodifiableMap(new HashMap<K, V>(values));
+    }
+}
@@ -0,0 +1,30 @@
+package org.paritybits.pantheon.common;
+
+/**
+ * A RangeRule that can count the steps between two objects and take any number of steps at once, without
+ * walking through the objects in between.  A Range with a rule like this finds its size, its items by index
+ * and the steps from an item in constant time.
+ *
+ * @author Andrew Tillman
+ * @version 0.9
+ * @param <T> The type of object the rule is for.
+ * @see org.paritybits.pantheon.common.DistanceRangeable
+ */
+public interface DistanceRangeRule<T> extends RangeRule<T> {
+
+    /**
+     * @param from The object to count from.
+     * @param to   The object to count to.
+     * @return The number of calls to next, or the negative number of calls to prior, that it takes to get from
+     *         from to the last object in the sequence that does not pass to.
+     */
+    long distance(T from, T to);
+
+    /**
+     * @param start The starting point.
+     * @param steps The number of steps to take.  Positive values go the way of next and negative values go the
+     *              way of prior.
+     * @return The object that is steps away from start, the same as calling next or prior that many times.
+     */
+    T stepsFrom(T start, long steps);
+}
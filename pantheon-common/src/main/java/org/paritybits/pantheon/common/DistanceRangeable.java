@@ -0,0 +1,26 @@
+package org.paritybits.pantheon.common;
+
+/**
+ * A Rangeable object that can count the items between itself and another and roll any number of items at
+ * once.  Ranges of DistanceRangeable objects are sized, indexed and stepped in constant time.
+ *
+ * @author Andrew Tillman
+ * @version 0.9
+ * @param <T> This is usually the same type as the implementing class
+ * @see org.paritybits.pantheon.common.DistanceRangeRule
+ */
+public interface DistanceRangeable<T extends DistanceRangeable> extends Rangeable<T> {
+
+    /**
+     * @param amount The number of items to roll by, negative values roll back.
+     * @return The item amount items away in a natural range, the same as calling next or prior that many times.
+     */
+    T roll(long amount);
+
+    /**
+     * @param other The item to count to.
+     * @return The number of times next has to be called to get from this item to other, negative if other comes
+     *         before this item.
+     */
+    long stepsUntil(T other);
+}
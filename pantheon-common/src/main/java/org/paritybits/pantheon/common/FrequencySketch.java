@@ -0,0 +1,89 @@
+package org.paritybits.pantheon.common;
+
+/**
+ * A count-min sketch of 4 bit counters used by MemoizingCache to estimate how often a key has been
+ * requested recently.  Each key maps onto four counters and its frequency is the smallest of them, so
+ * collisions can only make a key look more popular than it is.  Once the number of increments reaches the
+ * sample size every counter is halved, which lets keys that were popular a while ago age out.
+ * <p/>
+ * The counters are updated without synchronization.  Concurrent increments may be lost, which only makes
+ * the estimate slightly less accurate and is much cheaper than making every read of the cache a write to
+ * shared atomic state.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_TABLE_LENGTH = 1 << 16;
+
+    //Sixteen 4 bit counters are packed into each long.
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param expectedEntries The number of entries the cache is expected to hold at most.
+     */
+    FrequencySketch(final long expectedEntries) {
+        int length = 8;
+        while (length < expectedEntries && length < MAXIMUM_TABLE_LENGTH) length <<= 1;
+        this.table = new long[length];
+        this.counterMask = (length << 4) - 1;
+        this.sampleSize = 10 * length;
+    }
+
+    /**
+     * Records one request for the key with the given hash.
+     *
+     * @param hash The spread hash of the key.
+     */
+    void increment(final int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            int word = index >>> 4;
+            int shift = (index & 15) << 2;
+            //The word is read once and written back whole, so a race can lose an increment but never carry a
+            //full counter into its neighbour.
+            long w = table[word];
+            if (((w >>> shift) & 15L) != 15L) {
+                table[word] = w + (1L << shift);
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) reset();
+    }
+
+    /**
+     * @param hash The spread hash of the key.
+     * @return The estimated number of recent requests for the key, at most 15.
+     */
+    int frequency(final int hash) {
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & 15L);
+            if (count < frequency) frequency = count;
+        }
+        return frequency;
+    }
+
+    private int indexOf(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & counterMask;
+    }
+
+    //Halves every counter so that old popularity decays.
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+}
@@ -0,0 +1,490 @@
+package org.paritybits.pantheon.common;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+
+/**
+ * A thread safe cache that memoizes the results of a loading function.  Calling get for a key that is not
+ * in the cache loads the value with the function and stores it, later calls for the same key return the
+ * stored value.  Only one load runs for a key at a time, other threads that ask for the key while it is
+ * being loaded wait for that load and share its result or its exception.
+ * <p/>
+ * The cache can be bounded by a number of entries or a total weight, and entries can expire a fixed time
+ * after they were stored.  When a bounded cache is full the entry that would be evicted is chosen with a
+ * clock that favors recently read entries, but a newly stored entry is only admitted in its place if it has
+ * been requested more often, as estimated by a small frequency sketch.  Keys that are read once, such as
+ * those of a scan over a large range, are therefore turned away instead of pushing out the entries that are
+ * read over and over again.
+ * <p/>
+ * Reads do not take a lock.  Stores, evictions and expirations are serialized on a single lock which is
+ * never held while a value is being loaded.  This cache does not allow null keys or values, and the loading
+ * function must not load other keys of the same cache recursively.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <K> The type of key.
+ * @param <V> The type of value
+ * @see org.paritybits.pantheon.common.CacheSpec
+ */
+@SuppressWarnings({"unchecked"})
+public final class MemoizingCache<K, V> {
+
+    /**
+     * Determines the weight of an entry for caches bounded by weight.
+     *
+     * @param <K> The type of key.
+     * @param <V> The type of value.
+     */
+    public interface Weigher<K, V> {
+
+        /**
+         * @param key   The key of the entry.
+         * @param value The value of the entry.
+         * @return The weight of the entry, cannot be negative.
+         */
+        long weigh(K key, V value);
+    }
+
+    /**
+     * A source of time in nanoseconds, used to expire entries.
+     */
+    public interface Ticker {
+
+        /**
+         * @return The current time in nanoseconds relative to some fixed origin.
+         */
+        long read();
+    }
+
+    private final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<K, Node<K, V>>();
+    private final Function<? super K, ? extends V> loader;
+    private final boolean bounded;
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final Ticker ticker;
+    private final FrequencySketch sketch;
+
+    //The clock of eviction candidates and the entries in the order they were written, both guarded by evictionLock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ArrayDeque<Node<K, V>> clock = new ArrayDeque<Node<K, V>>();
+    private final ArrayDeque<Node<K, V>> writeOrder = new ArrayDeque<Node<K, V>>();
+    private int liveCount;
+    private volatile long weightedSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+
+    private MemoizingCache(final CacheSpec spec, final Function<? super K, ? extends V> loader) {
+        this.loader = loader;
+        this.bounded = spec.isBounded();
+        this.maximumWeight = spec.maximumWeight();
+        this.weigher = (Weigher<? super K, ? super V>) spec.weigher();
+        this.expireAfterWriteNanos = spec.expireAfterWriteNanos();
+        this.ticker = spec.ticker();
+        this.sketch = bounded ? new FrequencySketch(maximumWeight) : null;
+    }
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param spec   The bounds and expiration of the cache.
+     * @param loader The function that loads the value of a key that is not in the cache.
+     * @param <K>    The type of key.
+     * @param <V>    The type of value.
+     * @return The new cache.
+     * @throws NullPointerException If spec or loader is null.
+     */
+    public static <K, V> MemoizingCache<K, V> create(final CacheSpec spec,
+                                                     final Function<? super K, ? extends V> loader) {
+        if (spec == null) throw new NullPointerException("Spec cannot be null.");
+        if (loader == null) throw new NullPointerException("Loader cannot be null.");
+        return new MemoizingCache<K, V>(spec, loader);
+    }
+
+    /**
+     * Returns the value for the key, loading it if it is not in the cache.  If another thread is already
+     * loading the key this waits for that load instead of starting a new one.
+     *
+     * @param key The key whose value is wanted.
+     * @return The value for the key.
+     * @throws NullPointerException  If key is null, or if the loader returns null.
+     * @throws IllegalStateException If the loader recursively asks for a key that it is loading.
+     * @throws RuntimeException      Whatever the loader threw while loading the key.
+     */
+    public V get(final K key) {
+        if (key == null) throw new NullPointerException("Key cannot be null.");
+        for (; ; ) {
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                Node<K, V> created = loadingNode(key);
+                node = data.putIfAbsent(key, created);
+                if (node == null) {
+                    recordMiss(created.hash);
+                    return load(created);
+                }
+            }
+            V value = node.value;
+            if (value != null) {
+                if (!hasExpired(node)) {
+                    recordHit(node);
+                    return value;
+                }
+                expire(node);
+                continue;
+            }
+            if (node.loadingThread == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive load of key " + key);
+            }
+            recordMiss(node.hash);
+            return await(node.task);
+        }
+    }
+
+    /**
+     * Returns the value for the key if it is in the cache, this never loads a value.
+     *
+     * @param key The key whose value is wanted.
+     * @return The value for the key, or null if it is not in the cache or is still being loaded.
+     * @throws NullPointerException If key is null.
+     */
+    public V getIfPresent(final Object key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            V value = node.value;
+            if (value != null) {
+                if (!hasExpired(node)) {
+                    recordHit(node);
+                    return value;
+                }
+                expire(node);
+            }
+        }
+        recordMiss(spread(key.hashCode()));
+        return null;
+    }
+
+    /**
+     * Stores a value for the key, replacing any value that is already cached or being loaded.  Threads
+     * waiting for a load that is replaced still receive the loaded value.
+     *
+     * @param key   The key to store.
+     * @param value The value to store.
+     * @throws NullPointerException     If key or value is null.
+     * @throws IllegalArgumentException If the weigher gives the entry a negative weight.
+     */
+    public void put(final K key, final V value) {
+        if (key == null) throw new NullPointerException("Key cannot be null.");
+        if (value == null) throw new NullPointerException("Value cannot be null.");
+        Node<K, V> node = new Node<K, V>(key, spread(key.hashCode()));
+        node.weight = weigh(key, value);
+        node.writeTime = ticker.read();
+        node.value = value;
+        if (sketch != null) sketch.increment(node.hash);
+        afterWrite(node, data.put(key, node));
+    }
+
+    /**
+     * Removes the key from the cache.  A load of the key that is in progress will finish but its value
+     * will not be stored.
+     *
+     * @param key The key to remove.
+     * @throws NullPointerException If key is null.
+     */
+    public void invalidate(final Object key) {
+        Node<K, V> node = data.remove(key);
+        if (node != null) {
+            evictionLock.lock();
+            try {
+                retire(node, false);
+                purgeIfNeeded();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes every key from the cache.
+     */
+    public void invalidateAll() {
+        for (K key : data.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Removes entries that have expired.  Expired entries are otherwise removed as they are found by reads
+     * and as a part of stores.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            expireEntries();
+            purge();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of entries in the cache, including those that are still being loaded.
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * @return The total weight of the stored entries.  For caches that are not weighted this is the number
+     *         of stored entries.
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * @return A snapshot of the statistics of this cache.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadCount.sum(), loadFailureCount.sum(),
+                evictionCount.sum(), evictionWeight.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "MemoizingCache[size=" + size() + ", " + stats() + "]";
+    }
+
+    private Node<K, V> loadingNode(final K key) {
+        final Node<K, V> node = new Node<K, V>(key, spread(key.hashCode()));
+        node.loadingThread = Thread.currentThread();
+        node.task = new FutureTask<V>(new Callable<V>() {
+            public V call() {
+                V value = loader.apply(key);
+                if (value == null) throw new NullPointerException("Loader returned null for key " + key);
+                node.weight = weigh(key, value);
+                return value;
+            }
+        });
+        return node;
+    }
+
+    private V load(final Node<K, V> node) {
+        node.task.run();
+        V value;
+        try {
+            value = node.task.get();
+        } catch (ExecutionException e) {
+            data.remove(node.key, node);
+            loadFailureCount.increment();
+            throw rethrow(e);
+        } catch (InterruptedException e) {
+            //Cannot happen, the task has already run on this thread.
+            throw new IllegalStateException(e);
+        } finally {
+            node.loadingThread = null;
+        }
+        node.writeTime = ticker.read();
+        node.value = value;
+        loadCount.increment();
+        afterWrite(node, null);
+        return value;
+    }
+
+    //Waits for a load on another thread, keeping the interrupt status rather than giving up on the load.
+    private static <V> V await(final FutureTask<V> task) {
+        boolean interrupted = false;
+        try {
+            for (; ; ) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw rethrow(e);
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RuntimeException rethrow(final ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        return new IllegalStateException(cause);
+    }
+
+    private long weigh(final K key, final V value) {
+        long weight = weigher.weigh(key, value);
+        if (weight < 0) throw new IllegalArgumentException("Weight cannot be negative.");
+        return weight;
+    }
+
+    private boolean hasExpired(final Node<K, V> node) {
+        return expireAfterWriteNanos != 0 && ticker.read() - node.writeTime >= expireAfterWriteNanos;
+    }
+
+    private void expire(final Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            evictionLock.lock();
+            try {
+                retire(node, true);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void recordHit(final Node<K, V> node) {
+        hitCount.increment();
+        if (sketch != null) {
+            sketch.increment(node.hash);
+            if (!node.referenced) node.referenced = true;
+        }
+    }
+
+    private void recordMiss(final int hash) {
+        missCount.increment();
+        if (sketch != null) sketch.increment(hash);
+    }
+
+    //Accounts for a stored node, retiring the node it replaced and evicting or expiring as needed.
+    private void afterWrite(final Node<K, V> node, final Node<K, V> replaced) {
+        evictionLock.lock();
+        try {
+            if (replaced != null) retire(replaced, false);
+            if (expireAfterWriteNanos != 0) expireEntries();
+            if (node.alive) {
+                node.accounted = true;
+                weightedSize += node.weight;
+                liveCount++;
+                if (expireAfterWriteNanos != 0) writeOrder.add(node);
+                if (bounded) {
+                    evict(node);
+                    if (node.alive) clock.add(node);
+                }
+            }
+            purgeIfNeeded();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    //Evicts until the cache is within its bound.  The candidate, the node just stored, only stays if it
+    //is requested more often than the victim the clock picks.
+    private void evict(Node<K, V> candidate) {
+        while (weightedSize > maximumWeight) {
+            Node<K, V> victim = nextVictim();
+            if (candidate != null) {
+                if (victim == null || candidate.weight > maximumWeight
+                        || sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                    if (victim != null) clock.addFirst(victim);
+                    evictNode(candidate);
+                    candidate = null;
+                    continue;
+                }
+            }
+            if (victim == null) return;
+            evictNode(victim);
+        }
+    }
+
+    //Runs the clock, giving recently read nodes a second chance.
+    private Node<K, V> nextVictim() {
+        for (int chances = clock.size() << 1; ; chances--) {
+            Node<K, V> node = clock.poll();
+            if (node == null) return null;
+            if (!node.alive) continue;
+            if (node.referenced && chances > 0) {
+                node.referenced = false;
+                clock.add(node);
+                continue;
+            }
+            return node;
+        }
+    }
+
+    private void expireEntries() {
+        long now = ticker.read();
+        Node<K, V> node;
+        while ((node = writeOrder.peek()) != null) {
+            if (node.alive && now - node.writeTime < expireAfterWriteNanos) return;
+            writeOrder.poll();
+            if (node.alive) evictNode(node);
+        }
+    }
+
+    private void evictNode(final Node<K, V> node) {
+        data.remove(node.key, node);
+        retire(node, true);
+    }
+
+    private void retire(final Node<K, V> node, final boolean evicted) {
+        if (!node.alive) return;
+        node.alive = false;
+        if (node.accounted) {
+            weightedSize -= node.weight;
+            liveCount--;
+            if (evicted) {
+                evictionCount.increment();
+                evictionWeight.add(node.weight);
+            }
+        }
+    }
+
+    //Retired nodes are left in the queues until they are reached, this keeps them from piling up.
+    private void purgeIfNeeded() {
+        if (clock.size() + writeOrder.size() > (liveCount << 2) + 64) purge();
+    }
+
+    private void purge() {
+        purge(clock);
+        purge(writeOrder);
+    }
+
+    private static <K, V> void purge(final ArrayDeque<Node<K, V>> queue) {
+        for (Iterator<Node<K, V>> itr = queue.iterator(); itr.hasNext(); ) {
+            if (!itr.next().alive) itr.remove();
+        }
+    }
+
+    private static int spread(final int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        FutureTask<V> task;
+        volatile Thread loadingThread;
+        volatile V value;
+        volatile long writeTime;
+        volatile boolean referenced;
+
+        //Guarded by evictionLock, except weight which is set before the node is stored.
+        long weight;
+        boolean alive = true;
+        boolean accounted;
+
+        Node(final K key, final int hash) {
+            this.key = key;
+            this.hash = hash;
+        }
+    }
+}
@@ -5,11 +5,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.MessageFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * This class represents a percentage by wrapping a BigDecimal.  It is useful in that in abstracts away
@@ -17,6 +14,11 @@ import java.util.regex.Pattern;
  * 1 being either 1% (.01) or 100% (1.00).  This class also provides various methods doing math.
  * This class is immutable.
  * <p/>
+ * Values whose unscaled form fits in a long are kept as a fixed point unscaled long and scale.  Adding,
+ * subtracting and comparing such percentages, and multiplying or dividing them by whole numbers, is done
+ * with long arithmetic and falls back to BigDecimal only when the result would overflow.  The results are
+ * exactly the same, scale included, as doing the calculation on the BigDecimal values.
+ * <p/>
  * This class also has a custom serialized form, which is the same as it's toString method;
  * [value in US non grouped format]%
  *
@@ -28,7 +30,22 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
 
     static final long serialVersionUID = 5898030140330691835L;
 
-    private static final Pattern PERCENTAGE_STRING_PATTERN = Pattern.compile("^(-?[\\d|,]*(\\.\\d+)?)\\%?");
+    //Shared instances for whole percents from -100% to 100% and basis points from -100.00% to 100.00%.
+    //These are filled lazily as the values are parsed.
+    private static final int MAX_WHOLE_PERCENT = 100;
+    private static final int MAX_BASIS_POINTS = 10000;
+    private static final Percentage[] WHOLE_PERCENTS = new Percentage[2 * MAX_WHOLE_PERCENT + 1];
+    private static final Percentage[] BASIS_POINTS = new Percentage[2 * MAX_BASIS_POINTS + 1];
+
+    //Largest unscaled value that can take another digit without overflowing.
+    private static final long MAX_UNSCALED_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
+    //Values with at most this many digits are always kept in the compact form.
+    private static final int MAX_COMPACT_PRECISION = 18;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
 
     /**
      * 0%.
@@ -40,11 +57,17 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      */
     public static final Percentage ONE_HUNDRED = Percentage.valueOf("100%");
 
-    //The value of the percentage as a BD.
-    private transient final BigDecimal value;
+    //The value of the percentage as a BD.  For compact percentages this is created the first time it is needed.
+    private transient BigDecimal value;
 
+    //The compact fixed point form of the value, unscaled / 10^scale.  Only used if compact is true.
+    //Arithmetic between compact percentages is done on these without creating any BigDecimals.
+    private transient final long unscaled;
+    private transient final int scale;
+    private transient final boolean compact;
 
     //The external form of the Percentage, used for toString as well.  Can be parsed via valueOf.
+    //Calculated the first time it is needed.
     private transient String externalForm;
 
     private transient int hashCode;  
@@ -55,6 +78,9 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      */
     Percentage() {
         value = null;
+        unscaled = 0;
+        scale = 0;
+        compact = false;
         externalForm = null;
         hashCode = 0;
     }
@@ -67,29 +93,45 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      */
     private Percentage(final BigDecimal value) {
         this.value = value;
-        externalForm = createExternalForm();
-        hashCode = value.stripTrailingZeros().hashCode();
+        this.compact = value.precision() <= MAX_COMPACT_PRECISION;
+        this.unscaled = compact ? value.unscaledValue().longValue() : 0;
+        this.scale = value.scale();
     }
 
+    /**
+     * Constructs a new compact Percentage with the value unscaled / 10^scale.
+     *
+     * @param unscaled The unscaled value.
+     * @param scale    The scale of the value.
+     */
+    private Percentage(final long unscaled, final int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.compact = true;
+    }
+
+    //Same result as a US percent NumberFormat with no grouping and no limit on fraction digits.
     private String createExternalForm() {
-        NumberFormat format = NumberFormat.getPercentInstance(Locale.US);
-        format.setMaximumFractionDigits(Integer.MAX_VALUE);
-        format.setGroupingUsed(false);
-        return format.format(value);
+        return value().movePointRight(2).stripTrailingZeros().toPlainString() + '%';
     }
 
     /**
      * @return The BigDecimal value that drives this Percentage.
      */
     public BigDecimal value() {
-        return value;
+        BigDecimal bigDecimal = value;
+        if (bigDecimal == null) {
+            bigDecimal = BigDecimal.valueOf(unscaled, scale);
+            value = bigDecimal;
+        }
+        return bigDecimal;
     }
 
     /**
      * @return The double value representation of this percentage.
      */
     public double doubleValue() {
-        return value.doubleValue();
+        return value().doubleValue();
     }
 
     /**
@@ -99,7 +141,11 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      * @return The result of the addition.
      */
     public Percentage add(final Percentage other) {
-        return valueOf(value.add(other.value));
+        if (compact && other.compact) {
+            Percentage result = addCompact(unscaled, scale, other.unscaled, other.scale);
+            if (result != null) return result;
+        }
+        return valueOf(value().add(other.value()));
     }
 
     /**
@@ -109,7 +155,11 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      * @return The result of the subtraction.
      */
     public Percentage subtract(final Percentage other) {
-        return valueOf(value.subtract(other.value));
+        if (compact && other.compact && other.unscaled != Long.MIN_VALUE) {
+            Percentage result = addCompact(unscaled, scale, -other.unscaled, other.scale);
+            if (result != null) return result;
+        }
+        return valueOf(value().subtract(other.value()));
     }
 
     /**
@@ -119,7 +169,11 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      * @return The result of the multiplication.
      */
     public Percentage multiply(final BigDecimal amount) {
-        return valueOf(value.multiply(amount));
+        if (compact && isCompactInteger(amount)) {
+            long product = amount.longValue() * unscaled;
+            if (!multiplyOverflowed(amount.longValue(), unscaled, product)) return valueOf(product, scale);
+        }
+        return valueOf(value().multiply(amount));
     }
 
     /**
@@ -130,7 +184,12 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      *         largest of either the percentage or the amount.
      */
     public Percentage divide(final BigDecimal amount) {
-        return valueOf(value.divide(amount, Math.max(value.scale(), amount.scale()), BigDecimal.ROUND_HALF_EVEN));
+        if (compact && scale >= 0 && unscaled != Long.MIN_VALUE && isCompactInteger(amount) && amount.signum() != 0) {
+            return valueOf(divideHalfEven(unscaled, amount.longValue()), scale);
+        }
+        BigDecimal bigDecimal = value();
+        return valueOf(bigDecimal.divide(amount, Math.max(bigDecimal.scale(), amount.scale()),
+                BigDecimal.ROUND_HALF_EVEN));
     }
 
     /**
@@ -142,6 +201,12 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      * @throws NullPointerException If amount is null.
      */
     public BigDecimal of(BigDecimal amount) {
+        if (compact && scale >= 0 && scale < POWERS_OF_TEN.length && isCompactInteger(amount)) {
+            long product = amount.longValue() * unscaled;
+            if (!multiplyOverflowed(amount.longValue(), unscaled, product)) {
+                return BigDecimal.valueOf(exactlyUnscale(product));
+            }
+        }
         return amount.multiply(value()).setScale(amount.scale());
     }
 
@@ -154,9 +219,25 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      * @throws NullPointerException If amount is null.
      */
     public BigDecimal change(BigDecimal amount) {
+        if (compact && scale >= 0 && scale < POWERS_OF_TEN.length && isCompactInteger(amount)) {
+            long product = amount.longValue() * unscaled;
+            if (!multiplyOverflowed(amount.longValue(), unscaled, product)) {
+                long base = amount.longValue();
+                long change = exactlyUnscale(product);
+                long result = base + change;
+                if (((base ^ result) & (change ^ result)) >= 0) return BigDecimal.valueOf(result);
+            }
+        }
         return amount.add(of(amount));
     }
 
+    //Removes this percentage's scale from a product, as setScale(0) would without rounding.
+    private long exactlyUnscale(final long product) {
+        long power = POWERS_OF_TEN[scale];
+        if (product % power != 0) throw new ArithmeticException("Rounding necessary");
+        return product / power;
+    }
+
     /**
      * Compares this percentage with another percentage.
      *
@@ -164,12 +245,47 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      * @return An integer with the results of the compare.
      */
     public int compareTo(final Percentage other) {
-        return value.compareTo(other.value);
+        if (compact && other.compact) {
+            if (scale == other.scale) return Long.compare(unscaled, other.unscaled);
+            int commonScale = Math.max(scale, other.scale);
+            long thisUnscaled = scaleUp(unscaled, scale, commonScale);
+            long otherUnscaled = scaleUp(other.unscaled, other.scale, commonScale);
+            if (thisUnscaled != OVERFLOW && otherUnscaled != OVERFLOW) {
+                return Long.compare(thisUnscaled, otherUnscaled);
+            }
+        }
+        return value().compareTo(other.value());
     }
 
+    /**
+     * @return A hashcode based on the value without trailing zeros, so that equal percentages of
+     *         different scales have the same hashcode.
+     */
     @Override
     public int hashCode() {
-        return hashCode;
+        int code = hashCode;
+        if (code == 0) {
+            if (compact) {
+                code = compactHashCode(unscaled, scale);
+            } else {
+                BigDecimal stripped = value.stripTrailingZeros();
+                BigInteger strippedUnscaled = stripped.unscaledValue();
+                code = strippedUnscaled.bitLength() < Long.SIZE
+                        ? compactHashCode(strippedUnscaled.longValue(), stripped.scale())
+                        : stripped.hashCode();
+            }
+            hashCode = code;
+        }
+        return code;
+    }
+
+    private static int compactHashCode(long unscaled, int scale) {
+        if (unscaled == 0) return 0;
+        while (unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        return 31 * Long.hashCode(unscaled) + scale;
     }
 
 
@@ -179,6 +295,7 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      */
     @Override
     public boolean equals(final Object o) {
+        if (this == o) return true;
         if (o instanceof Percentage) {
             Percentage other = (Percentage) o;
             return compareTo(other) == 0;
@@ -197,12 +314,17 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
      */
     @Override
     public String toString() {
-        return externalForm;
+        String form = externalForm;
+        if (form == null) {
+            form = createExternalForm();
+            externalForm = form;
+        }
+        return form;
     }
 
     //Methods used to implement the custom serialized form.
     private void writeObject(final ObjectOutputStream out) throws IOException {
-        out.writeObject(externalForm);
+        out.writeObject(toString());
     }
 
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -238,23 +360,156 @@ public final class Percentage implements Serializable, Comparable<Percentage> {
     }
 
     /**
-     * This creates a new Percentage object from a percent formatted string, so that
-     * 1% will create a Percentage with a value of .01.
+     * This creates a Percentage object from a percent formatted string, so that
+     * 1% will create a Percentage with a value of .01.  The number is read from the start of the string
+     * and anything following the number and an optional % is ignored.  Commonly used values, whole percents
+     * and basis points between -100% and 100%, are shared instances.
      *
      * @param formattedString A US formatted percentage number that may use grouping and %.
-     * @return A new Percentage object.  The scale of the Percentage will remain the same as that string passed.
+     * @return A Percentage object.  The scale of the Percentage will remain the same as that string passed.
      * @throws IllegalArgumentException If the string is not formatted correctly.
      */
     public static Percentage valueOf(String formattedString)
             throws IllegalArgumentException {
-        Matcher matcher = PERCENTAGE_STRING_PATTERN.matcher(formattedString);
-        if (matcher.find() && matcher.group(1).length() > 0) {
-            String valueString = matcher.group(1);
-            return new Percentage(new BigDecimal(valueString.replaceAll(",", "")).movePointLeft(2));
-        } else {
+        int length = formattedString.length();
+        int index = 0;
+        boolean negative = length > 0 && formattedString.charAt(0) == '-';
+        if (negative) index++;
+
+        long unscaled = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean overflow = false;
+        for (; index < length; index++) {
+            char c = formattedString.charAt(index);
+            if (isDigit(c)) {
+                overflow |= unscaled > MAX_UNSCALED_BEFORE_DIGIT;
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+            } else if (c != ',') {
+                break;
+            }
+        }
+        if (index + 1 < length && formattedString.charAt(index) == '.' && isDigit(formattedString.charAt(index + 1))) {
+            for (index++; index < length && isDigit(formattedString.charAt(index)); index++) {
+                overflow |= unscaled > MAX_UNSCALED_BEFORE_DIGIT;
+                unscaled = unscaled * 10 + (formattedString.charAt(index) - '0');
+                fractionDigits++;
+            }
+        }
+        if (digits + fractionDigits == 0) {
             throw new IllegalArgumentException(MessageFormat.format("[{0}] not in <value>% format.",
                     formattedString));
         }
+
+        if (overflow) {
+            String number = formattedString.substring(0, index).replace(",", "");
+            return new Percentage(new BigDecimal(number).movePointLeft(2));
+        }
+        return valueOf(negative ? -unscaled : unscaled, fractionDigits + 2);
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    //Marks a compact calculation that did not fit in a long.  Never a valid scaled value since it has 19 digits.
+    private static final long OVERFLOW = Long.MIN_VALUE;
+
+    //Adds two compact values, null if the result does not fit in a long.
+    private static Percentage addCompact(final long unscaled, final int scale,
+                                         final long otherUnscaled, final int otherScale) {
+        int commonScale = Math.max(scale, otherScale);
+        long first = scaleUp(unscaled, scale, commonScale);
+        long second = scaleUp(otherUnscaled, otherScale, commonScale);
+        if (first == OVERFLOW || second == OVERFLOW) return null;
+        long sum = first + second;
+        if (((first ^ sum) & (second ^ sum)) < 0 || sum == OVERFLOW) return null;
+        return valueOf(sum, commonScale);
+    }
+
+    //Changes the scale of an unscaled value to a larger scale, OVERFLOW if it will not fit.
+    private static long scaleUp(final long unscaled, final int scale, final int newScale) {
+        long difference = (long) newScale - scale;
+        if (difference == 0) return unscaled;
+        if (difference >= POWERS_OF_TEN.length) return unscaled == 0 ? 0 : OVERFLOW;
+        long power = POWERS_OF_TEN[(int) difference];
+        long result = unscaled * power;
+        return multiplyOverflowed(unscaled, power, result) || result == OVERFLOW ? OVERFLOW : result;
+    }
+
+    //The same overflow check Math.multiplyExact does, without the exception.
+    private static boolean multiplyOverflowed(final long first, final long second, final long product) {
+        long absFirst = Math.abs(first);
+        long absSecond = Math.abs(second);
+        return ((absFirst | absSecond) >>> 31 != 0)
+                && ((second != 0 && product / second != first) || (first == Long.MIN_VALUE && second == -1));
+    }
+
+    //A BigDecimal that is a whole number that fits in a long, so longValue() is exact and cheap.
+    private static boolean isCompactInteger(final BigDecimal amount) {
+        return amount.scale() == 0 && amount.precision() <= MAX_COMPACT_PRECISION;
+    }
+
+    //Integer division rounded as BigDecimal.ROUND_HALF_EVEN would.
+    private static long divideHalfEven(final long dividend, final long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder != 0) {
+            int half = Long.compare(remainder, Math.abs(divisor) - remainder);
+            if (half > 0 || (half == 0 && (quotient & 1) != 0)) {
+                quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+            }
+        }
+        return quotient;
+    }
+
+    //The compact form of this percentage, for CommonCodecs and PercentageArray.  Only meaningful when
+    //isCompact() is true.
+    boolean isCompact() {
+        return compact;
+    }
+
+    long unscaled() {
+        return unscaled;
+    }
+
+    int scale() {
+        return scale;
+    }
+
+    //Gets the Percentage with the value unscaled / 10^scale for any unscaled value, for CommonCodecs and
+    //PercentageArray.
+    static Percentage valueOfUnscaled(final long unscaled, final int scale) {
+        if (unscaled > -POWERS_OF_TEN[MAX_COMPACT_PRECISION] && unscaled < POWERS_OF_TEN[MAX_COMPACT_PRECISION]) {
+            return valueOf(unscaled, scale);
+        }
+        return new Percentage(BigDecimal.valueOf(unscaled, scale));
+    }
+
+    //Gets the Percentage with the given unscaled value and scale, using a shared instance when there is one.
+    private static Percentage valueOf(final long unscaled, final int scale) {
+        Percentage[] cache;
+        int max;
+        if (scale == 2) {
+            cache = WHOLE_PERCENTS;
+            max = MAX_WHOLE_PERCENT;
+        } else if (scale == 4) {
+            cache = BASIS_POINTS;
+            max = MAX_BASIS_POINTS;
+        } else {
+            return new Percentage(unscaled, scale);
+        }
+        if (unscaled < -max || unscaled > max) {
+            return new Percentage(unscaled, scale);
+        }
+        int slot = (int) unscaled + max;
+        Percentage percentage = cache[slot];
+        if (percentage == null) {
+            percentage = new Percentage(unscaled, scale);
+            cache[slot] = percentage;
+        }
+        return percentage;
     }
 
     /**
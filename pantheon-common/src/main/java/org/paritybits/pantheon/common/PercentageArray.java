@@ -0,0 +1,203 @@
+package org.paritybits.pantheon.common;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Percentages kept off the heap as 12 byte records: the unscaled value of the percentage as a long followed by
+ * its scale.  Percentages whose unscaled value does not fit in a long cannot be held.
+ * <p/>
+ * get and the iterator create a Percentage for each record, a Cursor reads the records in place without
+ * creating anything.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.StructArray
+ */
+public final class PercentageArray extends StructArray implements Iterable<Percentage> {
+
+    private static final int UNSCALED = 0;
+    private static final int SCALE = 8;
+    private static final int RECORD_SIZE = 12;
+
+    private PercentageArray(final int capacity) {
+        super(RECORD_SIZE, capacity);
+    }
+
+    /**
+     * @param capacity The number of percentages to allocate room for at first.
+     * @return A new empty array.
+     * @throws IllegalArgumentException If capacity is negative or too large.
+     */
+    public static PercentageArray create(final int capacity) {
+        return new PercentageArray(capacity);
+    }
+
+    /**
+     * @param percentage The percentage to add to the end.
+     * @throws NullPointerException     If percentage is null.
+     * @throws IllegalArgumentException If the unscaled value of percentage does not fit in a long.
+     */
+    public void add(final Percentage percentage) {
+        checkFits(percentage);
+        write(percentage, appendRecord());
+    }
+
+    /**
+     * @param percentages The percentages to add to the end, in order.
+     * @throws NullPointerException     If any percentage is null.
+     * @throws IllegalArgumentException If the unscaled value of a percentage does not fit in a long.
+     */
+    public void addAll(final Iterable<Percentage> percentages) {
+        for (Percentage percentage : percentages) {
+            add(percentage);
+        }
+    }
+
+    /**
+     * @param index      The index of the percentage to replace.
+     * @param percentage The new percentage.
+     * @throws IndexOutOfBoundsException If there is no percentage at index.
+     * @throws NullPointerException      If percentage is null.
+     * @throws IllegalArgumentException  If the unscaled value of percentage does not fit in a long.
+     */
+    public void set(final int index, final Percentage percentage) {
+        int offset = offset(index);
+        checkFits(percentage);
+        write(percentage, offset);
+    }
+
+    /**
+     * @param index The index of a percentage.
+     * @return A Percentage equal to the one at index.
+     * @throws IndexOutOfBoundsException If there is no percentage at index.
+     */
+    public Percentage get(final int index) {
+        int offset = offset(index);
+        return Percentage.valueOfUnscaled(buffer().getLong(offset + UNSCALED), buffer().getInt(offset + SCALE));
+    }
+
+    /**
+     * @param index The index of a percentage.
+     * @return The unscaled value of the percentage at index.
+     * @throws IndexOutOfBoundsException If there is no percentage at index.
+     */
+    public long unscaled(final int index) {
+        return buffer().getLong(offset(index) + UNSCALED);
+    }
+
+    /**
+     * @param index The index of a percentage.
+     * @return The scale of the percentage at index.
+     * @throws IndexOutOfBoundsException If there is no percentage at index.
+     */
+    public int scale(final int index) {
+        return buffer().getInt(offset(index) + SCALE);
+    }
+
+    /**
+     * Copies percentages to another array, or within this one, as a block of memory.
+     *
+     * @param from   The index of the first percentage to copy.
+     * @param target The array to copy to.
+     * @param at     The index in target to copy to, from 0 up to its size.
+     * @param count  The number of percentages to copy.
+     * @throws IndexOutOfBoundsException If either range is out of bounds.
+     */
+    public void copyTo(final int from, final PercentageArray target, final int at, final int count) {
+        copyRecords(from, target, at, count);
+    }
+
+    /**
+     * @return A new cursor before the first percentage.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @return An iterator that creates a Percentage for each record.  Like the iterators of the collections
+     *         it fails if the array changes size while iterating.
+     */
+    public Iterator<Percentage> iterator() {
+        final int expectedSize = size();
+        return new Iterator<Percentage>() {
+            private int index;
+
+            public boolean hasNext() {
+                return index < expectedSize;
+            }
+
+            public Percentage next() {
+                if (index >= expectedSize) throw new NoSuchElementException();
+                if (size() != expectedSize) throw new IllegalStateException("The array changed while iterating.");
+                return get(index++);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Use set to change a PercentageArray.");
+            }
+        };
+    }
+
+    /**
+     * A flyweight over one record of the array at a time.  Moving the cursor and reading through it creates
+     * no objects.
+     */
+    public final class Cursor {
+        private int offset = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * @param index The index of the percentage to move to.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If there is no percentage at index.
+         */
+        public Cursor at(final int index) {
+            offset = offset(index);
+            return this;
+        }
+
+        /**
+         * @return The unscaled value of the percentage at the cursor.
+         */
+        public long unscaled() {
+            return buffer().getLong(offset + UNSCALED);
+        }
+
+        /**
+         * @return The scale of the percentage at the cursor.
+         */
+        public int scale() {
+            return buffer().getInt(offset + SCALE);
+        }
+
+        /**
+         * @return A Percentage equal to the one at the cursor.
+         */
+        public Percentage toPercentage() {
+            return Percentage.valueOfUnscaled(unscaled(), scale());
+        }
+    }
+
+    private static void checkFits(final Percentage percentage) {
+        if (percentage == null) throw new NullPointerException("Percentage cannot be null.");
+        if (!percentage.isCompact() && percentage.value().unscaledValue().bitLength() >= Long.SIZE) {
+            throw new IllegalArgumentException(percentage + " is too precise for a PercentageArray.");
+        }
+    }
+
+    private void write(final Percentage percentage, final int offset) {
+        if (percentage.isCompact()) {
+            buffer().putLong(offset + UNSCALED, percentage.unscaled());
+            buffer().putInt(offset + SCALE, percentage.scale());
+        } else {
+            BigDecimal value = percentage.value();
+            buffer().putLong(offset + UNSCALED, value.unscaledValue().longValue());
+            buffer().putInt(offset + SCALE, value.scale());
+        }
+    }
+}
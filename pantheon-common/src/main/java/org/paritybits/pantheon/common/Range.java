@@ -45,6 +45,30 @@ public final class Range<T> implements Iterable<T>, Serializable {
         }
     };
 
+    //The default range rule for DistanceRangeable objects, which can step and count without iterating.
+    private static final DistanceRangeRule<DistanceRangeable> DISTANCE_RANGE_RULE =
+            new DistanceRangeRule<DistanceRangeable>() {
+        public int compare(final DistanceRangeable compareThis, final DistanceRangeable toThat) {
+            return compareThis.compareTo(toThat);
+        }
+
+        public DistanceRangeable prior(final DistanceRangeable from) {
+            return (DistanceRangeable) from.prior();
+        }
+
+        public DistanceRangeable next(final DistanceRangeable from) {
+            return (DistanceRangeable) from.next();
+        }
+
+        public long distance(final DistanceRangeable from, final DistanceRangeable to) {
+            return from.stepsUntil(to);
+        }
+
+        public DistanceRangeable stepsFrom(final DistanceRangeable start, final long steps) {
+            return (DistanceRangeable) start.roll(steps);
+        }
+    };
+
     /**
      * Defines the direction of a range.  This should never be used outside Range.  It is package protected mostly for
      * testing purposes.
@@ -221,7 +245,69 @@ public final class Range<T> implements Iterable<T>, Serializable {
      * @throws NullPointerException if item is null.
      */
     public boolean contains(T item) {
-        return CommonUtil.contains(this, item);
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * The number of items in the range.  This is constant time when the range rule is a DistanceRangeRule,
+     * which is the default for DistanceRangeable objects, and iterates over the range otherwise.
+     *
+     * @return The number of items the iterator returns.
+     */
+    public long size() {
+        RangeRule<T> rule = getRangeRule();
+        if (rule instanceof DistanceRangeRule) {
+            return Math.abs(((DistanceRangeRule<T>) rule).distance(from, to)) + 1;
+        }
+        long size = 0;
+        for (Iterator<T> iterator = iterator(); iterator.hasNext(); iterator.next()) size++;
+        return size;
+    }
+
+    /**
+     * Gets an item by its position in the range.  This is constant time when the range rule is a
+     * DistanceRangeRule and iterates over the range otherwise.
+     *
+     * @param index The position of the item, the first item being 0.
+     * @return The item the iterator returns at that position.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size of the range.
+     */
+    public T get(final long index) {
+        if (index < 0) throw new IndexOutOfBoundsException("Index cannot be negative.");
+        RangeRule<T> rule = getRangeRule();
+        if (rule instanceof DistanceRangeRule) {
+            if (index >= size()) throw new IndexOutOfBoundsException("Index " + index + " is past the end.");
+            return ((DistanceRangeRule<T>) rule).stepsFrom(from, direction == Direction.FORWARDS ? index : -index);
+        }
+        long position = 0;
+        for (T item : this) {
+            if (position++ == index) return item;
+        }
+        throw new IndexOutOfBoundsException("Index " + index + " is past the end.");
+    }
+
+    /**
+     * Finds the position of an item in the range.  This is constant time when the range rule is a
+     * DistanceRangeRule and iterates over the range otherwise.
+     *
+     * @param item The item to find.
+     * @return The position the iterator returns the item at, or -1 if the item is not in the range.
+     * @throws NullPointerException if item is null.
+     */
+    public long indexOf(final T item) {
+        if (!hasWithin(item)) return -1;
+        RangeRule<T> rule = getRangeRule();
+        if (rule instanceof DistanceRangeRule) {
+            DistanceRangeRule<T> distanceRule = (DistanceRangeRule<T>) rule;
+            long distance = distanceRule.distance(from, item);
+            return distanceRule.stepsFrom(from, distance).equals(item) ? Math.abs(distance) : -1;
+        }
+        long position = 0;
+        for (T candidate : this) {
+            if (candidate.equals(item)) return position;
+            position++;
+        }
+        return -1;
     }
 
     /**
@@ -269,10 +355,15 @@ public final class Range<T> implements Iterable<T>, Serializable {
         if (rangeRule != null) {
             return rangeRule;
         } else {
-            return (RangeRule<T>) DEFAULT_RANGE_RULE;
+            return (RangeRule<T>) defaultRangeRule(from);
         }
     }
 
+    //The rule for a Rangeable item, which can count steps if the item is DistanceRangeable.
+    private static RangeRule defaultRangeRule(final Object item) {
+        return item instanceof DistanceRangeable ? DISTANCE_RANGE_RULE : DEFAULT_RANGE_RULE;
+    }
+
     /**
      * Determines if the range is equal to another object.  It will be true that two
      * ranges that are equal will produce the same sequence when iterated over.  Also if the Rangable objects or
@@ -358,7 +449,7 @@ public final class Range<T> implements Iterable<T>, Serializable {
      * @throws NullPointerException If start is null.
      */
     public static <T extends Rangeable> T stepsFrom(final T start, final int steps) {
-        return stepsFrom(start, steps, (RangeRule<T>) DEFAULT_RANGE_RULE);
+        return stepsFrom(start, steps, (RangeRule<T>) defaultRangeRule(start));
     }
 
     /**
@@ -367,12 +458,14 @@ public final class Range<T> implements Iterable<T>, Serializable {
      * @param start     The starting point.
      * @param steps     The number of steps to go.  Positive values will use the next method, while negative values will
      *                  use the prior method.  If steps is 0, then the mehtod will return start.
-     * @param rangeRule The rule for getting the next and prior steps.
+     * @param rangeRule The rule for getting the next and prior steps.  A DistanceRangeRule takes all the steps
+     *                  at once.
      * @return The value that is n number of steps from the starting value
      * @throws NullPointerException If either start or rangeRule are null.
      */
     public static <T> T stepsFrom(final T start, final int steps, final RangeRule<T> rangeRule) {
         if(start == null || rangeRule == null) throw new NullPointerException("start and rule cannot be null.");
+        if (rangeRule instanceof DistanceRangeRule) return ((DistanceRangeRule<T>) rangeRule).stepsFrom(start, steps);
         T value = start;
         boolean increment = steps > 0;
         int absoluteSteps = Math.abs(steps);
@@ -0,0 +1,166 @@
+package org.paritybits.pantheon.common;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The base of the arrays that keep values as fixed width records in a direct ByteBuffer, outside the heap.
+ * A value held this way costs its record and nothing else: no object header, no references for the garbage
+ * collector to trace and no boxed fields, so tens of millions of them take a fraction of the heap they
+ * would as objects.
+ * <p/>
+ * Records are appended and grow the buffer by half when it is full, or set in place.  Subclasses add typed
+ * accessors over offset(index), a flyweight cursor that reads a record without creating the value and a way
+ * to materialize values on demand.  Struct arrays are not thread safe.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public abstract class StructArray {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int recordSize;
+    private final int maxCapacity;
+    private ByteBuffer buffer;
+    private int size;
+
+    /**
+     * @param recordSize The bytes in a record.
+     * @param capacity   The records to allocate room for at first.
+     * @throws IllegalArgumentException If capacity is negative or too large for a single buffer.
+     */
+    protected StructArray(final int recordSize, final int capacity) {
+        this.recordSize = recordSize;
+        this.maxCapacity = Integer.MAX_VALUE / recordSize;
+        if (capacity < 0 || capacity > maxCapacity) {
+            throw new IllegalArgumentException("Capacity must be from 0 to " + maxCapacity + ".");
+        }
+        this.buffer = allocate(capacity);
+    }
+
+    /**
+     * @return The number of records.
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of records there is room for before the buffer grows.
+     */
+    public final int capacity() {
+        return buffer.capacity() / recordSize;
+    }
+
+    /**
+     * @return The bytes in a record.
+     */
+    public final int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * @return The off heap bytes allocated.
+     */
+    public final long allocatedBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Removes every record, keeping the memory.
+     */
+    public final void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return A read only view of the records, in native byte order, for bulk transfer to a channel or another
+     *         buffer.  The view is of the current buffer and is not updated if the array grows.
+     */
+    public final ByteBuffer asReadOnlyBuffer() {
+        ByteBuffer view = buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+        //The position and limit are set through Buffer here and below, since the ByteBuffer overrides added in
+        //Java 9 do not exist on a Java 8 runtime.
+        ((Buffer) view).limit(size * recordSize);
+        return view;
+    }
+
+    /**
+     * @return The buffer the records are in.  It changes when the array grows.
+     */
+    protected final ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * @param index The index of a record.
+     * @return The offset of the record in the buffer.
+     * @throws IndexOutOfBoundsException If there is no record at index.
+     */
+    protected final int offset(final int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return index * recordSize;
+    }
+
+    /**
+     * Adds a record to the end, growing the buffer when it is full.  The record may hold the bytes of a
+     * cleared record, the subclass is expected to write every byte of it.
+     *
+     * @return The offset of the new record.
+     * @throws IllegalStateException If the array is as large as a single buffer can be.
+     */
+    protected final int appendRecord() {
+        if (size == capacity()) grow();
+        return size++ * recordSize;
+    }
+
+    /**
+     * Copies records between arrays of the same type as a single block of memory.
+     *
+     * @param from   The index of the first record to copy.
+     * @param target The array to copy to, which may be this one.
+     * @param at     The index in target to copy to, from 0 up to its size.  Records past its size are added.
+     * @param count  The number of records to copy.
+     * @throws IllegalArgumentException  If target is a different type of array.
+     * @throws IndexOutOfBoundsException If the records to copy or the index in target are out of bounds.
+     */
+    protected final void copyRecords(final int from, final StructArray target, final int at, final int count) {
+        if (target.getClass() != getClass()) throw new IllegalArgumentException("Arrays must be of the same type.");
+        if (count < 0 || from < 0 || from > size - count) {
+            throw new IndexOutOfBoundsException("From: " + from + ", Count: " + count + ", Size: " + size);
+        }
+        if (at < 0 || at > target.size) throw new IndexOutOfBoundsException("At: " + at + ", Size: " + target.size);
+        int newSize = Math.max(target.size, at + count);
+        while (target.capacity() < newSize) target.grow();
+        ByteBuffer source = buffer.duplicate();
+        ((Buffer) source).limit((from + count) * recordSize).position(from * recordSize);
+        if (target == this) {
+            //The ranges may overlap, so go through the heap.
+            byte[] copy = new byte[count * recordSize];
+            source.get(copy);
+            source = ByteBuffer.wrap(copy);
+        }
+        ByteBuffer destination = target.buffer.duplicate();
+        ((Buffer) destination).position(at * recordSize);
+        destination.put(source);
+        target.size = newSize;
+    }
+
+    private void grow() {
+        int capacity = capacity();
+        if (capacity == maxCapacity) throw new IllegalStateException("The array cannot grow past " + maxCapacity + ".");
+        int newCapacity = (int) Math.min(maxCapacity, Math.max(MIN_CAPACITY, capacity + (long) (capacity >> 1)));
+        ByteBuffer grown = allocate(newCapacity);
+        ByteBuffer old = buffer.duplicate();
+        ((Buffer) old).clear().limit(size * recordSize);
+        grown.put(old);
+        ((Buffer) grown).clear();
+        buffer = grown;
+    }
+
+    private ByteBuffer allocate(final int capacity) {
+        return ByteBuffer.allocateDirect(capacity * recordSize).order(ByteOrder.nativeOrder());
+    }
+}
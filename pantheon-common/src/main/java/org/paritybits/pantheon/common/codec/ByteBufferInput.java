@@ -0,0 +1,110 @@
+package org.paritybits.pantheon.common.codec;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A DataInput that reads straight from a ByteBuffer.  Reading past the limit of the buffer throws
+ * EOFException as a stream would.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+final class ByteBufferInput implements DataInput {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInput(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        require(len);
+        buffer.get(b, off, len);
+    }
+
+    public int skipBytes(final int n) {
+        int skipped = Math.max(0, Math.min(n, buffer.remaining()));
+        //Through Buffer, since the ByteBuffer override added in Java 9 does not exist on a Java 8 runtime.
+        ((Buffer) buffer).position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public byte readByte() throws IOException {
+        require(1);
+        return buffer.get();
+    }
+
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    public short readShort() throws IOException {
+        require(2);
+        return buffer.getShort();
+    }
+
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    public char readChar() throws IOException {
+        require(2);
+        return buffer.getChar();
+    }
+
+    public int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    public float readFloat() throws IOException {
+        require(4);
+        return buffer.getFloat();
+    }
+
+    public double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    public String readLine() {
+        if (!buffer.hasRemaining()) return null;
+        StringBuilder line = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            char c = (char) (buffer.get() & 0xFF);
+            if (c == '\n') break;
+            if (c == '\r') {
+                if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') buffer.get();
+                break;
+            }
+            line.append(c);
+        }
+        return line.toString();
+    }
+
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    private void require(final int bytes) throws EOFException {
+        if (buffer.remaining() < bytes) throw new EOFException();
+    }
+}
@@ -0,0 +1,101 @@
+package org.paritybits.pantheon.common.codec;
+
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
+/**
+ * A DataOutput that writes straight into a ByteBuffer, so that codecs written against DataOutput can fill a
+ * buffer without a stream in between.  Writing past the limit of the buffer throws BufferOverflowException.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+final class ByteBufferOutput implements DataOutput {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferOutput(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public void write(final int b) {
+        buffer.put((byte) b);
+    }
+
+    public void write(final byte[] b) {
+        buffer.put(b);
+    }
+
+    public void write(final byte[] b, final int off, final int len) {
+        buffer.put(b, off, len);
+    }
+
+    public void writeBoolean(final boolean v) {
+        buffer.put(v ? (byte) 1 : (byte) 0);
+    }
+
+    public void writeByte(final int v) {
+        buffer.put((byte) v);
+    }
+
+    public void writeShort(final int v) {
+        buffer.putShort((short) v);
+    }
+
+    public void writeChar(final int v) {
+        buffer.putChar((char) v);
+    }
+
+    public void writeInt(final int v) {
+        buffer.putInt(v);
+    }
+
+    public void writeLong(final long v) {
+        buffer.putLong(v);
+    }
+
+    public void writeFloat(final float v) {
+        buffer.putFloat(v);
+    }
+
+    public void writeDouble(final double v) {
+        buffer.putDouble(v);
+    }
+
+    public void writeBytes(final String s) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    public void writeChars(final String s) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.putChar(s.charAt(i));
+        }
+    }
+
+    public void writeUTF(final String s) throws UTFDataFormatException {
+        //Modified UTF-8 as DataOutputStream writes it.
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            length += (c >= 0x0001 && c <= 0x007F) ? 1 : (c > 0x07FF ? 3 : 2);
+        }
+        if (length > 65535) throw new UTFDataFormatException("Encoded string too long: " + length + " bytes.");
+        buffer.putShort((short) length);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                buffer.put((byte) c);
+            } else if (c > 0x07FF) {
+                buffer.put((byte) (0xE0 | ((c >> 12) & 0x0F)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                buffer.put((byte) (0xC0 | ((c >> 6) & 0x1F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
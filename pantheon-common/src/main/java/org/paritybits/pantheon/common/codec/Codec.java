@@ -0,0 +1,35 @@
+package org.paritybits.pantheon.common.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes values of a type to a compact binary form and reads them back.  A codec writes only the value
+ * itself, the tag that identifies its type is written by the CodecRegistry.  Codecs are expected to be
+ * immutable and thread safe.
+ * <p/>
+ * Codecs work on DataOutput and DataInput, the registry adapts a ByteBuffer to these so every codec can be
+ * used with streams and buffers alike.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <T> The type of value this codec handles.
+ * @see org.paritybits.pantheon.common.codec.CodecRegistry
+ */
+public interface Codec<T> {
+
+    /**
+     * @param value The value to write, never null.
+     * @param out   Where the value is written.
+     * @throws IOException If out throws one.
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * @param in Where the value is read from.
+     * @return The value read.
+     * @throws IOException If in throws one or the input is not a value written by this codec.
+     */
+    T read(DataInput in) throws IOException;
+}
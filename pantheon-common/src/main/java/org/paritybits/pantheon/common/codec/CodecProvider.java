@@ -0,0 +1,21 @@
+package org.paritybits.pantheon.common.codec;
+
+/**
+ * Registers the codecs of a library with a registry.  Providers are found with ServiceLoader, list the
+ * provider class in META-INF/services/org.paritybits.pantheon.common.codec.CodecProvider to have its codecs
+ * in the standard registry.
+ * <p/>
+ * Tags identify types on the wire and must never change once data has been written with them.  Tags 1 to 15
+ * belong to pantheon-common, 16 to 31 to pantheon-janus, 32 to 47 to pantheon-plutus and 48 to 63 to
+ * pantheon-workloads; tags from 1024 up are free for applications.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public interface CodecProvider {
+
+    /**
+     * @param registry The registry to add codecs to.
+     */
+    void registerCodecs(CodecRegistry registry);
+}
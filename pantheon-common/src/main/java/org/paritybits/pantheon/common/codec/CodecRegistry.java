@@ -0,0 +1,237 @@
+package org.paritybits.pantheon.common.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps types to the codecs that write them and the tags that identify them on the wire.  A value written by
+ * the registry is its tag as an unsigned varint followed by whatever its codec writes, so it can be read back
+ * without knowing its type.  Tag 0 is null.
+ * <p/>
+ * A value whose class has no codec of its own is written by the codec of its nearest superclass that has one,
+ * so a single codec can handle a family of types.  Lookups are cached and registration is expected to happen
+ * before the registry is used; both are thread safe.
+ * <p/>
+ * The standard registry holds the codecs of every CodecProvider on the class path.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.codec.Codec
+ * @see org.paritybits.pantheon.common.codec.CodecProvider
+ */
+public final class CodecRegistry {
+
+    private static final int NULL_TAG = 0;
+
+    private final ConcurrentMap<Integer, Entry> byTag = new ConcurrentHashMap<Integer, Entry>();
+    private final ConcurrentMap<Class<?>, Entry> byType = new ConcurrentHashMap<Class<?>, Entry>();
+
+    //Types resolved to the codec of a superclass.  Cleared whenever a codec is registered.
+    private final ConcurrentMap<Class<?>, Entry> resolved = new ConcurrentHashMap<Class<?>, Entry>();
+
+    //A registered codec and the tag it was registered with.
+    private static final class Entry {
+        private final int tag;
+        private final Codec<Object> codec;
+
+        @SuppressWarnings({"unchecked"})
+        private Entry(final int tag, final Codec<?> codec) {
+            this.tag = tag;
+            this.codec = (Codec<Object>) codec;
+        }
+    }
+
+    //The standard registry, loaded the first time it is asked for.
+    private static final class Standard {
+        private static final CodecRegistry INSTANCE = load();
+
+        private static CodecRegistry load() {
+            CodecRegistry registry = new CodecRegistry();
+            for (CodecProvider provider : ServiceLoader.load(CodecProvider.class, CodecProvider.class.getClassLoader())) {
+                provider.registerCodecs(registry);
+            }
+            return registry;
+        }
+    }
+
+    private CodecRegistry() {
+    }
+
+    /**
+     * @return A new registry with no codecs.
+     */
+    public static CodecRegistry create() {
+        return new CodecRegistry();
+    }
+
+    /**
+     * @return The registry with the codecs of every CodecProvider found by ServiceLoader.
+     */
+    public static CodecRegistry standard() {
+        return Standard.INSTANCE;
+    }
+
+    /**
+     * Registers a codec for a type and its subclasses.
+     *
+     * @param tag   The tag that identifies the type on the wire, must be positive.
+     * @param type  The type the codec writes.
+     * @param codec The codec.
+     * @param <T>   The type the codec writes.
+     * @return This registry.
+     * @throws NullPointerException     If type or codec is null.
+     * @throws IllegalArgumentException If tag is not positive or tag or type already has a codec.
+     */
+    public synchronized <T> CodecRegistry register(final int tag, final Class<T> type, final Codec<T> codec) {
+        if (type == null) throw new NullPointerException("Type cannot be null.");
+        if (codec == null) throw new NullPointerException("Codec cannot be null.");
+        if (tag <= NULL_TAG) throw new IllegalArgumentException("Tag must be positive.");
+        if (byTag.containsKey(tag)) throw new IllegalArgumentException("Tag " + tag + " is already registered.");
+        if (byType.containsKey(type)) throw new IllegalArgumentException(type.getName() + " is already registered.");
+        Entry entry = new Entry(tag, codec);
+        byTag.put(tag, entry);
+        byType.put(type, entry);
+        resolved.clear();
+        return this;
+    }
+
+    /**
+     * @param type The type to check.
+     * @return true if values of type can be written.
+     */
+    public boolean supports(final Class<?> type) {
+        return entryFor(type) != null;
+    }
+
+    /**
+     * Writes a value, with its tag.
+     *
+     * @param value The value to write, may be null.
+     * @param out   Where to write it.
+     * @throws IOException              If out throws one.
+     * @throws IllegalArgumentException If there is no codec for the class of value.
+     */
+    public void write(final Object value, final DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_TAG);
+            return;
+        }
+        Entry entry = entryFor(value.getClass());
+        if (entry == null) throw new IllegalArgumentException("No codec for " + value.getClass().getName() + ".");
+        CodecSupport.writeUnsignedVarInt(entry.tag, out);
+        entry.codec.write(value, out);
+    }
+
+    /**
+     * Reads a value written by write.
+     *
+     * @param in Where to read from.
+     * @return The value read, may be null.
+     * @throws IOException If in throws one or the tag has no codec.
+     */
+    public Object read(final DataInput in) throws IOException {
+        int tag = CodecSupport.readUnsignedVarInt(in);
+        if (tag == NULL_TAG) return null;
+        Entry entry = byTag.get(tag);
+        if (entry == null) throw new IOException("No codec for tag " + tag + ".");
+        return entry.codec.read(in);
+    }
+
+    /**
+     * Reads a value of an expected type.
+     *
+     * @param in   Where to read from.
+     * @param type The type of value expected.
+     * @param <T>  The type of value expected.
+     * @return The value read, may be null.
+     * @throws IOException If in throws one, the tag has no codec or the value is not a type.
+     */
+    public <T> T read(final DataInput in, final Class<T> type) throws IOException {
+        Object value = read(in);
+        if (value != null && !type.isInstance(value)) {
+            throw new IOException("Expected a " + type.getName() + " but read a " + value.getClass().getName() + ".");
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Writes a value, with its tag, at the position of a buffer.
+     *
+     * @param value  The value to write, may be null.
+     * @param buffer Where to write it.
+     * @throws java.nio.BufferOverflowException If the value does not fit.
+     * @throws IllegalArgumentException         If there is no codec for the class of value.
+     */
+    public void write(final Object value, final ByteBuffer buffer) {
+        try {
+            write(value, new ByteBufferOutput(buffer));
+        } catch (IOException e) {
+            //ByteBufferOutput only throws for writeUTF, which codecs should not need.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads a value of an expected type from the position of a buffer.
+     *
+     * @param buffer Where to read from.
+     * @param type   The type of value expected.
+     * @param <T>    The type of value expected.
+     * @return The value read, may be null.
+     * @throws IOException If the buffer ends too soon, the tag has no codec or the value is not a type.
+     */
+    public <T> T read(final ByteBuffer buffer, final Class<T> type) throws IOException {
+        return read(new ByteBufferInput(buffer), type);
+    }
+
+    /**
+     * @param value The value to write, may be null.
+     * @return The bytes write would write for value.
+     * @throws IllegalArgumentException If there is no codec for the class of value.
+     */
+    public byte[] toBytes(final Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try {
+            write(value, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes Bytes written by toBytes.
+     * @param type  The type of value expected.
+     * @param <T>   The type of value expected.
+     * @return The value read, may be null.
+     * @throws IOException If the bytes end too soon, the tag has no codec or the value is not a type.
+     */
+    public <T> T fromBytes(final byte[] bytes, final Class<T> type) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(bytes)), type);
+    }
+
+    //Finds the entry for a type or its nearest registered superclass, null if there is none.
+    private Entry entryFor(final Class<?> type) {
+        Entry entry = byType.get(type);
+        if (entry != null) return entry;
+        entry = resolved.get(type);
+        if (entry != null) return entry;
+        for (Class<?> superclass = type.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+            entry = byType.get(superclass);
+            if (entry != null) {
+                resolved.put(type, entry);
+                return entry;
+            }
+        }
+        return null;
+    }
+}
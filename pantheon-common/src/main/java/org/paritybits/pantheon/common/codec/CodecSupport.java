@@ -0,0 +1,231 @@
+package org.paritybits.pantheon.common.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * The building blocks codecs are written with.  Whole numbers are written as varints, seven bits a byte with
+ * the high bit set on every byte but the last, so that small values take a single byte; signed values are
+ * zigzag encoded first so small negative values are short too.
+ * <p/>
+ * Decimals are written as their scale followed by their unscaled value.  An unscaled value that fits in a
+ * long, which is nearly all of them, is written as a varlong after a zero length; larger ones as a length and
+ * the two's complement bytes.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class CodecSupport {
+
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    //The most bytes a BigInteger can have.
+    private static final int MAX_INTEGER_BYTES = 1 << 28;
+    //The bytes or chars of a length read from the input to make room for at first, doubled as they arrive.
+    private static final int FIRST_READ = 1024;
+
+    private CodecSupport() {
+    }
+
+    /**
+     * @param value The value to write as an unsigned varint, negative values take five bytes.
+     * @param out   Where to write it.
+     * @throws IOException If out throws one.
+     */
+    public static void writeUnsignedVarInt(int value, final DataOutput out) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The unsigned varint read.
+     * @throws IOException If in throws one or the varint is longer than five bytes.
+     */
+    public static int readUnsignedVarInt(final DataInput in) throws IOException {
+        int value = 0;
+        for (int i = 0, shift = 0; i < MAX_VARINT_BYTES; i++, shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    /**
+     * @param value The value to write as a zigzag varint.
+     * @param out   Where to write it.
+     * @throws IOException If out throws one.
+     */
+    public static void writeVarInt(final int value, final DataOutput out) throws IOException {
+        writeUnsignedVarInt((value << 1) ^ (value >> 31), out);
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The zigzag varint read.
+     * @throws IOException If in throws one or the varint is malformed.
+     */
+    public static int readVarInt(final DataInput in) throws IOException {
+        int raw = readUnsignedVarInt(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * @param value The value to write as a zigzag varlong.
+     * @param out   Where to write it.
+     * @throws IOException If out throws one.
+     */
+    public static void writeVarLong(final long value, final DataOutput out) throws IOException {
+        long raw = (value << 1) ^ (value >> 63);
+        while ((raw & ~0x7FL) != 0) {
+            out.writeByte((int) ((raw & 0x7F) | 0x80));
+            raw >>>= 7;
+        }
+        out.writeByte((int) raw);
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The zigzag varlong read.
+     * @throws IOException If in throws one or the varlong is longer than ten bytes.
+     */
+    public static long readVarLong(final DataInput in) throws IOException {
+        long raw = 0;
+        for (int i = 0, shift = 0; i < MAX_VARLONG_BYTES; i++, shift += 7) {
+            int b = in.readUnsignedByte();
+            raw |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (raw >>> 1) ^ -(raw & 1);
+        }
+        throw new IOException("Malformed varlong.");
+    }
+
+    /**
+     * @param value The integer to write.
+     * @param out   Where to write it.
+     * @throws IOException If out throws one.
+     */
+    public static void writeBigInteger(final BigInteger value, final DataOutput out) throws IOException {
+        if (value.bitLength() < 64) {
+            out.writeByte(0);
+            writeVarLong(value.longValue(), out);
+        } else {
+            byte[] bytes = value.toByteArray();
+            writeUnsignedVarInt(bytes.length, out);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The integer read.
+     * @throws IOException If in throws one or the length is negative or too long for a BigInteger.
+     */
+    public static BigInteger readBigInteger(final DataInput in) throws IOException {
+        int length = readLength(in, MAX_INTEGER_BYTES, "integer length");
+        if (length == 0) return BigInteger.valueOf(readVarLong(in));
+        return new BigInteger(readBytes(in, length));
+    }
+
+    /**
+     * @param value The decimal to write.
+     * @param out   Where to write it.
+     * @throws IOException If out throws one.
+     */
+    public static void writeDecimal(final BigDecimal value, final DataOutput out) throws IOException {
+        writeVarInt(value.scale(), out);
+        writeBigInteger(value.unscaledValue(), out);
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The decimal read.
+     * @throws IOException If in throws one or the length of the unscaled value is negative or too long.
+     */
+    public static BigDecimal readDecimal(final DataInput in) throws IOException {
+        int scale = readVarInt(in);
+        int length = readLength(in, MAX_INTEGER_BYTES, "integer length");
+        if (length == 0) return BigDecimal.valueOf(readVarLong(in), scale);
+        return new BigDecimal(new BigInteger(readBytes(in, length)), scale);
+    }
+
+    /**
+     * Writes a string as its length and its chars, each char a varint.  Unlike writeUTF there is no
+     * length limit and nothing is encoded into a temporary array first.
+     *
+     * @param value The string to write.
+     * @param out   Where to write it.
+     * @throws IOException If out throws one.
+     */
+    public static void writeString(final CharSequence value, final DataOutput out) throws IOException {
+        int length = value.length();
+        writeUnsignedVarInt(length, out);
+        for (int i = 0; i < length; i++) {
+            writeUnsignedVarInt(value.charAt(i), out);
+        }
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The string read.
+     * @throws IOException If in throws one, the length is negative or a char is out of range.
+     */
+    public static String readString(final DataInput in) throws IOException {
+        int length = readLength(in, Integer.MAX_VALUE, "string length");
+        //The array grows as the chars arrive, as in readBytes.
+        char[] chars = new char[Math.min(length, FIRST_READ)];
+        for (int i = 0; i < length; i++) {
+            if (i == chars.length) chars = Arrays.copyOf(chars, (int) Math.min(length, 2L * i));
+            int c = readUnsignedVarInt(in);
+            if (c < 0 || c > Character.MAX_VALUE) throw new IOException("Malformed char " + (c & 0xFFFFFFFFL) + ".");
+            chars[i] = (char) c;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return A length or count, written as an unsigned varint.
+     * @throws IOException If in throws one or the length is negative.
+     */
+    public static int readLength(final DataInput in) throws IOException {
+        return readLength(in, Integer.MAX_VALUE, "length");
+    }
+
+    /**
+     * Reads bytes into an array that grows as they arrive, so a corrupt length runs out of input before it
+     * runs out of memory.
+     *
+     * @param in     Where to read from.
+     * @param length The number of bytes to read, as read with readLength.
+     * @return The bytes read.
+     * @throws IOException If in throws one, such as an EOFException before length bytes.
+     */
+    public static byte[] readBytes(final DataInput in, final int length) throws IOException {
+        byte[] bytes = new byte[Math.min(length, FIRST_READ)];
+        int read = 0;
+        while (read < length) {
+            if (read == bytes.length) bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * read));
+            in.readFully(bytes, read, bytes.length - read);
+            read = bytes.length;
+        }
+        return bytes;
+    }
+
+    //A length from in, which has to be from 0 to max.
+    private static int readLength(final DataInput in, final int max, final String what) throws IOException {
+        int length = readUnsignedVarInt(in);
+        if (length < 0 || length > max) {
+            throw new IOException("Malformed " + what + " " + (length & 0xFFFFFFFFL) + ".");
+        }
+        return length;
+    }
+}
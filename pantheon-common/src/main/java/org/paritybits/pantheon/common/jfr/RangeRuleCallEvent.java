@@ -0,0 +1,47 @@
+package org.paritybits.pantheon.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for a call to a RangeRule that took longer than the threshold, 1 ms unless
+ * the recording settings say otherwise.  The event is disabled by default, enable
+ * org.paritybits.pantheon.common.RangeRuleCall in the recording settings to see it.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.jfr.RecordedRangeRule
+ */
+@Name("org.paritybits.pantheon.common.RangeRuleCall")
+@Label("Slow Range Rule Call")
+@Description("A call to next, prior or compare on a RangeRule that exceeded the threshold.")
+@Category({"Pantheon", "Common"})
+@Enabled(false)
+@Threshold("1 ms")
+public final class RangeRuleCallEvent extends jdk.jfr.Event {
+
+    @Label("Rule")
+    private Class<?> rule;
+
+    @Label("Method")
+    private String method;
+
+    /**
+     * Ends the event and commits it if it is enabled and over the threshold.
+     *
+     * @param rangeRule The rule that was called.
+     * @param called    The name of the method that was called.
+     */
+    public void commit(final Object rangeRule, final String called) {
+        end();
+        if (shouldCommit()) {
+            this.rule = rangeRule.getClass();
+            this.method = called;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.paritybits.pantheon.common.jfr;
+
+import org.paritybits.pantheon.common.DistanceRangeRule;
+import org.paritybits.pantheon.common.RangeRule;
+
+import java.io.Serializable;
+
+
+/**
+ * A RangeRule that wraps another and reports its slow calls to Flight Recorder as RangeRuleCallEvents.
+ * While the event is disabled, which it is by default, a call costs little more than the call to the
+ * wrapped rule, the event object is never committed and is normally removed by the JIT.
+ * <p/>
+ * A DistanceRangeRule is wrapped in a recorded DistanceRangeRule that records its distance and stepsFrom calls
+ * as well, so a Range with a recorded rule still sizes, indexes and steps in constant time.
+ * <p/>
+ * Like InstrumentedRangeRule this is equal to another RecordedRangeRule around an equal rule and it
+ * serializes as the rule it wraps.  Flight Recorder requires a JDK with jdk.jfr, 8u262 or later.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <T> The type of object the rule is for.
+ * @see org.paritybits.pantheon.common.metrics.InstrumentedRangeRule
+ */
+public class RecordedRangeRule<T> implements RangeRule<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RangeRule<T> rule;
+
+    private RecordedRangeRule(final RangeRule<T> rule) {
+        this.rule = rule;
+    }
+
+    //The recorded rule around a DistanceRangeRule.
+    private static final class Distance<T> extends RecordedRangeRule<T> implements DistanceRangeRule<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DistanceRangeRule<T> distanceRule;
+
+        private Distance(final DistanceRangeRule<T> rule) {
+            super(rule);
+            this.distanceRule = rule;
+        }
+
+        public long distance(final T from, final T to) {
+            RangeRuleCallEvent event = new RangeRuleCallEvent();
+            event.begin();
+            long distance = distanceRule.distance(from, to);
+            event.commit(distanceRule, "distance");
+            return distance;
+        }
+
+        public T stepsFrom(final T start, final long steps) {
+            RangeRuleCallEvent event = new RangeRuleCallEvent();
+            event.begin();
+            T stepped = distanceRule.stepsFrom(start, steps);
+            event.commit(distanceRule, "stepsFrom");
+            return stepped;
+        }
+    }
+
+    /**
+     * @param rule The rule whose slow calls should be recorded.
+     * @param <T>  The type of object the rule is for.
+     * @return A rule that records the slow calls of rule, a DistanceRangeRule if rule is one, or rule itself if
+     *         it already records them.
+     * @throws NullPointerException If rule is null.
+     */
+    public static <T> RangeRule<T> record(final RangeRule<T> rule) {
+        if (rule instanceof DistanceRangeRule) return record((DistanceRangeRule<T>) rule);
+        if (rule == null) throw new NullPointerException("Rule cannot be null.");
+        if (rule instanceof RecordedRangeRule) return rule;
+        return new RecordedRangeRule<T>(rule);
+    }
+
+    /**
+     * @param rule The rule whose slow calls should be recorded.
+     * @param <T>  The type of object the rule is for.
+     * @return A DistanceRangeRule that records the slow calls of rule, or rule itself if it already does.
+     * @throws NullPointerException If rule is null.
+     */
+    public static <T> DistanceRangeRule<T> record(final DistanceRangeRule<T> rule) {
+        if (rule == null) throw new NullPointerException("Rule cannot be null.");
+        if (rule instanceof RecordedRangeRule) return rule;
+        return new Distance<T>(rule);
+    }
+
+    /**
+     * @return The rule being recorded.
+     */
+    public RangeRule<T> rule() {
+        return rule;
+    }
+
+    public T next(final T from) {
+        RangeRuleCallEvent event = new RangeRuleCallEvent();
+        event.begin();
+        T next = rule.next(from);
+        event.commit(rule, "next");
+        return next;
+    }
+
+    public T prior(final T from) {
+        RangeRuleCallEvent event = new RangeRuleCallEvent();
+        event.begin();
+        T prior = rule.prior(from);
+        event.commit(rule, "prior");
+        return prior;
+    }
+
+    public int compare(final T o1, final T o2) {
+        RangeRuleCallEvent event = new RangeRuleCallEvent();
+        event.begin();
+        int result = rule.compare(o1, o2);
+        event.commit(rule, "compare");
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof RecordedRangeRule && rule.equals(((RecordedRangeRule) o).rule);
+    }
+
+    @Override
+    public int hashCode() {
+        return rule.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Recorded " + rule;
+    }
+
+    //Package private rather than private so that it serializes the recorded DistanceRangeRules too.
+    Object writeReplace() {
+        return rule;
+    }
+}
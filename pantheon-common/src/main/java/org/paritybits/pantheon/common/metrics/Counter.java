@@ -0,0 +1,25 @@
+package org.paritybits.pantheon.common.metrics;
+
+/**
+ * A monotonically increasing count of events.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public interface Counter {
+
+    /**
+     * Adds one to the count.
+     */
+    void increment();
+
+    /**
+     * @param amount The amount to add to the count, cannot be negative.
+     */
+    void add(long amount);
+
+    /**
+     * @return The current count.
+     */
+    long count();
+}
@@ -0,0 +1,20 @@
+package org.paritybits.pantheon.common.metrics;
+
+/**
+ * Records the distribution of a non-negative value, such as a size or a count per operation.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public interface Histogram {
+
+    /**
+     * @param value The value to record, negative values are recorded as zero.
+     */
+    void record(long value);
+
+    /**
+     * @return The distribution of the values recorded so far.
+     */
+    HistogramSnapshot snapshot();
+}
@@ -0,0 +1,114 @@
+package org.paritybits.pantheon.common.metrics;
+
+import org.paritybits.pantheon.common.Immutable;
+
+import java.text.MessageFormat;
+
+
+/**
+ * The distribution of the values recorded by a histogram or timer at some point in time.  The count,
+ * sum and mean are exact, the minimum, maximum and percentiles are known to within the precision of the
+ * histogram's buckets.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@Immutable
+public final class HistogramSnapshot {
+
+    private static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[LogHistogram.BUCKET_COUNT], 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final int firstBucket;
+    private final int lastBucket;
+
+    HistogramSnapshot(final long[] counts, final long sum) {
+        this.counts = counts;
+        this.sum = sum;
+        long total = 0;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                if (first < 0) first = i;
+                last = i;
+                total += counts[i];
+            }
+        }
+        this.count = total;
+        this.firstBucket = first;
+        this.lastBucket = last;
+    }
+
+    /**
+     * @return A snapshot with no values.
+     */
+    public static HistogramSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return The sum of the values recorded.
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * @return The mean of the values recorded, or 0 if there are none.
+     */
+    public double mean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * @return The smallest value recorded, rounded down to its bucket, or 0 if there are none.
+     */
+    public long min() {
+        return firstBucket < 0 ? 0 : LogHistogram.lowerBound(firstBucket);
+    }
+
+    /**
+     * @return The largest value recorded, rounded up to its bucket, or 0 if there are none.
+     */
+    public long max() {
+        return lastBucket < 0 ? 0 : LogHistogram.upperBound(lastBucket);
+    }
+
+    /**
+     * Finds the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile The percentile wanted, from 0 to 100.
+     * @return The upper bound of the bucket holding the percentile, or 0 if there are no values.
+     * @throws IllegalArgumentException If percentile is not between 0 and 100.
+     */
+    public long percentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = firstBucket; i <= lastBucket; i++) {
+            seen += counts[i];
+            if (seen >= target) return LogHistogram.upperBound(i);
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("count={0}, mean={1}, min={2}, p50={3}, p99={4}, max={5}",
+                Long.toString(count), Double.toString(mean()), Long.toString(min()),
+                Long.toString(percentile(50)), Long.toString(percentile(99)), Long.toString(max()));
+    }
+}
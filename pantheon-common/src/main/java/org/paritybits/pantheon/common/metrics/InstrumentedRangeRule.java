@@ -0,0 +1,200 @@
+package org.paritybits.pantheon.common.metrics;
+
+import org.paritybits.pantheon.common.DistanceRangeRule;
+import org.paritybits.pantheon.common.RangeRule;
+
+import java.io.Serializable;
+
+
+/**
+ * A RangeRule that wraps another and records the number and latency of its next, prior and compare
+ * calls.  Each method records to a timer named after the rule, for example "myRule.next".
+ * <p/>
+ * A DistanceRangeRule is wrapped in an instrumented DistanceRangeRule that records its distance and stepsFrom
+ * calls as well, so a Range with an instrumented rule still sizes, indexes and steps in constant time.
+ * <p/>
+ * Use instrument to create one, when the registry is the no-op registry the rule is returned unwrapped so
+ * that disabled metrics add no overhead at all.  The metrics are not part of the rule's identity, an
+ * instrumented rule is equal to another instrumented rule around an equal rule, and it serializes as the
+ * rule it wraps.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <T> The type of object the rule is for.
+ */
+public class InstrumentedRangeRule<T> implements RangeRule<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RangeRule<T> rule;
+    private final String name;
+    private final transient Timer nextTimer;
+    private final transient Timer priorTimer;
+    private final transient Timer compareTimer;
+
+    private InstrumentedRangeRule(final RangeRule<T> rule, final String name, final MetricsRegistry registry) {
+        this.rule = rule;
+        this.name = name;
+        this.nextTimer = registry.timer(name + ".next");
+        this.priorTimer = registry.timer(name + ".prior");
+        this.compareTimer = registry.timer(name + ".compare");
+    }
+
+    //The instrumented rule around a DistanceRangeRule.
+    private static final class Distance<T> extends InstrumentedRangeRule<T> implements DistanceRangeRule<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DistanceRangeRule<T> distanceRule;
+        private final transient Timer distanceTimer;
+        private final transient Timer stepsFromTimer;
+
+        private Distance(final DistanceRangeRule<T> rule, final String name, final MetricsRegistry registry) {
+            super(rule, name, registry);
+            this.distanceRule = rule;
+            this.distanceTimer = registry.timer(name + ".distance");
+            this.stepsFromTimer = registry.timer(name + ".stepsFrom");
+        }
+
+        public long distance(final T from, final T to) {
+            long start = System.nanoTime();
+            try {
+                return distanceRule.distance(from, to);
+            } finally {
+                distanceTimer.record(System.nanoTime() - start);
+            }
+        }
+
+        public T stepsFrom(final T start, final long steps) {
+            long begin = System.nanoTime();
+            try {
+                return distanceRule.stepsFrom(start, steps);
+            } finally {
+                stepsFromTimer.record(System.nanoTime() - begin);
+            }
+        }
+    }
+
+    /**
+     * Instruments the rule using its class name as the metric name.
+     *
+     * @param rule     The rule to instrument.
+     * @param registry The registry to record to.
+     * @param <T>      The type of object the rule is for.
+     * @return The instrumented rule, or rule itself if registry is the no-op registry.
+     * @throws NullPointerException If rule or registry is null.
+     */
+    public static <T> RangeRule<T> instrument(final RangeRule<T> rule, final MetricsRegistry registry) {
+        if (rule == null) throw new NullPointerException("Rule cannot be null.");
+        return instrument(rule, rule.getClass().getName(), registry);
+    }
+
+    /**
+     * Instruments the rule.
+     *
+     * @param rule     The rule to instrument.
+     * @param name     The prefix of the names of the timers.
+     * @param registry The registry to record to.
+     * @param <T>      The type of object the rule is for.
+     * @return The instrumented rule, a DistanceRangeRule if rule is one, or rule itself if registry is the
+     *         no-op registry.
+     * @throws NullPointerException If rule, name or registry is null.
+     */
+    public static <T> RangeRule<T> instrument(final RangeRule<T> rule, final String name,
+                                              final MetricsRegistry registry) {
+        if (rule instanceof DistanceRangeRule) return instrument((DistanceRangeRule<T>) rule, name, registry);
+        if (rule == null) throw new NullPointerException("Rule cannot be null.");
+        if (name == null) throw new NullPointerException("Name cannot be null.");
+        if (registry == null) throw new NullPointerException("Registry cannot be null.");
+        if (Metrics.isNoop(registry)) return rule;
+        return new InstrumentedRangeRule<T>(rule, name, registry);
+    }
+
+    /**
+     * Instruments the rule using its class name as the metric name, keeping it a DistanceRangeRule.
+     *
+     * @param rule     The rule to instrument.
+     * @param registry The registry to record to.
+     * @param <T>      The type of object the rule is for.
+     * @return The instrumented rule, or rule itself if registry is the no-op registry.
+     * @throws NullPointerException If rule or registry is null.
+     */
+    public static <T> DistanceRangeRule<T> instrument(final DistanceRangeRule<T> rule,
+                                                      final MetricsRegistry registry) {
+        if (rule == null) throw new NullPointerException("Rule cannot be null.");
+        return instrument(rule, rule.getClass().getName(), registry);
+    }
+
+    /**
+     * Instruments the rule, keeping it a DistanceRangeRule.
+     *
+     * @param rule     The rule to instrument.
+     * @param name     The prefix of the names of the timers.
+     * @param registry The registry to record to.
+     * @param <T>      The type of object the rule is for.
+     * @return The instrumented rule, or rule itself if registry is the no-op registry.
+     * @throws NullPointerException If rule, name or registry is null.
+     */
+    public static <T> DistanceRangeRule<T> instrument(final DistanceRangeRule<T> rule, final String name,
+                                                      final MetricsRegistry registry) {
+        if (rule == null) throw new NullPointerException("Rule cannot be null.");
+        if (name == null) throw new NullPointerException("Name cannot be null.");
+        if (registry == null) throw new NullPointerException("Registry cannot be null.");
+        if (Metrics.isNoop(registry)) return rule;
+        return new Distance<T>(rule, name, registry);
+    }
+
+    /**
+     * @return The rule being instrumented.
+     */
+    public RangeRule<T> rule() {
+        return rule;
+    }
+
+    public T next(final T from) {
+        long start = System.nanoTime();
+        try {
+            return rule.next(from);
+        } finally {
+            nextTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    public T prior(final T from) {
+        long start = System.nanoTime();
+        try {
+            return rule.prior(from);
+        } finally {
+            priorTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    public int compare(final T o1, final T o2) {
+        long start = System.nanoTime();
+        try {
+            return rule.compare(o1, o2);
+        } finally {
+            compareTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof InstrumentedRangeRule && rule.equals(((InstrumentedRangeRule) o).rule);
+    }
+
+    @Override
+    public int hashCode() {
+        return rule.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Instrumented " + rule + " as " + name;
+    }
+
+    //Package private rather than private so that it serializes the instrumented DistanceRangeRules too.
+    Object writeReplace() {
+        return rule;
+    }
+}
@@ -0,0 +1,71 @@
+package org.paritybits.pantheon.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A thread safe histogram with a fixed set of log-linear buckets.  Values below 8 have a bucket each,
+ * above that every power of two is split into 8 buckets, so any recorded value is known to within 12.5%.
+ * Recording a value is a few bit operations and an atomic increment, there is no allocation and no lock,
+ * and the histogram uses the same 488 buckets whatever range of values it sees.
+ * <p/>
+ * This can be used both as a Histogram and as a Timer of nanosecond durations.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class LogHistogram implements Histogram, Timer {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a value.
+     *
+     * @param value The value to record, negative values are recorded as zero.
+     */
+    public void record(final long value) {
+        long v = Math.max(value, 0);
+        counts.incrementAndGet(bucketOf(v));
+        sum.add(v);
+    }
+
+    /**
+     * Copies the current buckets.  The copy is not atomic, values recorded during the call may or may not
+     * be included.
+     *
+     * @return The distribution of the values recorded so far.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(copy, sum.sum());
+    }
+
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowerBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket & (SUB_BUCKETS - 1);
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        return lowerBound(bucket) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,94 @@
+package org.paritybits.pantheon.common.metrics;
+
+/**
+ * Holds the registry that pantheon components record to when they are not given one explicitly.  By
+ * default this is the no-op registry, whose metrics do nothing; instrumented components check for it when
+ * they are created and skip instrumentation entirely, so metrics that are turned off cost nothing.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class Metrics {
+
+    private static final HistogramSnapshot EMPTY = HistogramSnapshot.empty();
+
+    private static final Counter NOOP_COUNTER = new Counter() {
+        public void increment() {
+        }
+
+        public void add(long amount) {
+        }
+
+        public long count() {
+            return 0;
+        }
+    };
+
+    private static final NoopHistogram NOOP_HISTOGRAM = new NoopHistogram();
+
+    private static final MetricsRegistry NOOP_REGISTRY = new MetricsRegistry() {
+        public Counter counter(String name) {
+            return NOOP_COUNTER;
+        }
+
+        public Timer timer(String name) {
+            return NOOP_HISTOGRAM;
+        }
+
+        public Histogram histogram(String name) {
+            return NOOP_HISTOGRAM;
+        }
+
+        public String toString() {
+            return "No-op MetricsRegistry";
+        }
+    };
+
+    private static volatile MetricsRegistry registry = NOOP_REGISTRY;
+
+    private Metrics() {
+    }
+
+    /**
+     * @return The registry whose metrics do nothing.
+     */
+    public static MetricsRegistry noop() {
+        return NOOP_REGISTRY;
+    }
+
+    /**
+     * @param metricsRegistry The registry to check.
+     * @return True if metricsRegistry is the no-op registry.
+     */
+    public static boolean isNoop(final MetricsRegistry metricsRegistry) {
+        return metricsRegistry == NOOP_REGISTRY;
+    }
+
+    /**
+     * @return The current default registry.
+     */
+    public static MetricsRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Sets the default registry.  Components that were already created keep the registry they were
+     * created with.
+     *
+     * @param metricsRegistry The new default registry.
+     * @throws NullPointerException If metricsRegistry is null.
+     */
+    public static void setRegistry(final MetricsRegistry metricsRegistry) {
+        if (metricsRegistry == null) throw new NullPointerException("Registry cannot be null.");
+        registry = metricsRegistry;
+    }
+
+    private static final class NoopHistogram implements Histogram, Timer {
+        public void record(long value) {
+        }
+
+        public HistogramSnapshot snapshot() {
+            return EMPTY;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.paritybits.pantheon.common.metrics;
+
+/**
+ * The source of the metrics pantheon components record to.  Implement this to bridge pantheon's metrics
+ * into a monitoring system, each method is called once when an instrumented component is created and the
+ * returned metric is kept, so a lookup per event never happens.  Asking for the same name twice should
+ * return a metric that shares the same state.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.metrics.Metrics
+ */
+public interface MetricsRegistry {
+
+    /**
+     * @param name The name of the counter.
+     * @return The counter with the given name.
+     */
+    Counter counter(String name);
+
+    /**
+     * @param name The name of the timer.
+     * @return The timer with the given name.
+     */
+    Timer timer(String name);
+
+    /**
+     * @param name The name of the histogram.
+     * @return The histogram with the given name.
+     */
+    Histogram histogram(String name);
+}
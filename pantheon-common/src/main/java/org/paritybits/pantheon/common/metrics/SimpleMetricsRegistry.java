@@ -0,0 +1,117 @@
+package org.paritybits.pantheon.common.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A registry that keeps its metrics in memory.  Counters are backed by a LongAdder and timers and
+ * histograms by a LogHistogram.  This is useful for tests and for applications without a monitoring
+ * system, the current values can be read through the snapshot methods.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class SimpleMetricsRegistry implements MetricsRegistry {
+
+    private final ConcurrentMap<String, AdderCounter> counters = new ConcurrentHashMap<String, AdderCounter>();
+    private final ConcurrentMap<String, LogHistogram> timers = new ConcurrentHashMap<String, LogHistogram>();
+    private final ConcurrentMap<String, LogHistogram> histograms = new ConcurrentHashMap<String, LogHistogram>();
+
+    /**
+     * @param name The name of the counter.
+     * @return The counter with the given name, created if needed.
+     * @throws NullPointerException If name is null.
+     */
+    public Counter counter(final String name) {
+        AdderCounter counter = counters.get(name);
+        if (counter == null) {
+            AdderCounter created = new AdderCounter();
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) counter = created;
+        }
+        return counter;
+    }
+
+    /**
+     * @param name The name of the timer.
+     * @return The timer with the given name, created if needed.
+     * @throws NullPointerException If name is null.
+     */
+    public Timer timer(final String name) {
+        return histogramIn(timers, name);
+    }
+
+    /**
+     * @param name The name of the histogram.
+     * @return The histogram with the given name, created if needed.
+     * @throws NullPointerException If name is null.
+     */
+    public Histogram histogram(final String name) {
+        return histogramIn(histograms, name);
+    }
+
+    /**
+     * @return The current count of every counter, sorted by name.
+     */
+    public Map<String, Long> counterSnapshot() {
+        Map<String, Long> snapshot = new TreeMap<String, Long>();
+        for (Map.Entry<String, AdderCounter> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().count());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * @return The current distribution of every timer, sorted by name.
+     */
+    public Map<String, HistogramSnapshot> timerSnapshot() {
+        return snapshotOf(timers);
+    }
+
+    /**
+     * @return The current distribution of every histogram, sorted by name.
+     */
+    public Map<String, HistogramSnapshot> histogramSnapshot() {
+        return snapshotOf(histograms);
+    }
+
+    private static LogHistogram histogramIn(final ConcurrentMap<String, LogHistogram> map, final String name) {
+        LogHistogram histogram = map.get(name);
+        if (histogram == null) {
+            LogHistogram created = new LogHistogram();
+            histogram = map.putIfAbsent(name, created);
+            if (histogram == null) histogram = created;
+        }
+        return histogram;
+    }
+
+    private static Map<String, HistogramSnapshot> snapshotOf(final ConcurrentMap<String, LogHistogram> map) {
+        Map<String, HistogramSnapshot> snapshot = new TreeMap<String, HistogramSnapshot>();
+        for (Map.Entry<String, LogHistogram> entry : map.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static final class AdderCounter implements Counter {
+        private final LongAdder adder = new LongAdder();
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(final long amount) {
+            if (amount < 0) throw new IllegalArgumentException("Amount cannot be negative.");
+            adder.add(amount);
+        }
+
+        public long count() {
+            return adder.sum();
+        }
+    }
+}
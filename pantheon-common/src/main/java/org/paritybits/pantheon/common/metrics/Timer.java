@@ -0,0 +1,20 @@
+package org.paritybits.pantheon.common.metrics;
+
+/**
+ * Records the distribution of the durations of an operation.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public interface Timer {
+
+    /**
+     * @param durationNanos The duration of one operation in nanoseconds.
+     */
+    void record(long durationNanos);
+
+    /**
+     * @return The distribution of the durations recorded so far, in nanoseconds.
+     */
+    HistogramSnapshot snapshot();
+}
@@ -0,0 +1,52 @@
+package org.paritybits.pantheon.common;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.AllocationMeter.Operation;
+
+import java.util.Iterator;
+
+import static org.paritybits.pantheon.common.AllocationMeter.assertWithinBudget;
+
+/**
+ * Allocation budgets for the hot paths of pantheon-common.  A budget is the most bytes a single call may
+ * allocate on a warmed up HotSpot JVM; they are set a little above what the code allocates today so that
+ * a change which adds allocations to these paths fails here.  Lower a budget when the path gets cheaper.
+ */
+public class AllocationBudgetTest {
+
+    //Budgets in bytes per call.
+    private static final long RANGE_ITERATOR_NEXT = 480;
+    private static final long PERCENTAGE_ADD = 64;
+    private static final long PERCENTAGE_VALUE_OF = 96;
+
+    @Test
+    public void rangeIteratorNext() {
+        final Iterator<Integer> iterator =
+                Range.create(0, Integer.MAX_VALUE, NumberRangeRule.create(1)).iterator();
+        assertWithinBudget("Range.iterator().next()", RANGE_ITERATOR_NEXT, new Operation() {
+            public Object run() {
+                return iterator.next();
+            }
+        });
+    }
+
+    @Test
+    public void percentageAdd() {
+        final Percentage rate = Percentage.valueOf("7.25%");
+        final Percentage other = Percentage.valueOf("3.1%");
+        assertWithinBudget("Percentage.add", PERCENTAGE_ADD, new Operation() {
+            public Object run() {
+                return rate.add(other);
+            }
+        });
+    }
+
+    @Test
+    public void percentageValueOf() {
+        assertWithinBudget("Percentage.valueOf", PERCENTAGE_VALUE_OF, new Operation() {
+            public Object run() {
+                return Percentage.valueOf("12.5%");
+            }
+        });
+    }
+}
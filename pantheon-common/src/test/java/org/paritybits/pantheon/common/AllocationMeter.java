@@ -0,0 +1,87 @@
+package org.paritybits.pantheon.common;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the bytes allocated per call of an operation using the per thread allocation counters of the
+ * HotSpot ThreadMXBean.  The operation is run in a warm up loop first so that the measured loops see the
+ * compiled code, then it is measured over several rounds and the smallest round is kept, which filters out
+ * allocations made by the JIT or the runtime that have nothing to do with the operation.
+ * <p/>
+ * Tests declare a budget for each hot path with assertWithinBudget.  On a JVM without thread allocation
+ * counters the check is skipped rather than failed.  This class is shared with the janus and plutus tests
+ * through the pantheon-common test jar.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class AllocationMeter {
+
+    /**
+     * An operation to measure.  The result is kept so the JIT cannot remove the work.
+     */
+    public interface Operation {
+        Object run();
+    }
+
+    private static final int WARMUP_CALLS = 50000;
+    private static final int MEASURED_CALLS = 20000;
+    private static final int ROUNDS = 5;
+
+    //Keeps results reachable so the measured work cannot be eliminated.
+    private static Object sink;
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @param operation The operation to measure.
+     * @return The bytes allocated per call of the operation, or -1 if the JVM cannot measure allocations.
+     */
+    public static double bytesPerOperation(final Operation operation) {
+        com.sun.management.ThreadMXBean threads = hotSpotThreads();
+        if (threads == null) return -1;
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink = operation.run();
+        }
+        long smallest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                sink = operation.run();
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            if (allocated < smallest) smallest = allocated;
+        }
+        sink = null;
+        return (double) smallest / MEASURED_CALLS;
+    }
+
+    /**
+     * Fails if the operation allocates more than the budget per call.
+     *
+     * @param name         The name of the operation, used in the failure message.
+     * @param budgetBytes  The most bytes a call may allocate.
+     * @param operation    The operation to measure.
+     */
+    public static void assertWithinBudget(final String name, final long budgetBytes, final Operation operation) {
+        double measured = bytesPerOperation(operation);
+        assumeTrue(measured >= 0);
+        assertTrue(name + " allocated " + measured + " bytes per call, the budget is " + budgetBytes,
+                measured <= budgetBytes);
+    }
+
+    private static com.sun.management.ThreadMXBean hotSpotThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean hotSpot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotSpot.isThreadAllocatedMemorySupported()) return null;
+        if (!hotSpot.isThreadAllocatedMemoryEnabled()) hotSpot.setThreadAllocatedMemoryEnabled(true);
+        return hotSpot;
+    }
+}
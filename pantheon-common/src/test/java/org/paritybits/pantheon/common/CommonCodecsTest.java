@@ -0,0 +1,80 @@
+package org.paritybits.pantheon.common;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CommonCodecsTest {
+
+    private final CodecRegistry registry = CodecRegistry.standard();
+
+    @Test
+    public void jdkTypes() throws Exception {
+        assertRoundTrip("A string");
+        assertRoundTrip(-42);
+        assertRoundTrip(Long.MAX_VALUE);
+        assertRoundTrip(Math.PI);
+        assertRoundTrip(new BigInteger("123456789012345678901234567890"));
+        assertRoundTrip(new BigDecimal("-98765.4321"));
+    }
+
+    @Test
+    public void percentage() throws Exception {
+        assertRoundTrip(Percentage.valueOf("7.25%"));
+        assertRoundTrip(Percentage.valueOf("-0.01%"));
+        assertRoundTrip(Percentage.valueOf(new BigDecimal("12345678901234567890.123")));
+        assertRoundTrip(Percentage.valueOf(new BigDecimal("9223372036854775807")));
+        assertSame(Percentage.valueOf("12%"), roundTrip(Percentage.valueOf("12%")));
+        //Tag, scale, length and a one byte unscaled value.
+        assertEquals(4, registry.toBytes(Percentage.valueOf("1%")).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptPercentage() throws Exception {
+        //The tag and scale of 1% followed by a length of -1.
+        byte[] bytes = Arrays.copyOf(registry.toBytes(Percentage.valueOf("1%")), 7);
+        System.arraycopy(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}, 0, bytes, 2, 5);
+        registry.fromBytes(bytes, Percentage.class);
+    }
+
+    @Test
+    public void range() throws Exception {
+        assertRoundTrip(Range.create(1, 10, NumberRangeRule.create(1)));
+        assertRoundTrip(Range.create(new BigDecimal("10.0"), new BigDecimal("1.5"),
+                NumberRangeRule.create(new BigDecimal("0.5"))));
+        Range<Integer> range = roundTrip(Range.create(0, 100, NumberRangeRule.create(25)));
+        assertEquals(5, range.asList().size());
+    }
+
+    @Test
+    public void nullValues() throws Exception {
+        assertNull(registry.fromBytes(registry.toBytes(null), Percentage.class));
+    }
+
+    @Test
+    public void directBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        Percentage rate = Percentage.valueOf("3.5%");
+        registry.write(rate, buffer);
+        registry.write(Range.create(1L, 5L, NumberRangeRule.create(2L)), buffer);
+        buffer.flip();
+        assertEquals(rate, registry.read(buffer, Percentage.class));
+        assertEquals(Range.create(1L, 5L, NumberRangeRule.create(2L)), registry.read(buffer, Range.class));
+    }
+
+    private void assertRoundTrip(final Object value) throws IOException {
+        assertEquals(value, roundTrip(value));
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private <T> T roundTrip(final T value) throws IOException {
+        return (T) registry.fromBytes(registry.toBytes(value), value.getClass());
+    }
+}
@@ -105,6 +105,38 @@ public class CommonUtilTest {
         assertFalse(CommonUtil.isImmutable(new TestSubIdempotent()));
     }
 
+    @Test
+    public void isDeeplyImmutable() {
+        assertTrue(CommonUtil.isDeeplyImmutable("A string"));
+        assertTrue(CommonUtil.isDeeplyImmutable(new TestImmutable()));
+        assertTrue(CommonUtil.isDeeplyImmutable(new TestFinalFields(1, "one", BigDecimal.ONE)));
+        assertTrue(CommonUtil.isDeeplyImmutable(new TestNode(null)));
+        assertTrue(CommonUtil.isDeeplyImmutable(new TestHolder(new TestFinalFields(1, "one", BigDecimal.ONE))));
+
+        //Not immutable by annotation, but verified through its fields.
+        assertFalse(CommonUtil.isImmutable(new TestFinalFields(1, "one", BigDecimal.ONE)));
+
+        assertFalse(CommonUtil.isDeeplyImmutable(new Date()));
+        assertFalse(CommonUtil.isDeeplyImmutable(new TestNonFinalField()));
+        assertFalse(CommonUtil.isDeeplyImmutable(new TestArrayField()));
+        assertFalse(CommonUtil.isDeeplyImmutable(new TestInterfaceField()));
+        assertFalse(CommonUtil.isDeeplyImmutable(new TestMutableFieldType()));
+        assertFalse(CommonUtil.isDeeplyImmutable(new TestSubNonFinalField()));
+    }
+
+    @Test
+    public void registeredClassesAreImmutable() {
+        TestRegistered registered = new TestRegistered();
+        TestRegisteredHolder holder = new TestRegisteredHolder(registered);
+        assertFalse(CommonUtil.isImmutable(registered));
+        assertFalse(CommonUtil.isDeeplyImmutable(holder));
+
+        CommonUtil.registerImmutable(TestRegistered.class);
+        assertTrue(CommonUtil.isImmutable(registered));
+        assertTrue(CommonUtil.isDeeplyImmutable(registered));
+        assertTrue(CommonUtil.isDeeplyImmutable(holder));
+    }
+
     @Test
     public void between() {
         int low = 0;
@@ -322,4 +354,63 @@ public class CommonUtilTest {
     private static class TestSubIdempotent extends TestIdempotent {
 
     }
+
+    private static final class TestFinalFields {
+        private final int number;
+        private final String name;
+        private final BigDecimal amount;
+
+        TestFinalFields(int number, String name, BigDecimal amount) {
+            this.number = number;
+            this.name = name;
+            this.amount = amount;
+        }
+    }
+
+    private static final class TestHolder {
+        private final TestFinalFields held;
+
+        TestHolder(TestFinalFields held) {
+            this.held = held;
+        }
+    }
+
+    private static final class TestNode {
+        private final TestNode next;
+
+        TestNode(TestNode next) {
+            this.next = next;
+        }
+    }
+
+    private static class TestNonFinalField {
+        private int count;
+    }
+
+    private static final class TestSubNonFinalField extends TestNonFinalField {
+    }
+
+    private static final class TestArrayField {
+        private final int[] values = new int[1];
+    }
+
+    private static final class TestInterfaceField {
+        private final List<String> values = new ArrayList<String>();
+    }
+
+    private static final class TestMutableFieldType {
+        private final Date date = new Date();
+    }
+
+    private static final class TestRegistered {
+        private int cachedHash;
+    }
+
+    private static final class TestRegisteredHolder {
+        private final TestRegistered registered;
+
+        TestRegisteredHolder(TestRegistered registered) {
+            this.registered = registered;
+        }
+    }
 }
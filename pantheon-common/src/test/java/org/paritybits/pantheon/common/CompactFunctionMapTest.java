@@ -0,0 +1,127 @@
+package org.paritybits.pantheon.common;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.FunctionMap.PutFunction;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CompactFunctionMapTest {
+
+    private static final PutFunction<Integer> ADD = new PutFunction<Integer>() {
+        public Integer determineValue(Integer oldValue, Integer newValue) {
+            return oldValue + newValue;
+        }
+    };
+
+    @Test
+    public void passthroughMethods() {
+        CompactFunctionMap<String, Integer> functionMap =
+                new CompactFunctionMap<String, Integer>();
+        assertTrue(functionMap.isEmpty());
+        assertEquals(0, functionMap.size());
+        Map<String, Integer> expectedMap = new HashMap<String, Integer>();
+        for (int i = 0; i < 100; i++) {
+            Integer expected = expectedMap.put(Integer.toString(i), i);
+            assertEquals(expected, functionMap.put(Integer.toString(i), i));
+        }
+        assertEquals(expectedMap.entrySet(), functionMap.entrySet());
+        assertEquals(expectedMap, functionMap);
+        assertEquals(expectedMap.hashCode(), functionMap.hashCode());
+        assertEquals(100, functionMap.size());
+        assertEquals(Integer.valueOf(1), functionMap.get("1"));
+        assertEquals(Integer.valueOf(1), functionMap.remove("1"));
+        assertNull(functionMap.get("1"));
+        assertFalse(functionMap.containsKey("1"));
+        assertEquals(99, functionMap.size());
+        assertEquals(Integer.valueOf(2), functionMap.put("2", -5));
+        assertEquals(Integer.valueOf(-5), functionMap.get("2"));
+        functionMap.clear();
+        assertTrue(functionMap.isEmpty());
+        assertEquals(0, functionMap.size());
+        assertNull(functionMap.get("2"));
+    }
+
+    @Test
+    public void putUsesFunction() {
+        CompactFunctionMap<String, Integer> replacingMap = new CompactFunctionMap<String, Integer>(ADD);
+        assertNull(replacingMap.put("test", 10));
+        assertEquals(Integer.valueOf(10), replacingMap.put("test", 5));
+        assertEquals(Integer.valueOf(15), replacingMap.put("test", 30));
+        assertEquals(Integer.valueOf(45), replacingMap.get("test"));
+
+        replacingMap.setKeyFunction("multi", new PutFunction<Integer>() {
+            public Integer determineValue(Integer oldValue, Integer newValue) {
+                return oldValue * newValue;
+            }
+        });
+        assertFalse(replacingMap.containsKey("multi"));
+        assertEquals(1, replacingMap.size());
+        assertNull(replacingMap.put("multi", 10));
+        assertEquals(Integer.valueOf(10), replacingMap.put("multi", 5));
+        assertEquals(Integer.valueOf(50), replacingMap.get("multi"));
+
+        //The key function survives removal, clearing and the table growing.
+        replacingMap.remove("multi");
+        replacingMap.clear();
+        for (int i = 0; i < 50; i++) {
+            replacingMap.put("grow-" + i, i);
+        }
+        replacingMap.put("multi", 3);
+        replacingMap.put("multi", 3);
+        assertEquals(Integer.valueOf(9), replacingMap.get("multi"));
+
+        replacingMap.put("test2", 10);
+        replacingMap.put("test2", 10);
+        assertEquals(Integer.valueOf(20), replacingMap.get("test2"));
+    }
+
+    @Test
+    public void putAllMergesThroughFunctions() {
+        CompactFunctionMap<String, Integer> totals = new CompactFunctionMap<String, Integer>(ADD);
+        totals.put("a", 1);
+        totals.put("b", 2);
+
+        CompactFunctionMap<String, Integer> more = new CompactFunctionMap<String, Integer>(ADD);
+        more.put("b", 3);
+        more.put("c", 4);
+        totals.putAll(more);
+
+        Map<String, Integer> hashMap = new HashMap<String, Integer>();
+        hashMap.put("a", 10);
+        hashMap.put("d", 5);
+        totals.putAll(hashMap);
+
+        Map<String, Integer> expected = new HashMap<String, Integer>();
+        expected.put("a", 11);
+        expected.put("b", 5);
+        expected.put("c", 4);
+        expected.put("d", 5);
+        assertEquals(expected, totals);
+    }
+
+    @Test
+    public void iteratorRemoveAndSetValue() {
+        CompactFunctionMap<Integer, Integer> map = new CompactFunctionMap<Integer, Integer>(ADD);
+        for (int i = 0; i < 20; i++) map.put(i, i);
+        for (Iterator<Map.Entry<Integer, Integer>> itr = map.entrySet().iterator(); itr.hasNext(); ) {
+            Map.Entry<Integer, Integer> entry = itr.next();
+            if (entry.getKey() % 2 == 0) {
+                itr.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+        assertEquals(10, map.size());
+        assertNull(map.get(4));
+        assertEquals(Integer.valueOf(70), map.get(7));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullValuesNotAllowed() {
+        new CompactFunctionMap<String, Integer>().put("a", null);
+    }
+}
@@ -0,0 +1,119 @@
+package org.paritybits.pantheon.common;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.FunctionMap.PutFunction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentFunctionMapTest {
+
+    private static final PutFunction<Integer> ADD = new PutFunction<Integer>() {
+        public Integer determineValue(Integer oldValue, Integer newValue) {
+            return oldValue + newValue;
+        }
+    };
+
+    @Test
+    public void passthroughMethods() {
+        ConcurrentFunctionMap<String, Integer> functionMap =
+                new ConcurrentFunctionMap<String, Integer>();
+        assertTrue(functionMap.isEmpty());
+        Map<String, Integer> expectedMap = new HashMap<String, Integer>();
+        for (int i = 0; i < 100; i++) {
+            Integer expected = expectedMap.put(Integer.toString(i), i);
+            assertEquals(expected, functionMap.put(Integer.toString(i), i));
+        }
+        assertEquals(expectedMap, functionMap);
+        assertEquals(100, functionMap.size());
+        assertEquals(Integer.valueOf(1), functionMap.remove("1"));
+        assertNull(functionMap.get("1"));
+        assertEquals(Integer.valueOf(2), functionMap.put("2", -5));
+        assertEquals(Integer.valueOf(-5), functionMap.get("2"));
+        functionMap.clear();
+        assertTrue(functionMap.isEmpty());
+    }
+
+    @Test
+    public void putUsesFunction() {
+        ConcurrentFunctionMap<String, Integer> map = new ConcurrentFunctionMap<String, Integer>(ADD);
+        assertNull(map.put("test", 10));
+        assertEquals(Integer.valueOf(10), map.put("test", 5));
+        assertEquals(Integer.valueOf(15), map.get("test"));
+
+        map.setKeyFunction("multi", new PutFunction<Integer>() {
+            public Integer determineValue(Integer oldValue, Integer newValue) {
+                return oldValue * newValue;
+            }
+        });
+        map.put("multi", 10);
+        map.put("multi", 5);
+        assertEquals(Integer.valueOf(50), map.get("multi"));
+
+        Map<String, Integer> more = new HashMap<String, Integer>();
+        more.put("test", 1);
+        more.put("multi", 2);
+        more.put("new", 3);
+        map.putAll(more);
+        assertEquals(Integer.valueOf(16), map.get("test"));
+        assertEquals(Integer.valueOf(100), map.get("multi"));
+        assertEquals(Integer.valueOf(3), map.get("new"));
+    }
+
+    @Test
+    public void snapshotDoesNotChange() {
+        ConcurrentFunctionMap<String, Integer> map = new ConcurrentFunctionMap<String, Integer>(ADD);
+        map.put("a", 1);
+        Map<String, Integer> snapshot = map.snapshot();
+        map.put("a", 1);
+        map.put("b", 1);
+        assertEquals(1, snapshot.size());
+        assertEquals(Integer.valueOf(1), snapshot.get("a"));
+        try {
+            snapshot.put("c", 1);
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            //Good
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullValuesNotAllowed() {
+        new ConcurrentFunctionMap<String, Integer>().put("a", null);
+    }
+
+    @Test
+    public void concurrentPutsAreAtomicPerKey() throws Exception {
+        final ConcurrentFunctionMap<Integer, Integer> map = new ConcurrentFunctionMap<Integer, Integer>(ADD);
+        final int threads = 8;
+        final int putsPerThread = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < putsPerThread; i++) {
+                        map.put(i % 10, 1);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (int key = 0; key < 10; key++) {
+            assertEquals(Integer.valueOf(threads * putsPerThread / 10), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.paritybits.pantheon.common;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class MemoizingCacheTest {
+
+    private static class CountingLoader implements Function<Integer, String> {
+        final AtomicInteger loads = new AtomicInteger();
+
+        public String apply(Integer key) {
+            loads.incrementAndGet();
+            return "value-" + key;
+        }
+    }
+
+    private static class ManualTicker implements MemoizingCache.Ticker {
+        final AtomicLong nanos = new AtomicLong();
+
+        public long read() {
+            return nanos.get();
+        }
+    }
+
+    @Test
+    public void memoizesLoadedValues() {
+        CountingLoader loader = new CountingLoader();
+        MemoizingCache<Integer, String> cache = MemoizingCache.create(CacheSpec.unbounded(), loader);
+        assertEquals("value-1", cache.get(1));
+        assertEquals("value-1", cache.get(1));
+        assertEquals("value-2", cache.get(2));
+        assertEquals(2, loader.loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(new CacheStats(1, 2, 2, 0, 0, 0), cache.stats());
+
+        assertNull(cache.getIfPresent(3));
+        cache.put(3, "three");
+        assertEquals("three", cache.getIfPresent(3));
+        assertEquals("three", cache.get(3));
+        assertEquals(2, loader.loads.get());
+
+        cache.invalidate(1);
+        assertNull(cache.getIfPresent(1));
+        assertEquals("value-1", cache.get(1));
+        assertEquals(3, loader.loads.get());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    public void sizeBoundIsKept() {
+        MemoizingCache<Integer, String> cache =
+                MemoizingCache.create(CacheSpec.maximumSize(100), new CountingLoader());
+        for (int i = 0; i < 10000; i++) {
+            cache.get(i % 500);
+            assertTrue(cache.weightedSize() <= 100);
+        }
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    public void weightBoundIsKept() {
+        MemoizingCache.Weigher<Integer, String> byLength = new MemoizingCache.Weigher<Integer, String>() {
+            public long weigh(Integer key, String value) {
+                return value.length();
+            }
+        };
+        MemoizingCache<Integer, String> cache = MemoizingCache.create(CacheSpec.maximumWeight(50, byLength),
+                new Function<Integer, String>() {
+                    public String apply(Integer key) {
+                        return key == 0 ? "this value is much too heavy to ever fit in the cache" : "1234567890";
+                    }
+                });
+        for (int round = 0; round < 3; round++) {
+            for (int i = 1; i <= 10; i++) {
+                cache.get(i);
+                assertTrue(cache.weightedSize() <= 50);
+            }
+        }
+        assertNotNull(cache.get(0));
+        assertNull(cache.getIfPresent(0));
+        assertTrue(cache.weightedSize() <= 50);
+        assertTrue(cache.stats().evictionWeight() >= 54);
+    }
+
+    @Test
+    public void frequentKeysSurviveScans() {
+        final int hotKeys = 80;
+        MemoizingCache<Integer, String> cache =
+                MemoizingCache.create(CacheSpec.maximumSize(100), new CountingLoader());
+        int scanKey = 1000;
+        CacheStats warm = null;
+        for (int i = 0; i < 20000; i++) {
+            if (i == 10000) warm = cache.stats();
+            cache.get(i % hotKeys);
+            cache.get(scanKey++);
+            cache.get(scanKey++);
+        }
+        //Every scan key misses, so a hit rate near one third means nearly all of the hot keys hit.
+        //A plain LRU cache of this size would keep almost none of the hot keys.
+        CacheStats interval = cache.stats().minus(warm);
+        assertTrue(interval.toString(), interval.hitRate() > 0.30);
+    }
+
+    @Test
+    public void entriesExpireAfterWrite() {
+        ManualTicker ticker = new ManualTicker();
+        CountingLoader loader = new CountingLoader();
+        MemoizingCache<Integer, String> cache = MemoizingCache.create(
+                CacheSpec.unbounded().expireAfterWrite(10, TimeUnit.SECONDS).withTicker(ticker), loader);
+        cache.get(1);
+        ticker.nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        cache.get(2);
+        assertEquals(2, loader.loads.get());
+
+        ticker.nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertNull(cache.getIfPresent(1));
+        assertEquals("value-2", cache.getIfPresent(2));
+        cache.get(1);
+        assertEquals(3, loader.loads.get());
+
+        ticker.nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+        assertEquals(3, cache.stats().evictionCount());
+    }
+
+    @Test
+    public void concurrentGetsLoadOnce() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MemoizingCache<Integer, String> cache = MemoizingCache.create(CacheSpec.maximumSize(10),
+                new Function<Integer, String>() {
+                    public String apply(Integer key) {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return "loaded";
+                    }
+                });
+        final int threads = 8;
+        final AtomicInteger correct = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    if ("loaded".equals(cache.get(42))) correct.incrementAndGet();
+                }
+            });
+        }
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(threads, correct.get());
+    }
+
+    @Test
+    public void failedLoadsAreNotCached() {
+        final AtomicInteger attempts = new AtomicInteger();
+        MemoizingCache<Integer, String> cache = MemoizingCache.create(CacheSpec.unbounded(),
+                new Function<Integer, String>() {
+                    public String apply(Integer key) {
+                        if (attempts.incrementAndGet() == 1) throw new IllegalArgumentException("first");
+                        return "second";
+                    }
+                });
+        try {
+            cache.get(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("first", e.getMessage());
+        }
+        assertEquals(0, cache.size());
+        assertEquals("second", cache.get(1));
+        assertEquals(1, cache.stats().loadFailureCount());
+        assertEquals(1, cache.stats().loadCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void recursiveLoadIsRejected() {
+        final MemoizingCache<Integer, String>[] holder = new MemoizingCache[1];
+        holder[0] = MemoizingCache.create(CacheSpec.unbounded(), new Function<Integer, String>() {
+            public String apply(Integer key) {
+                return holder[0].get(key);
+            }
+        });
+        holder[0].get(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullLoadsNotAllowed() {
+        MemoizingCache.create(CacheSpec.unbounded(), Functions.<Integer, String>constant(null)).get(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSizeNotAllowed() {
+        CacheSpec.maximumSize(-1);
+    }
+
+    @Test
+    public void statsArithmetic() {
+        CacheStats later = new CacheStats(10, 5, 5, 1, 3, 3);
+        CacheStats earlier = new CacheStats(4, 1, 1, 0, 0, 0);
+        assertEquals(new CacheStats(6, 4, 4, 1, 3, 3), later.minus(earlier));
+        assertEquals(15, later.requestCount());
+        assertEquals(10.0 / 15, later.hitRate(), 0.0);
+        assertEquals(1.0, new CacheStats(0, 0, 0, 0, 0, 0).hitRate(), 0.0);
+    }
+}
@@ -0,0 +1,85 @@
+package org.paritybits.pantheon.common;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class PercentageArrayTest {
+
+    @Test
+    public void addGetAndSet() {
+        PercentageArray array = PercentageArray.create(0);
+        for (int i = 0; i < 1000; i++) {
+            array.add(Percentage.valueOf(BigDecimal.valueOf(i, 4)));
+        }
+        assertEquals(1000, array.size());
+        assertTrue(array.capacity() >= 1000);
+        assertEquals(12 * array.capacity(), array.allocatedBytes());
+        assertEquals(Percentage.valueOf("1.23%"), array.get(123));
+        assertEquals(123, array.unscaled(123));
+        assertEquals(4, array.scale(123));
+        array.set(123, Percentage.valueOf("-50%"));
+        assertEquals(Percentage.valueOf("-50%"), array.get(123));
+        assertSame(Percentage.valueOf("-50%"), array.get(123));
+    }
+
+    @Test
+    public void cursorAndIterator() {
+        PercentageArray array = PercentageArray.create(4);
+        array.addAll(Arrays.asList(Percentage.valueOf("1%"), Percentage.valueOf("2.5%"),
+                Percentage.valueOf(new BigDecimal("9223372036854775807"))));
+        PercentageArray.Cursor cursor = array.cursor();
+        assertEquals(25, cursor.at(1).unscaled());
+        assertEquals(3, cursor.scale());
+        assertEquals(Percentage.valueOf("2.5%"), cursor.toPercentage());
+        Iterator<Percentage> iterator = array.iterator();
+        assertEquals(Percentage.valueOf("1%"), iterator.next());
+        assertEquals(Percentage.valueOf("2.5%"), iterator.next());
+        assertEquals(Percentage.valueOf(new BigDecimal("9223372036854775807")), iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void copy() {
+        PercentageArray array = PercentageArray.create(0);
+        for (int i = 0; i < 10; i++) {
+            array.add(Percentage.valueOf(BigDecimal.valueOf(i, 2)));
+        }
+        PercentageArray target = PercentageArray.create(0);
+        array.copyTo(2, target, 0, 5);
+        assertEquals(5, target.size());
+        assertEquals(Percentage.valueOf("2%"), target.get(0));
+        assertEquals(Percentage.valueOf("6%"), target.get(4));
+
+        //Overlapping copy within the same array.
+        array.copyTo(0, array, 1, 9);
+        assertEquals(10, array.size());
+        assertEquals(Percentage.valueOf("0%"), array.get(1));
+        assertEquals(Percentage.valueOf("8%"), array.get(9));
+
+        assertEquals(120, array.asReadOnlyBuffer().remaining());
+        array.clear();
+        assertEquals(0, array.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooPrecise() {
+        PercentageArray array = PercentageArray.create(1);
+        try {
+            array.add(Percentage.valueOf(new BigDecimal("92233720368547758070")));
+        } finally {
+            assertEquals(0, array.size());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBounds() {
+        PercentageArray array = PercentageArray.create(8);
+        array.add(Percentage.ZERO);
+        array.get(1);
+    }
+}
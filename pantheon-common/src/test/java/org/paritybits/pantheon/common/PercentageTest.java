@@ -7,6 +7,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -42,6 +43,67 @@ public class PercentageTest {
         assertEquals(new BigDecimal("90"), Percentage.valueOf("-10%").change(number));
     }
 
+    @Test
+    public void compactArithmeticMatchesBigDecimalArithmetic() {
+        Random random = new Random(29);
+        BigDecimal[] values = new BigDecimal[400];
+        for (int i = 0; i < values.length; i++) {
+            long unscaled = i % 10 == 0 ? Long.MAX_VALUE / (1 + random.nextInt(3)) : random.nextInt(2000000) - 1000000;
+            values[i] = BigDecimal.valueOf(unscaled, random.nextInt(9) - 1);
+        }
+        values[1] = new BigDecimal("0.1000000000000000000000000");
+        values[2] = new BigDecimal(.11);
+        BigDecimal[] amounts = {new BigDecimal("3"), new BigDecimal("-7"), new BigDecimal("100"),
+                new BigDecimal("100.00"), new BigDecimal("12345678901234"), new BigDecimal("0")};
+
+        for (int i = 0; i < values.length; i++) {
+            BigDecimal first = values[i];
+            BigDecimal second = values[random.nextInt(values.length)];
+            Percentage firstPercentage = Percentage.valueOf(first);
+            Percentage secondPercentage = Percentage.valueOf(second);
+            assertExactly(first.add(second), firstPercentage.add(secondPercentage));
+            assertExactly(first.subtract(second), firstPercentage.subtract(secondPercentage));
+            assertEquals(Integer.signum(first.compareTo(second)),
+                    Integer.signum(firstPercentage.compareTo(secondPercentage)));
+            assertEquals(first.compareTo(second) == 0, firstPercentage.equals(secondPercentage));
+            for (BigDecimal amount : amounts) {
+                assertExactly(first.multiply(amount), firstPercentage.multiply(amount));
+                if (amount.signum() != 0) {
+                    assertExactly(first.divide(amount, Math.max(first.scale(), amount.scale()),
+                            BigDecimal.ROUND_HALF_EVEN), firstPercentage.divide(amount));
+                }
+                assertSameOutcome(amount, first, firstPercentage, false);
+                assertSameOutcome(amount, first, firstPercentage, true);
+            }
+        }
+    }
+
+    private static void assertExactly(BigDecimal expected, Percentage actual) {
+        assertEquals(expected, actual.value());
+        assertEquals(expected.scale(), actual.value().scale());
+        assertEquals(Percentage.valueOf(expected).hashCode(), actual.hashCode());
+    }
+
+    private static void assertSameOutcome(BigDecimal amount, BigDecimal value, Percentage percentage,
+                                          boolean change) {
+        BigDecimal expected;
+        try {
+            BigDecimal of = amount.multiply(value).setScale(amount.scale());
+            expected = change ? amount.add(of) : of;
+        } catch (ArithmeticException e) {
+            try {
+                if (change) percentage.change(amount); else percentage.of(amount);
+                fail("Expected an ArithmeticException");
+            } catch (ArithmeticException expectedException) {
+                //Good
+            }
+            return;
+        }
+        BigDecimal actual = change ? percentage.change(amount) : percentage.of(amount);
+        assertEquals(expected, actual);
+        assertEquals(expected.scale(), actual.scale());
+    }
+
     @Test
     public void equalsAndHashCode() throws Exception {
         Percentage ten1 = Percentage.valueOf(new BigDecimal(".1"));
@@ -116,6 +178,34 @@ public class PercentageTest {
         }
     }
 
+    @Test
+    public void valueOfKeepsScaleAndSharesCommonValues() {
+        assertSame(Percentage.valueOf("5%"), Percentage.valueOf("5%"));
+        assertSame(Percentage.valueOf("-0.25%"), Percentage.valueOf("-.25%"));
+        assertSame(Percentage.ZERO, Percentage.valueOf("0%"));
+        assertSame(Percentage.ONE_HUNDRED, Percentage.valueOf("100"));
+        assertEquals(new BigDecimal(".05"), Percentage.valueOf("5%").value());
+        assertEquals(new BigDecimal("-.0025"), Percentage.valueOf("-0.25%").value());
+        assertEquals(new BigDecimal(".0100"), Percentage.valueOf("1.00%").value());
+        assertEquals(new BigDecimal("12345.67"), Percentage.valueOf("1,234,567%").value());
+        assertEquals(new BigDecimal("-123456789012345678901234.567"),
+                Percentage.valueOf("-12345678901234567890123456.7%").value());
+        assertEquals(new BigDecimal(".10"), Percentage.valueOf("10% interest").value());
+        assertEquals(new BigDecimal(".10"), Percentage.valueOf("10.%").value());
+    }
+
+    @Test
+    public void valueOfRejectsStringsWithoutANumber() {
+        for (String formattedString : new String[]{"", "-", "%", ",", ".%", "-.%", "abc10%"}) {
+            try {
+                Percentage.valueOf(formattedString);
+                fail("Expected an IllegalArgumentException for " + formattedString);
+            } catch (IllegalArgumentException e) {
+                assertEquals("[" + formattedString + "] not in <value>% format.", e.getMessage());
+            }
+        }
+    }
+
     @Test
     public void serializable() throws Exception {
         Percentage percentage = Percentage.valueOf(.1);
@@ -127,6 +217,7 @@ public class PercentageTest {
         ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(byteOut.toByteArray()));
         Percentage fromStream = (Percentage) in.readObject();
         assertEquals(percentage, fromStream);
+        assertEquals(percentage.value(), fromStream.value());
     }
 
     @Test
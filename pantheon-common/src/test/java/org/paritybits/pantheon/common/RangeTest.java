@@ -53,6 +53,29 @@ public class RangeTest {
         }
     };
 
+    //Steps by 3 and counts the steps without iterating.
+    private static final DistanceRangeRule<Integer> BY_THREE_RULE = new DistanceRangeRule<Integer>() {
+        public Integer prior(Integer from) {
+            return from - 3;
+        }
+
+        public Integer next(Integer from) {
+            return from + 3;
+        }
+
+        public int compare(Integer thisInt, Integer thatInt) {
+            return thisInt - thatInt;
+        }
+
+        public long distance(Integer from, Integer to) {
+            return (to - from) / 3;
+        }
+
+        public Integer stepsFrom(Integer start, long steps) {
+            return (int) (start + 3 * steps);
+        }
+    };
+
     @Test
     public void create() {
         Integer one = 1;
@@ -456,6 +479,50 @@ public class RangeTest {
         }
     }
 
+    @Test
+    public void sizeGetAndIndexOf() {
+        //A rule that has to iterate.
+        Range<Integer> byTwo = Range.create(0, 9, BY_TWO_RULE);
+        assertEquals(5, byTwo.size());
+        assertEquals((Integer) 4, byTwo.get(2));
+        assertEquals(2, byTwo.indexOf(4));
+        assertEquals(-1, byTwo.indexOf(5));
+        assertEquals(-1, byTwo.indexOf(12));
+        assertEquals((Integer) 1, byTwo.reverse().get(4));
+
+        //A rule that counts.
+        Range<Integer> byThree = Range.create(0, 3000000, BY_THREE_RULE);
+        assertEquals(1000001, byThree.size());
+        assertEquals((Integer) 30, byThree.get(10));
+        assertEquals(10, byThree.indexOf(30));
+        assertEquals(-1, byThree.indexOf(31));
+        assertTrue(byThree.contains(3000000));
+        assertFalse(byThree.contains(3000001));
+        assertEquals((Integer) 30, Range.stepsFrom(0, 10, BY_THREE_RULE));
+
+        Range<Integer> backwards = Range.create(10, 0, BY_THREE_RULE);
+        assertEquals(4, backwards.size());
+        assertEquals(backwards.asList(), Arrays.asList(backwards.get(0), backwards.get(1), backwards.get(2),
+                backwards.get(3)));
+        assertEquals(3, backwards.indexOf(1));
+        assertEquals(-1, backwards.indexOf(0));
+
+        for (Range<Integer> range : Arrays.asList(byTwo, byTwo.reverse(), backwards)) {
+            try {
+                range.get(range.size());
+                fail("Expected an IndexOutOfBoundsException.");
+            } catch (IndexOutOfBoundsException e) {
+                //Good
+            }
+            try {
+                range.get(-1);
+                fail("Expected an IndexOutOfBoundsException.");
+            } catch (IndexOutOfBoundsException e) {
+                //Good
+            }
+        }
+    }
+
     public static class MyRangeable implements Rangeable<MyRangeable> {
         protected final Integer number;
 
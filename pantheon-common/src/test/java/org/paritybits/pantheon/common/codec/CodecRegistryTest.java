@@ -0,0 +1,234 @@
+package org.paritybits.pantheon.common.codec;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CodecRegistryTest {
+
+    private static class Point {
+        private final int x;
+        private final int y;
+
+        Point(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static class NamedPoint extends Point {
+        NamedPoint(final int x, final int y) {
+            super(x, y);
+        }
+    }
+
+    private static final Codec<Point> POINT_CODEC = new Codec<Point>() {
+        public void write(final Point value, final DataOutput out) throws IOException {
+            CodecSupport.writeVarInt(value.x, out);
+            CodecSupport.writeVarInt(value.y, out);
+        }
+
+        public Point read(final DataInput in) throws IOException {
+            return new Point(CodecSupport.readVarInt(in), CodecSupport.readVarInt(in));
+        }
+    };
+
+    @Test
+    public void roundTripThroughStreamsAndBuffers() throws Exception {
+        CodecRegistry registry = CodecRegistry.create().register(1024, Point.class, POINT_CODEC);
+        byte[] bytes = registry.toBytes(new Point(3, -4));
+        assertArrayEquals(new byte[]{(byte) 0x80, 0x08, 6, 7}, bytes);
+        Point point = registry.fromBytes(bytes, Point.class);
+        assertEquals(3, point.x);
+        assertEquals(-4, point.y);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        registry.write(new Point(100, 200), buffer);
+        registry.write(null, buffer);
+        buffer.flip();
+        point = registry.read(buffer, Point.class);
+        assertEquals(100, point.x);
+        assertEquals(200, point.y);
+        assertNull(registry.read(buffer, Point.class));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void subclassesUseTheCodecOfTheirSuperclass() throws Exception {
+        CodecRegistry registry = CodecRegistry.create().register(1024, Point.class, POINT_CODEC);
+        assertTrue(registry.supports(NamedPoint.class));
+        assertFalse(registry.supports(String.class));
+        assertEquals(7, registry.fromBytes(registry.toBytes(new NamedPoint(7, 8)), Point.class).x);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateTag() {
+        CodecRegistry.create().register(1024, Point.class, POINT_CODEC).register(1024, NamedPoint.class,
+                new Codec<NamedPoint>() {
+                    public void write(final NamedPoint value, final DataOutput out) {
+                    }
+
+                    public NamedPoint read(final DataInput in) {
+                        return null;
+                    }
+                });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noCodec() {
+        CodecRegistry.create().toBytes("No codec");
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownTag() throws Exception {
+        CodecRegistry.create().fromBytes(new byte[]{5}, Object.class);
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongType() throws Exception {
+        CodecRegistry registry = CodecRegistry.create().register(1024, Point.class, POINT_CODEC);
+        registry.fromBytes(registry.toBytes(new Point(1, 2)), String.class);
+    }
+
+    @Test(expected = EOFException.class)
+    public void bufferEndsTooSoon() throws Exception {
+        CodecRegistry registry = CodecRegistry.create().register(1024, Point.class, POINT_CODEC);
+        registry.read(ByteBuffer.wrap(new byte[]{(byte) 0x80, 0x08, 6}), Point.class);
+    }
+
+    @Test
+    public void varintsAndDecimals() throws Exception {
+        Random random = new Random(17);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long[] longs = new long[200];
+        int[] ints = new int[200];
+        BigDecimal[] decimals = new BigDecimal[200];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong() >> random.nextInt(64);
+            ints[i] = random.nextInt() >> random.nextInt(32);
+            decimals[i] = new BigDecimal(new BigInteger(random.nextInt(100) + 1, random), random.nextInt(20) - 5);
+            CodecSupport.writeVarLong(longs[i], out);
+            CodecSupport.writeVarInt(ints[i], out);
+            CodecSupport.writeDecimal(decimals[i], out);
+        }
+        CodecSupport.writeVarLong(Long.MIN_VALUE, out);
+        CodecSupport.writeVarInt(Integer.MIN_VALUE, out);
+        CodecSupport.writeString("Gr\u00fc\u00dfe, \u20ac", out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int i = 0; i < longs.length; i++) {
+            assertEquals(longs[i], CodecSupport.readVarLong(in));
+            assertEquals(ints[i], CodecSupport.readVarInt(in));
+            BigDecimal decimal = CodecSupport.readDecimal(in);
+            assertEquals(decimals[i], decimal);
+            assertEquals(decimals[i].scale(), decimal.scale());
+        }
+        assertEquals(Long.MIN_VALUE, CodecSupport.readVarLong(in));
+        assertEquals(Integer.MIN_VALUE, CodecSupport.readVarInt(in));
+        assertEquals("Gr\u00fc\u00dfe, \u20ac", CodecSupport.readString(in));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void longStringsAndIntegers() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        BigInteger integer = BigInteger.ONE.shiftLeft(20000).subtract(BigInteger.TEN);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        CodecSupport.writeString(text, out);
+        CodecSupport.writeBigInteger(integer, out);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(text.toString(), CodecSupport.readString(in));
+        assertEquals(integer, CodecSupport.readBigInteger(in));
+    }
+
+    @Test
+    public void corruptLengths() throws Exception {
+        //0xFFFFFFFF, which reads as -1, and Integer.MAX_VALUE with nothing after it.
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 2, 3};
+        for (byte[] corrupt : new byte[][]{negative, huge}) {
+            assertCorrupt(corrupt, 0);
+            assertCorrupt(corrupt, 1);
+            assertCorrupt(corrupt, 2);
+        }
+        //A char past 0xFFFF.
+        assertCorrupt(new byte[]{1, (byte) 0x80, (byte) 0x80, 0x04}, 0);
+    }
+
+    @Test
+    public void smallValuesAreShort() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        CodecSupport.writeVarLong(-64, out);
+        assertEquals(1, bytes.size());
+        CodecSupport.writeDecimal(new BigDecimal("1234.56"), out);
+        assertEquals(1 + 5, bytes.size());
+    }
+
+    @Test
+    public void bufferAdaptersMatchTheStreams() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream stream = new DataOutputStream(bytes);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        DataOutput[] outs = {stream, new ByteBufferOutput(buffer)};
+        for (DataOutput out : outs) {
+            out.writeBoolean(true);
+            out.writeShort(-2);
+            out.writeChar('x');
+            out.writeInt(1 << 20);
+            out.writeLong(-3L);
+            out.writeFloat(1.5f);
+            out.writeDouble(2.25);
+            out.writeUTF("na\u00efve \u20ac");
+        }
+        buffer.flip();
+        byte[] written = new byte[buffer.remaining()];
+        buffer.duplicate().get(written);
+        assertArrayEquals(bytes.toByteArray(), written);
+
+        DataInput in = new ByteBufferInput(buffer);
+        assertTrue(in.readBoolean());
+        assertEquals(-2, in.readShort());
+        assertEquals('x', in.readChar());
+        assertEquals(1 << 20, in.readInt());
+        assertEquals(-3L, in.readLong());
+        assertEquals(1.5f, in.readFloat(), 0);
+        assertEquals(2.25, in.readDouble(), 0);
+        assertEquals("na\u00efve \u20ac", in.readUTF());
+    }
+
+    //Reads a string if what is 0, an integer if 1 and a decimal of scale 0 if 2, which has to fail with an
+    //IOException.
+    private static void assertCorrupt(final byte[] corrupt, final int what) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (what == 2) bytes.write(0);
+        bytes.write(corrupt);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        try {
+            if (what == 0) CodecSupport.readString(in);
+            else if (what == 1) CodecSupport.readBigInteger(in);
+            else CodecSupport.readDecimal(in);
+            fail("Read corrupt input.");
+        } catch (IOException e) {
+            //Expected
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.paritybits.pantheon.common.jfr;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.paritybits.pantheon.common.DistanceRangeRule;
+import org.paritybits.pantheon.common.NumberRangeRule;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.common.RangeRule;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RecordedRangeRuleTest {
+
+    private static final String EVENT_NAME = "org.paritybits.pantheon.common.RangeRuleCall";
+
+    @Test
+    public void eventIsDisabledByDefault() {
+        EventType type = EventType.getEventType(RangeRuleCallEvent.class);
+        assertEquals(EVENT_NAME, type.getName());
+        assertFalse(type.isEnabled());
+    }
+
+    @Test
+    public void recordsCallsOverTheThreshold() throws Exception {
+        RangeRule<Integer> rule = RecordedRangeRule.record(NumberRangeRule.create(1));
+        assertSame(rule, RecordedRangeRule.record(rule));
+        assertEquals(NumberRangeRule.create(1), ((RecordedRangeRule<Integer>) rule).rule());
+
+        File file = File.createTempFile("range-rule", ".jfr");
+        try {
+            Recording recording = new Recording();
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            int count = 0;
+            for (Integer ignored : Range.create(1, 5, rule)) {
+                count++;
+            }
+            rule.prior(3);
+            recording.stop();
+            recording.dump(file.toPath());
+            recording.close();
+            assertEquals(5, count);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+            int next = 0;
+            int prior = 0;
+            for (RecordedEvent event : events) {
+                if (!event.getEventType().getName().equals(EVENT_NAME)) continue;
+                assertEquals(NumberRangeRule.class.getName(), event.getClass("rule").getName());
+                if ("next".equals(event.getString("method"))) next++;
+                if ("prior".equals(event.getString("method"))) prior++;
+            }
+            assertTrue(next >= 4);
+            assertEquals(1, prior);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void distanceRulesStayDistanceRules() {
+        DistanceRangeRule<Long> steps = new DistanceRangeRule<Long>() {
+            public Long prior(final Long from) {
+                throw new AssertionError("The range should not step through its items.");
+            }
+
+            public Long next(final Long from) {
+                throw new AssertionError("The range should not step through its items.");
+            }
+
+            public int compare(final Long o1, final Long o2) {
+                return o1.compareTo(o2);
+            }
+
+            public long distance(final Long from, final Long to) {
+                return to - from;
+            }
+
+            public Long stepsFrom(final Long start, final long steps) {
+                return start + steps;
+            }
+        };
+        RangeRule<Long> rule = RecordedRangeRule.record((RangeRule<Long>) steps);
+        assertTrue(rule instanceof DistanceRangeRule);
+        assertSame(rule, RecordedRangeRule.record(rule));
+        Range<Long> range = Range.create(0L, 1000000000L, rule);
+        assertEquals(1000000001L, range.size());
+        assertEquals(Long.valueOf(12345), range.get(12345));
+        assertEquals(12345, range.indexOf(12345L));
+    }
+}
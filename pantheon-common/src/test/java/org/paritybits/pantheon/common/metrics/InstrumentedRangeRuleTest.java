@@ -0,0 +1,144 @@
+package org.paritybits.pantheon.common.metrics;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.DistanceRangeRule;
+import org.paritybits.pantheon.common.NumberRangeRule;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.common.RangeRule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class InstrumentedRangeRuleTest {
+
+    private static final RangeRule<Integer> BY_ONE = NumberRangeRule.create(1);
+
+    private static final class ByTwo implements RangeRule<Integer>, Serializable {
+        public Integer prior(Integer from) {
+            return from - 2;
+        }
+
+        public Integer next(Integer from) {
+            return from + 2;
+        }
+
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof ByTwo;
+        }
+
+        public int hashCode() {
+            return 2;
+        }
+    }
+
+    private static final class Steps implements DistanceRangeRule<Long>, Serializable {
+        public Long prior(Long from) {
+            return from - 1;
+        }
+
+        public Long next(Long from) {
+            return from + 1;
+        }
+
+        public int compare(Long o1, Long o2) {
+            return o1.compareTo(o2);
+        }
+
+        public long distance(Long from, Long to) {
+            return to - from;
+        }
+
+        public Long stepsFrom(Long start, long steps) {
+            return start + steps;
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof Steps;
+        }
+
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void recordsCallsPerMethod() {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        RangeRule<Integer> rule = InstrumentedRangeRule.instrument(BY_ONE, "byOne", registry);
+        int items = 0;
+        for (Integer ignored : Range.create(1, 10, rule)) {
+            items++;
+        }
+        assertEquals(10, items);
+        rule.prior(5);
+
+        Map<String, HistogramSnapshot> timers = registry.timerSnapshot();
+        assertTrue(timers.get("byOne.next").count() >= 10);
+        assertTrue(timers.get("byOne.compare").count() >= 10);
+        assertEquals(1, timers.get("byOne.prior").count());
+    }
+
+    @Test
+    public void noopRegistryLeavesRuleUnwrapped() {
+        assertSame(BY_ONE, InstrumentedRangeRule.instrument(BY_ONE, Metrics.noop()));
+        assertTrue(Metrics.isNoop(Metrics.registry()));
+    }
+
+    @Test
+    public void identityAndSerializationAreTheWrappedRule() throws Exception {
+        RangeRule<Integer> rule = InstrumentedRangeRule.instrument(BY_ONE, new SimpleMetricsRegistry());
+        assertEquals(rule, InstrumentedRangeRule.instrument(NumberRangeRule.create(1), new SimpleMetricsRegistry()));
+        assertEquals(BY_ONE.hashCode(), rule.hashCode());
+        assertEquals(Integer.valueOf(2), rule.next(1));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(InstrumentedRangeRule.instrument(new ByTwo(), new SimpleMetricsRegistry()));
+        out.close();
+        Object read = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(new ByTwo(), read);
+    }
+
+    @Test
+    public void registryReturnsSharedMetrics() {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        registry.counter("calls").increment();
+        registry.counter("calls").add(4);
+        assertEquals(Long.valueOf(5), registry.counterSnapshot().get("calls"));
+        assertSame(registry.timer("t"), registry.timer("t"));
+        registry.histogram("sizes").record(3);
+        assertEquals(1, registry.histogramSnapshot().get("sizes").count());
+    }
+
+    @Test
+    public void distanceRulesStayDistanceRules() throws Exception {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        RangeRule<Long> rule = InstrumentedRangeRule.instrument((RangeRule<Long>) new Steps(), "steps", registry);
+        assertTrue(rule instanceof DistanceRangeRule);
+        Range<Long> range = Range.create(0L, 1000000000L, rule);
+        assertEquals(1000000001L, range.size());
+        assertEquals(Long.valueOf(12345), range.get(12345));
+        Map<String, HistogramSnapshot> timers = registry.timerSnapshot();
+        assertEquals(0, timers.get("steps.next").count());
+        assertTrue(timers.get("steps.distance").count() > 0);
+        assertTrue(timers.get("steps.stepsFrom").count() > 0);
+
+        assertEquals(rule, InstrumentedRangeRule.instrument(new Steps(), new SimpleMetricsRegistry()));
+        assertFalse(InstrumentedRangeRule.instrument(BY_ONE, registry) instanceof DistanceRangeRule);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(rule);
+        out.close();
+        assertEquals(new Steps(), new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject());
+    }
+}
@@ -0,0 +1,60 @@
+package org.paritybits.pantheon.common.metrics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LogHistogramTest {
+
+    @Test
+    public void bucketsCoverTheirValues() {
+        Random random = new Random(31);
+        for (int i = 0; i < 100000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int bucket = LogHistogram.bucketOf(value);
+            assertTrue(bucket < LogHistogram.BUCKET_COUNT);
+            assertTrue(value + " in " + bucket, LogHistogram.lowerBound(bucket) <= value);
+            assertTrue(value + " in " + bucket, LogHistogram.upperBound(bucket) >= value);
+        }
+        assertEquals(LogHistogram.BUCKET_COUNT - 1, LogHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LogHistogram.upperBound(LogHistogram.BUCKET_COUNT - 1));
+        for (int bucket = 1; bucket < LogHistogram.BUCKET_COUNT; bucket++) {
+            assertEquals(LogHistogram.upperBound(bucket - 1) + 1, LogHistogram.lowerBound(bucket));
+        }
+    }
+
+    @Test
+    public void snapshotStatistics() {
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1001, snapshot.count());
+        assertEquals(500500, snapshot.sum());
+        assertEquals(0, snapshot.min());
+        assertTrue(snapshot.max() >= 1000 && snapshot.max() < 1000 * 1.125);
+        long median = snapshot.percentile(50);
+        assertTrue(Long.toString(median), median >= 500 && median < 500 * 1.125);
+        long p99 = snapshot.percentile(99);
+        assertTrue(Long.toString(p99), p99 >= 990 && p99 < 990 * 1.125);
+        assertEquals(snapshot.max(), snapshot.percentile(100));
+    }
+
+    @Test
+    public void emptySnapshot() {
+        HistogramSnapshot snapshot = new LogHistogram().snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0.0, snapshot.mean(), 0.0);
+        assertEquals(0, snapshot.percentile(99));
+        assertEquals(0, snapshot.max());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileOutOfRange() {
+        new LogHistogram().snapshot().percentile(101);
+    }
+}
@@ -3,11 +3,16 @@ package org.paritybits.pantheon.janus;
 import org.paritybits.pantheon.common.Immutable;
 import org.paritybits.pantheon.common.Rangeable;
 
+import java.time.Instant;
 import java.util.Date;
 
 /**
  * This interface represents a discrete large grained period of time.  Periods are expected to
  * be Immutable and to be Serializable.
+ * <p/>
+ * A period runs from the first millisecond of its start to the last millisecond of its stop, both inclusive.
+ * The millisecond accessors give the same bounds as start and stop.  Their defaults are built on start and
+ * stop, and implementations override them to avoid creating a Date.
  * 
  * @author Andrew Tillman
  * @version 0.9
@@ -23,4 +28,40 @@ public interface Period<T extends Period> extends Rangeable<T> {
 	 * @return The end of the period.
 	 */
 	Date stop();
+
+	/**
+	 * @return The beginning of the period in milliseconds since 1970-01-01T00:00Z.
+	 */
+	default long startMillis() {
+		return start().getTime();
+	}
+
+	/**
+	 * @return The end of the period in milliseconds since 1970-01-01T00:00Z.
+	 */
+	default long stopMillis() {
+		return stop().getTime();
+	}
+
+	/**
+	 * @return The beginning of the period.
+	 */
+	default Instant startInstant() {
+		return Instant.ofEpochMilli(startMillis());
+	}
+
+	/**
+	 * @return The end of the period.
+	 */
+	default Instant stopInstant() {
+		return Instant.ofEpochMilli(stopMillis());
+	}
+
+	/**
+	 * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+	 * @return true if the instant lies between the start and the stop of the period, inclusive.
+	 */
+	default boolean contains(final long epochMillis) {
+		return epochMillis >= startMillis() && epochMillis <= stopMillis();
+	}
 }
@@ -0,0 +1,163 @@
+package org.paritybits.pantheon.janus.simple;
+
+/**
+ * Folds the values that fall in a period into one total for a PeriodAggregation.  A total starts at identity,
+ * each value is folded in with add, and the totals of two partitions of the values are folded together with
+ * merge.  The partitions of a parallel aggregation are merged in no particular order, so add and merge must
+ * give the same total whatever order the values come in.
+ * <p/>
+ * SUM, COUNT, MIN and MAX are provided.  A subclass only has to implement the three methods, but can also
+ * override accumulate, the loop over a block of values, to let the JIT inline add.
+ */
+public abstract class Aggregator {
+
+    /**
+     * The sum of the values.
+     */
+    public static final Aggregator SUM = new Aggregator("SUM") {
+        public double identity() {
+            return 0;
+        }
+
+        public double add(final double total, final double value) {
+            return total + value;
+        }
+
+        public double merge(final double total, final double other) {
+            return total + other;
+        }
+
+        protected void accumulate(final int[] slots, final double[] values, final int from, final int count,
+                                  final double[] totals) {
+            for (int i = 0; i < count; i++) {
+                totals[slots[i]] += values[from + i];
+            }
+        }
+    };
+
+    /**
+     * The number of values.
+     */
+    public static final Aggregator COUNT = new Aggregator("COUNT") {
+        public double identity() {
+            return 0;
+        }
+
+        public double add(final double total, final double value) {
+            return total + 1;
+        }
+
+        public double merge(final double total, final double other) {
+            return total + other;
+        }
+
+        protected void accumulate(final int[] slots, final double[] values, final int from, final int count,
+                                  final double[] totals) {
+            for (int i = 0; i < count; i++) {
+                totals[slots[i]]++;
+            }
+        }
+    };
+
+    /**
+     * The least of the values, or NaN if any of them is NaN.
+     */
+    public static final Aggregator MIN = new Aggregator("MIN") {
+        public double identity() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        public double add(final double total, final double value) {
+            return Math.min(total, value);
+        }
+
+        public double merge(final double total, final double other) {
+            return Math.min(total, other);
+        }
+
+        protected void accumulate(final int[] slots, final double[] values, final int from, final int count,
+                                  final double[] totals) {
+            for (int i = 0; i < count; i++) {
+                int slot = slots[i];
+                totals[slot] = Math.min(totals[slot], values[from + i]);
+            }
+        }
+    };
+
+    /**
+     * The greatest of the values, or NaN if any of them is NaN.
+     */
+    public static final Aggregator MAX = new Aggregator("MAX") {
+        public double identity() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        public double add(final double total, final double value) {
+            return Math.max(total, value);
+        }
+
+        public double merge(final double total, final double other) {
+            return Math.max(total, other);
+        }
+
+        protected void accumulate(final int[] slots, final double[] values, final int from, final int count,
+                                  final double[] totals) {
+            for (int i = 0; i < count; i++) {
+                int slot = slots[i];
+                totals[slot] = Math.max(totals[slot], values[from + i]);
+            }
+        }
+    };
+
+    private final String name;
+
+    /**
+     * @param name The name of the aggregator, returned by toString.
+     * @throws NullPointerException If name is null.
+     */
+    protected Aggregator(final String name) {
+        if (name == null) throw new NullPointerException("Name cannot be null.");
+        this.name = name;
+    }
+
+    /**
+     * @return The total of a period with no values.
+     */
+    public abstract double identity();
+
+    /**
+     * @param total The total so far.
+     * @param value A value to fold in.
+     * @return The new total.
+     */
+    public abstract double add(double total, double value);
+
+    /**
+     * @param total A total of some values.
+     * @param other A total of other values of the same period.
+     * @return The total of all of the values.
+     */
+    public abstract double merge(double total, double other);
+
+    /**
+     * Folds a block of values into the totals of their periods.  The default calls add for each value.
+     *
+     * @param slots  The slot in totals of the period of each value.
+     * @param values The values.
+     * @param from   The index in values of the first value.
+     * @param count  The number of values.
+     * @param totals The totals of the periods.
+     */
+    protected void accumulate(final int[] slots, final double[] values, final int from, final int count,
+                              final double[] totals) {
+        for (int i = 0; i < count; i++) {
+            int slot = slots[i];
+            totals[slot] = add(totals[slot], values[from + i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,348 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.janus.Period;
+
+import java.nio.LongBuffer;
+import java.time.ZoneId;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Assigns instants to the periods of one type and time zone in bulk.  The instants are milliseconds since
+ * 1970-01-01T00:00Z, in a long[] or a LongBuffer, and each is written to an int[] as the index of the period
+ * it falls in, the same index the period is numbered by: the epoch day for a Day, the week since the week of
+ * 1969-12-29 for a Week, months, quarters or years since 1970 for the others, and hours or minutes since
+ * 1970-01-01T00:00 local time for an Hour or a Minute.  period turns an index back into a period.
+ * <p/>
+ * The instants are worked on a block at a time: the block is first converted to local times with a table of
+ * the offsets of each day of the zone, and then divided down to indices with a loop for each type, months being
+ * read from the month table of EpochDays.  The loops have no searches and, for instants in the years of the
+ * tables, no branches that depend on the instant, so the JIT can unroll them.  Nothing is allocated but one
+ * block of scratch space for each call.  parallelBucketize splits very large arrays across the common
+ * ForkJoinPool.
+ * <p/>
+ * An index is an int, so the index of a Minute more than about 4000 years from 1970 does not fit and wraps
+ * around.  Bucketizers are immutable and thread-safe, and two are equal when they are for the same type and
+ * time zone.
+ *
+ * @param <T> The type of period the instants are assigned to.
+ */
+@Immutable
+public final class Bucketizer<T extends Period<T>> {
+
+    //The instants converted to local times at a time, 8KB of scratch space.
+    private static final int BLOCK = 1024;
+
+    //Arrays smaller than this are not split any further by parallelBucketize.
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final Class<T> type;
+    private final Granularity granularity;
+    private final ZoneOffsets offsets;
+
+    private Bucketizer(final Class<T> type, final Granularity granularity, final ZoneOffsets offsets) {
+        this.type = type;
+        this.granularity = granularity;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @param type The type of period: Day, Week, Month, Quarter, Year, Hour or Minute.
+     * @param <T>  The type of period.
+     * @return A bucketizer for the periods of type in the default time zone as it is now.
+     * @throws NullPointerException     If type is null.
+     * @throws IllegalArgumentException If type is not one of the periods above.
+     */
+    public static <T extends Period<T>> Bucketizer<T> create(final Class<T> type) {
+        return create(type, ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param type The type of period: Day, Week, Month, Quarter, Year, Hour or Minute.
+     * @param zone The time zone of the periods.
+     * @param <T>  The type of period.
+     * @return A bucketizer for the periods of type in zone.
+     * @throws NullPointerException     If type or zone is null.
+     * @throws IllegalArgumentException If type is not one of the periods above.
+     */
+    public static <T extends Period<T>> Bucketizer<T> create(final Class<T> type, final ZoneId zone) {
+        return create(type, ZoneOffsets.of(zone));
+    }
+
+    private static <T extends Period<T>> Bucketizer<T> create(final Class<T> type, final ZoneOffsets offsets) {
+        if (type == null) throw new NullPointerException("Type cannot be null.");
+        return new Bucketizer<T>(type, Granularity.of(type), offsets);
+    }
+
+    /**
+     * @return The type of period the instants are assigned to.
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * @return The time zone of the periods.
+     */
+    public ZoneId zone() {
+        return offsets.zone();
+    }
+
+    ZoneOffsets offsets() {
+        return offsets;
+    }
+
+    /**
+     * @param index The index of a period, as written by bucketize.
+     * @return The period with that index in the zone of this bucketizer.
+     */
+    public T period(final int index) {
+        return type.cast(granularity.period(offsets, index));
+    }
+
+    /**
+     * @param millis Instants in milliseconds since 1970-01-01T00:00Z.
+     * @return The index of the period of each instant, in the same order.
+     * @throws NullPointerException If millis is null.
+     */
+    public int[] bucketize(final long[] millis) {
+        int[] indices = new int[millis.length];
+        bucketize(millis, 0, indices, 0, millis.length);
+        return indices;
+    }
+
+    /**
+     * @param millis  Instants in milliseconds since 1970-01-01T00:00Z.
+     * @param from    The index in millis of the first instant.
+     * @param indices The array to write the index of the period of each instant to.
+     * @param at      The index in indices to write the first one to.
+     * @param count   The number of instants.
+     * @throws NullPointerException      If either array is null.
+     * @throws IndexOutOfBoundsException If either range is out of bounds.
+     */
+    public void bucketize(final long[] millis, final int from, final int[] indices, final int at, final int count) {
+        checkRange(millis.length, from, count);
+        checkRange(indices.length, at, count);
+        bucketize(millis, from, indices, at, count, new long[Math.min(count, BLOCK)]);
+    }
+
+    //bucketize with scratch space from the caller, for callers that bucketize many blocks.  The ranges are
+    //not checked.
+    void bucketize(final long[] millis, final int from, final int[] indices, final int at, final int count,
+                   final long[] local) {
+        for (int done = 0; done < count; done += local.length) {
+            int length = Math.min(local.length, count - done);
+            offsets.localMillis(millis, from + done, local, 0, length);
+            granularity.indices(local, indices, at + done, length);
+        }
+    }
+
+    /**
+     * Reads the instants remaining in a buffer, which is left at its limit.
+     *
+     * @param millis  Instants in milliseconds since 1970-01-01T00:00Z.
+     * @param indices The array to write the index of the period of each instant to.
+     * @param at      The index in indices to write the first one to.
+     * @return The number of instants read.
+     * @throws NullPointerException      If millis or indices is null.
+     * @throws IndexOutOfBoundsException If indices has no room from at for the instants remaining.
+     */
+    public int bucketize(final LongBuffer millis, final int[] indices, final int at) {
+        int count = millis.remaining();
+        checkRange(indices.length, at, count);
+        long[] local = new long[Math.min(count, BLOCK)];
+        for (int done = 0; done < count; done += BLOCK) {
+            int length = Math.min(BLOCK, count - done);
+            millis.get(local, 0, length);
+            offsets.localMillis(local, 0, local, 0, length);
+            granularity.indices(local, indices, at + done, length);
+        }
+        return count;
+    }
+
+    /**
+     * The same as bucketize, with large arrays split across the threads of the common ForkJoinPool.
+     *
+     * @param millis Instants in milliseconds since 1970-01-01T00:00Z.
+     * @return The index of the period of each instant, in the same order.
+     * @throws NullPointerException If millis is null.
+     */
+    public int[] parallelBucketize(final long[] millis) {
+        int[] indices = new int[millis.length];
+        parallelBucketize(millis, 0, indices, 0, millis.length);
+        return indices;
+    }
+
+    /**
+     * The same as bucketize, with large arrays split across the threads of the common ForkJoinPool.
+     *
+     * @param millis  Instants in milliseconds since 1970-01-01T00:00Z.
+     * @param from    The index in millis of the first instant.
+     * @param indices The array to write the index of the period of each instant to.
+     * @param at      The index in indices to write the first one to.
+     * @param count   The number of instants.
+     * @throws NullPointerException      If either array is null.
+     * @throws IndexOutOfBoundsException If either range is out of bounds.
+     */
+    public void parallelBucketize(final long[] millis, final int from, final int[] indices, final int at,
+                                  final int count) {
+        checkRange(millis.length, from, count);
+        checkRange(indices.length, at, count);
+        if (count < PARALLEL_THRESHOLD) {
+            bucketize(millis, from, indices, at, count);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Split(millis, from, indices, at, count));
+        }
+    }
+
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Bucketizer other = (Bucketizer) o;
+        return type == other.type && offsets == other.offsets;
+    }
+
+    public int hashCode() {
+        return 29 * type.hashCode() + offsets.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + " in " + offsets;
+    }
+
+    static void checkRange(final int length, final int from, final int count) {
+        if (from < 0 || count < 0 || from > length - count) {
+            throw new IndexOutOfBoundsException("Range " + from + " to " + ((long) from + count)
+                    + " is out of bounds for length " + length + ".");
+        }
+    }
+
+    //Halves its range until it is below PARALLEL_THRESHOLD and bucketizes the halves.
+    private final class Split extends RecursiveAction {
+        private final long[] millis;
+        private final int from;
+        private final int[] indices;
+        private final int at;
+        private final int count;
+
+        private Split(final long[] millis, final int from, final int[] indices, final int at, final int count) {
+            this.millis = millis;
+            this.from = from;
+            this.indices = indices;
+            this.at = at;
+            this.count = count;
+        }
+
+        protected void compute() {
+            if (count < PARALLEL_THRESHOLD) {
+                bucketize(millis, from, indices, at, count);
+            } else {
+                int half = count >>> 1;
+                invokeAll(new Split(millis, from, indices, at, half),
+                        new Split(millis, from + half, indices, at + half, count - half));
+            }
+        }
+    }
+
+    //The division of local times into the indices of each type of period, one loop for each.
+    private enum Granularity {
+        DAY {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    indices[at + i] = (int) EpochDays.floorDiv(local[i], EpochDays.MILLIS_PER_DAY);
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Day.of(offsets, index);
+            }
+        },
+        WEEK {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    //Weeks start on Monday 1969-12-29, 3 days before the epoch.
+                    long day = EpochDays.floorDiv(local[i], EpochDays.MILLIS_PER_DAY);
+                    indices[at + i] = (int) EpochDays.floorDiv(day + 3, 7);
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Week.of(offsets, index);
+            }
+        },
+        MONTH {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    indices[at + i] = (int) EpochDays.monthOf(EpochDays.floorDiv(local[i], EpochDays.MILLIS_PER_DAY));
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Month.of(offsets, index);
+            }
+        },
+        QUARTER {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    long month = EpochDays.monthOf(EpochDays.floorDiv(local[i], EpochDays.MILLIS_PER_DAY));
+                    indices[at + i] = (int) EpochDays.floorDiv(month, 3);
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Quarter.of(offsets, index);
+            }
+        },
+        YEAR {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    long month = EpochDays.monthOf(EpochDays.floorDiv(local[i], EpochDays.MILLIS_PER_DAY));
+                    indices[at + i] = (int) EpochDays.floorDiv(month, 12);
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Year.of(offsets, index);
+            }
+        },
+        HOUR {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    indices[at + i] = (int) EpochDays.floorDiv(local[i], Hour.MILLIS_PER_HOUR);
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Hour.of(offsets, index);
+            }
+        },
+        MINUTE {
+            void indices(final long[] local, final int[] indices, final int at, final int count) {
+                for (int i = 0; i < count; i++) {
+                    indices[at + i] = (int) EpochDays.floorDiv(local[i], Minute.MILLIS_PER_MINUTE);
+                }
+            }
+
+            SimplePeriod period(final ZoneOffsets offsets, final long index) {
+                return Minute.of(offsets, index);
+            }
+        };
+
+        abstract void indices(long[] local, int[] indices, int at, int count);
+
+        abstract SimplePeriod period(ZoneOffsets offsets, long index);
+
+        static Granularity of(final Class<?> type) {
+            if (type == Day.class) return DAY;
+            if (type == Week.class) return WEEK;
+            if (type == Month.class) return MONTH;
+            if (type == Quarter.class) return QUARTER;
+            if (type == Year.class) return YEAR;
+            if (type == Hour.class) return HOUR;
+            if (type == Minute.class) return MINUTE;
+            throw new IllegalArgumentException("Cannot bucketize periods of type " + type.getName() + ".");
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.DistanceRangeRule;
+import org.paritybits.pantheon.common.Immutable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The business days of a market or of several markets, for settlement dates and similar day counts.  A day is a
+ * business day unless it falls on the weekend or is a holiday.
+ * <p/>
+ * A calendar covers a span of days, by default the years from 1900 to 2200 that PeriodCache keeps, and holds
+ * one bit for each day in it.  Beside the bits it keeps the number of business days before every 64 days and
+ * where every 64th business day is, so counting the business days before a day and finding the nth business
+ * day each take a few array reads, however far apart the days are.  Asking about a day outside the span throws
+ * an IllegalArgumentException.
+ * <p/>
+ * Days are compared by their dates, so a calendar can be used with Days in any time zone and the Days it
+ * returns are in the zone of the Day they were found from.
+ * <p/>
+ * A calendar can be read from a file of holidays, one <i>yyyy-MM-dd</i> date to a line.  A line that starts
+ * with <i>weekend</i> names the days of the weekend, as in <i>weekend FRIDAY SATURDAY</i>, and replaces the
+ * default of Saturday and Sunday.  Blank lines and everything after a <i>#</i> are ignored.
+ *
+ * @see org.paritybits.pantheon.janus.simple.Day
+ */
+@Immutable
+public final class BusinessCalendar implements Serializable {
+
+    private static final long serialVersionUID = 2926384710385619264L;
+
+    private static final Set<DayOfWeek> SATURDAY_AND_SUNDAY = Collections.unmodifiableSet(
+            EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+    private static final BusinessCalendar WEEKENDS = create(SATURDAY_AND_SUNDAY, Collections.<Day>emptyList());
+
+    private final long first;
+    private final long last;
+    private final long[] words;
+    //ranks[w] is the number of business days in the words before w, and selects[j] the word that holds
+    //business day 64 * j.
+    private final int[] ranks;
+    private final int[] selects;
+
+    private BusinessCalendar(final long first, final long last, final long[] words) {
+        this.first = first;
+        this.last = last;
+        this.words = words;
+        this.ranks = new int[words.length + 1];
+        for (int w = 0; w < words.length; w++) {
+            ranks[w + 1] = ranks[w] + Long.bitCount(words[w]);
+        }
+        this.selects = new int[(ranks[words.length] + 63) >>> 6];
+        for (int w = 0, j = 0; w < words.length; w++) {
+            while (j < selects.length && (long) j << 6 < ranks[w + 1]) selects[j++] = w;
+        }
+    }
+
+    /**
+     * @return A calendar with Saturday and Sunday as the weekend and no holidays.
+     */
+    public static BusinessCalendar weekends() {
+        return WEEKENDS;
+    }
+
+    /**
+     * Creates a calendar over the years from 1900 to 2200.
+     *
+     * @param weekend  The days of the week that are not business days.
+     * @param holidays The other days that are not business days.  Holidays outside the span are ignored.
+     * @return A new calendar.
+     * @throws NullPointerException If weekend or holidays is null.
+     */
+    public static BusinessCalendar create(final Set<DayOfWeek> weekend, final Collection<Day> holidays) {
+        return create(PeriodCache.FIRST_DAY, PeriodCache.LAST_DAY, weekend, holidays);
+    }
+
+    /**
+     * Creates a calendar over a span of days.
+     *
+     * @param first    The first day the calendar covers.
+     * @param last     The last day the calendar covers.
+     * @param weekend  The days of the week that are not business days.
+     * @param holidays The other days that are not business days.  Holidays outside the span are ignored.
+     * @return A new calendar.
+     * @throws NullPointerException     If any of the arguments is null.
+     * @throws IllegalArgumentException If last is before first.
+     */
+    public static BusinessCalendar create(final Day first, final Day last, final Set<DayOfWeek> weekend,
+                                          final Collection<Day> holidays) {
+        return create(first.index(), last.index(), weekend, holidays);
+    }
+
+    private static BusinessCalendar create(final long first, final long last, final Set<DayOfWeek> weekend,
+                                           final Collection<Day> holidays) {
+        if (weekend == null || holidays == null) throw new NullPointerException("Weekend and holidays cannot be null.");
+        if (last < first) throw new IllegalArgumentException("The last day cannot be before the first.");
+        if (last - first >= Integer.MAX_VALUE) throw new IllegalArgumentException("The span is too long.");
+        boolean[] weekendDays = new boolean[7];
+        for (DayOfWeek day : weekend) weekendDays[day.getValue() - 1] = true;
+        int length = (int) (last - first + 1);
+        long[] words = new long[(length + 63) >>> 6];
+        for (int i = 0; i < length; i++) {
+            if (!weekendDays[dayOfWeek(first + i)]) words[i >>> 6] |= 1L << i;
+        }
+        for (Day holiday : holidays) {
+            long epochDay = holiday.index();
+            if (epochDay >= first && epochDay <= last) {
+                int i = (int) (epochDay - first);
+                words[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return new BusinessCalendar(first, last, words);
+    }
+
+    /**
+     * Reads a calendar over the years from 1900 to 2200 from a file of holidays.
+     *
+     * @param file The file to read, in UTF-8.
+     * @return A new calendar.
+     * @throws IOException If the file cannot be read or a line is not a date or a weekend.
+     */
+    public static BusinessCalendar load(final File file) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+        try {
+            return load(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads a calendar over the years from 1900 to 2200 from the text of a holiday file.  The reader is not
+     * closed.
+     *
+     * @param reader The text to read.
+     * @return A new calendar.
+     * @throws IOException If the text cannot be read or a line is not a date or a weekend.
+     */
+    public static BusinessCalendar load(final Reader reader) throws IOException {
+        if (reader == null) throw new NullPointerException("Reader cannot be null.");
+        BufferedReader lines = new BufferedReader(reader);
+        Set<DayOfWeek> weekend = SATURDAY_AND_SUNDAY;
+        List<Day> holidays = new ArrayList<Day>();
+        int number = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            number++;
+            int comment = line.indexOf('#');
+            String text = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (text.isEmpty()) continue;
+            try {
+                if (text.startsWith("weekend")) {
+                    weekend = EnumSet.noneOf(DayOfWeek.class);
+                    for (String day : text.substring("weekend".length()).trim().split("\\s+")) {
+                        if (!day.isEmpty()) weekend.add(DayOfWeek.valueOf(day.toUpperCase()));
+                    }
+                } else {
+                    holidays.add(Day.valueOf(text));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Line " + number + " is not a holiday or a weekend: " + line, e);
+            }
+        }
+        return create(weekend, holidays);
+    }
+
+    /**
+     * @param day A day in the calendar.
+     * @return true if the day is a business day.
+     * @throws IllegalArgumentException If the day is outside the calendar.
+     */
+    public boolean isBusinessDay(final Day day) {
+        int i = offsetOf(day.index());
+        return (words[i >>> 6] & 1L << i) != 0;
+    }
+
+    /**
+     * Finds a business day a number of business days from another day, as for a settlement date of T+2.
+     * With an amount of 0 this is the day itself if it is a business day and the next business day if not.
+     *
+     * @param day    The day to count from, which does not have to be a business day.
+     * @param amount The number of business days to move.  A positive number moves forward and a negative
+     *               number moves backward.
+     * @return The business day amount business days after day, or before it if amount is negative.
+     * @throws IllegalArgumentException If the day or the result is outside the calendar.
+     */
+    public Day addBusinessDays(final Day day, final long amount) {
+        long epochDay = day.index();
+        long rank = amount > 0 ? rankAfter(epochDay) + amount - 1 : rank(epochDay) + amount;
+        return Day.of(day.offsets(), select(rank));
+    }
+
+    /**
+     * @param day A day in the calendar.
+     * @return The first business day after day.
+     * @throws IllegalArgumentException If the day or the result is outside the calendar.
+     */
+    public Day nextBusinessDay(final Day day) {
+        return addBusinessDays(day, 1);
+    }
+
+    /**
+     * @param day A day in the calendar.
+     * @return The last business day before day.
+     * @throws IllegalArgumentException If the day or the result is outside the calendar.
+     */
+    public Day priorBusinessDay(final Day day) {
+        return addBusinessDays(day, -1);
+    }
+
+    /**
+     * Counts the business days from one day up to another, counting from but not to.
+     *
+     * @param from The first day to count.
+     * @param to   The day after the last day to count.
+     * @return The number of business days from from up to to, or the negative of the number from to up to
+     *         from if to comes first.
+     * @throws IllegalArgumentException If either day is outside the calendar.
+     */
+    public long businessDaysBetween(final Day from, final Day to) {
+        return rank(to.index()) - rank(from.index());
+    }
+
+    /**
+     * Creates a rule for Ranges of Days that only steps over business days.  The rule is a DistanceRangeRule,
+     * so the Ranges find their size and their items in constant time.
+     *
+     * @return A rule that steps from business day to business day.
+     */
+    public DistanceRangeRule<Day> rangeRule() {
+        return new BusinessDayRule(this);
+    }
+
+    /**
+     * Combines the holidays of two calendars, for days that have to be business days in both markets.  The new
+     * calendar covers the days both calendars cover.
+     *
+     * @param other Another calendar.
+     * @return A calendar where a day is a business day only if it is one in both calendars.
+     * @throws IllegalArgumentException If the calendars have no days in common.
+     */
+    public BusinessCalendar union(final BusinessCalendar other) {
+        return combine(other, true);
+    }
+
+    /**
+     * Combines the business days of two calendars, for days that have to be business days in either market.
+     * The new calendar covers the days both calendars cover.
+     *
+     * @param other Another calendar.
+     * @return A calendar where a day is a business day if it is one in either calendar.
+     * @throws IllegalArgumentException If the calendars have no days in common.
+     */
+    public BusinessCalendar intersection(final BusinessCalendar other) {
+        return combine(other, false);
+    }
+
+    private BusinessCalendar combine(final BusinessCalendar other, final boolean both) {
+        long start = Math.max(first, other.first);
+        long end = Math.min(last, other.last);
+        if (end < start) throw new IllegalArgumentException("The calendars have no days in common.");
+        int length = (int) (end - start + 1);
+        long[] combined = new long[(length + 63) >>> 6];
+        for (int w = 0; w < combined.length; w++) {
+            long mine = wordAt(start - first + ((long) w << 6));
+            long theirs = other.wordAt(start - other.first + ((long) w << 6));
+            combined[w] = both ? mine & theirs : mine | theirs;
+        }
+        int tail = length & 63;
+        if (tail != 0) combined[combined.length - 1] &= (1L << tail) - 1;
+        return new BusinessCalendar(start, end, combined);
+    }
+
+    //The 64 bits from an offset into the span, which does not have to be on a word boundary.
+    private long wordAt(final long offset) {
+        int w = (int) (offset >>> 6);
+        int shift = (int) (offset & 63);
+        long word = words[w] >>> shift;
+        if (shift != 0 && w + 1 < words.length) word |= words[w + 1] << (64 - shift);
+        return word;
+    }
+
+    //The offset of a day into the span.
+    private int offsetOf(final long epochDay) {
+        if (epochDay < first || epochDay > last) {
+            throw new IllegalArgumentException(IsoFormat.formatDay(epochDay) + " is outside the calendar.");
+        }
+        return (int) (epochDay - first);
+    }
+
+    //The number of business days in the span before a day.
+    private long rank(final long epochDay) {
+        int i = offsetOf(epochDay);
+        return ranks[i >>> 6] + Long.bitCount(words[i >>> 6] & (1L << i) - 1);
+    }
+
+    //The number of business days in the span up to and including a day.
+    private long rankAfter(final long epochDay) {
+        int i = offsetOf(epochDay);
+        return ranks[i >>> 6] + Long.bitCount(words[i >>> 6] & (-1L >>> (63 - (i & 63))));
+    }
+
+    //The epoch day of a business day by its position in the span.  The sampled position of every 64th
+    //business day leaves only the words of the holidays in between to walk over.
+    private long select(final long rank) {
+        if (rank < 0 || rank >= ranks[words.length]) {
+            throw new IllegalArgumentException("The business day is outside the calendar.");
+        }
+        int w = selects[(int) (rank >>> 6)];
+        while (ranks[w + 1] <= rank) w++;
+        return first + ((long) w << 6) + selectInWord(words[w], (int) (rank - ranks[w]));
+    }
+
+    //The position of the nth set bit of a word, found a byte at a time.
+    private static int selectInWord(final long word, final int n) {
+        int shift = 0;
+        int rest = n;
+        for (int count; (count = Long.bitCount(word >>> shift & 0xFF)) <= rest; shift += 8) rest -= count;
+        long bits = word >>> shift;
+        for (int i = 0; i < rest; i++) bits &= bits - 1;
+        return shift + Long.numberOfTrailingZeros(bits);
+    }
+
+    //Monday is 0.  Epoch day 0 was a Thursday.
+    private static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    /**
+     * @param o The object to compare to.
+     * @return true if o is a calendar over the same days with the same business days.
+     */
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BusinessCalendar)) return false;
+        BusinessCalendar other = (BusinessCalendar) o;
+        return first == other.first && last == other.last && Arrays.equals(words, other.words);
+    }
+
+    public int hashCode() {
+        int result = (int) (first ^ (first >>> 32));
+        result = 29 * result + (int) (last ^ (last >>> 32));
+        return 29 * result + Arrays.hashCode(words);
+    }
+
+    public String toString() {
+        return "BusinessCalendar from " + IsoFormat.formatDay(first) + " to " + IsoFormat.formatDay(last)
+                + " with " + ranks[words.length] + " business days";
+    }
+
+    //Steps over the business days of a calendar.  From a day that is not a business day the first step goes to
+    //the nearest business day in the direction of the step.
+    private static final class BusinessDayRule implements DistanceRangeRule<Day>, Serializable {
+
+        private static final long serialVersionUID = 7315829043617251185L;
+
+        private final BusinessCalendar calendar;
+
+        private BusinessDayRule(final BusinessCalendar calendar) {
+            this.calendar = calendar;
+        }
+
+        public int compare(final Day compareThis, final Day toThat) {
+            return compareThis.compareTo(toThat);
+        }
+
+        public Day prior(final Day from) {
+            return calendar.priorBusinessDay(from);
+        }
+
+        public Day next(final Day from) {
+            return calendar.nextBusinessDay(from);
+        }
+
+        public long distance(final Day from, final Day to) {
+            long start = from.index();
+            long end = to.index();
+            if (end >= start) return calendar.rankAfter(end) - calendar.rankAfter(start);
+            return calendar.rank(end) - calendar.rank(start);
+        }
+
+        public Day stepsFrom(final Day start, final long steps) {
+            return steps == 0 ? start : calendar.addBusinessDays(start, steps);
+        }
+
+        public boolean equals(final Object o) {
+            return o instanceof BusinessDayRule && calendar.equals(((BusinessDayRule) o).calendar);
+        }
+
+        public int hashCode() {
+            return calendar.hashCode();
+        }
+
+        public String toString() {
+            return "business days";
+        }
+    }
+}
@@ -2,12 +2,10 @@ package org.paritybits.pantheon.janus.simple;
 
 import org.paritybits.pantheon.common.Immutable;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
 
 /**
  * A SimplePeriod representation of a day.  This class can be converted to and from a string using the ISO 8601 format;
@@ -16,51 +14,63 @@ import java.util.List;
 @Immutable
 public final class Day extends SimplePeriod<Day> {
 
-    private static final List<Integer> MANIPULATED_FIELDS = Arrays.asList(Calendar.MILLISECOND, Calendar.SECOND,
-            Calendar.MINUTE, Calendar.HOUR, Calendar.HOUR_OF_DAY);
+    private static final PeriodCache<Day> CACHE = new PeriodCache<Day>(PeriodCache.FIRST_DAY, PeriodCache.LAST_DAY) {
+        Day create(ZoneOffsets offsets, long index) {
+            return new Day(offsets, index);
+        }
+    };
 
     Day() {
     }
 
-    Day(Date dateInPeriod) {
-        super(dateInPeriod);
+    Day(ZoneOffsets offsets, long epochDay) {
+        super(offsets, epochDay);
     }
 
     Day createNewInstance(Date date) {
-        return create(date);
+        return create(date.getTime(), offsets());
+    }
+
+    Day createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
     }
 
     String createExternalForm() {
-        return getDateFormat().format(start());
+        return IsoFormat.formatDay(index());
     }
 
     Day createFromExternalForm(String externalForm) {
         return Day.valueOf(externalForm);
     }
 
-    List<Integer> manipulatedFields() {
-        return MANIPULATED_FIELDS;
+    //A Day is numbered by its epoch day.
+    long indexOf(long localMillis) {
+        return Math.floorDiv(localMillis, EpochDays.MILLIS_PER_DAY);
+    }
+
+    long localStartOf(long index) {
+        return index * EpochDays.MILLIS_PER_DAY;
     }
 
     /**
      * @return The Month this Day is a part of.
      */
     public Month month() {
-        return Month.create(start());
+        return Month.of(offsets(), EpochDays.monthOf(index()));
     }
 
     /**
      * @return The Quarter this Day is a part of.
      */
     public Quarter quarter() {
-        return Quarter.create(start());
+        return Quarter.of(offsets(), EpochDays.quarterOf(index()));
     }
 
     /**
      * @return The Year this Day is a part of.
      */
     public Year year() {
-        return Year.create(start());
+        return Year.of(offsets(), EpochDays.yearOf(index()));
     }
 
 
@@ -70,7 +80,7 @@ public final class Day extends SimplePeriod<Day> {
      * @return The Day that is x weeks from this Day.  The day of the week will be the same as the specified Day.
      */
     public Day rollWeeks(int rollAmount) {
-        return roll(Calendar.WEEK_OF_YEAR, rollAmount);
+        return createNewInstance(index() + 7L * rollAmount);
     }
 
     /**
@@ -83,7 +93,7 @@ public final class Day extends SimplePeriod<Day> {
      *         <i>2006-11-30</i>.
      */
     public Day rollMonths(int rollAmount) {
-        return roll(Calendar.MONTH, rollAmount);
+        return createNewInstance(EpochDays.plusMonths(index(), rollAmount));
     }
 
     /**
@@ -107,7 +117,17 @@ public final class Day extends SimplePeriod<Day> {
      *         when rolled forward by 1 will return <i>2005-02-15</i> but <i>2004-02-29</i> will return <i>2005-02-28</i>
      */
     public Day rollYears(int rollAmount) {
-        return roll(Calendar.YEAR, rollAmount);
+        return createNewInstance(EpochDays.plusMonths(index(), 12L * rollAmount));
+    }
+
+    //The shared instance of the Day with an index in the default time zone.
+    static Day of(long index) {
+        return of(ZoneOffsets.ofDefault(), index);
+    }
+
+    //The shared instance of the Day with an index in a time zone.
+    static Day of(ZoneOffsets offsets, long index) {
+        return CACHE.get(offsets, index);
     }
 
     /**
@@ -115,7 +135,65 @@ public final class Day extends SimplePeriod<Day> {
      * @return A new Day that represents the day of the given date.
      */
     public static Day create(Date date) {
-        return new Day(date);
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Day to be created.
+     * @return The Day the instant falls on in the default time zone.
+     */
+    public static Day create(Instant instant) {
+        return create(instant.toEpochMilli(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param date The date of the Day to be created.
+     * @return A new Day that represents the given date in the default time zone.
+     */
+    public static Day create(LocalDate date) {
+        return of(date.toEpochDay());
+    }
+
+    /**
+     * @param date A date in the Day to be created.
+     * @param zone The time zone of the Day.
+     * @return The Day in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Day create(Date date, ZoneId zone) {
+        return create(date.getTime(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param instant An instant in the Day to be created.
+     * @param zone    The time zone of the Day.
+     * @return The Day in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Day create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param date A date in the Day to be created.
+     * @param zone The time zone of the Day.
+     * @return The Day in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Day create(LocalDate date, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), date.toEpochDay());
+    }
+
+    //The Day that an instant falls in in a time zone.
+    private static Day create(long millis, ZoneOffsets offsets) {
+        return of(offsets, offsets.epochDay(millis));
+    }
+
+    /**
+     * @return The date of this Day.
+     */
+    public LocalDate toLocalDate() {
+        return LocalDate.ofEpochDay(index());
     }
 
     /**
@@ -134,14 +212,31 @@ public final class Day extends SimplePeriod<Day> {
      * @throws IllegalArgumentException If the string is not formatted properly.
      */
     public static Day valueOf(String iso8601FormattedString) {
-        try {
-            return create(getDateFormat().parse(iso8601FormattedString));
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("String was not iso8601 formatted", e);
-        }
+        return valueOf((CharSequence) iso8601FormattedString);
     }
 
-    private static SimpleDateFormat getDateFormat() {
-        return new SimpleDateFormat("yyyy-MM-dd");
+    /**
+     * Gets the Day of an iso8601 formatted day without copying the text.  This format is
+     * <i>yyyy-MM-dd</i>
+     *
+     * @param iso8601FormattedText The text of the Day, which has to match the format exactly.
+     * @return The Day that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Day valueOf(CharSequence iso8601FormattedText) {
+        return of(IsoFormat.parseDay(iso8601FormattedText));
+    }
+
+    /**
+     * Gets the Day of an iso8601 formatted day in a time zone.  This format is <i>yyyy-MM-dd</i>
+     *
+     * @param iso8601FormattedText The text of the Day, which has to match the format exactly.
+     * @param zone                 The time zone of the Day.
+     * @return The Day in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Day valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), IsoFormat.parseDay(iso8601FormattedText));
     }
 }
@@ -0,0 +1,113 @@
+package org.paritybits.pantheon.janus.simple;
+
+import java.util.Arrays;
+
+/**
+ * Arithmetic on local days counted from 1970-01-01.  Days are numbered the same in every calendar system, so
+ * an epoch day identifies the day a period starts on without depending on how the calendar labels it.  The
+ * conversions between instants and local days are done by ZoneOffsets.
+ * <p/>
+ * Months are numbered from 1970-01 in the proleptic Gregorian calendar, which applies the Gregorian leap year
+ * rules before 1582 as well.  The conversions between days and months follow the civil calendar algorithms
+ * of Howard Hinnant, which count 400 year cycles from 0000-03-01 so that the leap day ends a year.
+ * <p/>
+ * Rolling days up to months, quarters and years is the hot path of most reports, so the month of each day from
+ * 1900 to 2200 is also kept in a table of ints and looked up with one array read.  Quarters and years are the
+ * month divided by 3 and 12 and weeks need no table.  The years of the table can be changed with the system
+ * properties <i>org.paritybits.pantheon.janus.dayTable.firstYear</i> and
+ * <i>org.paritybits.pantheon.janus.dayTable.lastYear</i>, which default to the years PeriodCache keeps, and it
+ * takes 4 bytes a day, about 440KB for the default years.
+ */
+final class EpochDays {
+
+    static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    //Days from 0000-03-01 to 1970-01-01, days in a 400 year cycle and months from 0000-03 to 1970-01.
+    private static final long DAYS_TO_EPOCH = 719468;
+    private static final long DAYS_PER_CYCLE = 146097;
+    private static final long MONTHS_TO_EPOCH = 1970 * 12 - 2;
+
+    private EpochDays() {
+    }
+
+    //Every day of the years covered is mapped to its month in an int array, built the first time a month is
+    //looked up.  The holder class makes the build lazy and safe to share across threads without locking.
+    private static final class MonthTable {
+        static final int FIRST_YEAR = Integer.getInteger("org.paritybits.pantheon.janus.dayTable.firstYear",
+                PeriodCache.FIRST_YEAR);
+        static final int LAST_YEAR = Integer.getInteger("org.paritybits.pantheon.janus.dayTable.lastYear",
+                PeriodCache.LAST_YEAR);
+        static final long FIRST_DAY = firstDayOf(monthOf(FIRST_YEAR, 1));
+        static final int[] MONTHS = build();
+
+        private static int[] build() {
+            long first = monthOf(FIRST_YEAR, 1);
+            long last = monthOf(LAST_YEAR, 12);
+            int[] months = new int[(int) Math.max(0, firstDayOf(last + 1) - FIRST_DAY)];
+            for (long month = first; month <= last; month++) {
+                Arrays.fill(months, (int) (firstDayOf(month) - FIRST_DAY), (int) (firstDayOf(month + 1) - FIRST_DAY),
+                        (int) month);
+            }
+            return months;
+        }
+    }
+
+    //The month, counted from 1970-01, that an epoch day falls in.  Days in the years of the month table are one
+    //array read, others are worked out.
+    static long monthOf(final long epochDay) {
+        long slot = epochDay - MonthTable.FIRST_DAY;
+        if (slot >= 0 && slot < MonthTable.MONTHS.length) return MonthTable.MONTHS[(int) slot];
+        return computeMonthOf(epochDay);
+    }
+
+    //The quarter, counted from the first quarter of 1970, that an epoch day falls in.
+    static long quarterOf(final long epochDay) {
+        return Math.floorDiv(monthOf(epochDay), 3);
+    }
+
+    //The year, counted from 1970, that an epoch day falls in.
+    static long yearOf(final long epochDay) {
+        return Math.floorDiv(monthOf(epochDay), 12);
+    }
+
+    //Math.floorDiv without its branch, for the bulk loops of Bucketizer: a negative x is moved down by one less
+    //than divisor so that dividing rounds it down.  The divisor must be positive.
+    static long floorDiv(final long x, final long divisor) {
+        return (x - ((x >> 63) & (divisor - 1))) / divisor;
+    }
+
+    //The month of an epoch day from the civil calendar algorithm, for days outside the month table.
+    static long computeMonthOf(final long epochDay) {
+        long day = epochDay + DAYS_TO_EPOCH;
+        long cycle = Math.floorDiv(day, DAYS_PER_CYCLE);
+        long dayOfCycle = day - cycle * DAYS_PER_CYCLE;
+        long yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+        long dayOfYear = dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+        return (cycle * 400 + yearOfCycle) * 12 + (5 * dayOfYear + 2) / 153 - MONTHS_TO_EPOCH;
+    }
+
+    //The month, counted from 1970-01, of a year and a month of the year from 1 to 12.
+    static long monthOf(final long year, final int month) {
+        return (year - 1970L) * 12 + month - 1;
+    }
+
+    //The epoch day of the first day of a month counted from 1970-01.
+    static long firstDayOf(final long month) {
+        long fromMarch = month + MONTHS_TO_EPOCH;
+        long year = Math.floorDiv(fromMarch, 12);
+        long monthOfYear = fromMarch - year * 12;
+        long cycle = Math.floorDiv(year, 400);
+        long yearOfCycle = year - cycle * 400;
+        long dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + (153 * monthOfYear + 2) / 5;
+        return cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_TO_EPOCH;
+    }
+
+    //The epoch day a number of months from another, on the same day of the month or the last day of a
+    //shorter month, the way Calendar.add does it.
+    static long plusMonths(final long epochDay, final long months) {
+        long month = monthOf(epochDay);
+        long first = firstDayOf(month + months);
+        long lengthOfMonth = firstDayOf(month + months + 1) - first;
+        return first + Math.min(epochDay - firstDayOf(month), lengthOfMonth - 1);
+    }
+}
@@ -0,0 +1,329 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * The rules of a fiscal year, which say where its years, quarters and months begin.  A fiscal year either starts
+ * on the first day of a calendar month, or is a retail year of 52 or 53 whole weeks that ends on a given day of
+ * the week at the end of a calendar month, with its quarters split into months of four and five weeks.
+ * <p/>
+ * A fiscal year is named by the calendar year it ends in, so with years starting in October, FY2015 runs from
+ * 2014-10-01 to 2015-09-30.  A retail year is named by the year of the month it closes, even when it ends in the
+ * first days of the month after.
+ * <p/>
+ * The first days of all the fiscal months from 1900 to 2200 are worked out once, when the calendar is created,
+ * and kept in an array.  Finding the fiscal period of a day is then a guess from the average length of a month
+ * and a step or two along the array, and the bounds of a period are array reads, so no calendar rules are run
+ * for each period.  Asking for a period outside those years throws an IllegalArgumentException.
+ *
+ * @see org.paritybits.pantheon.janus.simple.FiscalYear
+ * @see org.paritybits.pantheon.janus.simple.FiscalQuarter
+ * @see org.paritybits.pantheon.janus.simple.FiscalMonth
+ */
+@Immutable
+public final class FiscalCalendar implements Serializable {
+
+    private static final long serialVersionUID = 6308475191256039174L;
+
+    private static final int EPOCH_YEAR = 1970;
+    private static final double DAYS_PER_MONTH = 365.2425 / 12;
+
+    /**
+     * The number of weeks in each of the three months of a quarter of a retail year.  The extra week of a
+     * 53 week year goes to the last month of the year.
+     */
+    public enum WeekPattern {
+        FOUR_FOUR_FIVE(4, 4, 5), FOUR_FIVE_FOUR(4, 5, 4), FIVE_FOUR_FOUR(5, 4, 4);
+
+        private final int[] weeks;
+
+        WeekPattern(final int... weeks) {
+            this.weeks = weeks;
+        }
+
+        public String toString() {
+            return weeks[0] + "-" + weeks[1] + "-" + weeks[2];
+        }
+    }
+
+    private final String description;
+    //The index of the first fiscal month in the table, counted from the first fiscal month of FY1970.
+    private final long firstMonth;
+    //The epoch day each fiscal month starts on, with the day after the last month at the end.
+    private final int[] monthStarts;
+    private final int hashCode;
+
+    private FiscalCalendar(final String description, final int[] monthStarts) {
+        this.description = description;
+        this.firstMonth = (PeriodCache.FIRST_YEAR - (long) EPOCH_YEAR) * 12;
+        this.monthStarts = monthStarts;
+        this.hashCode = Arrays.hashCode(monthStarts);
+    }
+
+    /**
+     * Creates a calendar of fiscal years that start on the first day of a calendar month.  Years that start in
+     * January are the calendar years.
+     *
+     * @param firstMonth The month the fiscal year starts in.
+     * @return A new fiscal calendar.
+     * @throws NullPointerException If firstMonth is null.
+     */
+    public static FiscalCalendar startingIn(final java.time.Month firstMonth) {
+        if (firstMonth == null) throw new NullPointerException("Month cannot be null.");
+        int[] starts = new int[years() * 12 + 1];
+        //FY1970 starts in the year before unless it starts in January.
+        long shift = firstMonth.getValue() == 1 ? 0 : firstMonth.getValue() - 13;
+        for (int i = 0; i < starts.length; i++) {
+            long month = EpochDays.monthOf(PeriodCache.FIRST_YEAR, 1) + i + shift;
+            starts[i] = (int) EpochDays.firstDayOf(month);
+        }
+        return new FiscalCalendar("fiscal years starting in " + firstMonth, starts);
+    }
+
+    /**
+     * Creates a calendar of retail years that end on the last given day of the week in a month.
+     *
+     * @param lastDay   The day of the week the year ends on.
+     * @param lastMonth The month the year ends in.
+     * @param pattern   The number of weeks in the months of each quarter.
+     * @return A new fiscal calendar.
+     * @throws NullPointerException If any of the arguments is null.
+     */
+    public static FiscalCalendar endingOnLast(final DayOfWeek lastDay, final java.time.Month lastMonth,
+                                              final WeekPattern pattern) {
+        return weeks(lastDay, lastMonth, pattern, false,
+                "retail years ending on the last " + lastDay + " of " + lastMonth + " by " + pattern);
+    }
+
+    /**
+     * Creates a calendar of retail years that end on the given day of the week nearest to the end of a month,
+     * which may be in the first days of the month after.
+     *
+     * @param lastDay   The day of the week the year ends on.
+     * @param lastMonth The month whose last day the end of the year is nearest to.
+     * @param pattern   The number of weeks in the months of each quarter.
+     * @return A new fiscal calendar.
+     * @throws NullPointerException If any of the arguments is null.
+     */
+    public static FiscalCalendar endingNearest(final DayOfWeek lastDay, final java.time.Month lastMonth,
+                                               final WeekPattern pattern) {
+        return weeks(lastDay, lastMonth, pattern, true,
+                "retail years ending on the " + lastDay + " nearest the end of " + lastMonth + " by " + pattern);
+    }
+
+    private static FiscalCalendar weeks(final DayOfWeek lastDay, final java.time.Month lastMonth,
+                                        final WeekPattern pattern, final boolean nearest,
+                                        final String description) {
+        if (lastDay == null || lastMonth == null || pattern == null) {
+            throw new NullPointerException("Day, month and pattern cannot be null.");
+        }
+        int[] starts = new int[years() * 12 + 1];
+        long yearStart = yearEnd(PeriodCache.FIRST_YEAR - 1, lastDay, lastMonth, nearest) + 1;
+        for (int year = 0; year < years(); year++) {
+            long next = yearEnd(PeriodCache.FIRST_YEAR + year, lastDay, lastMonth, nearest) + 1;
+            long start = yearStart;
+            for (int month = 0; month < 12; month++) {
+                starts[year * 12 + month] = (int) start;
+                start += 7 * pattern.weeks[month % 3];
+            }
+            yearStart = next;
+        }
+        starts[starts.length - 1] = (int) yearStart;
+        return new FiscalCalendar(description, starts);
+    }
+
+    //The epoch day a retail year ends on.
+    private static long yearEnd(final long year, final DayOfWeek lastDay, final java.time.Month lastMonth,
+                                final boolean nearest) {
+        long endOfMonth = EpochDays.firstDayOf(EpochDays.monthOf(year, lastMonth.getValue()) + 1) - 1;
+        //Monday is 0 and epoch day 0 was a Thursday.
+        long dayOfWeek = Math.floorMod(endOfMonth + 3, 7L);
+        long back = Math.floorMod(dayOfWeek - (lastDay.getValue() - 1), 7L);
+        return nearest && back > 3 ? endOfMonth + 7 - back : endOfMonth - back;
+    }
+
+    private static int years() {
+        return PeriodCache.LAST_YEAR - PeriodCache.FIRST_YEAR + 1;
+    }
+
+    /**
+     * @param date A date in the fiscal year.
+     * @return The fiscal year the date falls in, in the default time zone.
+     * @throws IllegalArgumentException If the date is outside the calendar.
+     */
+    public FiscalYear yearOf(final Date date) {
+        ZoneOffsets offsets = ZoneOffsets.ofDefault();
+        return FiscalYear.of(this, offsets, Math.floorDiv(monthIndexOf(offsets.epochDay(date.getTime())), 12));
+    }
+
+    /**
+     * @param instant An instant in the fiscal year.
+     * @param zone    The time zone of the fiscal year.
+     * @return The fiscal year the instant falls in in the zone.
+     * @throws IllegalArgumentException If the instant is outside the calendar.
+     */
+    public FiscalYear yearOf(final Instant instant, final ZoneId zone) {
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        return FiscalYear.of(this, offsets, Math.floorDiv(monthIndexOf(offsets.epochDay(instant.toEpochMilli())), 12));
+    }
+
+    /**
+     * @param day A day in the fiscal year.
+     * @return The fiscal year the day falls in, in the time zone of the day.
+     * @throws IllegalArgumentException If the day is outside the calendar.
+     */
+    public FiscalYear yearOf(final Day day) {
+        return FiscalYear.of(this, day.offsets(), Math.floorDiv(monthIndexOf(day.index()), 12));
+    }
+
+    /**
+     * @param fiscalYear The name of the fiscal year, the calendar year it ends in.
+     * @return The fiscal year in the default time zone.
+     * @throws IllegalArgumentException If the year is outside the calendar.
+     */
+    public FiscalYear year(final int fiscalYear) {
+        return FiscalYear.of(this, ZoneOffsets.ofDefault(), fiscalYear - (long) EPOCH_YEAR);
+    }
+
+    /**
+     * @param date A date in the fiscal quarter.
+     * @return The fiscal quarter the date falls in, in the default time zone.
+     * @throws IllegalArgumentException If the date is outside the calendar.
+     */
+    public FiscalQuarter quarterOf(final Date date) {
+        ZoneOffsets offsets = ZoneOffsets.ofDefault();
+        return FiscalQuarter.of(this, offsets, Math.floorDiv(monthIndexOf(offsets.epochDay(date.getTime())), 3));
+    }
+
+    /**
+     * @param instant An instant in the fiscal quarter.
+     * @param zone    The time zone of the fiscal quarter.
+     * @return The fiscal quarter the instant falls in in the zone.
+     * @throws IllegalArgumentException If the instant is outside the calendar.
+     */
+    public FiscalQuarter quarterOf(final Instant instant, final ZoneId zone) {
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        return FiscalQuarter.of(this, offsets, Math.floorDiv(monthIndexOf(offsets.epochDay(instant.toEpochMilli())), 3));
+    }
+
+    /**
+     * @param day A day in the fiscal quarter.
+     * @return The fiscal quarter the day falls in, in the time zone of the day.
+     * @throws IllegalArgumentException If the day is outside the calendar.
+     */
+    public FiscalQuarter quarterOf(final Day day) {
+        return FiscalQuarter.of(this, day.offsets(), Math.floorDiv(monthIndexOf(day.index()), 3));
+    }
+
+    /**
+     * @param fiscalYear The name of the fiscal year.
+     * @param quarter    The quarter of the year, from 1 to 4.
+     * @return The fiscal quarter in the default time zone.
+     * @throws IllegalArgumentException If the quarter is not from 1 to 4 or is outside the calendar.
+     */
+    public FiscalQuarter quarter(final int fiscalYear, final int quarter) {
+        if (quarter < 1 || quarter > 4) throw new IllegalArgumentException("Quarter must be from 1 to 4.");
+        return FiscalQuarter.of(this, ZoneOffsets.ofDefault(), (fiscalYear - (long) EPOCH_YEAR) * 4 + quarter - 1);
+    }
+
+    /**
+     * @param date A date in the fiscal month.
+     * @return The fiscal month the date falls in, in the default time zone.
+     * @throws IllegalArgumentException If the date is outside the calendar.
+     */
+    public FiscalMonth monthOf(final Date date) {
+        ZoneOffsets offsets = ZoneOffsets.ofDefault();
+        return FiscalMonth.of(this, offsets, monthIndexOf(offsets.epochDay(date.getTime())));
+    }
+
+    /**
+     * @param instant An instant in the fiscal month.
+     * @param zone    The time zone of the fiscal month.
+     * @return The fiscal month the instant falls in in the zone.
+     * @throws IllegalArgumentException If the instant is outside the calendar.
+     */
+    public FiscalMonth monthOf(final Instant instant, final ZoneId zone) {
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        return FiscalMonth.of(this, offsets, monthIndexOf(offsets.epochDay(instant.toEpochMilli())));
+    }
+
+    /**
+     * @param day A day in the fiscal month.
+     * @return The fiscal month the day falls in, in the time zone of the day.
+     * @throws IllegalArgumentException If the day is outside the calendar.
+     */
+    public FiscalMonth monthOf(final Day day) {
+        return FiscalMonth.of(this, day.offsets(), monthIndexOf(day.index()));
+    }
+
+    /**
+     * Finds the fiscal month of a calendar month.  In a calendar of whole months this is the fiscal month that
+     * is the calendar month; in a retail calendar it is the fiscal month the middle of the calendar month falls in.
+     *
+     * @param month A calendar month.
+     * @return The fiscal month the 15th of the month falls in, in the time zone of the month.
+     * @throws IllegalArgumentException If the month is outside the calendar.
+     */
+    public FiscalMonth monthOf(final Month month) {
+        return FiscalMonth.of(this, month.offsets(), monthIndexOf(EpochDays.firstDayOf(month.index()) + 14));
+    }
+
+    /**
+     * @param fiscalYear The name of the fiscal year.
+     * @param month      The month of the fiscal year, from 1 to 12.
+     * @return The fiscal month in the default time zone.
+     * @throws IllegalArgumentException If the month is not from 1 to 12 or is outside the calendar.
+     */
+    public FiscalMonth month(final int fiscalYear, final int month) {
+        if (month < 1 || month > 12) throw new IllegalArgumentException("Month must be from 1 to 12.");
+        return FiscalMonth.of(this, ZoneOffsets.ofDefault(), (fiscalYear - (long) EPOCH_YEAR) * 12 + month - 1);
+    }
+
+    //The epoch day a fiscal month starts on, where the month may be the one after the last in the table.
+    long firstDayOfMonth(final long monthIndex) {
+        long position = monthIndex - firstMonth;
+        if (position < 0 || position >= monthStarts.length) {
+            throw new IllegalArgumentException("The fiscal period is outside the calendar.");
+        }
+        return monthStarts[(int) position];
+    }
+
+    //The fiscal month an epoch day falls in.  Fiscal months are within a week of the average month, so the
+    //guess is at most a month or two out.
+    long monthIndexOf(final long epochDay) {
+        if (epochDay < monthStarts[0] || epochDay >= monthStarts[monthStarts.length - 1]) {
+            throw new IllegalArgumentException(IsoFormat.formatDay(epochDay) + " is outside the calendar.");
+        }
+        int position = (int) Math.min((epochDay - monthStarts[0]) / DAYS_PER_MONTH, monthStarts.length - 2);
+        while (monthStarts[position] > epochDay) position--;
+        while (monthStarts[position + 1] <= epochDay) position++;
+        return firstMonth + position;
+    }
+
+    /**
+     * @param o The object to compare to.
+     * @return true if o is a fiscal calendar whose months start on the same days.
+     */
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FiscalCalendar)) return false;
+        FiscalCalendar other = (FiscalCalendar) o;
+        return hashCode == other.hashCode && firstMonth == other.firstMonth
+                && Arrays.equals(monthStarts, other.monthStarts);
+    }
+
+    public int hashCode() {
+        return hashCode;
+    }
+
+    public String toString() {
+        return description;
+    }
+}
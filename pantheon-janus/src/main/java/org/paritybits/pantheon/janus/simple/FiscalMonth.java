@@ -0,0 +1,53 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+
+/**
+ * A month of a FiscalCalendar, which is a calendar month for fiscal years that start on the first of a month
+ * and four or five weeks in a retail year.  It is written as <i>FYyyyy-Mmm</i>, so the first month of the fiscal
+ * year that ends in 2015 is <i>FY2015-M01</i>.
+ *
+ * @see org.paritybits.pantheon.janus.simple.FiscalCalendar#monthOf(Day)
+ */
+@Immutable
+public final class FiscalMonth extends FiscalPeriod<FiscalMonth> {
+
+    private FiscalMonth(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index) {
+        super(calendar, offsets, index, index, 1);
+    }
+
+    //The FiscalMonth with an index, counted from the first month of FY1970, in a calendar and time zone.
+    static FiscalMonth of(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index) {
+        return new FiscalMonth(calendar, offsets, index);
+    }
+
+    FiscalMonth createNewInstance(final ZoneOffsets offsets, final long index) {
+        return of(calendar(), offsets, index);
+    }
+
+    /**
+     * @return The month of the fiscal year, from 1 to 12.
+     */
+    public int monthOfYear() {
+        return (int) Math.floorMod(index(), 12L) + 1;
+    }
+
+    /**
+     * @return The FiscalQuarter the month is in.
+     */
+    public FiscalQuarter quarter() {
+        return FiscalQuarter.of(calendar(), offsets(), Math.floorDiv(index(), 3));
+    }
+
+    /**
+     * @return The FiscalYear the month is in.
+     */
+    public FiscalYear year() {
+        return FiscalYear.of(calendar(), offsets(), Math.floorDiv(index(), 12));
+    }
+
+    public String toString() {
+        int month = monthOfYear();
+        return "FY" + (Math.floorDiv(index(), 12) + 1970) + "-M" + (month < 10 ? "0" : "") + month;
+    }
+}
@@ -0,0 +1,204 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.DistanceRangeable;
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.Period;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * The base class of the periods of a FiscalCalendar.  Like a SimplePeriod, a fiscal period is numbered from the
+ * one that holds the start of FY1970 and is in a time zone, but its bounds are read from the tables of its
+ * calendar, so next, prior and roll only add to the index.  Fiscal periods are immutable and thread-safe.
+ * <p/>
+ * Two fiscal periods are equal when they are of the same type, with the same index in equal calendars and the
+ * same time zone.  Periods of different calendars cannot be compared.
+ *
+ * @param <T> The type of fiscal period.
+ */
+@Immutable
+abstract class FiscalPeriod<T extends FiscalPeriod<T>> implements Period<T>, DistanceRangeable<T>, Serializable {
+
+    static final long serialVersionUID = 4810385719305618273L;
+
+    private final FiscalCalendar calendar;
+    private final String zoneId;
+    private final long index;
+    private transient final ZoneOffsets offsets;
+    private transient final long start;
+    private transient final long stop;
+
+    /**
+     * @param calendar The calendar of the period.
+     * @param offsets  The time zone of the period.
+     * @param index    The index of the period.
+     * @param first    The index of the first fiscal month of the period.
+     * @param months   The number of fiscal months in the period.
+     * @throws IllegalArgumentException If the period is outside the calendar.
+     */
+    FiscalPeriod(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index, final long first,
+                 final int months) {
+        this.calendar = calendar;
+        this.zoneId = offsets.zone().getId();
+        this.index = index;
+        this.offsets = offsets;
+        this.start = offsets.utcMillis(calendar.firstDayOfMonth(first) * EpochDays.MILLIS_PER_DAY);
+        this.stop = offsets.utcMillis(calendar.firstDayOfMonth(first + months) * EpochDays.MILLIS_PER_DAY - 1);
+    }
+
+    /**
+     * Implemented by subclasses to create a period of the same type in the same calendar and zone.
+     *
+     * @param offsets The time zone of the period.
+     * @param index   The index of the period.
+     * @return A new period of the same type as this one.
+     */
+    abstract T createNewInstance(ZoneOffsets offsets, long index);
+
+    /**
+     * @return The calendar of the period.
+     */
+    public FiscalCalendar calendar() {
+        return calendar;
+    }
+
+    /**
+     * @return The time zone the period is in.
+     */
+    public ZoneId zone() {
+        return offsets.zone();
+    }
+
+    //The index of this period, counting from the period that holds the start of FY1970.
+    long index() {
+        return index;
+    }
+
+    ZoneOffsets offsets() {
+        return offsets;
+    }
+
+    public Date start() {
+        return new Date(start);
+    }
+
+    public Date stop() {
+        return new Date(stop);
+    }
+
+    public long startMillis() {
+        return start;
+    }
+
+    public long stopMillis() {
+        return stop;
+    }
+
+    public Instant startInstant() {
+        return Instant.ofEpochMilli(start);
+    }
+
+    public Instant stopInstant() {
+        return Instant.ofEpochMilli(stop);
+    }
+
+    public boolean contains(final long epochMillis) {
+        return epochMillis >= start && epochMillis <= stop;
+    }
+
+    /**
+     * @return The first calendar Day of the period.
+     */
+    public Day firstDay() {
+        return Day.of(offsets, offsets.epochDay(start));
+    }
+
+    /**
+     * @return The last calendar Day of the period.
+     */
+    public Day lastDay() {
+        return Day.of(offsets, offsets.epochDay(stop));
+    }
+
+    /**
+     * @return A Range of the calendar Days in the period.
+     */
+    public Range<Day> asDays() {
+        return Range.create(firstDay(), lastDay());
+    }
+
+    /**
+     * @return A Range of the calendar Months the period starts, ends or lies in.
+     */
+    public Range<Month> asCalendarMonths() {
+        return Range.create(firstDay().month(), lastDay().month());
+    }
+
+    /**
+     * @return The period that comes right before this period.
+     * @throws IllegalArgumentException If that period is outside the calendar.
+     */
+    public T prior() {
+        return createNewInstance(offsets, index - 1);
+    }
+
+    /**
+     * @return The period that comes right after this period.
+     * @throws IllegalArgumentException If that period is outside the calendar.
+     */
+    public T next() {
+        return createNewInstance(offsets, index + 1);
+    }
+
+    /**
+     * @param amount The number of periods to roll by.  Negative values roll back.
+     * @return The period amount periods after this one.
+     * @throws IllegalArgumentException If that period is outside the calendar.
+     */
+    public T roll(final long amount) {
+        return createNewInstance(offsets, index + amount);
+    }
+
+    /**
+     * @param other A period of the same type and calendar.
+     * @return The number of periods from this one to other, negative if other comes first.
+     */
+    public long stepsUntil(final T other) {
+        return other.index() - index;
+    }
+
+    /**
+     * @param other A period of the same type and calendar.
+     * @return -1, 0 or 1 based on the starts of the periods, and then the ids of their time zones.
+     * @throws IllegalArgumentException If the periods are of different calendars.
+     */
+    public int compareTo(final T other) {
+        if (!calendar.equals(other.calendar())) {
+            throw new IllegalArgumentException("Periods of different fiscal calendars cannot be compared.");
+        }
+        if (start != other.startMillis()) return start < other.startMillis() ? -1 : 1;
+        return offsets == other.offsets() ? 0 : zoneId.compareTo(other.zone().getId());
+    }
+
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FiscalPeriod other = (FiscalPeriod) o;
+        return index == other.index && zoneId.equals(other.zoneId) && calendar.equals(other.calendar);
+    }
+
+    public int hashCode() {
+        int result = (int) (index ^ (index >>> 32));
+        result = 29 * result + zoneId.hashCode();
+        return 29 * result + calendar.hashCode();
+    }
+
+    //Only the calendar, the zone id and the index are written, and the bounds are found again when read.
+    final Object readResolve() {
+        return createNewInstance(ZoneOffsets.of(ZoneId.of(zoneId)), index);
+    }
+}
@@ -0,0 +1,53 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.common.Range;
+
+/**
+ * A quarter of a FiscalCalendar.  It is written as <i>FYyyyy-Qq</i>, so the first quarter of the fiscal year
+ * that ends in 2015 is <i>FY2015-Q1</i>.
+ *
+ * @see org.paritybits.pantheon.janus.simple.FiscalCalendar#quarterOf(Day)
+ */
+@Immutable
+public final class FiscalQuarter extends FiscalPeriod<FiscalQuarter> {
+
+    private FiscalQuarter(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index) {
+        super(calendar, offsets, index, index * 3, 3);
+    }
+
+    //The FiscalQuarter with an index, counted from the first quarter of FY1970, in a calendar and time zone.
+    static FiscalQuarter of(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index) {
+        return new FiscalQuarter(calendar, offsets, index);
+    }
+
+    FiscalQuarter createNewInstance(final ZoneOffsets offsets, final long index) {
+        return of(calendar(), offsets, index);
+    }
+
+    /**
+     * @return The quarter of the fiscal year, from 1 to 4.
+     */
+    public int quarterOfYear() {
+        return (int) Math.floorMod(index(), 4L) + 1;
+    }
+
+    /**
+     * @return The FiscalYear the quarter is in.
+     */
+    public FiscalYear year() {
+        return FiscalYear.of(calendar(), offsets(), Math.floorDiv(index(), 4));
+    }
+
+    /**
+     * @return A Range of the three months of the quarter.
+     */
+    public Range<FiscalMonth> asMonths() {
+        return Range.create(FiscalMonth.of(calendar(), offsets(), index() * 3),
+                FiscalMonth.of(calendar(), offsets(), index() * 3 + 2));
+    }
+
+    public String toString() {
+        return "FY" + (Math.floorDiv(index(), 4) + 1970) + "-Q" + quarterOfYear();
+    }
+}
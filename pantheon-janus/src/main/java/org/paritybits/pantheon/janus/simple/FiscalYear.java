@@ -0,0 +1,53 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.common.Range;
+
+/**
+ * A year of a FiscalCalendar.  It is written as <i>FYyyyy</i>, with the calendar year the fiscal year ends in.
+ *
+ * @see org.paritybits.pantheon.janus.simple.FiscalCalendar#yearOf(Day)
+ */
+@Immutable
+public final class FiscalYear extends FiscalPeriod<FiscalYear> {
+
+    private FiscalYear(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index) {
+        super(calendar, offsets, index, index * 12, 12);
+    }
+
+    //The FiscalYear with an index, counted from FY1970, in a calendar and time zone.
+    static FiscalYear of(final FiscalCalendar calendar, final ZoneOffsets offsets, final long index) {
+        return new FiscalYear(calendar, offsets, index);
+    }
+
+    FiscalYear createNewInstance(final ZoneOffsets offsets, final long index) {
+        return of(calendar(), offsets, index);
+    }
+
+    /**
+     * @return The name of the fiscal year, the calendar year it ends in.
+     */
+    public int fiscalYear() {
+        return (int) index() + 1970;
+    }
+
+    /**
+     * @return A Range of the four quarters of the year.
+     */
+    public Range<FiscalQuarter> asQuarters() {
+        return Range.create(FiscalQuarter.of(calendar(), offsets(), index() * 4),
+                FiscalQuarter.of(calendar(), offsets(), index() * 4 + 3));
+    }
+
+    /**
+     * @return A Range of the twelve months of the year.
+     */
+    public Range<FiscalMonth> asMonths() {
+        return Range.create(FiscalMonth.of(calendar(), offsets(), index() * 12),
+                FiscalMonth.of(calendar(), offsets(), index() * 12 + 11));
+    }
+
+    public String toString() {
+        return "FY" + fiscalYear();
+    }
+}
@@ -0,0 +1,148 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.common.Range;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * A SimplePeriod representation of an hour of local time.  This class can be converted to and from a string
+ * using the ISO 8601 format of the local time it starts at; <i>yyyy-MM-ddTHH</i>.
+ * <p/>
+ * Hours are not shared the way the longer periods are, since there are too many to keep, but an Hour is a single
+ * small object and finding one from an instant is arithmetic on its epoch milliseconds.  Every instant falls in
+ * the Hour of its local time: an hour of local time that happens twice when daylight saving time ends runs from
+ * the start of the first to the end of the second, two hours in all, and one that the start of daylight saving
+ * time skips is empty, stopping the millisecond before it starts.
+ */
+@Immutable
+public final class Hour extends SimplePeriod<Hour> {
+
+    static final long MILLIS_PER_HOUR = 60L * 60 * 1000;
+
+    Hour() {
+    }
+
+    Hour(ZoneOffsets offsets, long index) {
+        super(offsets, index, index * MILLIS_PER_HOUR, (index + 1) * MILLIS_PER_HOUR);
+    }
+
+    Hour createNewInstance(Date date) {
+        return create(date.getTime(), offsets());
+    }
+
+    Hour createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
+    }
+
+    String createExternalForm() {
+        return IsoFormat.formatTime(index() * 60 * 60, 1);
+    }
+
+    Hour createFromExternalForm(String externalForm) {
+        return valueOf(externalForm);
+    }
+
+    //An Hour is numbered from the hour that starts at the local epoch.
+    long indexOf(long localMillis) {
+        return Math.floorDiv(localMillis, MILLIS_PER_HOUR);
+    }
+
+    long localStartOf(long index) {
+        return index * MILLIS_PER_HOUR;
+    }
+
+    /**
+     * @return The Day this Hour is a part of.
+     */
+    public Day day() {
+        return Day.of(offsets(), Math.floorDiv(index(), 24));
+    }
+
+    /**
+     * @return A Range of the Minutes in the Hour.
+     */
+    public Range<Minute> asMinutes() {
+        return Range.create(Minute.of(offsets(), index() * 60), Minute.of(offsets(), index() * 60 + 59));
+    }
+
+    //The Hour with an index in a time zone.
+    static Hour of(ZoneOffsets offsets, long index) {
+        return new Hour(offsets, index);
+    }
+
+    /**
+     * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+     * @return The Hour the instant falls in in the default time zone.
+     */
+    public static Hour create(long epochMillis) {
+        return create(epochMillis, ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param date A date in the Hour to be created.
+     * @return The Hour the date falls in in the default time zone.
+     */
+    public static Hour create(Date date) {
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Hour to be created.
+     * @return The Hour the instant falls in in the default time zone.
+     */
+    public static Hour create(Instant instant) {
+        return create(instant.toEpochMilli(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+     * @param zone        The time zone of the Hour.
+     * @return The Hour in the given zone that the instant falls in.
+     * @throws NullPointerException If zone is null.
+     */
+    public static Hour create(long epochMillis, ZoneId zone) {
+        return create(epochMillis, ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param instant An instant in the Hour to be created.
+     * @param zone    The time zone of the Hour.
+     * @return The Hour in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Hour create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    //The Hour that an instant falls in in a time zone.
+    private static Hour create(long millis, ZoneOffsets offsets) {
+        return of(offsets, Math.floorDiv(offsets.localMillis(millis), MILLIS_PER_HOUR));
+    }
+
+    /**
+     * Gets the Hour of an iso8601 formatted local time.  This format is <i>yyyy-MM-ddTHH</i>
+     *
+     * @param iso8601FormattedText The text of the Hour, which has to match the format exactly.
+     * @return The Hour that the given text describes in the default time zone.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Hour valueOf(CharSequence iso8601FormattedText) {
+        return of(ZoneOffsets.ofDefault(), Math.floorDiv(IsoFormat.parseTime(iso8601FormattedText, 1), 3600));
+    }
+
+    /**
+     * Gets the Hour of an iso8601 formatted local time in a time zone.  This format is <i>yyyy-MM-ddTHH</i>
+     *
+     * @param iso8601FormattedText The text of the Hour, which has to match the format exactly.
+     * @param zone                 The time zone of the Hour.
+     * @return The Hour in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Hour valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), Math.floorDiv(IsoFormat.parseTime(iso8601FormattedText, 1), 3600));
+    }
+}
@@ -0,0 +1,296 @@
+package org.paritybits.pantheon.janus.simple;
+
+/**
+ * Parses and formats the ISO 8601 forms of the simple periods: <i>yyyy-MM-dd</i>, <i>yyyy-Www</i>,
+ * <i>yyyy-MM</i>, <i>yyyy-Qq</i> and <i>yyyy</i>, and the local times <i>yyyy-MM-ddTHH</i>,
+ * <i>yyyy-MM-ddTHH:mm</i> and <i>yyyy-MM-ddTHH:mm:ss</i> that the periods shorter than a day start at.  The
+ * parsers read a CharSequence in place and return the index of the period, the formatters fill a char array
+ * for the String, so neither creates anything else.
+ * <p/>
+ * Parsing is strict: the whole text has to match, the year has four digits and every field has to be in
+ * range for its year and month.  As SimpleDateFormat did, the month, day and week may have one digit
+ * instead of two, but the hour, minute and second always have two.  Years before 0000 or after 9999 are
+ * written with a sign and at least four digits, as ISO 8601 allows, and are read back the same way, as long as
+ * they are no more than 100,000,000 years from year 0, so the bounds of the period fit in milliseconds.
+ */
+final class IsoFormat {
+
+    private static final int EPOCH_YEAR = 1970;
+    //Milliseconds since 1970 reach about 292,000,000 years either way, which leaves room for the offsets.
+    private static final long MAX_YEAR = 100000000;
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final String[] TIME_PATTERNS = {"yyyy-MM-ddTHH", "yyyy-MM-ddTHH:mm", "yyyy-MM-ddTHH:mm:ss"};
+
+    private IsoFormat() {
+    }
+
+    //The epoch day of a yyyy-MM-dd day.
+    static long parseDay(final CharSequence text) {
+        final String pattern = "yyyy-MM-dd";
+        end(text, dayEnd(text, pattern), pattern);
+        return epochDay(text, pattern);
+    }
+
+    //The local time, in seconds since the local epoch, of a yyyy-MM-ddTHH time with one field after the date,
+    //a yyyy-MM-ddTHH:mm time with two or a yyyy-MM-ddTHH:mm:ss time with three.
+    static long parseTime(final CharSequence text, final int fields) {
+        final String pattern = TIME_PATTERNS[fields - 1];
+        int at = expect(text, dayEnd(text, pattern), 'T', pattern);
+        long seconds = epochDay(text, pattern) * SECONDS_PER_DAY;
+        for (int field = 0; field < fields; field++) {
+            if (field > 0) at = expect(text, at, ':', pattern);
+            if (digits(text, at, 2) < 2) throw invalid(text, pattern);
+            long value = value(text, at, at + 2);
+            if (value > (field == 0 ? 23 : 59)) throw invalid(text, pattern);
+            seconds += value * (field == 0 ? 3600 : field == 1 ? 60 : 1);
+            at += 2;
+        }
+        end(text, at, pattern);
+        return seconds;
+    }
+
+    //The index of a yyyy-Www week, counted from the week of 1970-01-01.
+    static long parseWeek(final CharSequence text) {
+        final String pattern = "yyyy-Www";
+        int yearEnd = yearEnd(text, pattern);
+        int weekEnd = fieldEnd(text, expect(text, expect(text, yearEnd, '-', pattern), 'W', pattern), pattern);
+        end(text, weekEnd, pattern);
+        long year = year(text, yearEnd);
+        long first = firstWeekOf(year);
+        return first + check(text, yearEnd + 2, weekEnd, (int) (firstWeekOf(year + 1) - first), pattern) - 1;
+    }
+
+    //The index of a yyyy-MM month, counted from 1970-01.
+    static long parseMonth(final CharSequence text) {
+        final String pattern = "yyyy-MM";
+        int yearEnd = yearEnd(text, pattern);
+        int monthEnd = fieldEnd(text, expect(text, yearEnd, '-', pattern), pattern);
+        end(text, monthEnd, pattern);
+        return EpochDays.monthOf(year(text, yearEnd), check(text, yearEnd + 1, monthEnd, 12, pattern));
+    }
+
+    //The index of a yyyy-Qq quarter, counted from the first quarter of 1970.
+    static long parseQuarter(final CharSequence text) {
+        final String pattern = "yyyy-Qq";
+        int yearEnd = yearEnd(text, pattern);
+        int quarterAt = expect(text, expect(text, yearEnd, '-', pattern), 'Q', pattern);
+        end(text, expect(text, quarterAt, '1', '4', pattern), pattern);
+        return (year(text, yearEnd) - EPOCH_YEAR) * 4 + text.charAt(quarterAt) - '1';
+    }
+
+    //The index of a yyyy year, counted from 1970.
+    static long parseYear(final CharSequence text) {
+        final String pattern = "yyyy";
+        int yearEnd = yearEnd(text, pattern);
+        end(text, yearEnd, pattern);
+        return year(text, yearEnd) - EPOCH_YEAR;
+    }
+
+    static String formatDay(final long epochDay) {
+        char[] chars = new char[dayLength(epochDay)];
+        writeDay(epochDay, chars);
+        return new String(chars);
+    }
+
+    //The local time of a time given in seconds since the local epoch, with the hour, the hour and minute or
+    //the hour, minute and second after the date as fields is 1, 2 or 3.
+    static String formatTime(final long epochSecond, final int fields) {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) (epochSecond - epochDay * SECONDS_PER_DAY);
+        char[] chars = new char[dayLength(epochDay) + fields * 3];
+        int at = writeDay(epochDay, chars);
+        chars[at++] = 'T';
+        at = writeTwoDigits(secondOfDay / 3600, chars, at);
+        if (fields > 1) {
+            chars[at++] = ':';
+            at = writeTwoDigits(secondOfDay / 60 % 60, chars, at);
+        }
+        if (fields > 2) {
+            chars[at++] = ':';
+            writeTwoDigits(secondOfDay % 60, chars, at);
+        }
+        return new String(chars);
+    }
+
+    static String formatWeek(final long week) {
+        //The ISO week belongs to the year its Thursday falls in, and day 0 was a Thursday.
+        long year = yearOf(EpochDays.monthOf(week * 7));
+        char[] chars = new char[yearLength(year) + 4];
+        int at = writeYear(year, chars);
+        chars[at++] = '-';
+        chars[at++] = 'W';
+        writeTwoDigits((int) (week - firstWeekOf(year)) + 1, chars, at);
+        return new String(chars);
+    }
+
+    static String formatMonth(final long month) {
+        char[] chars = new char[yearLength(yearOf(month)) + 3];
+        int at = writeYear(yearOf(month), chars);
+        chars[at++] = '-';
+        writeTwoDigits(monthOfYear(month), chars, at);
+        return new String(chars);
+    }
+
+    static String formatQuarter(final long quarter) {
+        long year = Math.floorDiv(quarter, 4) + EPOCH_YEAR;
+        char[] chars = new char[yearLength(year) + 3];
+        int at = writeYear(year, chars);
+        chars[at++] = '-';
+        chars[at++] = 'Q';
+        chars[at] = (char) ('1' + Math.floorMod(quarter, 4));
+        return new String(chars);
+    }
+
+    static String formatYear(final long year) {
+        char[] chars = new char[yearLength(year + EPOCH_YEAR)];
+        writeYear(year + EPOCH_YEAR, chars);
+        return new String(chars);
+    }
+
+    //The week that holds the first Thursday of a year.  Thursdays are the epoch days divisible by 7.
+    static long firstWeekOf(final long year) {
+        return -Math.floorDiv(-EpochDays.firstDayOf(EpochDays.monthOf(year, 1)), 7);
+    }
+
+    private static long yearOf(final long month) {
+        return Math.floorDiv(month, 12) + EPOCH_YEAR;
+    }
+
+    private static int monthOfYear(final long month) {
+        return (int) Math.floorMod(month, 12) + 1;
+    }
+
+    private static int dayLength(final long epochDay) {
+        return yearLength(yearOf(EpochDays.monthOf(epochDay))) + 6;
+    }
+
+    //Writes a yyyy-MM-dd day at the start of chars and returns where it ends.
+    private static int writeDay(final long epochDay, final char[] chars) {
+        long month = EpochDays.monthOf(epochDay);
+        int at = writeYear(yearOf(month), chars);
+        chars[at++] = '-';
+        at = writeTwoDigits(monthOfYear(month), chars, at);
+        chars[at++] = '-';
+        return writeTwoDigits((int) (epochDay - EpochDays.firstDayOf(month)) + 1, chars, at);
+    }
+
+    private static int yearLength(final long year) {
+        if (year >= 0 && year <= 9999) return 4;
+        int digits = 4;
+        for (long rest = Math.abs(year) / 10000; rest > 0; rest /= 10) digits++;
+        return digits + 1;
+    }
+
+    //Writes a year at the start of chars and returns where it ends.
+    private static int writeYear(final long year, final char[] chars) {
+        int length = yearLength(year);
+        int first = 0;
+        if (length > 4) chars[first++] = year < 0 ? '-' : '+';
+        long rest = Math.abs(year);
+        for (int i = length - 1; i >= first; i--) {
+            chars[i] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        return length;
+    }
+
+    private static int writeTwoDigits(final int value, final char[] chars, final int at) {
+        chars[at] = (char) ('0' + value / 10);
+        chars[at + 1] = (char) ('0' + value % 10);
+        return at + 2;
+    }
+
+    //The parsers find where each field ends first and only then read the fields, so they keep nothing but
+    //positions in the text.  The year is four digits, or a sign and four to ten digits.
+    private static int yearEnd(final CharSequence text, final String pattern) {
+        if (text == null) throw new NullPointerException("Text cannot be null.");
+        if (text.length() > 0 && (text.charAt(0) == '+' || text.charAt(0) == '-')) {
+            int digits = digits(text, 1, 10);
+            if (digits < 4) throw invalid(text, pattern);
+            if (value(text, 1, digits + 1) > MAX_YEAR) {
+                throw new IllegalArgumentException("The year of \"" + text + "\" is more than " + MAX_YEAR
+                        + " years from year 0.");
+            }
+            return digits + 1;
+        }
+        if (digits(text, 0, 4) < 4) throw invalid(text, pattern);
+        return 4;
+    }
+
+    //The end of a yyyy-MM-dd day at the start of the text.
+    private static int dayEnd(final CharSequence text, final String pattern) {
+        int yearEnd = yearEnd(text, pattern);
+        int monthEnd = fieldEnd(text, expect(text, yearEnd, '-', pattern), pattern);
+        return fieldEnd(text, expect(text, monthEnd, '-', pattern), pattern);
+    }
+
+    //The epoch day of the yyyy-MM-dd day at the start of the text, once dayEnd has found it there.
+    private static long epochDay(final CharSequence text, final String pattern) {
+        int yearEnd = yearEnd(text, pattern);
+        int monthEnd = fieldEnd(text, yearEnd + 1, pattern);
+        int dayEnd = fieldEnd(text, monthEnd + 1, pattern);
+        long month = EpochDays.monthOf(year(text, yearEnd), check(text, yearEnd + 1, monthEnd, 12, pattern));
+        long first = EpochDays.firstDayOf(month);
+        int lengthOfMonth = (int) (EpochDays.firstDayOf(month + 1) - first);
+        return first + check(text, monthEnd + 1, dayEnd, lengthOfMonth, pattern) - 1;
+    }
+
+    private static long year(final CharSequence text, final int end) {
+        char first = text.charAt(0);
+        if (first == '-') return -value(text, 1, end);
+        return value(text, first == '+' ? 1 : 0, end);
+    }
+
+    //The end of a field of one or two digits.
+    private static int fieldEnd(final CharSequence text, final int at, final String pattern) {
+        int digits = digits(text, at, 2);
+        if (digits == 0) throw invalid(text, pattern);
+        return at + digits;
+    }
+
+    //The value of a field, which has to be from 1 to max.
+    private static int check(final CharSequence text, final int at, final int end, final int max,
+                             final String pattern) {
+        int value = (int) value(text, at, end);
+        if (value < 1 || value > max) throw invalid(text, pattern);
+        return value;
+    }
+
+    private static int expect(final CharSequence text, final int at, final char c, final String pattern) {
+        return expect(text, at, c, c, pattern);
+    }
+
+    //Checks that the character at a position is from first to last and returns the position after it.
+    private static int expect(final CharSequence text, final int at, final char first, final char last,
+                              final String pattern) {
+        if (at >= text.length() || text.charAt(at) < first || text.charAt(at) > last) throw invalid(text, pattern);
+        return at + 1;
+    }
+
+    private static void end(final CharSequence text, final int at, final String pattern) {
+        if (at != text.length()) throw invalid(text, pattern);
+    }
+
+    //The number of digits, up to max, from a position.
+    private static int digits(final CharSequence text, final int at, final int max) {
+        int digits = 0;
+        while (digits < max && at + digits < text.length() && isDigit(text.charAt(at + digits))) digits++;
+        return digits;
+    }
+
+    private static long value(final CharSequence text, final int at, final int end) {
+        long value = 0;
+        for (int i = at; i < end; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static IllegalArgumentException invalid(final CharSequence text, final String pattern) {
+        return new IllegalArgumentException("\"" + text + "\" is not formatted as " + pattern + ".");
+    }
+}
@@ -0,0 +1,116 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.codec.Codec;
+import org.paritybits.pantheon.common.codec.CodecProvider;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+import org.paritybits.pantheon.common.codec.CodecSupport;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+/**
+ * The codec for the simple periods.  A period is written as a byte for its granularity followed by its index
+ * counting from the period that holds 1970-01-01, the same index the period is numbered by: the epoch day for
+ * a Day, the week since the week of 1969-12-29 for a Week and months, quarters or years since 1970 for the
+ * others, and hours, minutes or buckets since 1970-01-01T00:00 for the periods shorter than a day.  A
+ * SecondBucket has its length in seconds after its index.  Periods near the epoch take three or four bytes
+ * with their tag.
+ * <p/>
+ * A period in the default time zone is written without its zone and is read back in the default time zone
+ * of the reader, so it comes back as the same calendar period in another zone.  A period in any other zone has
+ * 8 added to its granularity and the id of its zone written after the index.
+ * <p/>
+ * Tags: 16 SimplePeriod (Day, Week, Month, Quarter, Year, Hour, Minute and SecondBucket).
+ */
+public final class JanusCodecs implements CodecProvider {
+
+    private static final byte DAY = 0;
+    private static final byte WEEK = 1;
+    private static final byte MONTH = 2;
+    private static final byte QUARTER = 3;
+    private static final byte YEAR = 4;
+    private static final byte HOUR = 5;
+    private static final byte MINUTE = 6;
+    private static final byte SECONDS = 7;
+    private static final byte ZONED = 8;
+
+    public void registerCodecs(final CodecRegistry registry) {
+        registry.register(16, SimplePeriod.class, new SimplePeriodCodec());
+    }
+
+    private static final class SimplePeriodCodec implements Codec<SimplePeriod> {
+
+        public void write(final SimplePeriod value, final DataOutput out) throws IOException {
+            byte granularity;
+            if (value instanceof Day) {
+                granularity = DAY;
+            } else if (value instanceof Week) {
+                granularity = WEEK;
+            } else if (value instanceof Month) {
+                granularity = MONTH;
+            } else if (value instanceof Quarter) {
+                granularity = QUARTER;
+            } else if (value instanceof Year) {
+                granularity = YEAR;
+            } else if (value instanceof Hour) {
+                granularity = HOUR;
+            } else if (value instanceof Minute) {
+                granularity = MINUTE;
+            } else if (value instanceof SecondBucket) {
+                granularity = SECONDS;
+            } else {
+                throw new IllegalArgumentException("No codec for " + value.getClass().getName() + ".");
+            }
+            boolean zoned = value.offsets() != ZoneOffsets.ofDefault();
+            out.writeByte(zoned ? granularity + ZONED : granularity);
+            CodecSupport.writeVarLong(value.index(), out);
+            if (granularity == SECONDS) CodecSupport.writeVarLong(((SecondBucket) value).length(), out);
+            if (zoned) out.writeUTF(value.zone().getId());
+        }
+
+        public SimplePeriod read(final DataInput in) throws IOException {
+            byte granularity = in.readByte();
+            long index = CodecSupport.readVarLong(in);
+            long length = (granularity & (ZONED - 1)) == SECONDS ? CodecSupport.readVarLong(in) : 0;
+            ZoneOffsets offsets = ZoneOffsets.ofDefault();
+            if (granularity >= ZONED) {
+                offsets = zoneOffsets(in.readUTF());
+                granularity -= ZONED;
+            }
+            switch (granularity) {
+                case DAY:
+                    return Day.of(offsets, index);
+                case WEEK:
+                    return Week.of(offsets, index);
+                case MONTH:
+                    return Month.of(offsets, index);
+                case QUARTER:
+                    return Quarter.of(offsets, index);
+                case YEAR:
+                    return Year.of(offsets, index);
+                case HOUR:
+                    return Hour.of(offsets, index);
+                case MINUTE:
+                    return Minute.of(offsets, index);
+                case SECONDS:
+                    if (length <= 0 || 24 * 60 * 60 % length != 0) {
+                        throw new IOException("Invalid bucket length " + length + ".");
+                    }
+                    return SecondBucket.of(offsets, (int) length, index);
+                default:
+                    throw new IOException("Unknown period granularity " + granularity + ".");
+            }
+        }
+
+        private static ZoneOffsets zoneOffsets(final String zoneId) throws IOException {
+            try {
+                return ZoneOffsets.of(ZoneId.of(zoneId));
+            } catch (DateTimeException e) {
+                throw new IOException("Unknown time zone " + zoneId + ".", e);
+            }
+        }
+    }
+}
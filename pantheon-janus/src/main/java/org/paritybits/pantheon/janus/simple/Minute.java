@@ -0,0 +1,147 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * A SimplePeriod representation of a minute of local time.  This class can be converted to and from a string
+ * using the ISO 8601 format of the local time it starts at; <i>yyyy-MM-ddTHH:mm</i>.
+ * <p/>
+ * Like Hours, Minutes are not shared and are found from an instant with arithmetic on its epoch milliseconds,
+ * and a minute of local time that happens twice holds both of its passes.  The minutes of an hour that is
+ * repeated therefore overlap, each running from its first pass to the end of its second.
+ *
+ * @see org.paritybits.pantheon.janus.simple.Hour
+ */
+@Immutable
+public final class Minute extends SimplePeriod<Minute> {
+
+    static final long MILLIS_PER_MINUTE = 60L * 1000;
+
+    Minute() {
+    }
+
+    Minute(ZoneOffsets offsets, long index) {
+        super(offsets, index, index * MILLIS_PER_MINUTE, (index + 1) * MILLIS_PER_MINUTE);
+    }
+
+    Minute createNewInstance(Date date) {
+        return create(date.getTime(), offsets());
+    }
+
+    Minute createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
+    }
+
+    String createExternalForm() {
+        return IsoFormat.formatTime(index() * 60, 2);
+    }
+
+    Minute createFromExternalForm(String externalForm) {
+        return valueOf(externalForm);
+    }
+
+    //A Minute is numbered from the minute that starts at the local epoch.
+    long indexOf(long localMillis) {
+        return Math.floorDiv(localMillis, MILLIS_PER_MINUTE);
+    }
+
+    long localStartOf(long index) {
+        return index * MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * @return The Hour this Minute is a part of.
+     */
+    public Hour hour() {
+        return Hour.of(offsets(), Math.floorDiv(index(), 60));
+    }
+
+    /**
+     * @return The Day this Minute is a part of.
+     */
+    public Day day() {
+        return Day.of(offsets(), Math.floorDiv(index(), 24 * 60));
+    }
+
+    //The Minute with an index in a time zone.
+    static Minute of(ZoneOffsets offsets, long index) {
+        return new Minute(offsets, index);
+    }
+
+    /**
+     * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+     * @return The Minute the instant falls in in the default time zone.
+     */
+    public static Minute create(long epochMillis) {
+        return create(epochMillis, ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param date A date in the Minute to be created.
+     * @return The Minute the date falls in in the default time zone.
+     */
+    public static Minute create(Date date) {
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Minute to be created.
+     * @return The Minute the instant falls in in the default time zone.
+     */
+    public static Minute create(Instant instant) {
+        return create(instant.toEpochMilli(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+     * @param zone        The time zone of the Minute.
+     * @return The Minute in the given zone that the instant falls in.
+     * @throws NullPointerException If zone is null.
+     */
+    public static Minute create(long epochMillis, ZoneId zone) {
+        return create(epochMillis, ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param instant An instant in the Minute to be created.
+     * @param zone    The time zone of the Minute.
+     * @return The Minute in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Minute create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    //The Minute that an instant falls in in a time zone.
+    private static Minute create(long millis, ZoneOffsets offsets) {
+        return of(offsets, Math.floorDiv(offsets.localMillis(millis), MILLIS_PER_MINUTE));
+    }
+
+    /**
+     * Gets the Minute of an iso8601 formatted local time.  This format is <i>yyyy-MM-ddTHH:mm</i>
+     *
+     * @param iso8601FormattedText The text of the Minute, which has to match the format exactly.
+     * @return The Minute that the given text describes in the default time zone.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Minute valueOf(CharSequence iso8601FormattedText) {
+        return of(ZoneOffsets.ofDefault(), Math.floorDiv(IsoFormat.parseTime(iso8601FormattedText, 2), 60));
+    }
+
+    /**
+     * Gets the Minute of an iso8601 formatted local time in a time zone.  This format is <i>yyyy-MM-ddTHH:mm</i>
+     *
+     * @param iso8601FormattedText The text of the Minute, which has to match the format exactly.
+     * @param zone                 The time zone of the Minute.
+     * @return The Minute in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Minute valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), Math.floorDiv(IsoFormat.parseTime(iso8601FormattedText, 2), 60));
+    }
+}
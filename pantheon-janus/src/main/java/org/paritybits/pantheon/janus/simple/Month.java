@@ -3,12 +3,11 @@ package org.paritybits.pantheon.janus.simple;
 import org.paritybits.pantheon.common.Immutable;
 import org.paritybits.pantheon.common.Range;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
 
 /**
  * A SimplePeriod representation of a month.  This class can be convereted to and from a string using the ISO 8601 format;
@@ -17,51 +16,65 @@ import java.util.List;
 @Immutable
 public final class Month extends SimplePeriod<Month> {
 
-    private static final List<Integer> MANIPULATED_FIELDS = Arrays.asList(Calendar.DAY_OF_MONTH, Calendar.HOUR_OF_DAY,
-            Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND);
+    private static final PeriodCache<Month> CACHE = new PeriodCache<Month>(PeriodCache.FIRST_MONTH,
+            PeriodCache.LAST_MONTH) {
+        Month create(ZoneOffsets offsets, long index) {
+            return new Month(offsets, index);
+        }
+    };
 
     Month() {
     }
 
-    Month(Date dateInPeriod) {
-        super(dateInPeriod);
+    Month(ZoneOffsets offsets, long index) {
+        super(offsets, index);
     }
 
     Month createNewInstance(Date date) {
-        return create(date);
+        return create(date.getTime(), offsets());
+    }
+
+    Month createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
     }
 
     String createExternalForm() {
-        return getDateFormat().format(start());
+        return IsoFormat.formatMonth(index());
     }
 
     Month createFromExternalForm(String externalForm) {
         return Month.valueOf(externalForm);
     }
 
-    List<Integer> manipulatedFields() {
-        return MANIPULATED_FIELDS;
+    //A Month is numbered from 1970-01.
+    long indexOf(long localMillis) {
+        return EpochDays.monthOf(Math.floorDiv(localMillis, EpochDays.MILLIS_PER_DAY));
+    }
+
+    long localStartOf(long index) {
+        return EpochDays.firstDayOf(index) * EpochDays.MILLIS_PER_DAY;
     }
 
     /**
      * @return The range of all the Days that are in the Month.
      */
     public Range<Day> days() {
-        return Range.create(Day.create(start()), Day.create(stop()));
+        return Range.create(Day.of(offsets(), EpochDays.firstDayOf(index())),
+                Day.of(offsets(), EpochDays.firstDayOf(index() + 1) - 1));
     }
 
     /**
      * @return The Quarter that the Month is part of.
      */
     public Quarter quarter() {
-        return Quarter.create(start());
+        return Quarter.of(offsets(), Math.floorDiv(index(), 3));
     }
 
     /**
      * @return The Year that the Month is part of.
      */
     public Year year() {
-        return Year.create(start());
+        return Year.of(offsets(), Math.floorDiv(index(), 12));
     }
 
     /**
@@ -70,7 +83,7 @@ public final class Month extends SimplePeriod<Month> {
      * @return The Month is a x quarters away.
      */
     public Month rollQuarters(int rollAmount) {
-        return roll(Calendar.MONTH, 3 * rollAmount);
+        return createNewInstance(index() + 3L * rollAmount);
     }
 
     /**
@@ -79,16 +92,103 @@ public final class Month extends SimplePeriod<Month> {
      * @return The Month is a x years away.
      */
     public Month rollYears(int rollAmount) {
-        return roll(Calendar.YEAR, rollAmount);
+        return createNewInstance(index() + 12L * rollAmount);
     }
 
 
+    //The shared instance of the Month with an index in the default time zone.
+    static Month of(long index) {
+        return of(ZoneOffsets.ofDefault(), index);
+    }
+
+    //The shared instance of the Month with an index in a time zone.
+    static Month of(ZoneOffsets offsets, long index) {
+        return CACHE.get(offsets, index);
+    }
+
     /**
      * @param date A date of the Month to be created.
      * @return A new Month the represents the month of the given date.
      */
     public static Month create(Date date) {
-        return new Month(date);
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Month to be created.
+     * @return The Month the instant falls in in the default time zone.
+     */
+    public static Month create(Instant instant) {
+        return create(Date.from(instant));
+    }
+
+    /**
+     * @param date A date in the Month to be created.
+     * @return The Month the date falls in.
+     */
+    public static Month create(LocalDate date) {
+        return of(EpochDays.monthOf(date.getYear(), date.getMonthValue()));
+    }
+
+    /**
+     * @param yearMonth The year and month of the Month to be created.
+     * @return A new Month that represents the given year and month.
+     */
+    public static Month create(YearMonth yearMonth) {
+        return of(EpochDays.monthOf(yearMonth.getYear(), yearMonth.getMonthValue()));
+    }
+
+    /**
+     * @param date A date in the Month to be created.
+     * @param zone The time zone of the Month.
+     * @return The Month in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Month create(Date date, ZoneId zone) {
+        return create(date.getTime(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param instant An instant in the Month to be created.
+     * @param zone    The time zone of the Month.
+     * @return The Month in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Month create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param date A date in the Month to be created.
+     * @param zone The time zone of the Month.
+     * @return The Month in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Month create(LocalDate date, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), EpochDays.monthOf(date.getYear(), date.getMonthValue()));
+    }
+
+    /**
+     * @param yearMonth A month in the Month to be created.
+     * @param zone      The time zone of the Month.
+     * @return The Month in the given zone that the month falls in.
+     * @throws NullPointerException If yearMonth or zone is null.
+     */
+    public static Month create(YearMonth yearMonth, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), EpochDays.monthOf(yearMonth.getYear(), yearMonth.getMonthValue()));
+    }
+
+    //The Month that an instant falls in in a time zone.
+    private static Month create(long millis, ZoneOffsets offsets) {
+        return of(offsets, EpochDays.monthOf(offsets.epochDay(millis)));
+    }
+
+    /**
+     * @return The year and month of this Month.
+     */
+    public YearMonth toYearMonth() {
+        long index = index();
+        return YearMonth.of((int) Math.floorDiv(index, 12) + 1970, (int) Math.floorMod(index, 12) + 1);
     }
 
     /**
@@ -100,11 +200,32 @@ public final class Month extends SimplePeriod<Month> {
      * @throws IllegalArgumentException If the string is not formatted properly.
      */
     public static Month valueOf(String iso8601FormattedString) {
-        try {
-            return create(getDateFormat().parse(iso8601FormattedString));
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("String was not iso8601 formatted", e);
-        }
+        return valueOf((CharSequence) iso8601FormattedString);
+    }
+
+    /**
+     * Gets the Month of an iso8601 formatted month without copying the text.  This format is
+     * <i>yyyy-MM</i>
+     *
+     * @param iso8601FormattedText The text of the Month, which has to match the format exactly.
+     * @return The Month that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Month valueOf(CharSequence iso8601FormattedText) {
+        return of(IsoFormat.parseMonth(iso8601FormattedText));
+    }
+
+    /**
+     * Gets the Month of an iso8601 formatted month in a time zone.  This format is <i>yyyy-MM</i>
+     *
+     * @param iso8601FormattedText The text of the Month, which has to match the format exactly.
+     * @param zone                 The time zone of the Month.
+     * @return The Month in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Month valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), IsoFormat.parseMonth(iso8601FormattedText));
     }
 
     /**
@@ -114,9 +235,5 @@ public final class Month extends SimplePeriod<Month> {
         return create(new Date());
     }
 
-    private static SimpleDateFormat getDateFormat() {
-        return new SimpleDateFormat("yyyy-MM");
-    }
-
 
 }
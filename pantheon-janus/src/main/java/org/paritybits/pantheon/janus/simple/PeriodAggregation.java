@@ -0,0 +1,406 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.janus.Period;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Totals values at instants by period, for the periods of one or more Bucketizers and one or more Aggregators
+ * at once, say the sum, count, min and max of each day, month and quarter.  The values are added as arrays of
+ * instants in milliseconds since 1970-01-01T00:00Z and the values at them, as buffers, one at a time or from a
+ * Stream through collector.  A block of instants is assigned to the periods of each bucketizer in bulk and
+ * each value is then folded into a primitive array indexed by period, from the first period seen to the last,
+ * so no objects are created for each value.  series reads back the totals of one bucketizer and aggregator.
+ * <p/>
+ * An aggregation is not thread-safe.  Threads can each fill their own aggregation and merge them, which is
+ * what parallelAddAll does over the common ForkJoinPool and what a parallel stream does with collector.  The
+ * arrays grow to cover every period seen, so the values given to one aggregation should be close enough in
+ * time for the periods between them to fit in memory.
+ */
+public final class PeriodAggregation {
+
+    //The values bucketized at a time.
+    private static final int BLOCK = 1024;
+
+    //Arrays smaller than this are not split any further by parallelAddAll.
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    //The most periods the arrays of one bucketizer can cover.
+    private static final long MAX_PERIODS = Integer.MAX_VALUE - 8;
+
+    private final List<Bucketizer<?>> bucketizers;
+    private final Aggregator[] aggregators;
+    private final Totals[] totals;
+    private final int[] slots = new int[BLOCK];
+    private final long[] local = new long[BLOCK];
+    private long[] pendingMillis;
+    private double[] pendingValues;
+    private int pending;
+
+    //The totals of one bucketizer: the count and a total for each aggregator of the periods from first on.
+    private static final class Totals {
+        private int first;
+        private long[] counts = new long[0];
+        private final double[][] totals;
+
+        private Totals(final int aggregators) {
+            totals = new double[aggregators][0];
+        }
+
+        private int last() {
+            return first + counts.length - 1;
+        }
+
+        //Grows the arrays to cover the periods from low to high, with room to spare on the side they grow.
+        private void cover(final int low, final int high, final Aggregator[] aggregators) {
+            if (counts.length > 0 && low >= first && high <= last()) return;
+            long newFirst = low;
+            long newLast = high;
+            if (counts.length > 0) {
+                int spare = counts.length / 2;
+                newFirst = low < first ? Math.max((long) low - spare, Integer.MIN_VALUE) : first;
+                newLast = high > last() ? Math.min((long) high + spare, Integer.MAX_VALUE) : last();
+            }
+            if (newLast - newFirst + 1 > MAX_PERIODS) {
+                throw new IllegalArgumentException("The values span more than " + MAX_PERIODS + " periods.");
+            }
+            int length = (int) (newLast - newFirst + 1);
+            int shift = counts.length == 0 ? 0 : (int) (first - newFirst);
+            long[] newCounts = new long[length];
+            System.arraycopy(counts, 0, newCounts, shift, counts.length);
+            for (int a = 0; a < aggregators.length; a++) {
+                double[] newTotals = new double[length];
+                Arrays.fill(newTotals, aggregators[a].identity());
+                System.arraycopy(totals[a], 0, newTotals, shift, totals[a].length);
+                totals[a] = newTotals;
+            }
+            counts = newCounts;
+            first = (int) newFirst;
+        }
+    }
+
+    private PeriodAggregation(final List<Bucketizer<?>> bucketizers, final Aggregator[] aggregators) {
+        this.bucketizers = bucketizers;
+        this.aggregators = aggregators;
+        this.totals = new Totals[bucketizers.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new Totals(aggregators.length);
+        }
+    }
+
+    /**
+     * @param bucketizer  The periods to total the values by.
+     * @param aggregators The totals to keep for each period.
+     * @return A new empty aggregation.
+     * @throws NullPointerException     If bucketizer or any aggregator is null.
+     * @throws IllegalArgumentException If there are no aggregators.
+     */
+    public static PeriodAggregation create(final Bucketizer<?> bucketizer, final Aggregator... aggregators) {
+        return create(Collections.<Bucketizer<?>>singletonList(bucketizer), aggregators);
+    }
+
+    /**
+     * @param bucketizers The periods to total the values by.
+     * @param aggregators The totals to keep for each period.
+     * @return A new empty aggregation.
+     * @throws NullPointerException     If any bucketizer or aggregator is null.
+     * @throws IllegalArgumentException If there are no bucketizers or no aggregators.
+     */
+    public static PeriodAggregation create(final Collection<? extends Bucketizer<?>> bucketizers,
+                                           final Aggregator... aggregators) {
+        if (bucketizers.isEmpty()) throw new IllegalArgumentException("There must be at least one bucketizer.");
+        if (aggregators.length == 0) throw new IllegalArgumentException("There must be at least one aggregator.");
+        for (Bucketizer<?> bucketizer : bucketizers) {
+            if (bucketizer == null) throw new NullPointerException("Bucketizer cannot be null.");
+        }
+        for (Aggregator aggregator : aggregators) {
+            if (aggregator == null) throw new NullPointerException("Aggregator cannot be null.");
+        }
+        return new PeriodAggregation(Collections.unmodifiableList(new ArrayList<Bucketizer<?>>(bucketizers)),
+                aggregators.clone());
+    }
+
+    /**
+     * @return A new empty aggregation with the same bucketizers and aggregators as this one.
+     */
+    public PeriodAggregation emptyCopy() {
+        return new PeriodAggregation(bucketizers, aggregators);
+    }
+
+    /**
+     * @return The bucketizers the values are totaled by.
+     */
+    public List<Bucketizer<?>> bucketizers() {
+        return bucketizers;
+    }
+
+    /**
+     * @return The aggregators of the totals.
+     */
+    public List<Aggregator> aggregators() {
+        return Collections.unmodifiableList(Arrays.asList(aggregators));
+    }
+
+    /**
+     * Adds one value.  Single values are kept until there is a block of them to add.
+     *
+     * @param millis The instant of the value in milliseconds since 1970-01-01T00:00Z.
+     * @param value  The value.
+     * @throws IllegalArgumentException If the periods of the values would span too many periods.
+     */
+    public void add(final long millis, final double value) {
+        if (pendingMillis == null) {
+            pendingMillis = new long[BLOCK];
+            pendingValues = new double[BLOCK];
+        }
+        pendingMillis[pending] = millis;
+        pendingValues[pending] = value;
+        if (++pending == BLOCK) flush();
+    }
+
+    /**
+     * @param millis The instants of the values in milliseconds since 1970-01-01T00:00Z.
+     * @param values The value at each instant.
+     * @throws NullPointerException     If either array is null.
+     * @throws IllegalArgumentException If the arrays are not the same length or the periods of the values would
+     *                                  span too many periods.
+     */
+    public void addAll(final long[] millis, final double[] values) {
+        checkLengths(millis.length, values.length);
+        addAll(millis, values, 0, millis.length);
+    }
+
+    /**
+     * @param millis The instants of the values in milliseconds since 1970-01-01T00:00Z.
+     * @param values The value at each instant, at the same indices as the instants.
+     * @param from   The index of the first value.
+     * @param count  The number of values.
+     * @throws NullPointerException      If either array is null.
+     * @throws IndexOutOfBoundsException If the range is out of bounds of either array.
+     * @throws IllegalArgumentException  If the periods of the values would span too many periods.
+     */
+    public void addAll(final long[] millis, final double[] values, final int from, final int count) {
+        Bucketizer.checkRange(millis.length, from, count);
+        Bucketizer.checkRange(values.length, from, count);
+        for (int done = 0; done < count; done += BLOCK) {
+            addBlock(millis, values, from + done, Math.min(BLOCK, count - done));
+        }
+    }
+
+    /**
+     * Adds the values remaining in two buffers, which are left at their limits.
+     *
+     * @param millis The instants of the values in milliseconds since 1970-01-01T00:00Z.
+     * @param values The value at each instant.
+     * @throws NullPointerException     If either buffer is null.
+     * @throws IllegalArgumentException If the buffers do not have the same number of values remaining or the
+     *                                  periods of the values would span too many periods.
+     */
+    public void addAll(final LongBuffer millis, final DoubleBuffer values) {
+        checkLengths(millis.remaining(), values.remaining());
+        flush();
+        if (pendingMillis == null) {
+            pendingMillis = new long[BLOCK];
+            pendingValues = new double[BLOCK];
+        }
+        while (millis.hasRemaining()) {
+            int length = Math.min(BLOCK, millis.remaining());
+            millis.get(pendingMillis, 0, length);
+            values.get(pendingValues, 0, length);
+            addBlock(pendingMillis, pendingValues, 0, length);
+        }
+    }
+
+    /**
+     * The same as addAll, with large arrays split across the threads of the common ForkJoinPool.  Each thread
+     * totals its part of the arrays in an aggregation of its own and the parts are merged into this one.
+     *
+     * @param millis The instants of the values in milliseconds since 1970-01-01T00:00Z.
+     * @param values The value at each instant.
+     * @throws NullPointerException     If either array is null.
+     * @throws IllegalArgumentException If the arrays are not the same length or the periods of the values would
+     *                                  span too many periods.
+     */
+    public void parallelAddAll(final long[] millis, final double[] values) {
+        checkLengths(millis.length, values.length);
+        if (millis.length < PARALLEL_THRESHOLD) {
+            addAll(millis, values, 0, millis.length);
+        } else {
+            merge(ForkJoinPool.commonPool().invoke(new Split(millis, values, 0, millis.length)));
+        }
+    }
+
+    /**
+     * Adds the totals of another aggregation of the same bucketizers and aggregators to this one.
+     *
+     * @param other The aggregation to merge, which is not changed.
+     * @throws NullPointerException     If other is null.
+     * @throws IllegalArgumentException If other has different bucketizers or aggregators or the periods of the
+     *                                  values would span too many periods.
+     */
+    public void merge(final PeriodAggregation other) {
+        if (!bucketizers.equals(other.bucketizers) || !Arrays.equals(aggregators, other.aggregators)) {
+            throw new IllegalArgumentException("Only aggregations of the same bucketizers and aggregators merge.");
+        }
+        flush();
+        other.flush();
+        for (int b = 0; b < totals.length; b++) {
+            Totals mine = totals[b];
+            Totals theirs = other.totals[b];
+            if (theirs.counts.length == 0) continue;
+            mine.cover(theirs.first, theirs.last(), aggregators);
+            int shift = theirs.first - mine.first;
+            for (int i = 0; i < theirs.counts.length; i++) {
+                mine.counts[shift + i] += theirs.counts[i];
+            }
+            for (int a = 0; a < aggregators.length; a++) {
+                Aggregator aggregator = aggregators[a];
+                double[] to = mine.totals[a];
+                double[] from = theirs.totals[a];
+                for (int i = 0; i < from.length; i++) {
+                    to[shift + i] = aggregator.merge(to[shift + i], from[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A collector of the elements of a stream into a new aggregation of the same bucketizers and aggregators as
+     * this one.  A parallel stream fills an aggregation for each thread and merges them.  This aggregation is
+     * not changed.
+     *
+     * @param millis The instant of an element in milliseconds since 1970-01-01T00:00Z.
+     * @param value  The value of an element.
+     * @param <E>    The type of the elements.
+     * @return A new collector.
+     * @throws NullPointerException If either function is null.
+     */
+    public <E> Collector<E, PeriodAggregation, PeriodAggregation> collector(final ToLongFunction<? super E> millis,
+                                                                          final ToDoubleFunction<? super E> value) {
+        if (millis == null || value == null) throw new NullPointerException("Functions cannot be null.");
+        return Collector.of(new Supplier<PeriodAggregation>() {
+                                public PeriodAggregation get() {
+                                    return emptyCopy();
+                                }
+                            }, new BiConsumer<PeriodAggregation, E>() {
+                                public void accept(final PeriodAggregation aggregation, final E element) {
+                                    aggregation.add(millis.applyAsLong(element), value.applyAsDouble(element));
+                                }
+                            }, new BinaryOperator<PeriodAggregation>() {
+                                public PeriodAggregation apply(final PeriodAggregation left,
+                                                               final PeriodAggregation right) {
+                                    left.merge(right);
+                                    return left;
+                                }
+                            }, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @param bucketizer One of the bucketizers of this aggregation, or one equal to it.
+     * @param aggregator One of the aggregators of this aggregation.
+     * @param <T>        The type of period.
+     * @return The totals of aggregator for each period of bucketizer, from the first period with a value to the
+     *         last.  Later values do not change the series.
+     * @throws IllegalArgumentException If the bucketizer or aggregator is not one of this aggregation.
+     */
+    public <T extends Period<T>> PeriodSeries<T> series(final Bucketizer<T> bucketizer, final Aggregator aggregator) {
+        int b = bucketizers.indexOf(bucketizer);
+        if (b < 0) throw new IllegalArgumentException("No totals by " + bucketizer + ".");
+        int a = aggregators().indexOf(aggregator);
+        if (a < 0) throw new IllegalArgumentException("No totals of " + aggregator + ".");
+        flush();
+        Totals of = totals[b];
+        int low = 0;
+        int high = of.counts.length - 1;
+        while (low <= high && of.counts[low] == 0) low++;
+        while (high >= low && of.counts[high] == 0) high--;
+        return new PeriodSeries<T>(bucketizer, aggregator, of.first + low,
+                Arrays.copyOfRange(of.totals[a], low, high + 1), Arrays.copyOfRange(of.counts, low, high + 1));
+    }
+
+    //Adds the single values kept so far.
+    private void flush() {
+        if (pending > 0) {
+            int count = pending;
+            pending = 0;
+            addBlock(pendingMillis, pendingValues, 0, count);
+        }
+    }
+
+    //Adds up to a block of values: bucketizes the instants, grows the arrays to cover their periods, turns the
+    //indices into slots of the arrays and lets each aggregator fold the values into its totals.
+    private void addBlock(final long[] millis, final double[] values, final int from, final int count) {
+        if (count == 0) return;
+        for (int b = 0; b < totals.length; b++) {
+            bucketizers.get(b).bucketize(millis, from, slots, 0, count, local);
+            int low = slots[0];
+            int high = low;
+            for (int i = 1; i < count; i++) {
+                low = Math.min(low, slots[i]);
+                high = Math.max(high, slots[i]);
+            }
+            Totals of = totals[b];
+            of.cover(low, high, aggregators);
+            int first = of.first;
+            long[] counts = of.counts;
+            for (int i = 0; i < count; i++) {
+                int slot = slots[i] - first;
+                slots[i] = slot;
+                counts[slot]++;
+            }
+            for (int a = 0; a < aggregators.length; a++) {
+                aggregators[a].accumulate(slots, values, from, count, of.totals[a]);
+            }
+        }
+    }
+
+    private static void checkLengths(final int millis, final int values) {
+        if (millis != values) {
+            throw new IllegalArgumentException("There are " + millis + " instants and " + values + " values.");
+        }
+    }
+
+    //Halves its range until it is below PARALLEL_THRESHOLD, totals the halves in aggregations of their own and
+    //merges them.
+    private final class Split extends RecursiveTask<PeriodAggregation> {
+        private final long[] millis;
+        private final double[] values;
+        private final int from;
+        private final int count;
+
+        private Split(final long[] millis, final double[] values, final int from, final int count) {
+            this.millis = millis;
+            this.values = values;
+            this.from = from;
+            this.count = count;
+        }
+
+        protected PeriodAggregation compute() {
+            if (count < PARALLEL_THRESHOLD) {
+                PeriodAggregation part = emptyCopy();
+                part.addAll(millis, values, from, count);
+                return part;
+            }
+            int half = count >>> 1;
+            Split right = new Split(millis, values, from + half, count - half);
+            right.fork();
+            PeriodAggregation left = new Split(millis, values, from, half).compute();
+            left.merge(right.join());
+            return left;
+        }
+    }
+}
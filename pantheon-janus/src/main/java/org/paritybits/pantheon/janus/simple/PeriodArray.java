@@ -0,0 +1,207 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.StructArray;
+import org.paritybits.pantheon.janus.Period;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Periods of one type kept off the heap as 4 byte records: the day the period starts on, counted from
+ * 1970-01-01 in the time zone of the period.  Periods are read back in the default time zone, so a period of
+ * another zone comes back as the period with the same label in the default one.
+ * <p/>
+ * get and the iterator create a period for each record, a Cursor reads the epoch days in place without
+ * creating anything.
+ *
+ * @param <T> The type of period held.
+ * @see org.paritybits.pantheon.common.StructArray
+ */
+public final class PeriodArray<T extends Period<T>> extends StructArray implements Iterable<T> {
+
+    private static final int RECORD_SIZE = 4;
+
+    private final Class<T> type;
+
+    private PeriodArray(final Class<T> type, final int capacity) {
+        super(RECORD_SIZE, capacity);
+        this.type = type;
+    }
+
+    /**
+     * @param type     The type of period to hold: Day, Week, Month, Quarter or Year.
+     * @param capacity The number of periods to allocate room for at first.
+     * @param <T>      The type of period to hold.
+     * @return A new empty array.
+     * @throws NullPointerException     If type is null.
+     * @throws IllegalArgumentException If type is not one of the simple periods or capacity is out of range.
+     */
+    public static <T extends Period<T>> PeriodArray<T> create(final Class<T> type, final int capacity) {
+        if (type == null) throw new NullPointerException("Type cannot be null.");
+        if (type != Day.class && type != Week.class && type != Month.class && type != Quarter.class
+                && type != Year.class) {
+            throw new IllegalArgumentException("Cannot hold periods of type " + type.getName() + ".");
+        }
+        return new PeriodArray<T>(type, capacity);
+    }
+
+    /**
+     * @return The type of period held.
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * @param period The period to add to the end.
+     * @throws NullPointerException If period is null.
+     */
+    public void add(final T period) {
+        int epochDay = epochDayOf(period);
+        int offset = appendRecord();
+        buffer().putInt(offset, epochDay);
+    }
+
+    /**
+     * @param periods The periods to add to the end, in order.
+     * @throws NullPointerException If any period is null.
+     */
+    public void addAll(final Iterable<T> periods) {
+        for (T period : periods) {
+            add(period);
+        }
+    }
+
+    /**
+     * @param index  The index of the period to replace.
+     * @param period The new period.
+     * @throws IndexOutOfBoundsException If there is no period at index.
+     * @throws NullPointerException      If period is null.
+     */
+    public void set(final int index, final T period) {
+        int offset = offset(index);
+        buffer().putInt(offset, epochDayOf(period));
+    }
+
+    /**
+     * @param index The index of a period.
+     * @return A period equal to the one at index.
+     * @throws IndexOutOfBoundsException If there is no period at index.
+     */
+    public T get(final int index) {
+        return periodStarting(buffer().getInt(offset(index)));
+    }
+
+    /**
+     * @param index The index of a period.
+     * @return The day the period at index starts on, counted from 1970-01-01.
+     * @throws IndexOutOfBoundsException If there is no period at index.
+     */
+    public int epochDay(final int index) {
+        return buffer().getInt(offset(index));
+    }
+
+    /**
+     * Copies periods to another array of the same type, or within this one, as a block of memory.
+     *
+     * @param from   The index of the first period to copy.
+     * @param target The array to copy to.
+     * @param at     The index in target to copy to, from 0 up to its size.
+     * @param count  The number of periods to copy.
+     * @throws IllegalArgumentException  If target holds a different type of period.
+     * @throws IndexOutOfBoundsException If either range is out of bounds.
+     */
+    public void copyTo(final int from, final PeriodArray<T> target, final int at, final int count) {
+        if (target.type != type) throw new IllegalArgumentException("Arrays must hold the same type of period.");
+        copyRecords(from, target, at, count);
+    }
+
+    /**
+     * @return A new cursor before the first period.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @return An iterator that creates a period for each record.  It fails if the array changes size while
+     *         iterating.
+     */
+    public Iterator<T> iterator() {
+        final int expectedSize = size();
+        return new Iterator<T>() {
+            private int index;
+
+            public boolean hasNext() {
+                return index < expectedSize;
+            }
+
+            public T next() {
+                if (index >= expectedSize) throw new NoSuchElementException();
+                if (size() != expectedSize) throw new IllegalStateException("The array changed while iterating.");
+                return get(index++);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Use set to change a PeriodArray.");
+            }
+        };
+    }
+
+    /**
+     * A flyweight over one record of the array at a time.  Moving the cursor and reading through it creates
+     * no objects.
+     */
+    public final class Cursor {
+        private int offset = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * @param index The index of the period to move to.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If there is no period at index.
+         */
+        public Cursor at(final int index) {
+            offset = offset(index);
+            return this;
+        }
+
+        /**
+         * @return The day the period at the cursor starts on, counted from 1970-01-01.
+         */
+        public int epochDay() {
+            return buffer().getInt(offset);
+        }
+
+        /**
+         * @return A period equal to the one at the cursor.
+         */
+        public T toPeriod() {
+            return periodStarting(epochDay());
+        }
+    }
+
+    private static int epochDayOf(final Period period) {
+        if (period == null) throw new NullPointerException("Period cannot be null.");
+        SimplePeriod simplePeriod = (SimplePeriod) period;
+        return (int) simplePeriod.offsets().epochDay(simplePeriod.startMillis());
+    }
+
+    private T periodStarting(final int epochDay) {
+        Period period;
+        if (type == Day.class) {
+            period = Day.of(epochDay);
+        } else if (type == Week.class) {
+            period = Week.of(Week.weekOf(epochDay));
+        } else if (type == Month.class) {
+            period = Month.of(EpochDays.monthOf(epochDay));
+        } else if (type == Quarter.class) {
+            period = Quarter.of(EpochDays.quarterOf(epochDay));
+        } else {
+            period = Year.of(EpochDays.yearOf(epochDay));
+        }
+        return type.cast(period);
+    }
+}
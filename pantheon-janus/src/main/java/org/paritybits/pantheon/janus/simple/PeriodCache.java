@@ -0,0 +1,101 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.CacheSpec;
+import org.paritybits.pantheon.common.MemoizingCache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * The canonical instances of one type of SimplePeriod, by index.  The periods of the years from
+ * 1900 to 2200 are kept in an array that is filled in as they are asked for, so looking one up is an
+ * array read and every caller gets the same instance.  Periods outside those years are kept in a bounded
+ * MemoizingCache instead and are shared for as long as they stay in it.
+ * <p/>
+ * The years can be changed with the system properties <i>org.paritybits.pantheon.janus.cache.firstYear</i> and
+ * <i>org.paritybits.pantheon.janus.cache.lastYear</i>, which are read once when the first cache is created.
+ * <p/>
+ * The bounds of a period depend on its time zone, so each zone has its own instances.  They are made the
+ * first time a period of the zone is asked for and are kept for as long as the cache is.
+ *
+ * @param <T> The type of period cached.
+ */
+abstract class PeriodCache<T extends SimplePeriod<T>> {
+
+    static final int FIRST_YEAR = Integer.getInteger("org.paritybits.pantheon.janus.cache.firstYear", 1900);
+    static final int LAST_YEAR = Integer.getInteger("org.paritybits.pantheon.janus.cache.lastYear", 2200);
+
+    //The first and last months and days of the years kept in arrays.
+    static final long FIRST_MONTH = EpochDays.monthOf(FIRST_YEAR, 1);
+    static final long LAST_MONTH = EpochDays.monthOf(LAST_YEAR, 12);
+    static final long FIRST_DAY = EpochDays.firstDayOf(FIRST_MONTH);
+    static final long LAST_DAY = EpochDays.firstDayOf(LAST_MONTH + 1) - 1;
+
+    private static final int FALLBACK_SIZE = 4096;
+
+    private final long first;
+    private final int length;
+    private final ConcurrentMap<ZoneOffsets, Instances<T>> zones = new ConcurrentHashMap<ZoneOffsets, Instances<T>>();
+
+    //The instances created in one time zone.
+    private static final class Instances<T> {
+        private final AtomicReferenceArray<T> window;
+        private final MemoizingCache<Long, T> fallback;
+
+        private Instances(final int length, final Function<Long, T> create) {
+            this.window = new AtomicReferenceArray<T>(length);
+            this.fallback = MemoizingCache.create(CacheSpec.maximumSize(FALLBACK_SIZE), create);
+        }
+    }
+
+    /**
+     * @param first The index of the first period to keep in the array.
+     * @param last  The index of the last period to keep in the array.
+     */
+    PeriodCache(final long first, final long last) {
+        this.first = first;
+        this.length = (int) Math.max(0, last - first + 1);
+    }
+
+    /**
+     * Implemented by each type to create a period that is not in the cache yet.
+     *
+     * @param offsets The time zone of the period.
+     * @param index   The index of the period.
+     * @return A new period.
+     */
+    abstract T create(ZoneOffsets offsets, long index);
+
+    /**
+     * @param offsets The time zone of a period.
+     * @param index   The index of the period.
+     * @return The shared instance of the period.
+     */
+    final T get(final ZoneOffsets offsets, final long index) {
+        Instances<T> instances = instancesFor(offsets);
+        long slot = index - first;
+        if (slot < 0 || slot >= length) return instances.fallback.get(index);
+        T period = instances.window.get((int) slot);
+        if (period == null) {
+            period = create(offsets, index);
+            if (!instances.window.compareAndSet((int) slot, null, period)) period = instances.window.get((int) slot);
+        }
+        return period;
+    }
+
+    private Instances<T> instancesFor(final ZoneOffsets offsets) {
+        Instances<T> instances = zones.get(offsets);
+        if (instances == null) {
+            Instances<T> created = new Instances<T>(length, new Function<Long, T>() {
+                public T apply(final Long index) {
+                    return create(offsets, index);
+                }
+            });
+            instances = zones.putIfAbsent(offsets, created);
+            if (instances == null) instances = created;
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,162 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.janus.Period;
+
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The totals of one Aggregator for each period of one Bucketizer, from a PeriodAggregation.  The totals are
+ * kept in primitive arrays indexed by the period index from the first period with a value to the last, so a
+ * total can be read by period or, without creating any objects, by index.  A period with no values has the
+ * identity of the aggregator as its total and a count of 0.  Series are immutable and thread-safe.
+ *
+ * @param <T> The type of period.
+ */
+@Immutable
+public final class PeriodSeries<T extends Period<T>> {
+
+    private final Bucketizer<T> bucketizer;
+    private final Aggregator aggregator;
+    private final int first;
+    private final double[] totals;
+    private final long[] counts;
+
+    //The arrays are owned by the new series.
+    PeriodSeries(final Bucketizer<T> bucketizer, final Aggregator aggregator, final int first,
+                 final double[] totals, final long[] counts) {
+        this.bucketizer = bucketizer;
+        this.aggregator = aggregator;
+        this.first = first;
+        this.totals = totals;
+        this.counts = counts;
+    }
+
+    /**
+     * @return The bucketizer that assigned the values to periods.
+     */
+    public Bucketizer<T> bucketizer() {
+        return bucketizer;
+    }
+
+    /**
+     * @return The aggregator of the totals.
+     */
+    public Aggregator aggregator() {
+        return aggregator;
+    }
+
+    /**
+     * @return true if there were no values.
+     */
+    public boolean isEmpty() {
+        return counts.length == 0;
+    }
+
+    /**
+     * @return The index of the first period with a value.
+     * @throws NoSuchElementException If the series is empty.
+     */
+    public int firstIndex() {
+        if (isEmpty()) throw new NoSuchElementException("The series is empty.");
+        return first;
+    }
+
+    /**
+     * @return The index of the last period with a value.
+     * @throws NoSuchElementException If the series is empty.
+     */
+    public int lastIndex() {
+        if (isEmpty()) throw new NoSuchElementException("The series is empty.");
+        return first + counts.length - 1;
+    }
+
+    /**
+     * @return The first period with a value.
+     * @throws NoSuchElementException If the series is empty.
+     */
+    public T first() {
+        return bucketizer.period(firstIndex());
+    }
+
+    /**
+     * @return The last period with a value.
+     * @throws NoSuchElementException If the series is empty.
+     */
+    public T last() {
+        return bucketizer.period(lastIndex());
+    }
+
+    /**
+     * @param index The index of a period.
+     * @return The total of the values in that period.
+     */
+    public double total(final int index) {
+        return totalAt(index);
+    }
+
+    /**
+     * @param index The index of a period.
+     * @return The number of values in that period.
+     */
+    public long count(final int index) {
+        return countAt(index);
+    }
+
+    /**
+     * @param period A period of the type and time zone of the bucketizer.
+     * @return The total of the values in period.
+     * @throws NullPointerException     If period is null.
+     * @throws IllegalArgumentException If period is in another time zone.
+     */
+    public double total(final T period) {
+        return totalAt(indexOf(period));
+    }
+
+    /**
+     * @param period A period of the type and time zone of the bucketizer.
+     * @return The number of values in period.
+     * @throws NullPointerException     If period is null.
+     * @throws IllegalArgumentException If period is in another time zone.
+     */
+    public long count(final T period) {
+        return countAt(indexOf(period));
+    }
+
+    /**
+     * @return The total of each period with at least one value, in order.
+     */
+    public SortedMap<T, Double> toMap() {
+        SortedMap<T, Double> map = new TreeMap<T, Double>();
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (counts[slot] > 0) map.put(bucketizer.period(first + slot), totals[slot]);
+        }
+        return map;
+    }
+
+    private double totalAt(final long index) {
+        long slot = index - first;
+        return slot >= 0 && slot < totals.length ? totals[(int) slot] : aggregator.identity();
+    }
+
+    private long countAt(final long index) {
+        long slot = index - first;
+        return slot >= 0 && slot < counts.length ? counts[(int) slot] : 0;
+    }
+
+    private long indexOf(final T period) {
+        if (period == null) throw new NullPointerException("Period cannot be null.");
+        SimplePeriod simplePeriod = (SimplePeriod) period;
+        if (simplePeriod.offsets() != bucketizer.offsets()) {
+            throw new IllegalArgumentException("Period " + period + " is not in " + bucketizer.zone() + ".");
+        }
+        return simplePeriod.index();
+    }
+
+    @Override
+    public String toString() {
+        return aggregator + " by " + bucketizer.type().getSimpleName() + " " + toMap();
+    }
+}
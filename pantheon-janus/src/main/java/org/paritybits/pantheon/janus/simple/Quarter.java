@@ -3,12 +3,11 @@ package org.paritybits.pantheon.janus.simple;
 import org.paritybits.pantheon.common.Immutable;
 import org.paritybits.pantheon.common.Range;
 
-import java.util.Arrays;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A SimplePeriod representation of a quarter.  This class can be converted to and from a string using the ISO 8601 format;
@@ -17,52 +16,39 @@ import java.util.regex.Pattern;
 @Immutable
 public final class Quarter extends SimplePeriod<Quarter> {
 
-    private static final List<Integer> MANIPULATED_FIELDS = Arrays.asList(Calendar.DAY_OF_MONTH, Calendar.HOUR_OF_DAY,
-            Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND);
-    private static final int START_OFFSET = 3;
-    private static final int STOP_OFFSET = 1;
-    private static final Pattern QUARTER_PATTERN = Pattern.compile("^(\\d\\d\\d\\d)-Q([1-4])");
+    private static final PeriodCache<Quarter> CACHE = new PeriodCache<Quarter>(
+            Math.floorDiv(PeriodCache.FIRST_MONTH, 3), Math.floorDiv(PeriodCache.LAST_MONTH, 3)) {
+        Quarter create(ZoneOffsets offsets, long index) {
+            return new Quarter(offsets, index);
+        }
+    };
 
     Quarter() {
     }
 
-    Quarter(Date dateInPeriod) {
-        super(dateInPeriod);
+    Quarter(ZoneOffsets offsets, long index) {
+        super(offsets, index);
     }
 
     Quarter createNewInstance(Date date) {
-        return create(date);
-    }
-
-    Date calculateStart(Calendar calendar) {
-        setMonth(calendar, START_OFFSET);
-        return super.calculateStart(calendar);
+        return create(date.getTime(), offsets());
     }
 
-    Date calculateStop(Calendar calendar) {
-        setMonth(calendar, STOP_OFFSET);
-        return super.calculateStop(calendar);
+    Quarter createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
     }
 
-    private void setMonth(Calendar calendar, int offset) {
-        int month = (getQuarter(calendar) * 3) - offset;
-        calendar.set(Calendar.MONTH, month);
+    //A Quarter is numbered from the first quarter of 1970.
+    long indexOf(long localMillis) {
+        return EpochDays.quarterOf(Math.floorDiv(localMillis, EpochDays.MILLIS_PER_DAY));
     }
 
-    private int getQuarter(Calendar calendar) {
-        return (calendar.get(Calendar.MONTH) / 3) + 1;
-    }
-
-    List<Integer> manipulatedFields() {
-        return MANIPULATED_FIELDS;
+    long localStartOf(long index) {
+        return EpochDays.firstDayOf(index * 3) * EpochDays.MILLIS_PER_DAY;
     }
 
     String createExternalForm() {
-        Calendar calendar = getCalibratedCalendar();
-        calendar.setTime(stop());
-        int quarter = getQuarter(calendar);
-        int year = calendar.get(Calendar.YEAR);
-        return new StringBuilder().append(year).append("-").append("Q").append(quarter).toString();
+        return IsoFormat.formatQuarter(index());
     }
 
     Quarter createFromExternalForm(String externalForm) {
@@ -73,21 +59,22 @@ public final class Quarter extends SimplePeriod<Quarter> {
      * @return A Range of Months that are contained in the Quarter
      */
     public Range<Month> asMonths() {
-        return Range.create(Month.create(start()), Month.create(stop()));
+        return Range.create(Month.of(offsets(), index() * 3), Month.of(offsets(), index() * 3 + 2));
     }
 
     /**
      * @return A Range of Days that are contained in the Quarter.
      */
     public Range<Day> asDays() {
-        return Range.create(Day.create(start()), Day.create(stop()));
+        return Range.create(Day.of(offsets(), EpochDays.firstDayOf(index() * 3)),
+                Day.of(offsets(), EpochDays.firstDayOf(index() * 3 + 3) - 1));
     }
 
     /**
      * @return The Year the Quarter is in.
      */
     public Year asYear() {
-        return Year.create(start());
+        return Year.of(offsets(), Math.floorDiv(index(), 4));
     }
 
     /**
@@ -96,7 +83,17 @@ public final class Quarter extends SimplePeriod<Quarter> {
      * @return The Quarter that is a x years away from the specified Quarter.
      */
     public Quarter rollYears(int rollAmount) {
-        return roll(Calendar.YEAR, rollAmount);
+        return createNewInstance(index() + 4L * rollAmount);
+    }
+
+    //The shared instance of the Quarter with an index in the default time zone.
+    static Quarter of(long index) {
+        return of(ZoneOffsets.ofDefault(), index);
+    }
+
+    //The shared instance of the Quarter with an index in a time zone.
+    static Quarter of(ZoneOffsets offsets, long index) {
+        return CACHE.get(offsets, index);
     }
 
     /**
@@ -104,7 +101,76 @@ public final class Quarter extends SimplePeriod<Quarter> {
      * @return A new Quarter.
      */
     public static Quarter create(Date date) {
-        return new Quarter(date);
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Quarter to be created.
+     * @return The Quarter the instant falls in in the default time zone.
+     */
+    public static Quarter create(Instant instant) {
+        return create(Date.from(instant));
+    }
+
+    /**
+     * @param date A date in the Quarter to be created.
+     * @return The Quarter the date falls in.
+     */
+    public static Quarter create(LocalDate date) {
+        return of(Math.floorDiv(EpochDays.monthOf(date.getYear(), date.getMonthValue()), 3));
+    }
+
+    /**
+     * @param yearMonth A month in the Quarter to be created.
+     * @return The Quarter the month falls in.
+     */
+    public static Quarter create(YearMonth yearMonth) {
+        return of(Math.floorDiv(EpochDays.monthOf(yearMonth.getYear(), yearMonth.getMonthValue()), 3));
+    }
+
+    /**
+     * @param date A date in the Quarter to be created.
+     * @param zone The time zone of the Quarter.
+     * @return The Quarter in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Quarter create(Date date, ZoneId zone) {
+        return create(date.getTime(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param instant An instant in the Quarter to be created.
+     * @param zone    The time zone of the Quarter.
+     * @return The Quarter in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Quarter create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param date A date in the Quarter to be created.
+     * @param zone The time zone of the Quarter.
+     * @return The Quarter in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Quarter create(LocalDate date, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), Math.floorDiv(EpochDays.monthOf(date.getYear(), date.getMonthValue()), 3));
+    }
+
+    /**
+     * @param yearMonth A month in the Quarter to be created.
+     * @param zone      The time zone of the Quarter.
+     * @return The Quarter in the given zone that the month falls in.
+     * @throws NullPointerException If yearMonth or zone is null.
+     */
+    public static Quarter create(YearMonth yearMonth, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), Math.floorDiv(EpochDays.monthOf(yearMonth.getYear(), yearMonth.getMonthValue()), 3));
+    }
+
+    //The Quarter that an instant falls in in a time zone.
+    private static Quarter create(long millis, ZoneOffsets offsets) {
+        return of(offsets, EpochDays.quarterOf(offsets.epochDay(millis)));
     }
 
     /**
@@ -115,16 +181,32 @@ public final class Quarter extends SimplePeriod<Quarter> {
      * @throws IllegalArgumentException If the string is not formatted properly.
      */
     public static Quarter valueOf(String iso8601FormattedString) {
-        Matcher matcher = QUARTER_PATTERN.matcher(iso8601FormattedString);
-        if (matcher.matches()) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.set(Calendar.YEAR, Integer.decode(matcher.group(1)));
-            int quarter = Integer.decode(matcher.group(2));
-            calendar.set(Calendar.MONTH, quarter * START_OFFSET - 1);
-            return create(calendar.getTime());
-        } else {
-            throw new IllegalArgumentException("String was not formatted correctly");
-        }
+        return valueOf((CharSequence) iso8601FormattedString);
+    }
+
+    /**
+     * Gets the Quarter of an iso8601 formatted quarter without copying the text.  This format is
+     * <i>yyyy-Qq</i>
+     *
+     * @param iso8601FormattedText The text of the Quarter, which has to match the format exactly.
+     * @return The Quarter that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Quarter valueOf(CharSequence iso8601FormattedText) {
+        return of(IsoFormat.parseQuarter(iso8601FormattedText));
+    }
+
+    /**
+     * Gets the Quarter of an iso8601 formatted quarter in a time zone.  This format is <i>yyyy-Qq</i>
+     *
+     * @param iso8601FormattedText The text of the Quarter, which has to match the format exactly.
+     * @param zone                 The time zone of the Quarter.
+     * @return The Quarter in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Quarter valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), IsoFormat.parseQuarter(iso8601FormattedText));
     }
 
     /**
@@ -0,0 +1,184 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.paritybits.pantheon.common.Immutable;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * A SimplePeriod of a fixed number of seconds of local time, for bucketing events into windows such as 5 or 15
+ * seconds.  The length has to divide a day evenly, so the buckets of every day start at midnight and a bucket
+ * never spans two days.  This class can be converted to and from a string using the ISO 8601 format of a
+ * start and a duration; <i>yyyy-MM-ddTHH:mm:ss/PTnS</i>, as in <i>2014-12-25T13:45:15/PT15S</i>.
+ * <p/>
+ * Buckets of different lengths are different periods and are never equal.  Like Hours, buckets are not shared
+ * and are found from an instant with arithmetic on its epoch milliseconds, a bucket of local time that happens
+ * twice holds both of its passes and one that a change of offset skips is empty.
+ *
+ * @see org.paritybits.pantheon.janus.simple.Hour
+ */
+@Immutable
+public final class SecondBucket extends SimplePeriod<SecondBucket> {
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private transient final int length;
+
+    SecondBucket() {
+        length = 0;
+    }
+
+    SecondBucket(ZoneOffsets offsets, int length, long index) {
+        super(offsets, index, index * length * 1000L, (index + 1) * length * 1000L);
+        this.length = length;
+    }
+
+    SecondBucket createNewInstance(Date date) {
+        return create(length, date.getTime(), offsets());
+    }
+
+    SecondBucket createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, length, index);
+    }
+
+    String createExternalForm() {
+        return IsoFormat.formatTime(index() * length, 3) + "/PT" + length + "S";
+    }
+
+    SecondBucket createFromExternalForm(String externalForm) {
+        return valueOf(externalForm);
+    }
+
+    //A bucket is numbered from the bucket that starts at the local epoch.
+    long indexOf(long localMillis) {
+        return Math.floorDiv(localMillis, length * 1000L);
+    }
+
+    long localStartOf(long index) {
+        return index * length * 1000L;
+    }
+
+    /**
+     * @return The number of seconds in the bucket.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return The Day this bucket is a part of.
+     */
+    public Day day() {
+        return Day.of(offsets(), Math.floorDiv(index(), SECONDS_PER_DAY / length));
+    }
+
+    //The bucket with a length and an index in a time zone.
+    static SecondBucket of(ZoneOffsets offsets, int length, long index) {
+        return new SecondBucket(offsets, length, index);
+    }
+
+    /**
+     * @param length      The number of seconds in the bucket, which has to divide a day evenly.
+     * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+     * @return The bucket the instant falls in in the default time zone.
+     * @throws IllegalArgumentException If the length does not divide a day.
+     */
+    public static SecondBucket create(int length, long epochMillis) {
+        return create(checkLength(length), epochMillis, ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param length The number of seconds in the bucket, which has to divide a day evenly.
+     * @param date   A date in the bucket.
+     * @return The bucket the date falls in in the default time zone.
+     * @throws IllegalArgumentException If the length does not divide a day.
+     */
+    public static SecondBucket create(int length, Date date) {
+        return create(checkLength(length), date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param length      The number of seconds in the bucket, which has to divide a day evenly.
+     * @param epochMillis An instant in milliseconds since 1970-01-01T00:00Z.
+     * @param zone        The time zone of the bucket.
+     * @return The bucket in the given zone that the instant falls in.
+     * @throws IllegalArgumentException If the length does not divide a day.
+     * @throws NullPointerException     If zone is null.
+     */
+    public static SecondBucket create(int length, long epochMillis, ZoneId zone) {
+        return create(checkLength(length), epochMillis, ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param length  The number of seconds in the bucket, which has to divide a day evenly.
+     * @param instant An instant in the bucket.
+     * @param zone    The time zone of the bucket.
+     * @return The bucket in the given zone that the instant falls in.
+     * @throws IllegalArgumentException If the length does not divide a day.
+     * @throws NullPointerException     If instant or zone is null.
+     */
+    public static SecondBucket create(int length, Instant instant, ZoneId zone) {
+        return create(checkLength(length), instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    //The bucket that an instant falls in in a time zone.
+    private static SecondBucket create(int length, long millis, ZoneOffsets offsets) {
+        return of(offsets, length, Math.floorDiv(offsets.localMillis(millis), length * 1000L));
+    }
+
+    private static int checkLength(int length) {
+        if (length <= 0 || SECONDS_PER_DAY % length != 0) {
+            throw new IllegalArgumentException("A bucket of " + length + " seconds does not divide a day.");
+        }
+        return length;
+    }
+
+    /**
+     * Gets the bucket of an iso8601 formatted start and duration.  This format is
+     * <i>yyyy-MM-ddTHH:mm:ss/PTnS</i>
+     *
+     * @param iso8601FormattedText The text of the bucket, which has to match the format exactly.
+     * @return The bucket that the given text describes in the default time zone.
+     * @throws IllegalArgumentException If the text is not formatted properly or does not start a bucket.
+     */
+    public static SecondBucket valueOf(CharSequence iso8601FormattedText) {
+        return valueOf(iso8601FormattedText, ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * Gets the bucket of an iso8601 formatted start and duration in a time zone.  This format is
+     * <i>yyyy-MM-ddTHH:mm:ss/PTnS</i>
+     *
+     * @param iso8601FormattedText The text of the bucket, which has to match the format exactly.
+     * @param zone                 The time zone of the bucket.
+     * @return The bucket in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly or does not start a bucket.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static SecondBucket valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return valueOf(iso8601FormattedText, ZoneOffsets.of(zone));
+    }
+
+    private static SecondBucket valueOf(CharSequence text, ZoneOffsets offsets) {
+        if (text == null) throw new NullPointerException("Text cannot be null.");
+        String form = text.toString();
+        int slash = form.indexOf("/PT");
+        if (slash < 0 || !form.endsWith("S") || slash + 4 >= form.length()) throw invalid(form);
+        int length;
+        try {
+            length = checkLength(Integer.parseInt(form.substring(slash + 3, form.length() - 1)));
+        } catch (NumberFormatException e) {
+            throw invalid(form);
+        }
+        long start = IsoFormat.parseTime(form.substring(0, slash), 3);
+        if (Math.floorMod(start, (long) length) != 0) {
+            throw new IllegalArgumentException("\"" + form + "\" does not start a bucket of " + length + " seconds.");
+        }
+        return of(offsets, length, Math.floorDiv(start, length));
+    }
+
+    private static IllegalArgumentException invalid(String text) {
+        return new IllegalArgumentException("\"" + text + "\" is not formatted as yyyy-MM-ddTHH:mm:ss/PTnS.");
+    }
+}
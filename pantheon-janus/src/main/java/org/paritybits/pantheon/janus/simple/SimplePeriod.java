@@ -1,17 +1,18 @@
 package org.paritybits.pantheon.janus.simple;
 
+import org.paritybits.pantheon.common.DistanceRangeable;
 import org.paritybits.pantheon.common.Immutable;
-import org.paritybits.pantheon.common.Range;
 import org.paritybits.pantheon.janus.Period;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OptionalDataException;
 import java.io.Serializable;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.GregorianCalendar;
-import java.util.List;
 
 
 /**
@@ -22,38 +23,85 @@ import java.util.List;
  * <p/>
  * Implementations of this class must create an external form, which will be the same as the string representation
  * of the period.  The subclass must use the ISO 8601 format for this representation.
+ * <p/>
+ * Periods are numbered from the one that holds the local epoch and a subclass only has to say which period a
+ * local time falls in and where a period starts.  The bounds are then found with plain arithmetic on local
+ * times, using the proleptic Gregorian calendar and ISO 8601 weeks.
+ * <p/>
+ * Every period is in a time zone, which is part of its identity: the Day 2010-06-15 in London and the same Day
+ * in New York are not equal.  The factories that take no zone use the default time zone at the time they are
+ * called, and next, prior and the other methods that give related periods keep the zone of the period.
+ * <p/>
+ * The factories of the subclasses, next, prior and deserialization all return the shared instance of a period,
+ * so most periods in use are never created more than once.
  *
  * @author Andrew Tillman
  * @version 0.9
  */
 @Immutable
-abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serializable {
+abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, DistanceRangeable<T>, Serializable {
 
     static final long serialVersionUID = 2394502930948593029L;
 
-    private transient final Long start;
-    private transient final Long stop;
+    private transient final ZoneOffsets offsets;
+    private transient final long index;
+    private transient final long start;
+    private transient final long stop;
 
     private transient String externalForm;
+    private transient String zoneId;
 
     /**
      * This constructor is required for serializable.
      */
     SimplePeriod() {
-        start = null;
-        stop = null;
+        offsets = null;
+        index = 0;
+        start = 0;
+        stop = 0;
     }
 
     /**
-     * This constructor will create the period based on the date passed in.
+     * This constructor will create the period in the default time zone based on the date passed in.
      *
      * @param dateInPeriod A date that lies in the range of the period.
      */
     SimplePeriod(Date dateInPeriod) {
-        Calendar calendar = getCalibratedCalendar();
-        calendar.setTime(dateInPeriod);
-        this.start = calculateStart(calendar).getTime();
-        this.stop = calculateStop(calendar).getTime();
+        this.offsets = ZoneOffsets.ofDefault();
+        this.index = indexOf(offsets.localMillis(dateInPeriod.getTime()));
+        this.start = offsets.utcMillis(localStartOf(index));
+        this.stop = offsets.utcMillis(localStartOf(index + 1) - 1);
+    }
+
+    /**
+     * This constructor will create the period with the given index.
+     *
+     * @param offsets The time zone of the period.
+     * @param index   The index of the period, as returned by indexOf.
+     */
+    SimplePeriod(ZoneOffsets offsets, long index) {
+        this.offsets = offsets;
+        this.index = index;
+        this.start = offsets.utcMillis(localStartOf(index));
+        this.stop = offsets.utcMillis(localStartOf(index + 1) - 1);
+    }
+
+    /**
+     * This constructor will create a period shorter than a day with the given index and local bounds.  Its bounds
+     * are the first and last instants whose local times fall in it, so a period of local time that happens twice
+     * holds both passes and one that a change of offset skips is empty, stopping the millisecond before it
+     * starts.  Every instant is then in the period that indexOf gives for its local time.
+     *
+     * @param offsets    The time zone of the period.
+     * @param index      The index of the period, as returned by indexOf.
+     * @param localStart The local time the period starts at.
+     * @param localEnd   The local time the period after it starts at.
+     */
+    SimplePeriod(ZoneOffsets offsets, long index, long localStart, long localEnd) {
+        this.offsets = offsets;
+        this.index = index;
+        this.start = offsets.firstInstantFrom(localStart);
+        this.stop = offsets.lastInstantBefore(localEnd);
     }
 
 
@@ -64,6 +112,55 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
         return new Date(start);
     }
 
+    /**
+     * @return The first instant of the period, in milliseconds since the epoch.
+     */
+    public long startMillis() {
+        return start;
+    }
+
+    /**
+     * @return The first instant of the period.
+     */
+    public Instant startInstant() {
+        return Instant.ofEpochMilli(start);
+    }
+
+    /**
+     * @return The day the period starts on in its time zone.
+     */
+    public LocalDate startDate() {
+        return LocalDate.ofEpochDay(offsets.epochDay(start));
+    }
+
+    /**
+     * @return The time zone the period is in.
+     */
+    public ZoneId zone() {
+        return offsets.zone();
+    }
+
+    /**
+     * Finds the period with the same label in another time zone, so the Day 2010-06-15 in New York for the
+     * Day 2010-06-15 in London.
+     *
+     * @param zone The time zone of the period to find.
+     * @return The period in the given zone that has the same string representation as this one.
+     * @throws NullPointerException If zone is null.
+     */
+    public T withZone(ZoneId zone) {
+        return createNewInstance(ZoneOffsets.of(zone), index);
+    }
+
+    //The index of this period, counting from the period that holds the local epoch.
+    long index() {
+        return index;
+    }
+
+    ZoneOffsets offsets() {
+        return offsets;
+    }
+
     /**
      * @return The end of the period.
      */
@@ -71,19 +168,48 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
         return new Date(stop);
     }
 
+    /**
+     * @return The last instant of the period, in milliseconds since the epoch.
+     */
+    public long stopMillis() {
+        return stop;
+    }
+
+    /**
+     * @return The last instant of the period.
+     */
+    public Instant stopInstant() {
+        return Instant.ofEpochMilli(stop);
+    }
+
+    /**
+     * @return The day the period stops on in its time zone.
+     */
+    public LocalDate stopDate() {
+        return LocalDate.ofEpochDay(offsets.epochDay(stop));
+    }
+
+    /**
+     * @param epochMillis An instant, in milliseconds since the epoch.
+     * @return True if the instant falls between the start and the stop of the period, inclusive.
+     */
+    public boolean contains(long epochMillis) {
+        return epochMillis >= start && epochMillis <= stop;
+    }
+
 
     /**
      * @return The period that comes right before this period.
      */
     public T prior() {
-        return createNewInstance(new Date(start - 1));
+        return createNewInstance(index() - 1);
     }
 
     /**
      * @return The period that comes right after this period.
      */
     public T next() {
-        return createNewInstance(new Date(stop + 1));
+        return createNewInstance(index() + 1);
     }
 
 
@@ -100,38 +226,6 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
         return externalForm;
     }
 
-    /**
-     * Find the start time for this period.  For many types of periods this
-     * is simply normalizing the fields in a calendar.  Some subclasses (Quarter)
-     * do this as well as some other more complex calculations.
-     *
-     * @param calendar The calendar being used for start/stop calculation.
-     * @return The date, representing the start of the period.
-     */
-    Date calculateStart(Calendar calendar) {
-        for (int field : manipulatedFields()) {
-            int value = calendar.getActualMinimum(field);
-            calendar.set(field, value);
-        }
-        return calendar.getTime();
-    }
-
-    /**
-     * Find the stop time for this period.  For many types of periods this
-     * is simply normalizing the fields in a calendar.  Some subclasses (Quarter)
-     * do this as well as some other more complex calculations.
-     *
-     * @param calendar The calendar being used for start/stop calculation.
-     * @return The date, representing the stop of the period.
-     */
-    Date calculateStop(Calendar calendar) {
-        for (int field : manipulatedFields()) {
-            int value = calendar.getActualMaximum(field);
-            calendar.set(field, value);
-        }
-        return calendar.getTime();
-    }
-
     /**
      * Rolls this period by the given number of increments.  Calling period.roll(amount) is effectively the same as
      * calling Range.stepsFrom(amount, period).  Here mostly because I figure it would be expected given all
@@ -142,38 +236,39 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
      * @see org.paritybits.pantheon.common.Range#stepsFrom(org.paritybits.pantheon.common.Rangeable, int)
      */
     public T roll(int amount) {
-        return (T) Range.stepsFrom(this, amount);
+        return roll((long) amount);
     }
 
     /**
-     * Rolls to a period by a given period amount.  Used by the implementation
-     * classes rollX() methods.
+     * Rolls this period by the given number of increments.  The period is found from the indices, so this takes
+     * the same time however far it rolls.
      *
-     * @param rollField The type of period to roll by; Year, Quarter, Month etc.
-     * @param amount    The amount of periods to roll by.
-     * @return A new period that is a result of the roll or this period if amount is 0.
+     * @param amount The amount to roll by.
+     * @return The period that is amount periods after this one, or before it if amount is negative.
      */
-    T roll(int rollField, int amount) {
-        return roll(start(), rollField, amount);
+    public T roll(long amount) {
+        return createNewInstance(index() + amount);
     }
 
     /**
-     * Rolls to a period by a given period amount, but allows the subclass to specifiy the date to use.  Used
-     * by certain period types.
+     * Counts the periods from this period to another of the same type, in constant time.
      *
-     * @param theDate   The date to use in the roll.
-     * @param rollField The type of period to roll by; Year, Quarter, Month etc.
-     * @param amount    The amount of periods to roll by.
-     * @return A new period that is a result of the roll or this period if amount is 0.
-     */
-    T roll(Date theDate, int rollField, int amount) {
-        if (amount == 0) {
-            return (T) this;
-        }
-        Calendar calendar = getCalibratedCalendar();
-        calendar.setTime(theDate);
-        calendar.add(rollField, amount);
-        return createNewInstance(calendar.getTime());
+     * @param other The period to count to.
+     * @return The number of periods from this one to other, negative if other comes first.  This period rolled by
+     *         the result is other.
+     */
+    public long periodsUntil(T other) {
+        return ((SimplePeriod) other).index() - index();
+    }
+
+    /**
+     * The same as periodsUntil, so that Ranges of SimplePeriods are sized and indexed in constant time.
+     *
+     * @param other The period to count to.
+     * @return The number of periods from this one to other.
+     */
+    public long stepsUntil(T other) {
+        return periodsUntil(other);
     }
 
     /**
@@ -185,6 +280,25 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
      */
     abstract T createNewInstance(Date date);
 
+    /**
+     * Creates a new properly subclassed instance in the time zone of this period from an index.
+     *
+     * @param index The index of the period, as returned by indexOf.
+     * @return A new SimplePeriod with the same subclass and time zone as this SimplePeriod
+     */
+    final T createNewInstance(long index) {
+        return createNewInstance(offsets, index);
+    }
+
+    /**
+     * Implemented by subclasses to create a new properly subclassed instance from a time zone and an index.
+     *
+     * @param offsets The time zone of the period.
+     * @param index   The index of the period, as returned by indexOf.
+     * @return A new SimplePeriod with the same subclass as this SimplePeriod
+     */
+    abstract T createNewInstance(ZoneOffsets offsets, long index);
+
     /**
      * Implementated by subclasses to create the string reprentation of the simple period.  The string representation
      * must conform to the <a href="http://en.wikipedia.org/wiki/ISO_8601">ISO 8601</a> format.
@@ -203,27 +317,46 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
     abstract T createFromExternalForm(String externalForm);
 
     /**
-     * @return A list of integers that represent the fields in a Calendar to manipulated to find start and stop
-     *         dates.
+     * Implemented by subclasses to number their periods.  The period that holds the local epoch,
+     * 1970-01-01T00:00, is 0 and the periods before it are negative.  This method, like localStartOf, is
+     * called from the constructor and must not depend on the state of the instance.
+     *
+     * @param localMillis A local time, in milliseconds since the local epoch, with no time zone offset.
+     * @return The index of the period the local time falls in.
+     */
+    abstract long indexOf(long localMillis);
+
+    /**
+     * Implemented by subclasses to find where their periods begin.  A period ends on the local millisecond
+     * before the next one starts.
+     *
+     * @param index The index of a period.
+     * @return The local time, in milliseconds since the local epoch, that the period starts at.
      */
-    abstract List<Integer> manipulatedFields();
+    abstract long localStartOf(long index);
 
     /**
      * Compares this period to another period of the same type.  You cannot cross compare different types
      * of SimplePeriod.
      *
      * @param other T The other period to compare to.
-     * @return -1, 0 or 1 based on the reaults of comparing the starts of the the periods.
+     * @return -1, 0 or 1 based on the reaults of comparing the starts of the the periods, then their stops and
+     *         indices, which only differ for the empty periods a change of offset skips, and then the ids of their
+     *         time zones.
      */
     public int compareTo(T other) {
-        return start.compareTo(other.start);
+        SimplePeriod otherPeriod = (SimplePeriod) other;
+        if (start != otherPeriod.start) return start < otherPeriod.start ? -1 : 1;
+        if (stop != otherPeriod.stop) return stop < otherPeriod.stop ? -1 : 1;
+        if (index != otherPeriod.index) return index < otherPeriod.index ? -1 : 1;
+        return offsets == otherPeriod.offsets ? 0 : zone().getId().compareTo(otherPeriod.zone().getId());
     }
 
     /**
      * Check if the specified period is equal to the given object
      *
      * @param o The object to test against.
-     * @return true if o is a SimpleTimePeriod of the same class with the same start and stop.
+     * @return true if o is a SimpleTimePeriod of the same class with the same start, stop, index and time zone.
      */
     public boolean equals(Object o) {
         if (!(o instanceof SimplePeriod)) {
@@ -231,47 +364,48 @@ abstract class SimplePeriod<T extends SimplePeriod> implements Period<T>, Serial
         }
         SimplePeriod other = (SimplePeriod) o;
         if (getClass().equals(other.getClass())) {
-            return start.equals(other.start)
-                    && stop.equals(other.stop);
+            return start == other.start
+                    && stop == other.stop
+                    && index == other.index
+                    && zone().equals(other.zone());
         } else {
             return false;
         }
     }
 
     /**
-     * @return A hashcode calculated from the start and stop.
+     * @return A hashcode calculated from the start, stop and time zone.
      */
     public int hashCode() {
-        int result = start.hashCode();
-        result = 29 * result + stop.hashCode();
+        int result = (int) (start ^ (start >>> 32));
+        result = 29 * result + (int) (stop ^ (stop >>> 32));
+        result = 29 * result + zone().hashCode();
         return result;
     }
 
-    //Methods used to implement the custom serialized form.
+    //Methods used to implement the custom serialized form.  A period in the default time zone is written as
+    //its external form alone, as before there were zones, and is read back in the default time zone of the
+    //reader.  A period in any other zone is followed by the id of its zone.
     private void writeObject(final ObjectOutputStream out) throws IOException {
         out.writeObject(toString());
+        if (offsets != ZoneOffsets.ofDefault()) out.writeObject(zone().getId());
     }
 
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
         externalForm = (String) in.readObject();
+        try {
+            zoneId = (String) in.readObject();
+        } catch (OptionalDataException e) {
+            if (!e.eof) throw e;
+        }
     }
 
     final Object readResolve() {
         if (externalForm != null) {
-            return createFromExternalForm(externalForm);
+            T period = createFromExternalForm(externalForm);
+            return zoneId == null ? period : period.withZone(ZoneId.of(zoneId));
         } else {
             throw new NullPointerException("The external form was null during readResolve");
         }
     }
-
-    /**
-     * @return A Calendar that has been calibrated to be ISO-8601 compatable.  Mostly deals with when the first
-     *         week of the year is and how many days can be in a week.
-     */
-    static Calendar getCalibratedCalendar() {
-        Calendar calendar = new GregorianCalendar(); //All SimplePeriods are based on the Gregorian Calendar.
-        calendar.setFirstDayOfWeek(2);
-        calendar.setMinimalDaysInFirstWeek(4);
-        return calendar;
-    }
 }
\ No newline at end of file
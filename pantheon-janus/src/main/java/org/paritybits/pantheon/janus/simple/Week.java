@@ -3,13 +3,10 @@ package org.paritybits.pantheon.janus.simple;
 import org.paritybits.pantheon.common.Immutable;
 import org.paritybits.pantheon.common.Range;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
 
 /**
  * A SimplePeriod representation of a month.  This class can be convereted to and from a string using the ISO 8601 format;
@@ -18,64 +15,68 @@ import java.util.List;
 @Immutable
 public class Week extends SimplePeriod<Week> {
 
-    private static final List<Integer> MANIPULATED_FIELDS = Arrays.asList(Calendar.HOUR_OF_DAY,
-            Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND);
+    //Days from the Monday that starts the week of 1970-01-01, a Thursday, to the epoch.
+    private static final long EPOCH_DAY_OF_WEEK = 3;
+
+    private static final PeriodCache<Week> CACHE = new PeriodCache<Week>(weekOf(PeriodCache.FIRST_DAY),
+            weekOf(PeriodCache.LAST_DAY)) {
+        Week create(ZoneOffsets offsets, long index) {
+            return new Week(offsets, index);
+        }
+    };
 
     Week() {
     }
 
-    Week(Date dateInPeriod) {
-        super(dateInPeriod);
+    Week(ZoneOffsets offsets, long index) {
+        super(offsets, index);
     }
 
     Week createNewInstance(Date date) {
-        return create(date);
+        return create(date.getTime(), offsets());
     }
 
-
-    Date calculateStart(Calendar calendar) {
-        calendar.set(Calendar.DAY_OF_WEEK, Calendar.MONDAY);
-        return super.calculateStart(calendar);
+    Week createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
     }
 
-    Date calculateStop(Calendar calendar) {
-        calendar.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
-        return super.calculateStop(calendar);
+    //A Week is numbered from the week of 1970-01-01, which started on Monday 1969-12-29.
+    long indexOf(long localMillis) {
+        return weekOf(Math.floorDiv(localMillis, EpochDays.MILLIS_PER_DAY));
     }
 
-    String createExternalForm() {
-        return getDateFormat().format(middleOfWeekDay().start()).replaceAll("-", "-W");
+    long localStartOf(long index) {
+        return (index * 7 - EPOCH_DAY_OF_WEEK) * EpochDays.MILLIS_PER_DAY;
     }
 
-    Week createFromExternalForm(String externalForm) {
-        return Week.valueOf(externalForm);
+    static long weekOf(long epochDay) {
+        return Math.floorDiv(epochDay + EPOCH_DAY_OF_WEEK, 7);
     }
 
-    List<Integer> manipulatedFields() {
-        return MANIPULATED_FIELDS;
+    String createExternalForm() {
+        return IsoFormat.formatWeek(index());
     }
 
-    /**
-     * @return The middle day of the week.  This day will always match the year that the week is in.
-     */
-    private Day middleOfWeekDay() {
-        return Day.create(start()).next().next();
+    Week createFromExternalForm(String externalForm) {
+        return Week.valueOf(externalForm);
     }
 
     /**
      * @return All the Days that are contained in the Week.
      */
     public Range<Day> days() {
-        return Range.create(Day.create(start()), Day.create(stop()));
+        long monday = index() * 7 - EPOCH_DAY_OF_WEEK;
+        return Range.create(Day.of(offsets(), monday), Day.of(offsets(), monday + 6));
     }
 
     /**
      * @return The Year this week is in.  If this week crosses  a year boundary, the year that is used is the
-     *         one that determines the Weeks string format.  For instance; while the week <i>2008-W1</i>
-     *         contains the day <i>2007-12-31</i>, the year returned is <i>2008</i>.
+     *         one that determines the Weeks string format, the year of its Thursday.  For instance; while the
+     *         week <i>2008-W01</i> contains the day <i>2007-12-31</i>, the year returned is <i>2008</i>.
      */
     public Year year() {
-        return Year.create(middleOfWeekDay().stop());
+        //The epoch day index() * 7 is the Thursday of the week.
+        return Year.of(offsets(), EpochDays.yearOf(index() * 7));
     }
 
 
@@ -85,7 +86,18 @@ public class Week extends SimplePeriod<Week> {
      * with a rollAmount of 2 this method will return <i>2010-W3</i>
      */
     public Week rollYears(int rollAmount) {
-        return roll(middleOfWeekDay().start(), Calendar.YEAR, rollAmount);
+        long wednesday = index() * 7 - EPOCH_DAY_OF_WEEK + 2;
+        return createNewInstance(weekOf(EpochDays.plusMonths(wednesday, 12L * rollAmount)));
+    }
+
+    //The shared instance of the Week with an index in the default time zone.
+    static Week of(long index) {
+        return of(ZoneOffsets.ofDefault(), index);
+    }
+
+    //The shared instance of the Week with an index in a time zone.
+    static Week of(ZoneOffsets offsets, long index) {
+        return CACHE.get(offsets, index);
     }
 
     /**
@@ -93,23 +105,95 @@ public class Week extends SimplePeriod<Week> {
      * @return A new Day that represents the day of the given date.
      */
     public static Week create(Date date) {
-        return new Week(date);
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Week to be created.
+     * @return The Week the instant falls in in the default time zone.
+     */
+    public static Week create(Instant instant) {
+        return create(Date.from(instant));
+    }
+
+    /**
+     * @param date A date in the Week to be created.
+     * @return The Week the date falls in.
+     */
+    public static Week create(LocalDate date) {
+        return of(weekOf(date.toEpochDay()));
+    }
+
+    /**
+     * @param date A date in the Week to be created.
+     * @param zone The time zone of the Week.
+     * @return The Week in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Week create(Date date, ZoneId zone) {
+        return create(date.getTime(), ZoneOffsets.of(zone));
     }
 
     /**
-     * Gets the Week value of an iso8601 formatted string for a day.  This format is
-     * <i>yyyy-MM-dd</i>
+     * @param instant An instant in the Week to be created.
+     * @param zone    The time zone of the Week.
+     * @return The Week in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Week create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param date A date in the Week to be created.
+     * @param zone The time zone of the Week.
+     * @return The Week in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Week create(LocalDate date, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), weekOf(date.toEpochDay()));
+    }
+
+    //The Week that an instant falls in in a time zone.
+    private static Week create(long millis, ZoneOffsets offsets) {
+        return of(offsets, weekOf(offsets.epochDay(millis)));
+    }
+
+    /**
+     * Gets the Week value of an iso8601 formatted string for a week.  This format is
+     * <i>yyyy-Www</i>
      *
-     * @param iso8601FormattedString A string representation of the Day.
-     * @return The Day that the given string describes.
+     * @param iso8601FormattedString A string representation of the Week.
+     * @return The Week that the given string describes.
      * @throws IllegalArgumentException If the string is not formatted properly.
      */
     public static Week valueOf(String iso8601FormattedString) {
-        try {
-            return create(getDateFormat().parse(iso8601FormattedString.replace("W", "")));
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("The string was not formatted correctly");
-        }
+        return valueOf((CharSequence) iso8601FormattedString);
+    }
+
+    /**
+     * Gets the Week of an iso8601 formatted week without copying the text.  This format is
+     * <i>yyyy-Www</i>
+     *
+     * @param iso8601FormattedText The text of the Week, which has to match the format exactly.
+     * @return The Week that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Week valueOf(CharSequence iso8601FormattedText) {
+        return of(IsoFormat.parseWeek(iso8601FormattedText));
+    }
+
+    /**
+     * Gets the Week of an iso8601 formatted week in a time zone.  This format is <i>yyyy-Www</i>
+     *
+     * @param iso8601FormattedText The text of the Week, which has to match the format exactly.
+     * @param zone                 The time zone of the Week.
+     * @return The Week in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Week valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), IsoFormat.parseWeek(iso8601FormattedText));
     }
 
     /**
@@ -118,10 +202,4 @@ public class Week extends SimplePeriod<Week> {
     public static Week thisWeek() {
         return create(new Date());
     }
-
-    private static DateFormat getDateFormat() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-ww");
-        dateFormat.setCalendar(getCalibratedCalendar());
-        return dateFormat;
-    }
 }
@@ -3,13 +3,11 @@ package org.paritybits.pantheon.janus.simple;
 import org.paritybits.pantheon.common.Immutable;
 import org.paritybits.pantheon.common.Range;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
 
 /**
  * A SimplePeriod representation of a year.  A Uear can be convereted to and from a string using the ISO 8601 format;
@@ -18,51 +16,75 @@ import java.util.List;
 @Immutable
 public final class Year extends SimplePeriod<Year> {
 
-    private static final List<Integer> MANIPULATED_FIELDS = Arrays.asList(Calendar.DAY_OF_YEAR, Calendar.HOUR_OF_DAY,
-            Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND);
+    private static final PeriodCache<Year> CACHE = new PeriodCache<Year>(
+            Math.floorDiv(PeriodCache.FIRST_MONTH, 12), Math.floorDiv(PeriodCache.LAST_MONTH, 12)) {
+        Year create(ZoneOffsets offsets, long index) {
+            return new Year(offsets, index);
+        }
+    };
 
     Year() {
     }
 
-    Year(Date date) {
-        super(date);
+    Year(ZoneOffsets offsets, long index) {
+        super(offsets, index);
     }
 
     Year createNewInstance(Date date) {
-        return create(date);
+        return create(date.getTime(), offsets());
+    }
+
+    Year createNewInstance(ZoneOffsets offsets, long index) {
+        return of(offsets, index);
     }
 
     String createExternalForm() {
-        return getDateFormat().format(start()).replace("-", "");
+        return IsoFormat.formatYear(index());
     }
 
     Year createFromExternalForm(String externalForm) {
         return valueOf(externalForm);
     }
 
-    List<Integer> manipulatedFields() {
-        return MANIPULATED_FIELDS;
+    //A Year is numbered from 1970.
+    long indexOf(long localMillis) {
+        return EpochDays.yearOf(Math.floorDiv(localMillis, EpochDays.MILLIS_PER_DAY));
+    }
+
+    long localStartOf(long index) {
+        return EpochDays.firstDayOf(index * 12) * EpochDays.MILLIS_PER_DAY;
     }
 
     /**
      * @return The Range of all the Quarters that are contained in the Year
      */
     public Range<Quarter> quarters() {
-        return Range.create(Quarter.create(start()), Quarter.create(stop()));
+        return Range.create(Quarter.of(offsets(), index() * 4), Quarter.of(offsets(), index() * 4 + 3));
     }
 
     /**
      * @return The Range of all the Months that are contained in the year.
      */
     public Range<Month> months() {
-        return Range.create(Month.create(start()), Month.create(stop()));
+        return Range.create(Month.of(offsets(), index() * 12), Month.of(offsets(), index() * 12 + 11));
     }
 
     /**
      * @return The Range of all the Days that are contained in the Year.
      */
     public Range<Day> days() {
-        return Range.create(Day.create(start()), Day.create(stop()));
+        return Range.create(Day.of(offsets(), EpochDays.firstDayOf(index() * 12)),
+                Day.of(offsets(), EpochDays.firstDayOf(index() * 12 + 12) - 1));
+    }
+
+    //The shared instance of the Year with an index in the default time zone.
+    static Year of(long index) {
+        return of(ZoneOffsets.ofDefault(), index);
+    }
+
+    //The shared instance of the Year with an index in a time zone.
+    static Year of(ZoneOffsets offsets, long index) {
+        return CACHE.get(offsets, index);
     }
 
     /**
@@ -70,7 +92,76 @@ public final class Year extends SimplePeriod<Year> {
      * @return A new Year the represents the year of the given date.
      */
     public static Year create(Date date) {
-        return new Year(date);
+        return create(date.getTime(), ZoneOffsets.ofDefault());
+    }
+
+    /**
+     * @param instant An instant in the Year to be created.
+     * @return The Year the instant falls in in the default time zone.
+     */
+    public static Year create(Instant instant) {
+        return create(Date.from(instant));
+    }
+
+    /**
+     * @param date A date in the Year to be created.
+     * @return The Year the date falls in.
+     */
+    public static Year create(LocalDate date) {
+        return of(date.getYear() - 1970L);
+    }
+
+    /**
+     * @param yearMonth A month in the Year to be created.
+     * @return The Year the month falls in.
+     */
+    public static Year create(YearMonth yearMonth) {
+        return of(yearMonth.getYear() - 1970L);
+    }
+
+    /**
+     * @param date A date in the Year to be created.
+     * @param zone The time zone of the Year.
+     * @return The Year in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Year create(Date date, ZoneId zone) {
+        return create(date.getTime(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param instant An instant in the Year to be created.
+     * @param zone    The time zone of the Year.
+     * @return The Year in the given zone that the instant falls in.
+     * @throws NullPointerException If instant or zone is null.
+     */
+    public static Year create(Instant instant, ZoneId zone) {
+        return create(instant.toEpochMilli(), ZoneOffsets.of(zone));
+    }
+
+    /**
+     * @param date A date in the Year to be created.
+     * @param zone The time zone of the Year.
+     * @return The Year in the given zone that the date falls in.
+     * @throws NullPointerException If date or zone is null.
+     */
+    public static Year create(LocalDate date, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), date.getYear() - 1970L);
+    }
+
+    /**
+     * @param yearMonth A month in the Year to be created.
+     * @param zone      The time zone of the Year.
+     * @return The Year in the given zone that the month falls in.
+     * @throws NullPointerException If yearMonth or zone is null.
+     */
+    public static Year create(YearMonth yearMonth, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), yearMonth.getYear() - 1970L);
+    }
+
+    //The Year that an instant falls in in a time zone.
+    private static Year create(long millis, ZoneOffsets offsets) {
+        return of(offsets, EpochDays.yearOf(offsets.epochDay(millis)));
     }
 
     /**
@@ -81,11 +172,32 @@ public final class Year extends SimplePeriod<Year> {
      * @throws IllegalArgumentException If the string is not formatted properly.
      */
     public static Year valueOf(String iso8601FormattedString) {
-        try {
-            return create(getDateFormat().parse(iso8601FormattedString + "-"));
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("String not formatted properly");
-        }
+        return valueOf((CharSequence) iso8601FormattedString);
+    }
+
+    /**
+     * Gets the Year of an iso8601 formatted year without copying the text.  This format is
+     * <i>yyyy</i>
+     *
+     * @param iso8601FormattedText The text of the Year, which has to match the format exactly.
+     * @return The Year that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     */
+    public static Year valueOf(CharSequence iso8601FormattedText) {
+        return of(IsoFormat.parseYear(iso8601FormattedText));
+    }
+
+    /**
+     * Gets the Year of an iso8601 formatted year in a time zone.  This format is <i>yyyy</i>
+     *
+     * @param iso8601FormattedText The text of the Year, which has to match the format exactly.
+     * @param zone                 The time zone of the Year.
+     * @return The Year in the given zone that the given text describes.
+     * @throws IllegalArgumentException If the text is not formatted properly.
+     * @throws NullPointerException     If the text or zone is null.
+     */
+    public static Year valueOf(CharSequence iso8601FormattedText, ZoneId zone) {
+        return of(ZoneOffsets.of(zone), IsoFormat.parseYear(iso8601FormattedText));
     }
 
     /**
@@ -95,9 +207,5 @@ public final class Year extends SimplePeriod<Year> {
         return create(new Date());
     }
 
-    private static DateFormat getDateFormat() {
-        return new SimpleDateFormat("yyyy-");
-    }
-
 
 }
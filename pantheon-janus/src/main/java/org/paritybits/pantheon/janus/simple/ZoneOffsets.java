@@ -0,0 +1,290 @@
+package org.paritybits.pantheon.janus.simple;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The offsets from UTC of one time zone, with the conversions between instants and local times in it.  The
+ * changes of offset from 1900 to the end of the years cached by PeriodCache are found once and kept in an
+ * array, so finding the offset at an instant is a binary search.  Earlier and later instants ask the TimeZone
+ * of the zone.
+ * <p/>
+ * The offsets are those of java.util.TimeZone, which GregorianCalendar used for the periods before.  The
+ * transitions of the zone rules say where to look for changes, but the two differ around 1900, where the zone
+ * rules use local mean time and TimeZone does not, so a change of the TimeZone offset between two transitions
+ * is found by bisection.
+ * <p/>
+ * Bulk conversions look the offset up by the UTC day of the instant instead: a table of the offset at the start
+ * of each day of the years cached, the millisecond of the day it changes at and the offset after, about 1.3MB
+ * for a zone with changes, is built the first time a zone converts in bulk.  A zone with a fixed offset needs
+ * no table.
+ * <p/>
+ * There is one instance for each zone, so instances can be compared by identity.  The default time zone is
+ * used through its ZoneId and a change of the default time zone is picked up by the next call to ofDefault.
+ */
+final class ZoneOffsets {
+
+    private static final ConcurrentMap<ZoneId, ZoneOffsets> ZONES = new ConcurrentHashMap<ZoneId, ZoneOffsets>();
+    private static volatile DefaultZone defaultZone;
+
+    //No time zone is more than 18 hours from UTC, so every instant of a local time lies within this of it.
+    private static final long MAX_OFFSET = 18L * 60 * 60 * 1000;
+
+    //The table starts before the first instant of 1900 in any zone.
+    private static final long TABLE_START = EpochDays.firstDayOf(EpochDays.monthOf(1900, 1))
+            * EpochDays.MILLIS_PER_DAY - MAX_OFFSET;
+
+    //The first day of the bulk table, the first that starts after TABLE_START, and the entries for a day that
+    //has no change or more than one.
+    private static final long DAYS_START = Math.floorDiv(TABLE_START, EpochDays.MILLIS_PER_DAY) + 1;
+    private static final int NO_CHANGE = (int) EpochDays.MILLIS_PER_DAY;
+    private static final int CHANGES = -1;
+
+    private final ZoneId zone;
+    private final TimeZone timeZone;
+    private final boolean fixed;
+    private final int firstOffset;
+    private final long[] transitions;
+    private final int[] offsets;
+    private final long tableEnd;
+    private volatile int[] days;
+
+    //The default time zone and its offsets, replaced when the default time zone changes.
+    private static final class DefaultZone {
+        private final TimeZone timeZone;
+        private final ZoneOffsets offsets;
+
+        private DefaultZone(final TimeZone timeZone, final ZoneOffsets offsets) {
+            this.timeZone = timeZone;
+            this.offsets = offsets;
+        }
+    }
+
+    private ZoneOffsets(final ZoneId zone) {
+        this.zone = zone;
+        this.timeZone = TimeZone.getTimeZone(zone);
+        ZoneRules rules = zone.getRules();
+        this.fixed = rules.isFixedOffset();
+        this.tableEnd = EpochDays.firstDayOf(EpochDays.monthOf(PeriodCache.LAST_YEAR + 1L, 1))
+                * EpochDays.MILLIS_PER_DAY + MAX_OFFSET;
+        this.firstOffset = timeZone.getOffset(TABLE_START);
+        List<Long> changes = new ArrayList<Long>();
+        if (!rules.isFixedOffset()) {
+            long from = TABLE_START;
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(TABLE_START));
+            while (transition != null && transition.toEpochSecond() * 1000 < tableEnd) {
+                //Looking just before the transition as well finds a change that the transition undoes.
+                long at = transition.toEpochSecond() * 1000;
+                from = addChanges(addChanges(from, at - 1, changes), at, changes);
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            addChanges(from, tableEnd, changes);
+        }
+        this.transitions = new long[changes.size()];
+        this.offsets = new int[changes.size()];
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = changes.get(i);
+            offsets[i] = timeZone.getOffset(transitions[i]);
+        }
+    }
+
+    //Adds the instants from just after from up to to at which the offset changes and returns the last one, or
+    //from if there are none.
+    private long addChanges(final long from, final long to, final List<Long> changes) {
+        long last = from;
+        while (timeZone.getOffset(to) != timeZone.getOffset(last)) {
+            long low = last;
+            long high = to;
+            int offset = timeZone.getOffset(last);
+            if (timeZone.getOffset(to - 1) != offset) {
+                while (high - low > 1) {
+                    long middle = low + (high - low) / 2;
+                    if (timeZone.getOffset(middle) == offset) {
+                        low = middle;
+                    } else {
+                        high = middle;
+                    }
+                }
+            }
+            changes.add(high);
+            last = high;
+        }
+        return last;
+    }
+
+    /**
+     * @param zone A time zone.
+     * @return The offsets of the zone.
+     * @throws NullPointerException If zone is null.
+     */
+    static ZoneOffsets of(final ZoneId zone) {
+        if (zone == null) throw new NullPointerException("Zone cannot be null.");
+        ZoneOffsets offsets = ZONES.get(zone);
+        if (offsets == null) {
+            ZoneOffsets created = new ZoneOffsets(zone);
+            offsets = ZONES.putIfAbsent(zone, created);
+            if (offsets == null) offsets = created;
+        }
+        return offsets;
+    }
+
+    /**
+     * @return The offsets of the default time zone.
+     */
+    static ZoneOffsets ofDefault() {
+        TimeZone timeZone = TimeZone.getDefault();
+        DefaultZone current = defaultZone;
+        if (current == null || !current.timeZone.equals(timeZone)) {
+            current = new DefaultZone(timeZone, of(timeZone.toZoneId()));
+            defaultZone = current;
+        }
+        return current.offsets;
+    }
+
+    ZoneId zone() {
+        return zone;
+    }
+
+    //The offset from UTC in milliseconds at an instant.
+    int offsetAt(final long millis) {
+        if (millis < TABLE_START || millis >= tableEnd) return timeZone.getOffset(millis);
+        int low = 0;
+        int high = transitions.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (transitions[middle] <= millis) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high < 0 ? firstOffset : offsets[high];
+    }
+
+    //The local time at an instant, in milliseconds since the local epoch.
+    long localMillis(final long millis) {
+        return millis + offsetAt(millis);
+    }
+
+    //The day since 1970-01-01 that an instant falls on.
+    long epochDay(final long millis) {
+        return Math.floorDiv(localMillis(millis), EpochDays.MILLIS_PER_DAY);
+    }
+
+    //Converts count instants from millis, starting at from, to local times in local, starting at at.  The two
+    //can be the same array.  The loop has no calls for the instants in the bulk table and no search, a branch
+    //that is nearly always taken the same way and a conditional move for the change of offset within a day.
+    void localMillis(final long[] millis, final int from, final long[] local, final int at, final int count) {
+        if (fixed) {
+            long offset = firstOffset;
+            for (int i = 0; i < count; i++) {
+                local[at + i] = millis[from + i] + offset;
+            }
+            return;
+        }
+        int[] table = dayTable();
+        long tableDays = table.length / 3;
+        for (int i = 0; i < count; i++) {
+            long instant = millis[from + i];
+            long day = EpochDays.floorDiv(instant, EpochDays.MILLIS_PER_DAY);
+            long slot = day - DAYS_START;
+            int offset;
+            if (slot >= 0 && slot < tableDays && table[3 * (int) slot + 1] != CHANGES) {
+                int entry = 3 * (int) slot;
+                offset = instant - day * EpochDays.MILLIS_PER_DAY < table[entry + 1] ? table[entry] : table[entry + 2];
+            } else {
+                offset = offsetAt(instant);
+            }
+            local[at + i] = instant + offset;
+        }
+    }
+
+    //Three ints for each UTC day from DAYS_START to the end of the table: the offset at the start of the day, the
+    //millisecond of the day it changes at, or NO_CHANGE, and the offset after the change.  A day with more than
+    //one change has CHANGES and is left to offsetAt.  Two threads may both build it, to the same effect.
+    private int[] dayTable() {
+        int[] table = days;
+        if (table == null) {
+            int count = (int) (Math.floorDiv(tableEnd, EpochDays.MILLIS_PER_DAY) - DAYS_START);
+            table = new int[3 * count];
+            int next = 0;
+            for (int slot = 0; slot < count; slot++) {
+                long start = (DAYS_START + slot) * EpochDays.MILLIS_PER_DAY;
+                long end = start + EpochDays.MILLIS_PER_DAY;
+                while (next < transitions.length && transitions[next] <= start) next++;
+                int changes = 0;
+                while (next + changes < transitions.length && transitions[next + changes] < end) changes++;
+                int before = offsetAt(start);
+                table[3 * slot] = before;
+                if (changes == 0) {
+                    table[3 * slot + 1] = NO_CHANGE;
+                    table[3 * slot + 2] = before;
+                } else if (changes == 1) {
+                    table[3 * slot + 1] = (int) (transitions[next] - start);
+                    table[3 * slot + 2] = offsets[next];
+                } else {
+                    table[3 * slot + 1] = CHANGES;
+                }
+            }
+            days = table;
+        }
+        return table;
+    }
+
+    //The instant of a local time.  A local time skipped by a change of offset is taken in the offset before
+    //the change and one that happens twice in the offset after it, the way GregorianCalendar resolves them.
+    long utcMillis(final long localMillis) {
+        int before = offsetAt(localMillis - MAX_OFFSET);
+        int after = offsetAt(localMillis + MAX_OFFSET);
+        if (before == after || offsetAt(localMillis - after) == after) return localMillis - after;
+        return localMillis - before;
+    }
+
+    //The first instant whose local time is at or after a local time: the first of the two instants of a local
+    //time that happens twice, and the instant of the change for one that a change skips.
+    long firstInstantFrom(final long localMillis) {
+        int before = offsetAt(localMillis - MAX_OFFSET);
+        int after = offsetAt(localMillis + MAX_OFFSET);
+        if (before == after || offsetAt(localMillis - before) == before) return localMillis - before;
+        if (offsetAt(localMillis - after) == after) return localMillis - after;
+        return changeAfter(localMillis - after, localMillis - before);
+    }
+
+    //The last instant whose local time is before a local time, so the last instant of the local times before it
+    //however often they happen.  This is the instant before firstInstantFrom, except after a change back.
+    long lastInstantBefore(final long localMillis) {
+        int before = offsetAt(localMillis - MAX_OFFSET);
+        int after = offsetAt(localMillis + MAX_OFFSET);
+        if (before == after || offsetAt(localMillis - after - 1) == after) return localMillis - after - 1;
+        if (offsetAt(localMillis - before - 1) == before) return localMillis - before - 1;
+        return changeAfter(localMillis - after - 1, localMillis - before - 1) - 1;
+    }
+
+    //The first instant after low, up to high, at which the offset is not the one at low.
+    private long changeAfter(final long low, final long high) {
+        int offset = offsetAt(low);
+        long from = low;
+        long to = high;
+        while (to - from > 1) {
+            long middle = from + (to - from) / 2;
+            if (offsetAt(middle) == offset) {
+                from = middle;
+            } else {
+                to = middle;
+            }
+        }
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return zone.getId();
+    }
+}
@@ -0,0 +1,53 @@
+package org.paritybits.pantheon.janus;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class PeriodTest {
+
+    //A period written against the interface before it had the millisecond accessors.
+    private static final class TenSeconds implements Period<TenSeconds> {
+        private final long start;
+
+        private TenSeconds(final long start) {
+            this.start = start;
+        }
+
+        public Date start() {
+            return new Date(start);
+        }
+
+        public Date stop() {
+            return new Date(start + 9999);
+        }
+
+        public TenSeconds prior() {
+            return new TenSeconds(start - 10000);
+        }
+
+        public TenSeconds next() {
+            return new TenSeconds(start + 10000);
+        }
+
+        public int compareTo(final TenSeconds other) {
+            return Long.compare(start, other.start);
+        }
+    }
+
+    @Test
+    public void defaultsFollowStartAndStop() {
+        TenSeconds period = new TenSeconds(20000);
+        assertEquals(20000, period.startMillis());
+        assertEquals(29999, period.stopMillis());
+        assertEquals(Instant.ofEpochMilli(20000), period.startInstant());
+        assertEquals(Instant.ofEpochMilli(29999), period.stopInstant());
+        assertTrue(period.contains(20000));
+        assertTrue(period.contains(29999));
+        assertFalse(period.contains(19999));
+        assertFalse(period.contains(30000));
+    }
+}
@@ -0,0 +1,54 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AggregatorTest {
+
+    private static final int[] SLOTS = {0, 1, 0, 2, 0};
+    private static final double[] VALUES = {9, 4, -2, 7, 3.5, 8};
+
+    @Test
+    public void builtIns() {
+        assertTotals(Aggregator.SUM, 19, -2, 3.5);
+        assertTotals(Aggregator.COUNT, 3, 1, 1);
+        assertTotals(Aggregator.MIN, 4, -2, 3.5);
+        assertTotals(Aggregator.MAX, 8, -2, 3.5);
+        assertEquals(5, Aggregator.SUM.merge(2, 3), 0);
+        assertEquals(5, Aggregator.COUNT.merge(2, 3), 0);
+        assertEquals(2, Aggregator.MIN.merge(2, 3), 0);
+        assertEquals(3, Aggregator.MAX.merge(2, 3), 0);
+        assertTrue(Double.isNaN(Aggregator.MAX.add(1, Double.NaN)));
+        assertEquals("MIN", Aggregator.MIN.toString());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullName() {
+        new Aggregator(null) {
+            public double identity() {
+                return 0;
+            }
+
+            public double add(final double total, final double value) {
+                return 0;
+            }
+
+            public double merge(final double total, final double other) {
+                return 0;
+            }
+        };
+    }
+
+    //The totals of the slots from the values from 1 on, both with accumulate and with add one at a time.
+    private static void assertTotals(final Aggregator aggregator, final double... expected) {
+        double[] totals = {aggregator.identity(), aggregator.identity(), aggregator.identity()};
+        aggregator.accumulate(SLOTS, VALUES, 1, SLOTS.length, totals);
+        assertArrayEquals(expected, totals, 0);
+        double[] added = {aggregator.identity(), aggregator.identity(), aggregator.identity()};
+        for (int i = 0; i < SLOTS.length; i++) {
+            added[SLOTS[i]] = aggregator.add(added[SLOTS[i]], VALUES[1 + i]);
+        }
+        assertArrayEquals(expected, added, 0);
+    }
+}
@@ -0,0 +1,74 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.AllocationMeter.Operation;
+import org.paritybits.pantheon.common.Range;
+
+import java.util.Iterator;
+
+import static org.paritybits.pantheon.common.AllocationMeter.assertWithinBudget;
+
+/**
+ * Allocation budgets for the hot paths of the simple periods.  A budget is the most bytes a single call may
+ * allocate on a warmed up HotSpot JVM, set a little above what the code allocates today.  Lower a budget
+ * when the path gets cheaper.
+ */
+public class AllocationBudgetTest {
+
+    //Budgets in bytes per call.
+    private static final long DAY_NEXT = 160;
+    private static final long MONTH_NEXT = 160;
+    private static final long DAY_RANGE_ITERATOR_NEXT = 400;
+    private static final long PARSE_DAY = 0;
+    private static final long HOUR_CREATE = 128;
+
+    @Test
+    public void dayNext() {
+        final Day day = Day.valueOf("2010-06-15");
+        assertWithinBudget("Day.next()", DAY_NEXT, new Operation() {
+            public Object run() {
+                return day.next();
+            }
+        });
+    }
+
+    @Test
+    public void monthNext() {
+        final Month month = Month.valueOf("2010-06");
+        assertWithinBudget("Month.next()", MONTH_NEXT, new Operation() {
+            public Object run() {
+                return month.next();
+            }
+        });
+    }
+
+    @Test
+    public void dayRangeIteratorNext() {
+        final Iterator<Day> iterator = Range.create(Day.valueOf("1900-01-01"), Day.valueOf("2900-01-01")).iterator();
+        assertWithinBudget("Range<Day>.iterator().next()", DAY_RANGE_ITERATOR_NEXT, new Operation() {
+            public Object run() {
+                return iterator.next();
+            }
+        });
+    }
+
+    @Test
+    public void parseDay() {
+        final StringBuilder text = new StringBuilder("2010-06-15");
+        assertWithinBudget("IsoFormat.parseDay(CharSequence)", PARSE_DAY, new Operation() {
+            public Object run() {
+                return IsoFormat.parseDay(text) == 14775 ? Boolean.TRUE : Boolean.FALSE;
+            }
+        });
+    }
+
+    @Test
+    public void hourCreate() {
+        final long millis = Day.valueOf("2010-06-15").startMillis();
+        assertWithinBudget("Hour.create(long)", HOUR_CREATE, new Operation() {
+            public Object run() {
+                return Hour.create(millis);
+            }
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.janus.Period;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class BucketizerTest {
+
+    private static final String[] ZONES = {"America/New_York", "Australia/Lord_Howe", "Asia/Kolkata", "UTC"};
+
+    //From 1850 to 2300, past the ends of the tables.
+    private static final long FIRST = -3786825600000L;
+    private static final long LAST = 10413792000000L;
+
+    @Test
+    public void matchesTheFactories() {
+        long[] millis = instants(20000);
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            for (Class<?> type : new Class<?>[]{Day.class, Week.class, Month.class, Quarter.class, Year.class,
+                    Hour.class, Minute.class}) {
+                Bucketizer<?> bucketizer = bucketizer(type, zone);
+                int[] indices = bucketizer.bucketize(millis);
+                for (int i = 0; i < millis.length; i++) {
+                    Period expected = create(type, Instant.ofEpochMilli(millis[i]), zone);
+                    if (!expected.equals(bucketizer.period(indices[i]))) {
+                        fail(type.getSimpleName() + " in " + id + " at " + millis[i] + " was "
+                                + bucketizer.period(indices[i]) + " not " + expected);
+                    }
+                    assertEquals(((SimplePeriod) expected).index(), indices[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ranges() {
+        Bucketizer<Day> days = Bucketizer.create(Day.class, ZoneId.of("Europe/London"));
+        long[] millis = instants(5000);
+        int[] expected = days.bucketize(millis);
+        int[] indices = new int[5010];
+        Arrays.fill(indices, -1);
+        days.bucketize(millis, 100, indices, 10, 4900);
+        assertEquals(-1, indices[9]);
+        assertArrayEquals(Arrays.copyOfRange(expected, 100, 5000), Arrays.copyOfRange(indices, 10, 4910));
+        assertEquals(-1, indices[4910]);
+        days.bucketize(millis, 0, indices, 0, 0);
+        assertEquals(-1, indices[0]);
+    }
+
+    @Test
+    public void buffers() {
+        Bucketizer<Month> months = Bucketizer.create(Month.class, ZoneId.of("America/Sao_Paulo"));
+        long[] millis = instants(3000);
+        LongBuffer direct = ByteBuffer.allocateDirect(8 * millis.length).asLongBuffer();
+        direct.put(millis).flip();
+        direct.position(5);
+        int[] indices = new int[millis.length];
+        assertEquals(millis.length - 5, months.bucketize(direct, indices, 0));
+        assertEquals(millis.length, direct.position());
+        assertArrayEquals(Arrays.copyOfRange(months.bucketize(millis), 5, millis.length),
+                Arrays.copyOf(indices, millis.length - 5));
+        assertEquals(0, months.bucketize(direct, indices, indices.length));
+    }
+
+    @Test
+    public void parallel() {
+        Bucketizer<Week> weeks = Bucketizer.create(Week.class, ZoneId.of("Europe/Berlin"));
+        long[] millis = instants(1000000);
+        assertArrayEquals(weeks.bucketize(millis), weeks.parallelBucketize(millis));
+        int[] indices = new int[10];
+        weeks.parallelBucketize(millis, 999990, indices, 0, 10);
+        assertArrayEquals(Arrays.copyOfRange(weeks.bucketize(millis), 999990, 1000000), indices);
+    }
+
+    @Test
+    public void defaultZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            Bucketizer<Day> days = Bucketizer.create(Day.class);
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+            assertEquals(ZoneId.of("Asia/Tokyo"), days.zone());
+            assertEquals(Day.class, days.type());
+            //2015-06-30T20:00Z is July 1st in Tokyo.
+            assertEquals(Day.valueOf("2015-07-01", ZoneId.of("Asia/Tokyo")),
+                    days.period(days.bucketize(new long[]{1435694400000L})[0]));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedType() {
+        Bucketizer.create(SecondBucket.class);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullType() {
+        Bucketizer.create(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfRange() {
+        Bucketizer.create(Day.class).bucketize(new long[10], 5, new int[10], 0, 6);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void noRoom() {
+        Bucketizer.create(Day.class).bucketize(LongBuffer.allocate(10), new int[10], 1);
+    }
+
+    //Random instants across the years tested, with every hour of 2010 around its changes of offset.
+    private static long[] instants(final int count) {
+        Random random = new Random(17);
+        long[] millis = new long[count];
+        for (int i = 0; i < count; i++) {
+            millis[i] = i % 2 == 0 ? FIRST + (long) (random.nextDouble() * (LAST - FIRST))
+                    : 1262304000000L + (i / 2 % 8760) * Hour.MILLIS_PER_HOUR - 1 + random.nextInt(3);
+        }
+        return millis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bucketizer<?> bucketizer(final Class<?> type, final ZoneId zone) {
+        return Bucketizer.create((Class) type, zone);
+    }
+
+    private static Period create(final Class<?> type, final Instant instant, final ZoneId zone) {
+        if (type == Day.class) return Day.create(instant, zone);
+        if (type == Week.class) return Week.create(instant, zone);
+        if (type == Month.class) return Month.create(instant, zone);
+        if (type == Quarter.class) return Quarter.create(instant, zone);
+        if (type == Year.class) return Year.create(instant, zone);
+        if (type == Hour.class) return Hour.create(instant, zone);
+        return Minute.create(instant, zone);
+    }
+}
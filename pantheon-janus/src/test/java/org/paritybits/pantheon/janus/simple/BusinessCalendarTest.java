@@ -0,0 +1,224 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BusinessCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    //Christmas 2014 was a Thursday and Boxing Day a Friday.
+    private static final BusinessCalendar LONDON = BusinessCalendar.create(WEEKEND,
+            Arrays.asList(Day.valueOf("2014-12-25"), Day.valueOf("2014-12-26"), Day.valueOf("2015-01-01")));
+
+    @Test
+    public void businessDays() throws Exception {
+        assertTrue(LONDON.isBusinessDay(Day.valueOf("2014-12-24")));
+        assertFalse(LONDON.isBusinessDay(Day.valueOf("2014-12-25")));
+        assertFalse(LONDON.isBusinessDay(Day.valueOf("2014-12-27")));
+        assertTrue(LONDON.isBusinessDay(Day.valueOf("2014-12-29")));
+        assertTrue(BusinessCalendar.weekends().isBusinessDay(Day.valueOf("2014-12-25")));
+    }
+
+    @Test
+    public void addBusinessDays() throws Exception {
+        Day christmasEve = Day.valueOf("2014-12-24");
+        assertEquals(Day.valueOf("2014-12-29"), LONDON.addBusinessDays(christmasEve, 1));
+        assertEquals(Day.valueOf("2014-12-30"), LONDON.addBusinessDays(christmasEve, 2));
+        assertEquals(Day.valueOf("2015-01-02"), LONDON.addBusinessDays(christmasEve, 4));
+        assertEquals(christmasEve, LONDON.addBusinessDays(christmasEve, 0));
+        assertEquals(Day.valueOf("2014-12-23"), LONDON.addBusinessDays(christmasEve, -1));
+
+        //From a holiday no business days are skipped.
+        Day christmas = Day.valueOf("2014-12-25");
+        assertEquals(Day.valueOf("2014-12-29"), LONDON.addBusinessDays(christmas, 0));
+        assertEquals(Day.valueOf("2014-12-29"), LONDON.nextBusinessDay(christmas));
+        assertEquals(Day.valueOf("2014-12-30"), LONDON.addBusinessDays(christmas, 2));
+        assertEquals(christmasEve, LONDON.priorBusinessDay(christmas));
+        assertEquals(christmasEve, LONDON.addBusinessDays(Day.valueOf("2014-12-29"), -1));
+    }
+
+    @Test
+    public void businessDaysBetween() throws Exception {
+        Day christmasEve = Day.valueOf("2014-12-24");
+        Day newYearsDay = Day.valueOf("2015-01-01");
+        assertEquals(4, LONDON.businessDaysBetween(christmasEve, newYearsDay));
+        assertEquals(-4, LONDON.businessDaysBetween(newYearsDay, christmasEve));
+        assertEquals(0, LONDON.businessDaysBetween(christmasEve, christmasEve));
+        assertEquals(261, BusinessCalendar.weekends().businessDaysBetween(Day.valueOf("2014-01-01"),
+                Day.valueOf("2015-01-01")));
+    }
+
+    @Test
+    public void matchesWalkingTheDays() throws Exception {
+        Random random = new Random(42);
+        List<Day> holidays = new ArrayList<Day>();
+        Set<Long> holidayIndices = new HashSet<Long>();
+        Day first = Day.valueOf("2000-01-01");
+        for (int i = 0; i < 400; i++) {
+            Day holiday = first.roll(random.nextInt(3000));
+            holidays.add(holiday);
+            holidayIndices.add(holiday.index());
+        }
+        //A long run of holidays makes the select walk over whole words.
+        for (int i = 0; i < 200; i++) {
+            holidays.add(first.roll(1000 + i));
+            holidayIndices.add(first.roll(1000 + i).index());
+        }
+        BusinessCalendar calendar = BusinessCalendar.create(first, first.roll(3100), WEEKEND, holidays);
+        for (int i = 0; i < 2000; i++) {
+            Day day = first.roll(100 + random.nextInt(2800));
+            int amount = random.nextInt(61) - 30;
+            Day expected = day;
+            int remaining = Math.abs(amount);
+            if (amount == 0) {
+                while (!isBusinessDay(expected, holidayIndices)) expected = expected.next();
+            }
+            while (remaining > 0) {
+                expected = amount > 0 ? expected.next() : expected.prior();
+                if (isBusinessDay(expected, holidayIndices)) remaining--;
+            }
+            assertEquals(isBusinessDay(day, holidayIndices), calendar.isBusinessDay(day));
+            assertEquals(day + " + " + amount, expected, calendar.addBusinessDays(day, amount));
+
+            Day other = first.roll(100 + random.nextInt(2800));
+            long count = 0;
+            for (Day d = day; d.compareTo(other) < 0; d = d.next()) {
+                if (isBusinessDay(d, holidayIndices)) count++;
+            }
+            for (Day d = other; d.compareTo(day) < 0; d = d.next()) {
+                if (isBusinessDay(d, holidayIndices)) count--;
+            }
+            assertEquals(count, calendar.businessDaysBetween(day, other));
+        }
+    }
+
+    private static boolean isBusinessDay(final Day day, final Set<Long> holidays) {
+        long dayOfWeek = Math.floorMod(day.index() + 3, 7L);
+        return dayOfWeek < 5 && !holidays.contains(day.index());
+    }
+
+    @Test
+    public void rangeRule() throws Exception {
+        Range<Day> range = Range.create(Day.valueOf("2014-12-22"), Day.valueOf("2015-01-04"), LONDON.rangeRule());
+        List<Day> expected = Arrays.asList(Day.valueOf("2014-12-22"), Day.valueOf("2014-12-23"),
+                Day.valueOf("2014-12-24"), Day.valueOf("2014-12-29"), Day.valueOf("2014-12-30"),
+                Day.valueOf("2014-12-31"), Day.valueOf("2015-01-02"));
+        assertEquals(expected, range.asList());
+        assertEquals(expected.size(), range.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), range.get(i));
+            assertEquals(i, range.indexOf(expected.get(i)));
+        }
+        assertEquals(-1, range.indexOf(Day.valueOf("2014-12-25")));
+
+        //The reverse range starts on the Sunday it ends on.
+        Range<Day> reverse = range.reverse();
+        assertEquals(expected.size() + 1, reverse.size());
+        assertEquals(reverse.size(), reverse.asList().size());
+        assertEquals(Day.valueOf("2015-01-02"), reverse.get(1));
+        assertEquals(Day.valueOf("2014-12-29"), Range.stepsFrom(Day.valueOf("2014-12-24"), 1, LONDON.rangeRule()));
+        assertEquals(LONDON.rangeRule(), LONDON.rangeRule());
+    }
+
+    @Test
+    public void unionAndIntersection() throws Exception {
+        BusinessCalendar newYork = BusinessCalendar.create(WEEKEND,
+                Arrays.asList(Day.valueOf("2014-12-25"), Day.valueOf("2015-01-01"), Day.valueOf("2015-01-19")));
+        BusinessCalendar both = LONDON.union(newYork);
+        BusinessCalendar either = LONDON.intersection(newYork);
+        assertFalse(both.isBusinessDay(Day.valueOf("2014-12-26")));
+        assertFalse(both.isBusinessDay(Day.valueOf("2015-01-19")));
+        assertTrue(either.isBusinessDay(Day.valueOf("2014-12-26")));
+        assertTrue(either.isBusinessDay(Day.valueOf("2015-01-19")));
+        assertFalse(either.isBusinessDay(Day.valueOf("2014-12-25")));
+        assertEquals(LONDON, LONDON.union(LONDON));
+
+        //Spans that do not start on the same word are lined up.
+        Day first = Day.valueOf("2014-12-01");
+        BusinessCalendar shorter = BusinessCalendar.create(Day.valueOf("2014-12-03"), Day.valueOf("2015-03-01"),
+                WEEKEND, Arrays.asList(Day.valueOf("2015-02-16")));
+        BusinessCalendar combined = LONDON.union(shorter);
+        for (Day day = Day.valueOf("2014-12-03"); day.compareTo(Day.valueOf("2015-03-01")) <= 0; day = day.next()) {
+            assertEquals(day.toString(), LONDON.isBusinessDay(day) && shorter.isBusinessDay(day),
+                    combined.isBusinessDay(day));
+        }
+        try {
+            combined.isBusinessDay(first);
+            fail("The day is outside the calendar.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    @Test
+    public void load() throws Exception {
+        BusinessCalendar calendar = BusinessCalendar.load(new StringReader(
+                "# Christmas\n2014-12-25\n\n2014-12-26   # Boxing Day\n2015-01-01\n"));
+        assertEquals(LONDON, calendar);
+
+        File file = File.createTempFile("calendar", ".txt");
+        file.deleteOnExit();
+        Writer writer = new FileWriter(file);
+        writer.write("weekend FRIDAY SATURDAY\n2014-12-25\n");
+        writer.close();
+        BusinessCalendar gulf = BusinessCalendar.load(file);
+        assertTrue(gulf.isBusinessDay(Day.valueOf("2014-12-28")));
+        assertFalse(gulf.isBusinessDay(Day.valueOf("2014-12-26")));
+        assertFalse(gulf.isBusinessDay(Day.valueOf("2014-12-25")));
+
+        try {
+            BusinessCalendar.load(new StringReader("2014-12-25\nChristmas\n"));
+            fail("The second line is not a date.");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Line 2"));
+        }
+    }
+
+    @Test
+    public void zones() throws Exception {
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        Day christmasEve = Day.valueOf("2014-12-24", tokyo);
+        Day settlement = LONDON.addBusinessDays(christmasEve, 2);
+        assertEquals(Day.valueOf("2014-12-30", tokyo), settlement);
+        assertEquals(tokyo, settlement.zone());
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(data);
+        out.writeObject(LONDON);
+        out.writeObject(LONDON.rangeRule());
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data.toByteArray()));
+        assertEquals(LONDON, in.readObject());
+        assertEquals(LONDON.rangeRule(), in.readObject());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outsideTheCalendar() throws Exception {
+        LONDON.isBusinessDay(Day.valueOf("2201-01-01"));
+    }
+}
@@ -2,8 +2,21 @@ package org.paritybits.pantheon.janus.simple;
 
 import org.junit.Test;
 import org.paritybits.pantheon.common.CommonUtil;
-
+import org.paritybits.pantheon.common.DistanceRangeRule;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.common.jfr.RecordedRangeRule;
+import org.paritybits.pantheon.common.metrics.HistogramSnapshot;
+import org.paritybits.pantheon.common.metrics.InstrumentedRangeRule;
+import org.paritybits.pantheon.common.metrics.SimpleMetricsRegistry;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.TimeZone;
 
 import static org.junit.Assert.*;
 import static org.paritybits.pantheon.janus.simple.SimplePeriodTest.*;
@@ -94,8 +107,65 @@ public class DayTest {
         assertEquals(Day.create(new Date()), Day.today());
     }
 
+    @Test
+    public void javaTime() throws Exception {
+        Day day = Day.valueOf("2006-08-15");
+        assertEquals(LocalDate.of(2006, 8, 15), day.toLocalDate());
+        assertEquals(day, Day.create(LocalDate.of(2006, 8, 15)));
+        assertEquals(day, Day.create(dateFormat.parse("08/15/2006").toInstant()));
+        assertEquals(day.start().toInstant(), day.startInstant());
+        assertEquals(day.stop().toInstant(), day.stopInstant());
+        assertEquals(LocalDate.of(2006, 8, 15), day.startDate());
+        assertEquals(LocalDate.of(2006, 8, 15), day.stopDate());
+        assertEquals(Day.valueOf("1969-12-31"), Day.create(LocalDate.of(1969, 12, 31)));
+    }
+
+    @Test
+    public void timeZones() throws Exception {
+        ZoneId london = ZoneId.of("Europe/London");
+        ZoneId newYork = ZoneId.of("America/New_York");
+        Day inLondon = Day.create(LocalDate.of(2010, 6, 15), london);
+        Day inNewYork = Day.valueOf("2010-06-15", newYork);
+        assertEquals("2010-06-15", inLondon.toString());
+        assertEquals(london, inLondon.zone());
+        assertFalse(inLondon.equals(inNewYork));
+        assertEquals(5 * 60 * 60 * 1000, inNewYork.startMillis() - inLondon.startMillis());
+        assertEquals(inNewYork, inLondon.withZone(newYork));
+        assertEquals(inNewYork, Day.create(inNewYork.startInstant(), newYork));
+        assertEquals(inLondon, Day.create(inNewYork.start(), london));
+        assertEquals(london, inLondon.next().zone());
+        assertEquals(london, inLondon.rollMonths(3).zone());
+        assertEquals(london, inLondon.month().zone());
+        assertEquals(Month.valueOf("2010-06", london), inLondon.month());
+        assertEquals(london, inLondon.month().days().from().zone());
+        assertEquals(Day.valueOf("2010-06-15"), inLondon.withZone(TimeZone.getDefault().toZoneId()));
+        testSerialization(inLondon);
+    }
+
     @Test
     public void isImmutable() {
         assertTrue(CommonUtil.isImmutable(Day.today()));
     }
+
+    @Test
+    public void instrumentedRangesStayConstantTime() {
+        Day from = Day.valueOf("1900-01-01", ZoneId.of("UTC"));
+        Day to = Day.valueOf("2099-12-31", ZoneId.of("UTC"));
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        //A calendar with no weekend and no holidays steps over every day.
+        DistanceRangeRule<Day> everyDay = BusinessCalendar.create(EnumSet.noneOf(DayOfWeek.class),
+                Collections.<Day>emptyList()).rangeRule();
+        DistanceRangeRule<Day> instrumented = InstrumentedRangeRule.instrument(everyDay, "days", registry);
+        Range<Day> days = Range.create(from, to, RecordedRangeRule.record(instrumented));
+        assertTrue(days.rangeRule() instanceof DistanceRangeRule);
+        assertEquals(73049, days.size());
+        assertEquals(Day.valueOf("1902-09-28", ZoneId.of("UTC")), days.get(1000));
+        assertEquals(1000, days.indexOf(Day.valueOf("1902-09-28", ZoneId.of("UTC"))));
+        //Sizing, indexing and finding an item took no steps through the days.
+        Map<String, HistogramSnapshot> timers = registry.timerSnapshot();
+        assertEquals(0, timers.get("days.next").count());
+        assertEquals(0, timers.get("days.prior").count());
+        assertTrue(timers.get("days.distance").count() > 0);
+        assertTrue(timers.get("days.stepsFrom").count() > 0);
+    }
 }
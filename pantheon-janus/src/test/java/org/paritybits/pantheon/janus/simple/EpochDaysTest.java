@@ -0,0 +1,69 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EpochDaysTest {
+
+    @Test
+    public void months() {
+        assertEquals(0, EpochDays.monthOf(0));
+        assertEquals(0, EpochDays.monthOf(30));
+        assertEquals(1, EpochDays.monthOf(31));
+        assertEquals(-1, EpochDays.monthOf(-1));
+        assertEquals(0, EpochDays.firstDayOf(0));
+        assertEquals(31, EpochDays.firstDayOf(1));
+        assertEquals(-31, EpochDays.firstDayOf(-1));
+        //2000-03-01 follows a leap day, 2100-03-01 does not.
+        assertEquals(11017, EpochDays.firstDayOf(30 * 12 + 2));
+        assertEquals(11016, EpochDays.firstDayOf(30 * 12 + 2) - 1);
+        assertEquals(47541 - 28, EpochDays.firstDayOf(130 * 12 + 1));
+        assertEquals(47541, EpochDays.firstDayOf(130 * 12 + 2));
+        //0000-01-01, proleptic.
+        assertEquals(-719528, EpochDays.firstDayOf(-1970 * 12));
+    }
+
+    @Test
+    public void monthOfInvertsFirstDayOf() {
+        for (long month = -30000; month < 30000; month++) {
+            long first = EpochDays.firstDayOf(month);
+            assertEquals(month, EpochDays.monthOf(first));
+            assertEquals(month - 1, EpochDays.monthOf(first - 1));
+        }
+    }
+
+    @Test
+    public void tableMatchesTheAlgorithm() {
+        long first = EpochDays.firstDayOf(EpochDays.monthOf(PeriodCache.FIRST_YEAR, 1)) - 400;
+        long last = EpochDays.firstDayOf(EpochDays.monthOf(PeriodCache.LAST_YEAR + 1L, 1)) + 400;
+        for (long day = first; day <= last; day++) {
+            long month = EpochDays.computeMonthOf(day);
+            assertEquals(month, EpochDays.monthOf(day));
+            assertEquals(Math.floorDiv(month, 3), EpochDays.quarterOf(day));
+            assertEquals(Math.floorDiv(month, 12), EpochDays.yearOf(day));
+        }
+    }
+
+    @Test
+    public void floorDiv() {
+        for (long x = -100; x <= 100; x++) {
+            assertEquals(Math.floorDiv(x, 7), EpochDays.floorDiv(x, 7));
+            assertEquals(Math.floorDiv(x, 1), EpochDays.floorDiv(x, 1));
+        }
+        assertEquals(-1, EpochDays.floorDiv(-1, EpochDays.MILLIS_PER_DAY));
+        assertEquals(Math.floorDiv(-3786825600001L, EpochDays.MILLIS_PER_DAY),
+                EpochDays.floorDiv(-3786825600001L, EpochDays.MILLIS_PER_DAY));
+    }
+
+    @Test
+    public void plusMonths() {
+        long october31 = EpochDays.firstDayOf(36 * 12 + 9) + 30;
+        assertEquals(EpochDays.firstDayOf(36 * 12 + 10) + 29, EpochDays.plusMonths(october31, 1));
+        assertEquals(EpochDays.firstDayOf(36 * 12 + 8) + 29, EpochDays.plusMonths(october31, -1));
+        long leapDay = EpochDays.firstDayOf(34 * 12 + 1) + 28;
+        assertEquals(EpochDays.firstDayOf(35 * 12 + 1) + 27, EpochDays.plusMonths(leapDay, 12));
+        assertEquals(EpochDays.firstDayOf(38 * 12 + 1) + 28, EpochDays.plusMonths(leapDay, 48));
+        assertEquals(leapDay, EpochDays.plusMonths(leapDay, 0));
+    }
+}
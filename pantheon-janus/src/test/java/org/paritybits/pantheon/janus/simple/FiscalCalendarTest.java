@@ -0,0 +1,118 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.paritybits.pantheon.janus.simple.FiscalCalendar.WeekPattern.*;
+
+public class FiscalCalendarTest {
+
+    private static final FiscalCalendar OCTOBER = FiscalCalendar.startingIn(java.time.Month.OCTOBER);
+    private static final FiscalCalendar RETAIL = FiscalCalendar.endingNearest(DayOfWeek.SATURDAY,
+            java.time.Month.JANUARY, FOUR_FIVE_FOUR);
+
+    @Test
+    public void startingInAMonth() throws Exception {
+        FiscalYear fy2015 = OCTOBER.yearOf(Day.valueOf("2014-12-15"));
+        assertEquals("FY2015", fy2015.toString());
+        assertEquals(Day.valueOf("2014-10-01"), fy2015.firstDay());
+        assertEquals(Day.valueOf("2015-09-30"), fy2015.lastDay());
+        assertEquals(fy2015, OCTOBER.year(2015));
+        assertEquals(2015, fy2015.fiscalYear());
+
+        assertEquals("FY2015-Q1", OCTOBER.quarterOf(Day.valueOf("2014-12-31")).toString());
+        assertEquals("FY2015-Q2", OCTOBER.quarterOf(Day.valueOf("2015-01-01")).toString());
+        assertEquals("FY2015-M03", OCTOBER.monthOf(Month.valueOf("2014-12")).toString());
+        assertEquals(Month.valueOf("2014-12"), OCTOBER.month(2015, 3).asCalendarMonths().from());
+        assertEquals(Day.create(Day.valueOf("2015-01-01").start()).start(), OCTOBER.quarter(2015, 2).start());
+    }
+
+    @Test
+    public void januaryIsTheCalendarYear() throws Exception {
+        FiscalCalendar calendar = FiscalCalendar.startingIn(java.time.Month.JANUARY);
+        for (Month month = Month.valueOf("1999-01"); month.compareTo(Month.valueOf("2002-01")) < 0;
+             month = month.next()) {
+            FiscalMonth fiscalMonth = calendar.monthOf(month);
+            assertEquals(month.startMillis(), fiscalMonth.startMillis());
+            assertEquals(month.stopMillis(), fiscalMonth.stopMillis());
+            assertEquals(month.quarter().startMillis(), fiscalMonth.quarter().startMillis());
+            assertEquals(month.year().stopMillis(), fiscalMonth.year().stopMillis());
+        }
+    }
+
+    @Test
+    public void retailYears() throws Exception {
+        //The NRF 4-5-4 calendar, whose year ends on the Saturday nearest the end of January.
+        FiscalYear fy2015 = RETAIL.yearOf(Day.valueOf("2014-06-01"));
+        assertEquals("FY2015", fy2015.toString());
+        assertEquals(Day.valueOf("2014-02-02"), fy2015.firstDay());
+        assertEquals(Day.valueOf("2015-01-31"), fy2015.lastDay());
+        assertEquals(364, fy2015.asDays().size());
+
+        FiscalYear fy2018 = RETAIL.year(2018);
+        assertEquals(Day.valueOf("2017-01-29"), fy2018.firstDay());
+        assertEquals(Day.valueOf("2018-02-03"), fy2018.lastDay());
+        assertEquals(371, fy2018.asDays().size());
+
+        //Four, five and four weeks, with the extra week in the last month.
+        FiscalQuarter first = fy2018.asQuarters().get(0);
+        assertEquals(28, first.asMonths().get(0).asDays().size());
+        assertEquals(35, first.asMonths().get(1).asDays().size());
+        assertEquals(28, first.asMonths().get(2).asDays().size());
+        assertEquals(35, RETAIL.month(2018, 12).asDays().size());
+        assertEquals(Day.valueOf("2017-12-31"), RETAIL.month(2018, 12).firstDay());
+
+        FiscalCalendar onLast = FiscalCalendar.endingOnLast(DayOfWeek.SATURDAY, java.time.Month.DECEMBER,
+                FOUR_FOUR_FIVE);
+        assertEquals(Day.valueOf("2014-12-27"), onLast.year(2014).lastDay());
+        assertEquals(Day.valueOf("2015-12-26"), onLast.year(2015).lastDay());
+        assertEquals(35, onLast.month(2015, 3).asDays().size());
+    }
+
+    @Test
+    public void periodsHoldTheirDays() throws Exception {
+        Random random = new Random(7);
+        FiscalCalendar[] calendars = {OCTOBER, RETAIL, FiscalCalendar.endingOnLast(DayOfWeek.SUNDAY,
+                java.time.Month.AUGUST, FIVE_FOUR_FOUR)};
+        Day first = Day.valueOf("1901-01-01");
+        for (int i = 0; i < 3000; i++) {
+            Day day = first.roll(random.nextInt(100000));
+            for (FiscalCalendar calendar : calendars) {
+                FiscalMonth month = calendar.monthOf(day);
+                assertTrue(month.firstDay().compareTo(day) <= 0 && month.lastDay().compareTo(day) >= 0);
+                assertEquals(month.lastDay().next(), month.next().firstDay());
+                assertEquals(month.quarter(), calendar.quarterOf(day));
+                assertEquals(month.year(), calendar.yearOf(day));
+                assertEquals(month, calendar.monthOf(day.start()));
+            }
+        }
+    }
+
+    @Test
+    public void zones() throws Exception {
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        FiscalYear year = OCTOBER.yearOf(Day.valueOf("2014-12-15", tokyo));
+        assertEquals(tokyo, year.zone());
+        assertEquals(Day.valueOf("2014-10-01", tokyo).startMillis(), year.startMillis());
+        assertEquals(year, OCTOBER.yearOf(year.startInstant(), tokyo));
+        assertFalse(year.equals(OCTOBER.yearOf(Day.valueOf("2014-12-15", ZoneId.of("Europe/London")))));
+    }
+
+    @Test
+    public void equality() throws Exception {
+        assertEquals(OCTOBER, FiscalCalendar.startingIn(java.time.Month.OCTOBER));
+        assertFalse(OCTOBER.equals(FiscalCalendar.startingIn(java.time.Month.JULY)));
+        assertEquals(RETAIL, FiscalCalendar.endingNearest(DayOfWeek.SATURDAY, java.time.Month.JANUARY,
+                FOUR_FIVE_FOUR));
+        assertEquals(OCTOBER.year(2015), FiscalCalendar.startingIn(java.time.Month.OCTOBER).year(2015));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outsideTheCalendar() throws Exception {
+        OCTOBER.yearOf(Day.valueOf("2250-01-01"));
+    }
+}
@@ -0,0 +1,78 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.ZoneId;
+
+import static org.junit.Assert.*;
+
+public class FiscalPeriodTest {
+
+    private static final FiscalCalendar JULY = FiscalCalendar.startingIn(java.time.Month.JULY);
+
+    @Test
+    public void navigation() throws Exception {
+        FiscalMonth month = JULY.month(2015, 12);
+        assertEquals(JULY.month(2016, 1), month.next());
+        assertEquals(JULY.month(2015, 11), month.prior());
+        assertEquals(JULY.month(2017, 12), month.roll(24));
+        assertEquals(24, month.stepsUntil(month.roll(24)));
+        assertEquals(JULY.quarter(2015, 4), month.quarter());
+        assertEquals(JULY.year(2015), month.quarter().year());
+        assertEquals(4, month.quarter().quarterOfYear());
+        assertEquals(12, month.monthOfYear());
+        assertTrue(month.compareTo(month.next()) < 0);
+        assertTrue(month.compareTo(month.prior()) > 0);
+        assertEquals(0, month.compareTo(JULY.month(2015, 12)));
+    }
+
+    @Test
+    public void ranges() throws Exception {
+        Range<FiscalMonth> months = Range.create(JULY.month(2000, 1), JULY.month(2100, 12));
+        assertEquals(1212, months.size());
+        assertEquals(JULY.month(2050, 7), months.get(50 * 12 + 6));
+        assertEquals(12, JULY.year(2015).asMonths().size());
+        assertEquals(JULY.quarter(2015, 3), JULY.year(2015).asQuarters().get(2));
+        assertEquals(365, JULY.year(2015).asDays().size());
+        assertEquals(3, JULY.quarter(2015, 1).asCalendarMonths().size());
+    }
+
+    @Test
+    public void bounds() throws Exception {
+        FiscalQuarter quarter = JULY.quarter(2015, 1);
+        assertEquals(Day.valueOf("2014-07-01").startMillis(), quarter.startMillis());
+        assertEquals(Day.valueOf("2014-09-30").stopMillis(), quarter.stopMillis());
+        assertEquals(quarter.startMillis(), quarter.start().getTime());
+        assertEquals(quarter.stopMillis(), quarter.stopInstant().toEpochMilli());
+        assertTrue(quarter.contains(quarter.startMillis()));
+        assertFalse(quarter.contains(quarter.next().startMillis()));
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        FiscalMonth month = JULY.month(2015, 3);
+        FiscalYear zoned = JULY.yearOf(Day.valueOf("2015-03-01", ZoneId.of("America/New_York")));
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(data);
+        out.writeObject(month);
+        out.writeObject(zoned);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data.toByteArray()));
+        FiscalMonth readMonth = (FiscalMonth) in.readObject();
+        assertEquals(month, readMonth);
+        assertEquals(month.startMillis(), readMonth.startMillis());
+        FiscalYear readYear = (FiscalYear) in.readObject();
+        assertEquals(zoned, readYear);
+        assertEquals(zoned.stopMillis(), readYear.stopMillis());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void differentCalendars() throws Exception {
+        JULY.month(2015, 1).compareTo(FiscalCalendar.startingIn(java.time.Month.APRIL).month(2015, 1));
+    }
+}
@@ -0,0 +1,104 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.function.LongFunction;
+
+import static org.junit.Assert.*;
+import static org.paritybits.pantheon.janus.simple.SimplePeriodTest.*;
+
+public class HourTest {
+
+    @Test
+    public void hour() throws Exception {
+        Date thisDate = new Date(dateFormat.parse("08/15/2006").getTime() + 13 * Hour.MILLIS_PER_HOUR + 1234);
+        Hour hour = Hour.create(thisDate);
+        testThePeriod(hour, thisDate, "08/15/2006 13:00:00.000", "08/15/2006 13:59:59.999", "2006-08-15T13");
+        testThePeriod(hour.next(), new Date(thisDate.getTime() + Hour.MILLIS_PER_HOUR),
+                "08/15/2006 14:00:00.000", "08/15/2006 14:59:59.999", "2006-08-15T14");
+        testCompareTo(hour.prior(), hour, hour.next());
+        assertEquals(hour, Hour.create(thisDate.getTime()));
+        assertEquals(hour, Hour.create(thisDate.toInstant()));
+    }
+
+    @Test
+    public void valueOf() throws Exception {
+        assertEquals("2007-07-26T09", Hour.valueOf("2007-07-26T09").toString());
+        assertEquals(Hour.valueOf("2007-07-27T00"), Hour.valueOf("2007-07-26T23").next());
+        assertEquals(Hour.valueOf("1969-12-31T23"), Hour.valueOf("1970-01-01T00").prior());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid() throws Exception {
+        Hour.valueOf("2007-07-26T24");
+    }
+
+    @Test
+    public void days() throws Exception {
+        Hour hour = Hour.valueOf("2007-07-26T23");
+        assertEquals(Day.valueOf("2007-07-26"), hour.day());
+        assertEquals(Day.valueOf("2007-07-27"), hour.next().day());
+        assertEquals(Day.valueOf("1969-12-31"), Hour.valueOf("1969-12-31T00").day());
+        assertEquals(60, hour.asMinutes().size());
+        assertEquals(Minute.valueOf("2007-07-26T23:59"), hour.asMinutes().to());
+        assertEquals(Day.valueOf("2007-07-27"), Hour.valueOf("2007-07-26T00").roll(24).day());
+    }
+
+    @Test
+    public void timeZones() throws Exception {
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        Hour hour = Hour.valueOf("2010-06-15T09", kolkata);
+        assertEquals(Hour.valueOf("2010-06-15T03", ZoneId.of("UTC")).startMillis() + 30 * 60 * 1000,
+                hour.startMillis());
+        assertEquals(hour, Hour.create(hour.startMillis() + 1, kolkata));
+        assertEquals(Day.valueOf("2010-06-15", kolkata), hour.day());
+        assertEquals(kolkata, hour.next().zone());
+    }
+
+    @Test
+    public void daylightSaving() throws Exception {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        //2011-03-13 has no 02:00 in New York, so 01:00 is followed an hour later by 03:00.
+        Hour one = Hour.valueOf("2011-03-13T01", newYork);
+        Hour three = Hour.valueOf("2011-03-13T03", newYork);
+        assertEquals(one.stopMillis() + 1, three.startMillis());
+        assertEquals(three, Hour.create(one.stopMillis() + 1, newYork));
+
+        //2011-03-13T02 is skipped, so it is empty and unlike the hours either side of it.
+        Hour two = one.next();
+        assertEquals("2011-03-13T02", two.toString());
+        assertEquals(three.startMillis(), two.startMillis());
+        assertEquals(two.startMillis() - 1, two.stopMillis());
+        assertFalse(two.contains(two.startMillis()));
+        assertFalse(two.equals(three));
+        testCompareTo(one, two, three);
+        assertEquals(1, two.periodsUntil(three));
+
+        //2010-11-07T01 happens twice in New York, 01:00 EDT at 05:00Z and 01:00 EST at 06:00Z.
+        long repeated = Instant.parse("2010-11-07T05:30:00Z").toEpochMilli();
+        Hour first = Hour.create(repeated, newYork);
+        assertEquals("2010-11-07T01", first.toString());
+        assertEquals(Instant.parse("2010-11-07T05:00:00Z").toEpochMilli(), first.startMillis());
+        assertEquals(Instant.parse("2010-11-07T07:00:00Z").toEpochMilli() - 1, first.stopMillis());
+        assertEquals(first, Hour.create(repeated + Hour.MILLIS_PER_HOUR, newYork));
+        assertEquals(first.prior().stopMillis() + 1, first.startMillis());
+        assertEquals(first.stopMillis() + 1, first.next().startMillis());
+
+        LongFunction<Hour> hours = millis -> Hour.create(millis, newYork);
+        testCoversInstants(hours, repeated - 4 * Hour.MILLIS_PER_HOUR, repeated + 4 * Hour.MILLIS_PER_HOUR, 59999);
+        testCoversInstants(hours, one.startMillis() - 3 * Hour.MILLIS_PER_HOUR,
+                one.startMillis() + 3 * Hour.MILLIS_PER_HOUR, 59999);
+        testCoversInstants(millis -> Hour.create(millis, ZoneId.of("Australia/Lord_Howe")),
+                Instant.parse("2010-04-03T12:00:00Z").toEpochMilli(),
+                Instant.parse("2010-04-03T18:00:00Z").toEpochMilli(), 59999);
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        testSerialization(Hour.create(new Date()));
+        testSerialization(Hour.valueOf("2010-06-15T09", ZoneId.of("Asia/Kolkata")));
+    }
+}
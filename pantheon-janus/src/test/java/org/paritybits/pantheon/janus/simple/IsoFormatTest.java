@@ -0,0 +1,152 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IsoFormatTest {
+
+    @Test
+    public void days() {
+        assertEquals("1970-01-01", IsoFormat.formatDay(0));
+        assertEquals("1969-12-31", IsoFormat.formatDay(-1));
+        assertEquals("2000-02-29", IsoFormat.formatDay(11016));
+        assertEquals(11016, IsoFormat.parseDay("2000-02-29"));
+        assertEquals(11016, IsoFormat.parseDay("2000-2-29"));
+        for (long day = -800000; day < 3000000; day += 37) {
+            assertEquals(day, IsoFormat.parseDay(IsoFormat.formatDay(day)));
+        }
+    }
+
+    @Test
+    public void weeks() {
+        assertEquals("1970-W01", IsoFormat.formatWeek(0));
+        assertEquals("1969-W52", IsoFormat.formatWeek(-1));
+        //2014-12-29 is a Monday and the Thursday after it is in 2015.
+        assertEquals("2015-W01", IsoFormat.formatWeek(Math.floorDiv(16433 + 3, 7)));
+        assertEquals("2009-W53", IsoFormat.formatWeek(IsoFormat.parseWeek("2009-W53")));
+        assertEquals(IsoFormat.parseWeek("2010-W01") - 1, IsoFormat.parseWeek("2009-W53"));
+        assertEquals(IsoFormat.parseWeek("2008-W01"), IsoFormat.parseWeek("2008-W1"));
+        for (long week = -120000; week < 420000; week += 7) {
+            assertEquals(week, IsoFormat.parseWeek(IsoFormat.formatWeek(week)));
+        }
+    }
+
+    @Test
+    public void monthsQuartersAndYears() {
+        assertEquals("1970-01", IsoFormat.formatMonth(0));
+        assertEquals("1969-12", IsoFormat.formatMonth(-1));
+        assertEquals("1969-Q4", IsoFormat.formatQuarter(-1));
+        assertEquals("2006-Q3", IsoFormat.formatQuarter(IsoFormat.parseQuarter("2006-Q3")));
+        assertEquals("0000", IsoFormat.formatYear(-1970));
+        assertEquals(36, IsoFormat.parseYear("2006"));
+        for (long month = -30000; month < 100000; month++) {
+            assertEquals(month, IsoFormat.parseMonth(IsoFormat.formatMonth(month)));
+            assertEquals(month, IsoFormat.parseQuarter(IsoFormat.formatQuarter(month)));
+            assertEquals(month, IsoFormat.parseYear(IsoFormat.formatYear(month)));
+        }
+    }
+
+    @Test
+    public void times() {
+        assertEquals("1970-01-01T00", IsoFormat.formatTime(0, 1));
+        assertEquals("1969-12-31T23:59", IsoFormat.formatTime(-60, 2));
+        assertEquals("2014-12-25T13:45:15", IsoFormat.formatTime(IsoFormat.parseTime("2014-12-25T13:45:15", 3), 3));
+        assertEquals(-1, IsoFormat.parseTime("1969-12-31T23:59:59", 3));
+        assertEquals(3600, IsoFormat.parseTime("1970-01-01T01", 1));
+        String[] invalid = {"2014-12-25T1", "2014-12-25T24", "2014-12-25 13", "2014-12-25T13:60", "2014-12-25T13:45",
+                "2014-12-25T13:45:15:00"};
+        int[] fields = {1, 1, 1, 2, 3, 3};
+        for (int i = 0; i < invalid.length; i++) {
+            try {
+                IsoFormat.parseTime(invalid[i], fields[i]);
+                fail(invalid[i] + " should not parse.");
+            } catch (IllegalArgumentException e) {
+                //Expected
+            }
+        }
+    }
+
+    @Test
+    public void expandedYears() {
+        assertEquals("-0001", IsoFormat.formatYear(-1971));
+        assertEquals("+10000", IsoFormat.formatYear(10000 - 1970));
+        assertEquals("+10000-01-01", IsoFormat.formatDay(IsoFormat.parseDay("+10000-01-01")));
+        assertEquals("-0001-12", IsoFormat.formatMonth(-1971 * 12 + 11));
+        assertEquals(-1971 * 12 + 11, IsoFormat.parseMonth("-0001-12"));
+        assertEquals(IsoFormat.parseYear("1999"), IsoFormat.parseYear("+1999"));
+        assertEquals(100000000 - 1970, IsoFormat.parseYear("+100000000"));
+        assertEquals(-100000000 - 1970, IsoFormat.parseYear("-0100000000"));
+        assertEquals(Year.valueOf("+100000000").stopMillis() + 1, Year.valueOf("+100000000").next().startMillis());
+        assertInvalid("+100000001", Year.class);
+        assertInvalid("+300000000", Year.class);
+        assertInvalid("-9999999999", Year.class);
+        assertInvalid("+9999999999-01", Month.class);
+        assertInvalid("+9999999999-Q1", Quarter.class);
+        assertInvalid("+9999999999-W01", Week.class);
+        assertInvalidDay("+9999999999-01-01");
+        try {
+            IsoFormat.parseTime("+9999999999-01-01T00", 1);
+            fail("Expected the year to be rejected.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    @Test
+    public void strict() {
+        assertInvalidDay("2006-01-01 ");
+        assertInvalidDay("2006-01-1x");
+        assertInvalidDay("2006-13-01");
+        assertInvalidDay("2006-00-01");
+        assertInvalidDay("2006-02-29");
+        assertInvalidDay("2006-04-31");
+        assertInvalidDay("2006-01-001");
+        assertInvalidDay("206-01-01");
+        assertInvalidDay("20060101");
+        assertInvalidDay("2006/01/01");
+        assertInvalidDay("+206-01-01");
+        assertInvalidDay("");
+        assertInvalid("2009-W54", Week.class);
+        assertInvalid("2010-W53", Week.class);
+        assertInvalid("2010-W00", Week.class);
+        assertInvalid("2010-53", Week.class);
+        assertInvalid("2006-Q0", Quarter.class);
+        assertInvalid("2006-Q5", Quarter.class);
+        assertInvalid("2006-Q12", Quarter.class);
+        assertInvalid("2006-13", Month.class);
+        assertInvalid("2006-", Month.class);
+        assertInvalid("206", Year.class);
+        assertInvalid("20066", Year.class);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullText() {
+        IsoFormat.parseYear(null);
+    }
+
+    @Test
+    public void charSequences() {
+        StringBuilder text = new StringBuilder("2006-Q3");
+        assertSame(Quarter.valueOf("2006-Q3"), Quarter.valueOf(text));
+        text.setLength(4);
+        assertSame(Year.valueOf("2006"), Year.valueOf(text));
+    }
+
+    private static void assertInvalidDay(final String text) {
+        assertInvalid(text, Day.class);
+    }
+
+    private static void assertInvalid(final String text, final Class<?> type) {
+        try {
+            if (type == Day.class) IsoFormat.parseDay(text);
+            else if (type == Week.class) IsoFormat.parseWeek(text);
+            else if (type == Month.class) IsoFormat.parseMonth(text);
+            else if (type == Quarter.class) IsoFormat.parseQuarter(text);
+            else IsoFormat.parseYear(text);
+            fail("Expected " + text + " to be rejected.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(text));
+        }
+    }
+}
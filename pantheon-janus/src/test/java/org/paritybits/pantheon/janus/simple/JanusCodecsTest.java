@@ -0,0 +1,93 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class JanusCodecsTest {
+
+    private final CodecRegistry registry = CodecRegistry.standard();
+
+    @Test
+    public void periods() throws Exception {
+        assertRoundTrip(Day.valueOf("2010-06-15"));
+        assertRoundTrip(Day.valueOf("1969-12-31"));
+        assertRoundTrip(Week.valueOf("2009-W53"));
+        assertRoundTrip(Week.valueOf("1970-W01"));
+        assertRoundTrip(Month.valueOf("1969-01"));
+        assertRoundTrip(Quarter.valueOf("2011-Q4"));
+        assertRoundTrip(Year.valueOf("2200"));
+        assertRoundTrip(Hour.valueOf("2010-06-15T13"));
+        assertRoundTrip(Minute.valueOf("1969-12-31T23:59"));
+        assertRoundTrip(SecondBucket.valueOf("2010-06-15T13:45:15/PT15S"));
+        assertRoundTrip(SecondBucket.valueOf("2010-06-15T13:45:15/PT15S", ZoneId.of("Asia/Kolkata")));
+    }
+
+    @Test
+    public void everyDayOfALeapYear() throws Exception {
+        for (Day day : Range.create(Day.valueOf("2012-01-01"), Day.valueOf("2012-12-31"))) {
+            assertRoundTrip(day);
+            assertRoundTrip(Week.create(day.start()));
+        }
+    }
+
+    @Test
+    public void otherTimeZones() throws Exception {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            for (String zone : new String[]{"America/New_York", "Pacific/Kiritimati", "Pacific/Pago_Pago", "UTC"}) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                assertRoundTrip(Day.valueOf("2011-03-13"));
+                assertRoundTrip(Day.valueOf("2011-11-06"));
+                assertRoundTrip(Month.valueOf("2011-03"));
+                assertRoundTrip(Week.valueOf("2011-W10"));
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test
+    public void explicitTimeZones() throws Exception {
+        ZoneId london = ZoneId.of("Europe/London");
+        assertRoundTrip(Day.valueOf("2011-03-27", london));
+        assertRoundTrip(Year.valueOf("2011", ZoneId.of("Asia/Kathmandu")));
+        Day day = Day.valueOf("2011-03-27", london);
+        assertEquals(london, ((Day) registry.fromBytes(registry.toBytes(day), Day.class)).zone());
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertEquals(day, registry.fromBytes(registry.toBytes(day), Day.class));
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test
+    public void compact() throws Exception {
+        //Tag, granularity and a varint index.
+        assertEquals(5, registry.toBytes(Day.valueOf("2010-06-15")).length);
+        assertEquals(4, registry.toBytes(Month.valueOf("2010-06")).length);
+        assertEquals(3, registry.toBytes(Year.valueOf("2010")).length);
+    }
+
+    @Test
+    public void rangeOfPeriods() throws Exception {
+        Range<Month> range = Range.create(Month.valueOf("2010-01"), Month.valueOf("2010-12"));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        registry.write(range, buffer);
+        buffer.flip();
+        assertEquals(range, registry.read(buffer, Range.class));
+    }
+
+    private void assertRoundTrip(final Object period) throws IOException {
+        assertEquals(period, registry.fromBytes(registry.toBytes(period), period.getClass()));
+    }
+}
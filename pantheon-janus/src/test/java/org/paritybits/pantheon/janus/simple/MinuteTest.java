@@ -0,0 +1,79 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.function.LongFunction;
+
+import static org.junit.Assert.*;
+import static org.paritybits.pantheon.janus.simple.SimplePeriodTest.*;
+
+public class MinuteTest {
+
+    @Test
+    public void minute() throws Exception {
+        Date thisDate = new Date(dateFormat.parse("08/15/2006").getTime() + 13 * Hour.MILLIS_PER_HOUR
+                + 45 * Minute.MILLIS_PER_MINUTE + 1234);
+        Minute minute = Minute.create(thisDate);
+        testThePeriod(minute, thisDate, "08/15/2006 13:45:00.000", "08/15/2006 13:45:59.999", "2006-08-15T13:45");
+        testCompareTo(minute.prior(), minute, minute.next());
+        assertEquals(minute, Minute.create(thisDate.getTime()));
+        assertEquals(Hour.create(thisDate), minute.hour());
+        assertEquals(Day.create(thisDate), minute.day());
+    }
+
+    @Test
+    public void valueOf() throws Exception {
+        assertEquals("2007-07-26T09:05", Minute.valueOf("2007-07-26T09:05").toString());
+        assertEquals(Minute.valueOf("2007-07-27T00:00"), Minute.valueOf("2007-07-26T23:59").next());
+        assertEquals(Minute.valueOf("1969-12-31T23:59"), Minute.valueOf("1970-01-01T00:00").prior());
+        assertEquals(Day.valueOf("1969-12-31"), Minute.valueOf("1969-12-31T23:59").day());
+        assertEquals(Minute.valueOf("2007-07-27T01:00"), Minute.valueOf("2007-07-26T23:00").roll(120L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid() throws Exception {
+        Minute.valueOf("2007-07-26T09:5");
+    }
+
+    @Test
+    public void timeZones() throws Exception {
+        ZoneId kathmandu = ZoneId.of("Asia/Kathmandu");
+        Minute minute = Minute.valueOf("2010-06-15T00:00", kathmandu);
+        assertEquals(Minute.valueOf("2010-06-14T18:15", ZoneId.of("UTC")).startMillis(), minute.startMillis());
+        assertEquals(Day.valueOf("2010-06-15", kathmandu), minute.day());
+        assertEquals(minute, Minute.create(minute.startInstant(), kathmandu));
+    }
+
+    @Test
+    public void daylightSaving() throws Exception {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        //01:30 happens at 05:30Z in EDT and again at 06:30Z in EST, and the Minute holds both.
+        long repeated = Instant.parse("2010-11-07T05:30:20Z").toEpochMilli();
+        Minute minute = Minute.create(repeated, newYork);
+        assertEquals("2010-11-07T01:30", minute.toString());
+        assertTrue(minute.contains(repeated));
+        assertTrue(minute.contains(repeated + Hour.MILLIS_PER_HOUR));
+        assertEquals(minute, Minute.create(repeated + Hour.MILLIS_PER_HOUR, newYork));
+        assertEquals(Minute.valueOf("2010-11-07T02:00", newYork).startMillis(),
+                Minute.valueOf("2010-11-07T01:59", newYork).stopMillis() + 1);
+
+        //02:30 is skipped on 2010-03-14.
+        Minute skipped = Minute.valueOf("2010-03-14T02:30", newYork);
+        assertEquals(skipped.startMillis() - 1, skipped.stopMillis());
+        assertEquals(Minute.valueOf("2010-03-14T03:00", newYork).startMillis(), skipped.startMillis());
+
+        LongFunction<Minute> minutes = millis -> Minute.create(millis, newYork);
+        testCoversInstants(minutes, repeated - 2 * Hour.MILLIS_PER_HOUR, repeated + 2 * Hour.MILLIS_PER_HOUR, 997);
+        long spring = Instant.parse("2010-03-14T07:00:00Z").toEpochMilli();
+        testCoversInstants(minutes, spring - 2 * Hour.MILLIS_PER_HOUR, spring + 2 * Hour.MILLIS_PER_HOUR, 997);
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        testSerialization(Minute.create(new Date()));
+        testSerialization(Minute.valueOf("2010-06-15T09:30", ZoneId.of("Asia/Kathmandu")));
+    }
+}
@@ -3,6 +3,8 @@ package org.paritybits.pantheon.janus.simple;
 import org.junit.Test;
 import org.paritybits.pantheon.common.CommonUtil;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -81,6 +83,18 @@ public class MonthTest {
         assertEquals(Month.create(new Date()), Month.thisMonth());
     }
 
+    @Test
+    public void javaTime() throws Exception {
+        Month month = Month.valueOf("2006-08");
+        assertEquals(YearMonth.of(2006, 8), month.toYearMonth());
+        assertEquals(month, Month.create(YearMonth.of(2006, 8)));
+        assertEquals(month, Month.create(LocalDate.of(2006, 8, 31)));
+        assertEquals(month, Month.create(dateFormat.parse("08/15/2006").toInstant()));
+        assertEquals(LocalDate.of(2006, 8, 1), month.startDate());
+        assertEquals(LocalDate.of(2006, 8, 31), month.stopDate());
+        assertEquals(YearMonth.of(1969, 12), Month.create(YearMonth.of(1969, 12)).toYearMonth());
+    }
+
     @Test
     public void isImmutable() {
         assertTrue(CommonUtil.isImmutable(Month.thisMonth()));
@@ -0,0 +1,218 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class PeriodAggregationTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final Bucketizer<Day> days = Bucketizer.create(Day.class, NEW_YORK);
+    private final Bucketizer<Month> months = Bucketizer.create(Month.class, NEW_YORK);
+    private final Bucketizer<Quarter> quarters = Bucketizer.create(Quarter.class, ZoneId.of("UTC"));
+
+    @Test
+    public void totalsByPeriod() {
+        PeriodAggregation aggregation = PeriodAggregation.create(Arrays.asList(days, months, quarters),
+                Aggregator.SUM, Aggregator.COUNT, Aggregator.MIN, Aggregator.MAX);
+        //2015-03-31T23:30-04:00 is April 1st in UTC.
+        long march31 = Instant.parse("2015-04-01T03:30:00Z").toEpochMilli();
+        long april1 = Instant.parse("2015-04-01T12:00:00Z").toEpochMilli();
+        aggregation.addAll(new long[]{march31, april1, april1 + 1}, new double[]{5, 2, -1});
+        aggregation.add(march31 - EpochDays.MILLIS_PER_DAY, 10);
+
+        PeriodSeries<Day> daySums = aggregation.series(days, Aggregator.SUM);
+        assertEquals(Day.valueOf("2015-03-30", NEW_YORK), daySums.first());
+        assertEquals(Day.valueOf("2015-04-01", NEW_YORK), daySums.last());
+        assertEquals(5, daySums.total(Day.valueOf("2015-03-31", NEW_YORK)), 0);
+        assertEquals(1, daySums.total(Day.valueOf("2015-04-01", NEW_YORK)), 0);
+        assertEquals(0, daySums.total(Day.valueOf("2016-04-01", NEW_YORK)), 0);
+        assertEquals(2, daySums.count(Day.valueOf("2015-04-01", NEW_YORK)));
+        assertEquals(-1, aggregation.series(days, Aggregator.MIN).total(Day.valueOf("2015-04-01", NEW_YORK)), 0);
+        assertEquals(2, aggregation.series(days, Aggregator.MAX).total(Day.valueOf("2015-04-01", NEW_YORK)), 0);
+
+        SortedMap<Month, Double> monthSums = aggregation.series(months, Aggregator.SUM).toMap();
+        assertEquals(2, monthSums.size());
+        assertEquals(15, monthSums.get(Month.valueOf("2015-03", NEW_YORK)), 0);
+        assertEquals(1, monthSums.get(Month.valueOf("2015-04", NEW_YORK)), 0);
+
+        SortedMap<Quarter, Double> quarterCounts = aggregation.series(quarters, Aggregator.COUNT).toMap();
+        assertEquals(1.0, quarterCounts.get(Quarter.valueOf("2015-Q1", ZoneId.of("UTC"))), 0);
+        assertEquals(3.0, quarterCounts.get(Quarter.valueOf("2015-Q2", ZoneId.of("UTC"))), 0);
+    }
+
+    @Test
+    public void matchesAMapOfPeriods() {
+        long[] millis = instants(200000);
+        double[] values = values(millis.length);
+        PeriodAggregation aggregation = PeriodAggregation.create(days, Aggregator.SUM, Aggregator.MAX);
+        aggregation.addAll(millis, values);
+        Map<Day, Double> sums = new HashMap<Day, Double>();
+        Map<Day, Double> maxima = new HashMap<Day, Double>();
+        for (int i = 0; i < millis.length; i++) {
+            Day day = Day.create(Instant.ofEpochMilli(millis[i]), NEW_YORK);
+            sums.put(day, sums.containsKey(day) ? sums.get(day) + values[i] : values[i]);
+            maxima.put(day, maxima.containsKey(day) ? Math.max(maxima.get(day), values[i]) : values[i]);
+        }
+        assertEquals(sums, aggregation.series(days, Aggregator.SUM).toMap());
+        assertEquals(maxima, aggregation.series(days, Aggregator.MAX).toMap());
+    }
+
+    @Test
+    public void parallelMatchesSerial() {
+        long[] millis = instants(500000);
+        double[] values = values(millis.length);
+        PeriodAggregation serial = PeriodAggregation.create(Arrays.asList(days, months), Aggregator.COUNT,
+                Aggregator.MIN);
+        serial.addAll(millis, values);
+        PeriodAggregation parallel = serial.emptyCopy();
+        parallel.parallelAddAll(millis, values);
+        assertEquals(serial.series(days, Aggregator.COUNT).toMap(), parallel.series(days, Aggregator.COUNT).toMap());
+        assertEquals(serial.series(months, Aggregator.MIN).toMap(), parallel.series(months, Aggregator.MIN).toMap());
+        assertEquals(500000.0, sum(parallel.series(months, Aggregator.COUNT).toMap().values()), 0);
+    }
+
+    @Test
+    public void streams() {
+        final long[] millis = instants(100000);
+        final double[] values = values(millis.length);
+        PeriodAggregation expected = PeriodAggregation.create(months, Aggregator.SUM);
+        expected.addAll(millis, values);
+        PeriodAggregation collected = IntStream.range(0, millis.length).boxed().parallel()
+                .collect(expected.emptyCopy().collector(i -> millis[i], i -> values[i]));
+        assertEquals(expected.series(months, Aggregator.SUM).toMap().keySet(),
+                collected.series(months, Aggregator.SUM).toMap().keySet());
+        for (Map.Entry<Month, Double> total : expected.series(months, Aggregator.SUM).toMap().entrySet()) {
+            assertEquals(total.getValue(), collected.series(months, Aggregator.SUM).total(total.getKey()), 1e-6);
+        }
+    }
+
+    @Test
+    public void buffersAndSingleValues() {
+        long[] millis = instants(5000);
+        double[] values = values(millis.length);
+        PeriodAggregation expected = PeriodAggregation.create(days, Aggregator.SUM);
+        expected.addAll(millis, values);
+        PeriodAggregation buffered = expected.emptyCopy();
+        buffered.add(millis[0], values[0]);
+        LongBuffer millisBuffer = LongBuffer.wrap(millis);
+        DoubleBuffer valuesBuffer = DoubleBuffer.wrap(values);
+        millisBuffer.position(1);
+        valuesBuffer.position(1);
+        buffered.addAll(millisBuffer, valuesBuffer);
+        assertFalse(millisBuffer.hasRemaining());
+        assertEquals(expected.series(days, Aggregator.SUM).toMap(), buffered.series(days, Aggregator.SUM).toMap());
+        PeriodAggregation single = expected.emptyCopy();
+        for (int i = 0; i < millis.length; i++) {
+            single.add(millis[i], values[i]);
+        }
+        assertEquals(expected.series(days, Aggregator.SUM).toMap(), single.series(days, Aggregator.SUM).toMap());
+    }
+
+    @Test
+    public void merge() {
+        long[] millis = instants(10000);
+        double[] values = values(millis.length);
+        PeriodAggregation whole = PeriodAggregation.create(months, Aggregator.MAX, Aggregator.COUNT);
+        whole.addAll(millis, values);
+        PeriodAggregation first = whole.emptyCopy();
+        first.addAll(millis, values, 0, 4000);
+        PeriodAggregation second = PeriodAggregation.create(Bucketizer.create(Month.class, NEW_YORK), Aggregator.MAX,
+                Aggregator.COUNT);
+        second.addAll(millis, values, 4000, 6000);
+        PeriodAggregation empty = whole.emptyCopy();
+        second.merge(empty);
+        second.merge(first);
+        assertEquals(whole.series(months, Aggregator.MAX).toMap(), second.series(months, Aggregator.MAX).toMap());
+        assertEquals(whole.series(months, Aggregator.COUNT).toMap(), second.series(months, Aggregator.COUNT).toMap());
+        assertTrue(empty.series(months, Aggregator.MAX).isEmpty());
+    }
+
+    @Test
+    public void customAggregator() {
+        Aggregator sumOfSquares = new Aggregator("SUM_OF_SQUARES") {
+            public double identity() {
+                return 0;
+            }
+
+            public double add(final double total, final double value) {
+                return total + value * value;
+            }
+
+            public double merge(final double total, final double other) {
+                return total + other;
+            }
+        };
+        PeriodAggregation aggregation = PeriodAggregation.create(days, sumOfSquares);
+        long noon = Instant.parse("2015-06-15T16:00:00Z").toEpochMilli();
+        aggregation.addAll(new long[]{noon, noon + 1}, new double[]{3, 4});
+        assertEquals(25, aggregation.series(days, sumOfSquares).total(Day.valueOf("2015-06-15", NEW_YORK)), 0);
+        assertEquals("SUM_OF_SQUARES", sumOfSquares.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedLengths() {
+        PeriodAggregation.create(days, Aggregator.SUM).addAll(new long[2], new double[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedMerge() {
+        PeriodAggregation.create(days, Aggregator.SUM).merge(PeriodAggregation.create(days, Aggregator.MAX));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownSeries() {
+        PeriodAggregation.create(days, Aggregator.SUM).series(months, Aggregator.SUM);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noAggregators() {
+        PeriodAggregation.create(days);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyPeriods() {
+        PeriodAggregation aggregation = PeriodAggregation.create(Bucketizer.create(Minute.class), Aggregator.SUM);
+        aggregation.addAll(new long[]{-Long.MAX_VALUE / 100000, Long.MAX_VALUE / 100000}, new double[2]);
+    }
+
+    //Instants over three years of New York time, around the changes of offset as well.
+    private static long[] instants(final int count) {
+        Random random = new Random(29);
+        long[] millis = new long[count];
+        long start = Instant.parse("2014-01-01T00:00:00Z").toEpochMilli();
+        for (int i = 0; i < count; i++) {
+            millis[i] = start + (long) (random.nextDouble() * 3 * 365 * EpochDays.MILLIS_PER_DAY);
+        }
+        return millis;
+    }
+
+    private static double[] values(final int count) {
+        Random random = new Random(31);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt(2000) - 1000;
+        }
+        return values;
+    }
+
+    private static double sum(final Iterable<Double> values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,76 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.Period;
+
+import java.util.Iterator;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class PeriodArrayTest {
+
+    @Test
+    public void days() {
+        PeriodArray<Day> array = PeriodArray.create(Day.class, 0);
+        Range<Day> days = Range.create(Day.valueOf("2011-12-25"), Day.valueOf("2012-03-05"));
+        array.addAll(days);
+        assertEquals(days.asList().size(), array.size());
+        assertEquals(4 * array.capacity(), array.allocatedBytes());
+        assertEquals(Day.valueOf("2011-12-25"), array.get(0));
+        assertEquals(Day.valueOf("2012-02-29"), array.get(66));
+        assertEquals(15333, array.epochDay(0));
+        Iterator<Day> expected = days.iterator();
+        for (Day day : array) {
+            assertEquals(expected.next(), day);
+        }
+    }
+
+    @Test
+    public void everyType() {
+        assertRoundTrip(Week.class, Week.valueOf("2009-W53"));
+        assertRoundTrip(Month.class, Month.valueOf("1969-02"));
+        assertRoundTrip(Quarter.class, Quarter.valueOf("2200-Q3"));
+        assertRoundTrip(Year.class, Year.valueOf("1900"));
+    }
+
+    @Test
+    public void cursorAndCopy() {
+        PeriodArray<Month> array = PeriodArray.create(Month.class, 12);
+        array.addAll(Range.create(Month.valueOf("2010-01"), Month.valueOf("2010-12")));
+        PeriodArray.Cursor cursor = array.cursor();
+        assertEquals(Month.valueOf("2010-06"), cursor.at(5).toPeriod());
+        assertEquals(array.epochDay(5), cursor.epochDay());
+        PeriodArray<Month> copy = PeriodArray.create(Month.class, 0);
+        array.copyTo(6, copy, 0, 6);
+        assertEquals(Month.valueOf("2010-07"), copy.get(0));
+        copy.set(0, Month.valueOf("1999-01"));
+        assertEquals(Month.valueOf("1999-01"), copy.get(0));
+    }
+
+    @Test
+    public void otherTimeZone() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            assertRoundTrip(Day.class, Day.valueOf("2011-03-13"));
+            assertRoundTrip(Week.class, Week.valueOf("2011-W10"));
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void differentTypes() {
+        @SuppressWarnings({"unchecked"})
+        PeriodArray<Month> months = (PeriodArray) PeriodArray.create(Day.class, 1);
+        PeriodArray.create(Month.class, 1).copyTo(0, months, 0, 0);
+    }
+
+    private static <T extends Period<T>> void assertRoundTrip(final Class<T> type, final T period) {
+        PeriodArray<T> array = PeriodArray.create(type, 1);
+        array.add(period);
+        assertEquals(period, array.get(0));
+    }
+}
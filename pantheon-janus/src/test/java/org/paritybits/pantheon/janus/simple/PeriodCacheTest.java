@@ -0,0 +1,85 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PeriodCacheTest {
+
+    @Test
+    public void sharedInstances() throws Exception {
+        Day day = Day.valueOf("2006-08-15");
+        assertSame(day, Day.valueOf("2006-08-15"));
+        assertSame(day, Day.create(LocalDate.of(2006, 8, 15)));
+        assertSame(day, Day.valueOf("2006-08-14").next());
+        assertSame(day, Day.valueOf("2006-08-16").prior());
+        assertSame(day, deserialize(day));
+        assertSame(Month.valueOf("2006-08"), day.month());
+        assertSame(Quarter.valueOf("2006-Q3"), Month.valueOf("2006-08").quarter());
+        assertSame(Year.valueOf("2006"), Quarter.valueOf("2006-Q3").asYear());
+        assertSame(Week.valueOf("2006-W33"), Week.create(day.start()));
+    }
+
+    @Test
+    public void outsideTheWindow() throws Exception {
+        Day day = Day.valueOf("1850-06-15");
+        assertSame(day, Day.valueOf("1850-06-14").next());
+        assertSame(day, deserialize(day));
+        assertEquals("1850-06-15", day.toString());
+        assertSame(Year.valueOf("2500"), Year.valueOf("2499").next());
+    }
+
+    @Test
+    public void window() {
+        final AtomicInteger created = new AtomicInteger();
+        PeriodCache<Day> cache = new PeriodCache<Day>(0, 9) {
+            Day create(ZoneOffsets offsets, long index) {
+                created.incrementAndGet();
+                return new Day(offsets, index);
+            }
+        };
+        ZoneOffsets offsets = ZoneOffsets.ofDefault();
+        Day first = cache.get(offsets, 0);
+        assertSame(first, cache.get(offsets, 0));
+        assertSame(cache.get(offsets, 9), cache.get(offsets, 9));
+        assertSame(cache.get(offsets, 10), cache.get(offsets, 10));
+        assertSame(cache.get(offsets, -1), cache.get(offsets, -1));
+        assertEquals(4, created.get());
+        assertEquals(first, Day.create(LocalDate.of(1970, 1, 1)));
+    }
+
+    @Test
+    public void newInstancesForEachTimeZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            Day newYork = Day.valueOf("2006-08-15");
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"));
+            Day london = Day.valueOf("2006-08-15");
+            assertNotSame(newYork, london);
+            assertEquals(5 * 60 * 60 * 1000, newYork.startMillis() - london.startMillis());
+            assertSame(london, Day.valueOf("2006-08-15"));
+            assertSame(newYork, Day.valueOf("2006-08-15", ZoneId.of("America/New_York")));
+            assertSame(newYork, london.withZone(ZoneId.of("America/New_York")));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static Object deserialize(Object period) throws Exception {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(data);
+        out.writeObject(period);
+        out.close();
+        return new ObjectInputStream(new ByteArrayInputStream(data.toByteArray())).readObject();
+    }
+}
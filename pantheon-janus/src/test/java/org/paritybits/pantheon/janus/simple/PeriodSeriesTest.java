@@ -0,0 +1,62 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class PeriodSeriesTest {
+
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+    private final Bucketizer<Week> weeks = Bucketizer.create(Week.class, TOKYO);
+    private final Week week = Week.valueOf("2015-W10", TOKYO);
+    private final int index = (int) week.index();
+    private final PeriodSeries<Week> series = new PeriodSeries<Week>(weeks, Aggregator.MIN, index,
+            new double[]{4, Double.POSITIVE_INFINITY, -1}, new long[]{2, 0, 1});
+
+    @Test
+    public void byIndex() {
+        assertEquals(index, series.firstIndex());
+        assertEquals(index + 2, series.lastIndex());
+        assertEquals(4, series.total(index), 0);
+        assertEquals(Double.POSITIVE_INFINITY, series.total(index + 1), 0);
+        assertEquals(Double.POSITIVE_INFINITY, series.total(index - 1), 0);
+        assertEquals(Double.POSITIVE_INFINITY, series.total(Integer.MAX_VALUE), 0);
+        assertEquals(1, series.count(index + 2));
+        assertEquals(0, series.count(index + 3));
+    }
+
+    @Test
+    public void byPeriod() {
+        assertEquals(week, series.first());
+        assertEquals(week.next().next(), series.last());
+        assertEquals(-1, series.total(series.last()), 0);
+        assertEquals(2, series.count(week));
+        assertEquals(2, series.toMap().size());
+        assertFalse(series.toMap().containsKey(week.next()));
+        assertEquals("MIN by Week {2015-W10=4.0, 2015-W12=-1.0}", series.toString());
+        assertSame(weeks, series.bucketizer());
+        assertSame(Aggregator.MIN, series.aggregator());
+    }
+
+    @Test
+    public void empty() {
+        PeriodSeries<Week> empty = new PeriodSeries<Week>(weeks, Aggregator.SUM, 0, new double[0], new long[0]);
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.total(week), 0);
+        assertTrue(empty.toMap().isEmpty());
+        try {
+            empty.first();
+            fail("An empty series has no first period.");
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void otherZone() {
+        series.total(Week.valueOf("2015-W10", ZoneId.of("Europe/Paris")));
+    }
+}
@@ -3,6 +3,8 @@ package org.paritybits.pantheon.janus.simple;
 import org.junit.Test;
 import org.paritybits.pantheon.common.CommonUtil;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -95,6 +97,17 @@ public class QuarterTest {
         assertEquals(Quarter.create(new Date()), Quarter.thisQuarter());
     }
 
+    @Test
+    public void javaTime() throws Exception {
+        Quarter quarter = Quarter.valueOf("2006-Q3");
+        assertEquals(quarter, Quarter.create(YearMonth.of(2006, 7)));
+        assertEquals(quarter, Quarter.create(LocalDate.of(2006, 9, 30)));
+        assertEquals(quarter, Quarter.create(dateFormat.parse("08/15/2006").toInstant()));
+        assertEquals(LocalDate.of(2006, 7, 1), quarter.startDate());
+        assertEquals(LocalDate.of(2006, 9, 30), quarter.stopDate());
+        assertEquals(Quarter.valueOf("1969-Q4"), Quarter.create(YearMonth.of(1969, 10)));
+    }
+
     @Test
     public void isImmutable() {
         assertTrue(CommonUtil.isImmutable(Quarter.thisQuarter()));
@@ -0,0 +1,99 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.function.LongFunction;
+
+import static org.junit.Assert.*;
+import static org.paritybits.pantheon.janus.simple.SimplePeriodTest.*;
+
+public class SecondBucketTest {
+
+    @Test
+    public void buckets() throws Exception {
+        Date thisDate = new Date(dateFormat.parse("08/15/2006").getTime() + 13 * Hour.MILLIS_PER_HOUR
+                + 45 * Minute.MILLIS_PER_MINUTE + 17500);
+        SecondBucket bucket = SecondBucket.create(15, thisDate);
+        testThePeriod(bucket, thisDate, "08/15/2006 13:45:15.000", "08/15/2006 13:45:29.999",
+                "2006-08-15T13:45:15/PT15S");
+        testCompareTo(bucket.prior(), bucket, bucket.next());
+        assertEquals(15, bucket.next().length());
+        assertEquals(bucket, SecondBucket.create(15, thisDate.getTime()));
+        assertEquals(Day.create(thisDate), bucket.day());
+
+        SecondBucket five = SecondBucket.create(5, thisDate);
+        assertEquals("2006-08-15T13:45:15/PT5S", five.toString());
+        assertFalse(five.equals(bucket));
+        assertEquals(3, Range.create(five, five.roll(2)).size());
+    }
+
+    @Test
+    public void valueOf() throws Exception {
+        assertEquals("2007-07-26T09:05:00/PT300S", SecondBucket.valueOf("2007-07-26T09:05:00/PT300S").toString());
+        assertEquals(SecondBucket.valueOf("2007-07-27T00:00:00/PT5S"),
+                SecondBucket.valueOf("2007-07-26T23:59:55/PT5S").next());
+        assertEquals(Day.valueOf("1969-12-31"), SecondBucket.valueOf("1969-12-31T23:59:55/PT5S").day());
+    }
+
+    @Test
+    public void invalid() throws Exception {
+        for (String text : new String[]{"2007-07-26T09:05:07/PT5S", "2007-07-26T09:05:00/PT7S",
+                "2007-07-26T09:05:00/PTS", "2007-07-26T09:05:00", "2007-07-26T09:05:00/PT5M"}) {
+            try {
+                SecondBucket.valueOf(text);
+                fail(text + " should not parse.");
+            } catch (IllegalArgumentException e) {
+                //Expected
+            }
+        }
+        try {
+            SecondBucket.create(7, 0L);
+            fail("7 seconds does not divide a day.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    @Test
+    public void timeZones() throws Exception {
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        SecondBucket bucket = SecondBucket.valueOf("2010-06-15T00:00:00/PT900S", kolkata);
+        assertEquals(Day.valueOf("2010-06-15", kolkata).startMillis(), bucket.startMillis());
+        assertEquals(bucket, SecondBucket.create(900, bucket.stopMillis(), kolkata));
+        assertEquals(kolkata, bucket.prior().zone());
+        assertEquals(Day.valueOf("2010-06-14", kolkata), bucket.prior().day());
+    }
+
+    @Test
+    public void daylightSaving() throws Exception {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        long repeated = Instant.parse("2010-11-07T06:10:07Z").toEpochMilli();
+        SecondBucket bucket = SecondBucket.create(15, repeated, newYork);
+        assertEquals("2010-11-07T01:10:00/PT15S", bucket.toString());
+        assertTrue(bucket.contains(repeated));
+        assertTrue(bucket.contains(repeated - Hour.MILLIS_PER_HOUR));
+
+        //Two hour buckets hold a change of offset that is not at their start.
+        LongFunction<SecondBucket> buckets = millis -> SecondBucket.create(15, millis, newYork);
+        testCoversInstants(buckets, repeated - 2 * Hour.MILLIS_PER_HOUR, repeated + 2 * Hour.MILLIS_PER_HOUR, 331);
+        long spring = Instant.parse("2010-03-14T07:00:00Z").toEpochMilli();
+        testCoversInstants(buckets, spring - Hour.MILLIS_PER_HOUR, spring + Hour.MILLIS_PER_HOUR, 331);
+        LongFunction<SecondBucket> twoHours = millis -> SecondBucket.create(7200, millis, newYork);
+        testCoversInstants(twoHours, spring - 6 * Hour.MILLIS_PER_HOUR, spring + 6 * Hour.MILLIS_PER_HOUR, 9973);
+        testCoversInstants(twoHours, repeated - 6 * Hour.MILLIS_PER_HOUR, repeated + 6 * Hour.MILLIS_PER_HOUR, 9973);
+        SecondBucket night = SecondBucket.create(7200, spring, newYork);
+        assertEquals("2010-03-14T02:00:00/PT7200S", night.toString());
+        assertEquals(spring, night.startMillis());
+        assertEquals(night.prior().stopMillis() + 1, night.startMillis());
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        testSerialization(SecondBucket.create(5, new Date()));
+        testSerialization(SecondBucket.valueOf("2010-06-15T09:30:00/PT60S", ZoneId.of("Asia/Kolkata")));
+    }
+}
@@ -6,10 +6,14 @@ import org.paritybits.pantheon.common.Range;
 import java.io.*;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.function.LongFunction;
 
 import static org.junit.Assert.*;
 
@@ -65,6 +69,107 @@ public class SimplePeriodTest {
         assertEquals(period.prior().prior(), period.roll(-2));
     }
 
+    @Test
+    public void periodsUntil() {
+        Day day = Day.valueOf("2000-02-28");
+        assertEquals(Day.valueOf("2010-02-25"), day.roll(3650));
+        assertEquals(3650, day.periodsUntil(Day.valueOf("2010-02-25")));
+        assertEquals(-3650, Day.valueOf("2010-02-25").periodsUntil(day));
+        assertEquals(Month.valueOf("1969-12"), Month.valueOf("2000-01").roll(-361L));
+        assertEquals(0, day.periodsUntil(day));
+
+        Range<Day> days = Range.create(day, Day.valueOf("2010-02-25"));
+        assertEquals(3651, days.size());
+        assertEquals(Day.valueOf("2000-03-01"), days.get(2));
+        assertEquals(2, days.indexOf(Day.valueOf("2000-03-01")));
+        assertEquals(-1, days.indexOf(Day.valueOf("2010-02-26")));
+        assertEquals(Day.valueOf("2009-02-25"), Range.stepsFrom(Day.valueOf("2010-02-25"), -365));
+        Range<Month> months = Range.create(Month.valueOf("2010-12"), Month.valueOf("2010-01"));
+        assertEquals(12, months.size());
+        assertEquals(Month.valueOf("2010-10"), months.get(2));
+        assertEquals(months.asList(), Arrays.asList(months.get(0), months.get(1), months.get(2), months.get(3),
+                months.get(4), months.get(5), months.get(6), months.get(7), months.get(8), months.get(9),
+                months.get(10), months.get(11)));
+    }
+
+    @Test
+    public void millis() {
+        SimplePeriod period = new TestSimplePeriod(new Date());
+        assertEquals(period.start().getTime(), period.startMillis());
+        assertEquals(period.stop().getTime(), period.stopMillis());
+        assertTrue(period.contains(period.startMillis()));
+        assertTrue(period.contains(period.stopMillis()));
+        assertFalse(period.contains(period.startMillis() - 1));
+        assertFalse(period.contains(period.stopMillis() + 1));
+        assertEquals(period.next().startMillis(), period.stopMillis() + 1);
+    }
+
+    @Test
+    public void matchesGregorianCalendar() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            for (String zone : ZONES) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                //The start of every day from 1965 to 2035, then a sample of dates from 1600 to 2400.
+                for (long day = -1826; day < 23742; day++) {
+                    Date start = Day.of(day).start();
+                    assertBounds(zone, Day.create(start), start, DAY_FIELDS, -1, -1);
+                }
+                for (long millis = -11676096000000L; millis < 13569465600000L; millis += 29 * 86400000L + 3600000) {
+                    assertMatchesCalendar(zone, new Date(millis));
+                }
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    //Zones with daylight saving changes at midnight and of half an hour, and one that skipped a day.
+    private static final String[] ZONES = {"America/New_York", "Europe/London", "America/Sao_Paulo",
+            "America/Havana", "Asia/Tehran", "Australia/Lord_Howe", "Pacific/Apia"};
+
+    private static final List<Integer> DAY_FIELDS = Arrays.asList(Calendar.MILLISECOND, Calendar.SECOND,
+            Calendar.MINUTE, Calendar.HOUR, Calendar.HOUR_OF_DAY);
+
+    private static void assertMatchesCalendar(String zone, Date date) {
+        assertBounds(zone, Day.create(date), date, DAY_FIELDS, -1, -1);
+        assertBounds(zone, Week.create(date), date, Arrays.asList(Calendar.HOUR_OF_DAY, Calendar.MINUTE,
+                Calendar.SECOND, Calendar.MILLISECOND), Calendar.MONDAY, Calendar.SUNDAY);
+        List<Integer> monthFields = Arrays.asList(Calendar.DAY_OF_MONTH, Calendar.HOUR_OF_DAY, Calendar.MINUTE,
+                Calendar.SECOND, Calendar.MILLISECOND);
+        assertBounds(zone, Month.create(date), date, monthFields, -1, -1);
+        assertBounds(zone, Quarter.create(date), date, monthFields, -2, -2);
+        assertBounds(zone, Year.create(date), date, Arrays.asList(Calendar.DAY_OF_YEAR, Calendar.HOUR_OF_DAY,
+                Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND), -1, -1);
+    }
+
+    //The bounds the periods had when they were found by a calibrated GregorianCalendar.  The start and stop
+    //day of the week are set first when not negative, -2 sets the month to the first or last of the quarter.
+    private static void assertBounds(String zone, SimplePeriod period, Date date, List<Integer> fields,
+                                     int startDay, int stopDay) {
+        Calendar calendar = new GregorianCalendar();
+        calendar.setFirstDayOfWeek(2);
+        calendar.setMinimalDaysInFirstWeek(4);
+        calendar.setTime(date);
+        if (calendar.get(Calendar.YEAR) < 1600) return;
+        if (startDay >= 0) calendar.set(Calendar.DAY_OF_WEEK, startDay);
+        if (startDay == -2) calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) / 3 * 3);
+        for (int field : fields) {
+            calendar.set(field, calendar.getActualMinimum(field));
+        }
+        long start = calendar.getTimeInMillis();
+        if (stopDay >= 0) calendar.set(Calendar.DAY_OF_WEEK, stopDay);
+        if (stopDay == -2) calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) / 3 * 3 + 2);
+        for (int field : fields) {
+            calendar.set(field, calendar.getActualMaximum(field));
+        }
+        long stop = calendar.getTimeInMillis();
+        if (start != period.start().getTime() || stop != period.stop().getTime()) {
+            fail(period.getClass().getSimpleName() + " of " + date + " in " + zone + " expected " + new Date(start)
+                    + " to " + new Date(stop) + " but was " + period.start() + " to " + period.stop());
+        }
+    }
+
     static void testSerialization(SimplePeriod period) throws IOException, ClassNotFoundException {
         ByteArrayOutputStream data = new ByteArrayOutputStream();
         ObjectOutputStream out = new ObjectOutputStream(data);
@@ -102,6 +207,25 @@ public class SimplePeriodTest {
         assertTrue(high.compareTo(high) == 0);
     }
 
+    //Checks that every instant, at steps from one instant to another, falls in the period created for it, and
+    //that the periods from the first to the last follow each other with no instant left out between them.
+    static void testCoversInstants(LongFunction<? extends SimplePeriod> create, long from, long to, long step) {
+        for (long millis = from; millis <= to; millis += step) {
+            SimplePeriod period = create.apply(millis);
+            if (!period.contains(millis)) fail(period + " does not contain " + Instant.ofEpochMilli(millis));
+        }
+        SimplePeriod period = create.apply(from);
+        SimplePeriod last = create.apply(to);
+        long covered = period.stopMillis();
+        while (!period.equals(last)) {
+            SimplePeriod next = (SimplePeriod) period.next();
+            assertTrue(next + " leaves a gap after " + period, next.startMillis() <= covered + 1);
+            assertTrue(period.compareTo(next) < 0);
+            covered = Math.max(covered, next.stopMillis());
+            period = next;
+        }
+    }
+
     static void testRange(Range<? extends SimplePeriod> range, SimplePeriod expectedFrom, SimplePeriod expectedTo) {
         assertNotNull(range);
         assertEquals(expectedFrom, range.from());
@@ -109,6 +233,7 @@ public class SimplePeriodTest {
     }
 
     private static class TestSimplePeriod extends SimplePeriod<TestSimplePeriod> {
+        private static final long HOUR = 60 * 60 * 1000;
         String longString;
 
         public TestSimplePeriod(Date dateInPeriod) {
@@ -116,10 +241,19 @@ public class SimplePeriodTest {
             longString = Long.toString(dateInPeriod.getTime());
         }
 
+        public TestSimplePeriod(ZoneOffsets offsets, long index) {
+            super(offsets, index);
+            longString = Long.toString(startMillis());
+        }
+
         TestSimplePeriod createNewInstance(Date date) {
             return new TestSimplePeriod(date);
         }
 
+        TestSimplePeriod createNewInstance(ZoneOffsets offsets, long index) {
+            return new TestSimplePeriod(offsets, index);
+        }
+
         String createExternalForm() {
             return longString;
         }
@@ -128,8 +262,12 @@ public class SimplePeriodTest {
             return new TestSimplePeriod(new Date(Long.decode(externalForm)));
         }
 
-        List<Integer> manipulatedFields() {
-            return Arrays.asList(Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND);
+        long indexOf(long localMillis) {
+            return Math.floorDiv(localMillis, HOUR);
+        }
+
+        long localStartOf(long index) {
+            return index * HOUR;
         }
     }
 
@@ -3,6 +3,7 @@ package org.paritybits.pantheon.janus.simple;
 import org.junit.Test;
 import org.paritybits.pantheon.common.CommonUtil;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -71,6 +72,10 @@ public class WeekTest {
         assertEquals(Year.valueOf("2008"), week.year());
         week = Week.valueOf("2005-W52");
         assertEquals(Year.valueOf("2005"), week.year());
+        //The week of Monday 2014-12-29 has its Thursday in 2015.
+        week = Week.create(LocalDate.of(2014, 12, 29));
+        assertEquals("2015-W01", week.toString());
+        assertEquals(Year.valueOf("2015"), week.year());
     }
 
     @Test
@@ -85,6 +90,17 @@ public class WeekTest {
         assertEquals(Week.create(new Date()), Week.thisWeek());
     }
 
+    @Test
+    public void javaTime() throws Exception {
+        Week week = Week.valueOf("2008-W01");
+        assertEquals(week, Week.create(LocalDate.of(2007, 12, 31)));
+        assertEquals(week, Week.create(LocalDate.of(2008, 1, 6)));
+        assertEquals(week.next(), Week.create(LocalDate.of(2008, 1, 7)));
+        assertEquals(week, Week.create(dateFormat.parse("01/02/2008").toInstant()));
+        assertEquals(LocalDate.of(2007, 12, 31), week.startDate());
+        assertEquals(LocalDate.of(2008, 1, 6), week.stopDate());
+    }
+
     @Test
     public void isImmutable() {
         assertTrue(CommonUtil.isImmutable(Week.thisWeek()));
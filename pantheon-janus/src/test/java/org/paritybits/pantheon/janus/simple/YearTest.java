@@ -3,6 +3,8 @@ package org.paritybits.pantheon.janus.simple;
 import org.junit.Test;
 import org.paritybits.pantheon.common.CommonUtil;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -83,6 +85,16 @@ public class YearTest {
         assertEquals(Year.create(new Date()), Year.thisYear());
     }
 
+    @Test
+    public void javaTime() throws Exception {
+        Year year = Year.valueOf("2006");
+        assertEquals(year, Year.create(YearMonth.of(2006, 12)));
+        assertEquals(year, Year.create(LocalDate.of(2006, 1, 1)));
+        assertEquals(year, Year.create(dateFormat.parse("08/15/2006").toInstant()));
+        assertEquals(LocalDate.of(2006, 1, 1), year.startDate());
+        assertEquals(LocalDate.of(2006, 12, 31), year.stopDate());
+    }
+
     @Test
     public void isImmutable() {
         assertTrue(CommonUtil.isImmutable(Year.thisYear()));
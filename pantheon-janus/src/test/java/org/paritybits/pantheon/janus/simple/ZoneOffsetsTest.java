@@ -0,0 +1,116 @@
+package org.paritybits.pantheon.janus.simple;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class ZoneOffsetsTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    @Test
+    public void localAndUtcMillis() {
+        ZoneOffsets newYork = ZoneOffsets.of(ZoneId.of("America/New_York"));
+        //2010-03-14 skipped 02:00 to 03:00 and 2010-11-07 repeated 01:00 to 02:00.
+        long march14 = 14682 * EpochDays.MILLIS_PER_DAY;
+        long november7 = 14920 * EpochDays.MILLIS_PER_DAY;
+        assertEquals(march14 + 5 * HOUR, newYork.utcMillis(march14));
+        assertEquals(march14 + 7 * HOUR, newYork.utcMillis(march14 + 2 * HOUR));
+        assertEquals(march14 + 7 * HOUR, newYork.utcMillis(march14 + 3 * HOUR));
+        assertEquals(november7 + 6 * HOUR, newYork.utcMillis(november7 + HOUR));
+        assertEquals(november7 + HOUR, newYork.localMillis(november7 + 6 * HOUR));
+        assertEquals(november7 + HOUR, newYork.localMillis(november7 + 5 * HOUR));
+        assertEquals(14920, newYork.epochDay(november7 + 5 * HOUR));
+    }
+
+    @Test
+    public void firstAndLastInstants() {
+        ZoneOffsets newYork = ZoneOffsets.of(ZoneId.of("America/New_York"));
+        long march14 = 14682 * EpochDays.MILLIS_PER_DAY;
+        long november7 = 14920 * EpochDays.MILLIS_PER_DAY;
+        assertEquals(march14 + 5 * HOUR, newYork.firstInstantFrom(march14));
+        assertEquals(march14 + 5 * HOUR - 1, newYork.lastInstantBefore(march14));
+        //Every local time from 02:00 to 03:00 is skipped, so the first instant at or after them is the change.
+        assertEquals(march14 + 7 * HOUR, newYork.firstInstantFrom(march14 + 2 * HOUR));
+        assertEquals(march14 + 7 * HOUR, newYork.firstInstantFrom(march14 + 2 * HOUR + 1234));
+        assertEquals(march14 + 7 * HOUR, newYork.firstInstantFrom(march14 + 3 * HOUR));
+        assertEquals(march14 + 7 * HOUR - 1, newYork.lastInstantBefore(march14 + 2 * HOUR + 1234));
+        assertEquals(march14 + 7 * HOUR - 1, newYork.lastInstantBefore(march14 + 3 * HOUR));
+        //01:00 to 02:00 happens first in EDT and then in EST.
+        assertEquals(november7 + 5 * HOUR, newYork.firstInstantFrom(november7 + HOUR));
+        assertEquals(november7 + 5 * HOUR - 1, newYork.lastInstantBefore(november7 + HOUR));
+        assertEquals(november7 + 5 * HOUR + 1234, newYork.firstInstantFrom(november7 + HOUR + 1234));
+        assertEquals(november7 + 6 * HOUR + 1233, newYork.lastInstantBefore(november7 + HOUR + 1234));
+        assertEquals(november7 + 7 * HOUR, newYork.firstInstantFrom(november7 + 2 * HOUR));
+        assertEquals(november7 + 7 * HOUR - 1, newYork.lastInstantBefore(november7 + 2 * HOUR));
+    }
+
+    @Test
+    public void matchesTheZoneRules() {
+        for (String id : new String[]{"America/New_York", "Europe/London", "Australia/Lord_Howe", "Asia/Kolkata"}) {
+            ZoneId zone = ZoneId.of(id);
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            ZoneOffsets offsets = ZoneOffsets.of(zone);
+            //From 1850 to 2300, past the end of the table, every 997 minutes.
+            for (long millis = -3786825600000L; millis < 10413792000000L; millis += 997 * 60 * 1000) {
+                if (timeZone.getOffset(millis) != offsets.offsetAt(millis)) {
+                    fail(id + " at " + millis + " was " + offsets.offsetAt(millis) + " not " + timeZone.getOffset(millis));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bulkLocalMillis() {
+        for (String id : new String[]{"America/New_York", "Australia/Lord_Howe", "America/Sao_Paulo", "UTC",
+                "Etc/GMT+5"}) {
+            ZoneOffsets offsets = ZoneOffsets.of(ZoneId.of(id));
+            //From 1850 to 2300 every 997 minutes, and every minute of 2010.
+            long[] millis = new long[300000];
+            for (int i = 0; i < 150000; i++) {
+                millis[i] = -3786825600000L + i * 997L * 60 * 1000;
+                millis[150000 + i] = 1262304000000L + i * 60L * 1000 * 3 - 1;
+            }
+            long[] local = new long[millis.length];
+            offsets.localMillis(millis, 0, local, 0, millis.length);
+            for (int i = 0; i < millis.length; i++) {
+                if (local[i] != offsets.localMillis(millis[i])) {
+                    fail(id + " at " + millis[i] + " was " + local[i] + " not " + offsets.localMillis(millis[i]));
+                }
+            }
+            offsets.localMillis(millis, 1, millis, 0, 2);
+            assertEquals(local[1], millis[0]);
+            assertEquals(local[2], millis[1]);
+        }
+    }
+
+    @Test
+    public void oneInstancePerZone() {
+        assertSame(ZoneOffsets.of(ZoneId.of("Europe/London")), ZoneOffsets.of(ZoneId.of("Europe/London")));
+        assertNotSame(ZoneOffsets.of(ZoneId.of("Europe/London")), ZoneOffsets.of(ZoneId.of("Europe/Lisbon")));
+        assertEquals(0, ZoneOffsets.of(ZoneOffset.UTC).offsetAt(0));
+        assertEquals(-5 * HOUR, ZoneOffsets.of(ZoneOffset.ofHours(-5)).offsetAt(Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void defaultZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertSame(ZoneOffsets.of(ZoneId.of("Asia/Tokyo")), ZoneOffsets.ofDefault());
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Paris"));
+            assertSame(ZoneOffsets.of(ZoneId.of("Europe/Paris")), ZoneOffsets.ofDefault());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullZone() {
+        ZoneOffsets.of(null);
+    }
+}
@@ -0,0 +1,51 @@
+package org.paritybits.pantheon.plutus;
+
+import java.util.Currency;
+
+/**
+ * Packs the three letter ISO 4217 code of a currency into a number below 26^3, small enough for two bytes,
+ * and back.  Unpacking is a lookup in an array once a currency has been seen.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+final class CurrencyCodes {
+
+    private static final int LETTERS = 26;
+
+    //The largest packed code plus one.
+    static final int LIMIT = LETTERS * LETTERS * LETTERS;
+
+    //Currencies by packed code, filled in as they are unpacked.  Currency instances are shared so a race is harmless.
+    private static final Currency[] CURRENCIES = new Currency[LIMIT];
+
+    private CurrencyCodes() {
+    }
+
+    //Packs a currency code as a base 26 number.
+    static int pack(final Currency currency) {
+        String code = currency.getCurrencyCode();
+        int packed = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int letter = code.charAt(i) - 'A';
+            if (code.length() != 3 || letter < 0 || letter >= LETTERS) {
+                throw new IllegalArgumentException("Cannot pack currency " + code + ".");
+            }
+            packed = packed * LETTERS + letter;
+        }
+        return packed;
+    }
+
+    //The currency with a packed code, IllegalArgumentException if the code is not a currency.
+    static Currency unpack(final int packed) {
+        if (packed < 0 || packed >= LIMIT) throw new IllegalArgumentException("Malformed currency " + packed + ".");
+        Currency currency = CURRENCIES[packed];
+        if (currency == null) {
+            char[] code = {(char) ('A' + packed / (LETTERS * LETTERS)), (char) ('A' + packed / LETTERS % LETTERS),
+                    (char) ('A' + packed % LETTERS)};
+            currency = Currency.getInstance(new String(code));
+            CURRENCIES[packed] = currency;
+        }
+        return currency;
+    }
+}
@@ -54,7 +54,7 @@ public final class Money implements Serializable, Comparable<Money>, MonetaryVal
 
     //This is here to handle having a custom serialized form
     //it is therefore not final.  This is also used by toString as 
-    //toString is the same as the external form.
+    //toString is the same as the external form.  Calculated the first time it is needed.
     private transient String externalForm;
 
     //Arithmetical operations
@@ -98,7 +98,6 @@ public final class Money implements Serializable, Comparable<Money>, MonetaryVal
         if (amount == null || currency == null) throw new NullPointerException("Value and currency are required.");
         this.amount = amount;
         this.currency = currency;
-        this.externalForm = amount.toString() + ' ' + currency.toString();
         this.hashCode = 29 * amount.stripTrailingZeros().hashCode();
     }
 
@@ -281,12 +280,17 @@ public final class Money implements Serializable, Comparable<Money>, MonetaryVal
      * @return A String representation of the specified Money object in the format of [amount] [currency].
      */
     public String toString() {
-        return externalForm;
+        String form = externalForm;
+        if (form == null) {
+            form = amount.toString() + ' ' + currency.toString();
+            externalForm = form;
+        }
+        return form;
     }
 
     //Methods used to implement the custom serialized form.
     private void writeObject(final ObjectOutputStream out) throws IOException {
-        out.writeObject(externalForm);
+        out.writeObject(toString());
     }
 
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -0,0 +1,283 @@
+package org.paritybits.pantheon.plutus;
+
+import org.paritybits.pantheon.janus.Period;
+import org.paritybits.pantheon.janus.simple.Aggregator;
+import org.paritybits.pantheon.janus.simple.Bucketizer;
+import org.paritybits.pantheon.janus.simple.PeriodAggregation;
+import org.paritybits.pantheon.janus.simple.PeriodSeries;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Totals Money at instants by period, with a PeriodAggregation for each currency.  An amount is totaled as a
+ * whole number of the minor units of its currency, cents for dollars, so sums are exact as long as the totals
+ * stay within 2^53 minor units, about 90 trillion dollars.  An amount with more decimal places than its
+ * currency has cannot be added.  Monies can be added one at a time, from a MoneyArray without creating a Money
+ * for each record, or from a Stream through collector.
+ * <p/>
+ * An aggregation is not thread-safe.  Threads can each fill their own aggregation and merge them, which is
+ * what a parallel stream does with collector.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.janus.simple.PeriodAggregation
+ */
+public final class MoneyAggregation {
+
+    //The largest number of minor units a double holds exactly.
+    private static final long MAX_UNITS = 1L << 53;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
+    private final PeriodAggregation empty;
+    private final Map<Currency, PeriodAggregation> currencies = new HashMap<Currency, PeriodAggregation>();
+
+    //The currency of the last money added and its aggregation, since monies tend to come in one currency.
+    private Currency lastCurrency;
+    private PeriodAggregation last;
+
+    private MoneyAggregation(final PeriodAggregation empty) {
+        this.empty = empty;
+    }
+
+    /**
+     * @param bucketizer  The periods to total the monies by.
+     * @param aggregators The totals to keep for each period.
+     * @return A new empty aggregation.
+     * @throws NullPointerException     If bucketizer or any aggregator is null.
+     * @throws IllegalArgumentException If there are no aggregators.
+     */
+    public static MoneyAggregation create(final Bucketizer<?> bucketizer, final Aggregator... aggregators) {
+        return new MoneyAggregation(PeriodAggregation.create(bucketizer, aggregators));
+    }
+
+    /**
+     * @param bucketizers The periods to total the monies by.
+     * @param aggregators The totals to keep for each period.
+     * @return A new empty aggregation.
+     * @throws NullPointerException     If any bucketizer or aggregator is null.
+     * @throws IllegalArgumentException If there are no bucketizers or no aggregators.
+     */
+    public static MoneyAggregation create(final Collection<? extends Bucketizer<?>> bucketizers,
+                                          final Aggregator... aggregators) {
+        return new MoneyAggregation(PeriodAggregation.create(bucketizers, aggregators));
+    }
+
+    /**
+     * @return A new empty aggregation with the same bucketizers and aggregators as this one.
+     */
+    public MoneyAggregation emptyCopy() {
+        return new MoneyAggregation(empty);
+    }
+
+    /**
+     * @return The currencies of the monies added so far.
+     */
+    public Set<Currency> currencies() {
+        return Collections.unmodifiableSet(currencies.keySet());
+    }
+
+    /**
+     * @param millis The instant of the money in milliseconds since 1970-01-01T00:00Z.
+     * @param money  The money.
+     * @throws NullPointerException     If money is null.
+     * @throws IllegalArgumentException If the amount is more precise than its currency or too large.
+     */
+    public void add(final long millis, final Money money) {
+        if (money == null) throw new NullPointerException("Money cannot be null.");
+        BigInteger units;
+        try {
+            units = money.amount().setScale(digits(money.currency())).unscaledValue();
+        } catch (ArithmeticException e) {
+            units = null;
+        }
+        if (units == null || units.abs().compareTo(BigInteger.valueOf(MAX_UNITS)) > 0) {
+            throw new IllegalArgumentException("Cannot total " + money + " in minor units of its currency.");
+        }
+        add(millis, units.longValue(), money.currency());
+    }
+
+    /**
+     * @param millis The instants of the monies in milliseconds since 1970-01-01T00:00Z.
+     * @param monies The money at each instant.
+     * @throws NullPointerException     If either array or any money is null.
+     * @throws IllegalArgumentException If the arrays are not the same length, or an amount is more precise than
+     *                                  its currency or too large.
+     */
+    public void addAll(final long[] millis, final Money[] monies) {
+        checkLengths(millis.length, monies.length);
+        for (int i = 0; i < millis.length; i++) {
+            add(millis[i], monies[i]);
+        }
+    }
+
+    /**
+     * Reads the monies of an array in place, without creating a Money for each.
+     *
+     * @param millis The instants of the monies in milliseconds since 1970-01-01T00:00Z.
+     * @param monies The money at each instant.
+     * @throws NullPointerException     If either array is null.
+     * @throws IllegalArgumentException If there are not as many instants as monies, or an amount is more precise
+     *                                  than its currency or too large.
+     */
+    public void addAll(final long[] millis, final MoneyArray monies) {
+        checkLengths(millis.length, monies.size());
+        MoneyArray.Cursor cursor = monies.cursor();
+        for (int i = 0; i < millis.length; i++) {
+            cursor.at(i);
+            Currency currency = cursor.currency();
+            long units = minorUnits(cursor.unscaled(), digits(currency) - cursor.scale());
+            if (units > MAX_UNITS || units < -MAX_UNITS) {
+                throw new IllegalArgumentException("Cannot total " + cursor.toMoney()
+                        + " in minor units of its currency.");
+            }
+            add(millis[i], units, currency);
+        }
+    }
+
+    /**
+     * Adds the totals of another aggregation of the same bucketizers and aggregators to this one.
+     *
+     * @param other The aggregation to merge, which is not changed.
+     * @throws NullPointerException     If other is null.
+     * @throws IllegalArgumentException If other has different bucketizers or aggregators.
+     */
+    public void merge(final MoneyAggregation other) {
+        if (!empty.bucketizers().equals(other.empty.bucketizers())
+                || !empty.aggregators().equals(other.empty.aggregators())) {
+            throw new IllegalArgumentException("Only aggregations of the same bucketizers and aggregators merge.");
+        }
+        for (Map.Entry<Currency, PeriodAggregation> entry : other.currencies.entrySet()) {
+            aggregationOf(entry.getKey()).merge(entry.getValue());
+        }
+    }
+
+    /**
+     * A collector of the elements of a stream into a new aggregation of the same bucketizers and aggregators as
+     * this one.  A parallel stream fills an aggregation for each thread and merges them.  This aggregation is
+     * not changed.
+     *
+     * @param millis The instant of an element in milliseconds since 1970-01-01T00:00Z.
+     * @param money  The money of an element.
+     * @param <E>    The type of the elements.
+     * @return A new collector.
+     * @throws NullPointerException If either function is null.
+     */
+    public <E> Collector<E, MoneyAggregation, MoneyAggregation> collector(final ToLongFunction<? super E> millis,
+                                                                        final Function<? super E, Money> money) {
+        if (millis == null || money == null) throw new NullPointerException("Functions cannot be null.");
+        return Collector.of(new Supplier<MoneyAggregation>() {
+                                public MoneyAggregation get() {
+                                    return emptyCopy();
+                                }
+                            }, new BiConsumer<MoneyAggregation, E>() {
+                                public void accept(final MoneyAggregation aggregation, final E element) {
+                                    aggregation.add(millis.applyAsLong(element), money.apply(element));
+                                }
+                            }, new BinaryOperator<MoneyAggregation>() {
+                                public MoneyAggregation apply(final MoneyAggregation left,
+                                                              final MoneyAggregation right) {
+                                    left.merge(right);
+                                    return left;
+                                }
+                            }, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @param bucketizer One of the bucketizers of this aggregation, or one equal to it.
+     * @param aggregator One of the aggregators of this aggregation.
+     * @param currency   A currency.
+     * @param <T>        The type of period.
+     * @return The totals of the monies of currency in its minor units, empty if there were none.
+     * @throws NullPointerException     If currency is null.
+     * @throws IllegalArgumentException If the bucketizer or aggregator is not one of this aggregation.
+     */
+    public <T extends Period<T>> PeriodSeries<T> series(final Bucketizer<T> bucketizer, final Aggregator aggregator,
+                                                        final Currency currency) {
+        if (currency == null) throw new NullPointerException("Currency cannot be null.");
+        PeriodAggregation aggregation = currencies.get(currency);
+        return (aggregation == null ? empty : aggregation).series(bucketizer, aggregator);
+    }
+
+    /**
+     * @param bucketizer One of the bucketizers of this aggregation, or one equal to it.
+     * @param aggregator One of the aggregators of this aggregation, other than COUNT.
+     * @param currency   A currency.
+     * @param <T>        The type of period.
+     * @return The total of the monies of currency in each period with at least one of them, in order.
+     * @throws NullPointerException     If currency is null.
+     * @throws IllegalArgumentException If the bucketizer or aggregator is not one of this aggregation, or the
+     *                                  aggregator is COUNT.
+     */
+    public <T extends Period<T>> SortedMap<T, Money> toMap(final Bucketizer<T> bucketizer,
+                                                          final Aggregator aggregator, final Currency currency) {
+        if (aggregator == Aggregator.COUNT) throw new IllegalArgumentException("A count is not an amount of money.");
+        int digits = digits(currency);
+        SortedMap<T, Money> map = new TreeMap<T, Money>();
+        for (Map.Entry<T, Double> total : series(bucketizer, aggregator, currency).toMap().entrySet()) {
+            BigDecimal amount = new BigDecimal(total.getValue()).movePointLeft(digits)
+                    .setScale(digits, RoundingMode.HALF_EVEN);
+            map.put(total.getKey(), Money.valueOf(amount, currency));
+        }
+        return map;
+    }
+
+    private void add(final long millis, final long units, final Currency currency) {
+        if (currency != lastCurrency) {
+            last = aggregationOf(currency);
+            lastCurrency = currency;
+        }
+        last.add(millis, units);
+    }
+
+    private PeriodAggregation aggregationOf(final Currency currency) {
+        PeriodAggregation aggregation = currencies.get(currency);
+        if (aggregation == null) {
+            aggregation = empty.emptyCopy();
+            currencies.put(currency, aggregation);
+        }
+        return aggregation;
+    }
+
+    //The minor units of an unscaled amount moved shift decimal places, or more than MAX_UNITS if it has a
+    //fraction of a minor unit or is too large.
+    private static long minorUnits(final long unscaled, final int shift) {
+        if (unscaled == 0) return 0;
+        if (shift >= POWERS_OF_TEN.length || -shift >= POWERS_OF_TEN.length) return MAX_UNITS + 1;
+        if (shift >= 0) {
+            long power = POWERS_OF_TEN[shift];
+            return unscaled >= -MAX_UNITS / power && unscaled <= MAX_UNITS / power ? unscaled * power : MAX_UNITS + 1;
+        }
+        long power = POWERS_OF_TEN[-shift];
+        return unscaled % power == 0 ? unscaled / power : MAX_UNITS + 1;
+    }
+
+    //The decimal places of the minor units of a currency, none for currencies such as gold that have none.
+    private static int digits(final Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    private static void checkLengths(final int millis, final int monies) {
+        if (millis != monies) {
+            throw new IllegalArgumentException("There are " + millis + " instants and " + monies + " monies.");
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package org.paritybits.pantheon.plutus;
+
+import org.paritybits.pantheon.common.StructArray;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Money kept off the heap as 12 byte records: the unscaled amount as a long, the scale of the amount as a
+ * short and the currency code packed into a short.  Amounts whose unscaled value does not fit in a long or
+ * whose scale does not fit in a short cannot be held.
+ * <p/>
+ * get and the iterator create a Money for each record, a Cursor reads the records in place without creating
+ * anything.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.StructArray
+ */
+public final class MoneyArray extends StructArray implements Iterable<Money> {
+
+    private static final int UNSCALED = 0;
+    private static final int SCALE = 8;
+    private static final int CURRENCY = 10;
+    private static final int RECORD_SIZE = 12;
+
+    private MoneyArray(final int capacity) {
+        super(RECORD_SIZE, capacity);
+    }
+
+    /**
+     * @param capacity The number of monies to allocate room for at first.
+     * @return A new empty array.
+     * @throws IllegalArgumentException If capacity is negative or too large.
+     */
+    public static MoneyArray create(final int capacity) {
+        return new MoneyArray(capacity);
+    }
+
+    /**
+     * @param money The money to add to the end.
+     * @throws NullPointerException     If money is null.
+     * @throws IllegalArgumentException If the amount of money is too large or too precise.
+     */
+    public void add(final Money money) {
+        checkFits(money);
+        write(money, appendRecord());
+    }
+
+    /**
+     * @param monies The monies to add to the end, in order.
+     * @throws NullPointerException     If any money is null.
+     * @throws IllegalArgumentException If the amount of a money is too large or too precise.
+     */
+    public void addAll(final Iterable<Money> monies) {
+        for (Money money : monies) {
+            add(money);
+        }
+    }
+
+    /**
+     * @param index The index of the money to replace.
+     * @param money The new money.
+     * @throws IndexOutOfBoundsException If there is no money at index.
+     * @throws NullPointerException      If money is null.
+     * @throws IllegalArgumentException  If the amount of money is too large or too precise.
+     */
+    public void set(final int index, final Money money) {
+        int offset = offset(index);
+        checkFits(money);
+        write(money, offset);
+    }
+
+    /**
+     * @param index The index of a money.
+     * @return A Money equal to the one at index.
+     * @throws IndexOutOfBoundsException If there is no money at index.
+     */
+    public Money get(final int index) {
+        return moneyAt(offset(index));
+    }
+
+    /**
+     * @param index The index of a money.
+     * @return The unscaled amount of the money at index.
+     * @throws IndexOutOfBoundsException If there is no money at index.
+     */
+    public long unscaled(final int index) {
+        return buffer().getLong(offset(index) + UNSCALED);
+    }
+
+    /**
+     * @param index The index of a money.
+     * @return The scale of the amount of the money at index.
+     * @throws IndexOutOfBoundsException If there is no money at index.
+     */
+    public int scale(final int index) {
+        return buffer().getShort(offset(index) + SCALE);
+    }
+
+    /**
+     * @param index The index of a money.
+     * @return The currency of the money at index.
+     * @throws IndexOutOfBoundsException If there is no money at index.
+     */
+    public Currency currency(final int index) {
+        return CurrencyCodes.unpack(buffer().getShort(offset(index) + CURRENCY));
+    }
+
+    /**
+     * Copies monies to another array, or within this one, as a block of memory.
+     *
+     * @param from   The index of the first money to copy.
+     * @param target The array to copy to.
+     * @param at     The index in target to copy to, from 0 up to its size.
+     * @param count  The number of monies to copy.
+     * @throws IndexOutOfBoundsException If either range is out of bounds.
+     */
+    public void copyTo(final int from, final MoneyArray target, final int at, final int count) {
+        copyRecords(from, target, at, count);
+    }
+
+    /**
+     * @return A new cursor before the first money.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @return An iterator that creates a Money for each record.  It fails if the array changes size while
+     *         iterating.
+     */
+    public Iterator<Money> iterator() {
+        final int expectedSize = size();
+        return new Iterator<Money>() {
+            private int index;
+
+            public boolean hasNext() {
+                return index < expectedSize;
+            }
+
+            public Money next() {
+                if (index >= expectedSize) throw new NoSuchElementException();
+                if (size() != expectedSize) throw new IllegalStateException("The array changed while iterating.");
+                return get(index++);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Use set to change a MoneyArray.");
+            }
+        };
+    }
+
+    /**
+     * A flyweight over one record of the array at a time.  Moving the cursor and reading through it creates
+     * no objects.
+     */
+    public final class Cursor {
+        private int offset = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * @param index The index of the money to move to.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If there is no money at index.
+         */
+        public Cursor at(final int index) {
+            offset = offset(index);
+            return this;
+        }
+
+        /**
+         * @return The unscaled amount of the money at the cursor.
+         */
+        public long unscaled() {
+            return buffer().getLong(offset + UNSCALED);
+        }
+
+        /**
+         * @return The scale of the amount of the money at the cursor.
+         */
+        public int scale() {
+            return buffer().getShort(offset + SCALE);
+        }
+
+        /**
+         * @return The currency of the money at the cursor.
+         */
+        public Currency currency() {
+            return CurrencyCodes.unpack(buffer().getShort(offset + CURRENCY));
+        }
+
+        /**
+         * @return A Money equal to the one at the cursor.
+         */
+        public Money toMoney() {
+            return moneyAt(offset);
+        }
+    }
+
+    private static void checkFits(final Money money) {
+        if (money == null) throw new NullPointerException("Money cannot be null.");
+        BigDecimal amount = money.amount();
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() >= Long.SIZE || amount.scale() != (short) amount.scale()) {
+            throw new IllegalArgumentException(money + " is too large or too precise for a MoneyArray.");
+        }
+        CurrencyCodes.pack(money.currency());
+    }
+
+    private void write(final Money money, final int offset) {
+        BigDecimal amount = money.amount();
+        buffer().putLong(offset + UNSCALED, amount.unscaledValue().longValue());
+        buffer().putShort(offset + SCALE, (short) amount.scale());
+        buffer().putShort(offset + CURRENCY, (short) CurrencyCodes.pack(money.currency()));
+    }
+
+    private Money moneyAt(final int offset) {
+        return Money.valueOf(BigDecimal.valueOf(buffer().getLong(offset + UNSCALED), buffer().getShort(offset + SCALE)),
+                CurrencyCodes.unpack(buffer().getShort(offset + CURRENCY)));
+    }
+}
@@ -1,10 +1,10 @@
 package org.paritybits.pantheon.plutus;
 
-import org.paritybits.pantheon.common.Function;
-import org.paritybits.pantheon.common.FunctionMap;
+import org.paritybits.pantheon.common.CompactFunctionMap;
 import org.paritybits.pantheon.common.FunctionMap.PutFunction;
 import org.paritybits.pantheon.common.Immutable;
 import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.plutus.jfr.MoneyBagConversionEvent;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -12,6 +12,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * A MoneyBag is used to perform cross currency additions and subtractions.  It will defer conversion until
@@ -49,16 +50,17 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      * Creates a new empty MoneyBag.
      */
     private MoneyBag() {
-        totals = Collections.emptyMap();
+        totals = new CompactFunctionMap<Currency, Money>(ADD_MAP_FUNCTION, 0);
     }
 
     /**
-     * Private constructor used by operations to valueOf new results.
+     * Private constructor used by operations to valueOf new results.  The totals are owned by the
+     * new MoneyBag and are never changed or handed out after this point.
      *
      * @param totals The totals of the new MoneyBag.
      */
     private MoneyBag(final Map<Currency, Money> totals) {
-        this.totals = Collections.unmodifiableMap(totals);
+        this.totals = totals;
     }
 
     /**
@@ -68,8 +70,8 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      * @return A new MoneyBag representing the the specified MoneyBag plus the given Money.
      */
     public MoneyBag add(final Money amount) {
-        FunctionMap<Currency, Money> newTotals =
-                new FunctionMap<Currency, Money>(ADD_MAP_FUNCTION);
+        CompactFunctionMap<Currency, Money> newTotals =
+                new CompactFunctionMap<Currency, Money>(ADD_MAP_FUNCTION, totals.size() + 1);
         newTotals.putAll(totals);
         newTotals.put(amount.currency(), amount);
         return new MoneyBag(newTotals);
@@ -119,7 +121,7 @@ public final class MoneyBag implements MonetaryValue, Serializable {
     public MoneyBag multiply(final BigDecimal amount) {
         return operateOnTotals(new Function<Money, Money>() {
             @Override
-            public Money evaluate(final Money total) {
+            public Money apply(final Money total) {
                 return total.multiply(amount);
             }
         });
@@ -133,7 +135,7 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      */
     public MoneyBag divide(final BigDecimal amount) {
         return operateOnTotals(new Function<Money, Money>() {
-            public Money evaluate(final Money total) {
+            public Money apply(final Money total) {
                 return total.divide(amount);
             }
         });
@@ -146,7 +148,7 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      */
     public MoneyBag negate() {
         return operateOnTotals(new Function<Money, Money>() {
-            public Money evaluate(Money amount) {
+            public Money apply(Money amount) {
                 return amount.negate();
             }
         });
@@ -160,7 +162,7 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      */
     public MoneyBag percentage(final Percentage percentage) {
         return operateOnTotals(new Function<Money, Money>() {
-            public Money evaluate(Money amount) {
+            public Money apply(Money amount) {
                 return amount.percentage(percentage);
             }
         });
@@ -174,17 +176,17 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      */
     public MoneyBag compound(final Percentage percentage) {
         return operateOnTotals(new Function<Money, Money>() {
-            public Money evaluate(Money amount) {
+            public Money apply(Money amount) {
                 return amount.compound(percentage);
             }
         });
     }
 
     private MoneyBag operateOnTotals(final Function<Money, Money> operation) {
-        Map<Currency, Money> newTotals = new HashMap<Currency, Money>();
+        Map<Currency, Money> newTotals = new CompactFunctionMap<Currency, Money>(ADD_MAP_FUNCTION, totals.size());
         for (Money total : totals.values()) {
             newTotals.put(total.currency(),
-                    operation.evaluate(total));
+                    operation.apply(total));
         }
         return new MoneyBag(newTotals);
     }
@@ -199,10 +201,13 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      * @see org.paritybits.pantheon.plutus.CurrencyExchange
      */
     public Money valueInCurrency(final Currency currency, final CurrencyExchange currencyExchange) {
+        MoneyBagConversionEvent event = new MoneyBagConversionEvent();
+        event.begin();
         Money result = Money.zero(currency);
         for (Money total : totals.values()) {
             result = result.add(total.valueInCurrency(currency, currencyExchange));
         }
+        event.commit(currency, totals.size());
         return result;
     }
 
@@ -274,6 +279,11 @@ public final class MoneyBag implements MonetaryValue, Serializable {
         Money performOperation(final Money amount);
     }
 
+    //The totals, one Money per currency, for PlutusCodecs.
+    Collection<Money> totals() {
+        return totals.values();
+    }
+
     /**
      * Creates a new money bag with the given monies as its contents.
      *
@@ -282,8 +292,8 @@ public final class MoneyBag implements MonetaryValue, Serializable {
      * @return A new MoneyBag.
      */
     public static MoneyBag containing(final Money... moneies) {
-        Map<Currency, Money> totals = new FunctionMap<Currency, Money>(
-                ADD_MAP_FUNCTION);
+        Map<Currency, Money> totals = new CompactFunctionMap<Currency, Money>(
+                ADD_MAP_FUNCTION, moneies.length);
         for (final Money money : moneies) {
             totals.put(money.currency(), money);
         }
@@ -0,0 +1,72 @@
+package org.paritybits.pantheon.plutus;
+
+import org.paritybits.pantheon.common.codec.Codec;
+import org.paritybits.pantheon.common.codec.CodecProvider;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+import org.paritybits.pantheon.common.codec.CodecSupport;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * The codecs for Money and MoneyBag.  A Money is written as its currency code packed into two bytes followed
+ * by the scale and unscaled value of its amount, so 1234.56 USD takes eight bytes with its tag.  A MoneyBag is
+ * written as the number of currencies it holds followed by its total in each.
+ * <p/>
+ * Tags: 32 Money, 33 MoneyBag.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.common.codec.CodecRegistry
+ */
+public final class PlutusCodecs implements CodecProvider {
+
+    private static final Codec<Money> MONEY_CODEC = new Codec<Money>() {
+        public void write(final Money value, final DataOutput out) throws IOException {
+            out.writeShort(CurrencyCodes.pack(value.currency()));
+            CodecSupport.writeDecimal(value.amount(), out);
+        }
+
+        public Money read(final DataInput in) throws IOException {
+            Currency currency = unpack(in.readUnsignedShort());
+            return Money.valueOf(CodecSupport.readDecimal(in), currency);
+        }
+    };
+
+    public void registerCodecs(final CodecRegistry registry) {
+        registry.register(32, Money.class, MONEY_CODEC);
+        registry.register(33, MoneyBag.class, new Codec<MoneyBag>() {
+            public void write(final MoneyBag value, final DataOutput out) throws IOException {
+                Collection<Money> totals = value.totals();
+                CodecSupport.writeUnsignedVarInt(totals.size(), out);
+                for (Money total : totals) {
+                    MONEY_CODEC.write(total, out);
+                }
+            }
+
+            public MoneyBag read(final DataInput in) throws IOException {
+                int count = CodecSupport.readLength(in);
+                if (count == 0) return MoneyBag.emptyBag();
+                //The list grows as the totals arrive, so a corrupt count runs out of input first.
+                List<Money> totals = new ArrayList<Money>(Math.min(count, 16));
+                for (int i = 0; i < count; i++) {
+                    totals.add(MONEY_CODEC.read(in));
+                }
+                return MoneyBag.containing(totals.toArray(new Money[totals.size()]));
+            }
+        });
+    }
+
+    private static Currency unpack(final int packed) throws IOException {
+        try {
+            return CurrencyCodes.unpack(packed);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.paritybits.pantheon.plutus.calculations;
 import org.paritybits.pantheon.common.Range;
 import org.paritybits.pantheon.janus.Period;
 import org.paritybits.pantheon.plutus.MonetaryValue;
+import org.paritybits.pantheon.plutus.jfr.CompoundedReturnsEvent;
 import org.paritybits.pantheon.plutus.returns.Returns;
 
 
@@ -14,10 +15,15 @@ public class FinancialCalculator {
     public static <T extends MonetaryValue> T compoundedReturns(final Returns returns,
                                                                 final Range<? extends Period> overPeriod,
                                                                 final T startingValue) {
+        CompoundedReturnsEvent event = new CompoundedReturnsEvent();
+        event.begin();
         MonetaryValue value = startingValue;
+        int periods = 0;
 		for(Period period : overPeriod) {
 			value = value.compound(returns.returnForPeriod(period));
+			periods++;
 		}
+        event.commit(returns, periods);
 		return (T)value;
     }
 }
@@ -1,52 +1,90 @@
 package org.paritybits.pantheon.plutus.exchange;
 
+import org.paritybits.pantheon.common.CacheSpec;
+import org.paritybits.pantheon.common.CacheStats;
+import org.paritybits.pantheon.common.MemoizingCache;
 import org.paritybits.pantheon.plutus.CurrencyExchange;
+import org.paritybits.pantheon.plutus.jfr.ExchangeRateLoadEvent;
 
 import java.math.BigDecimal;
 import java.text.MessageFormat;
 import java.util.Currency;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Function;
 
 /**
  * A currency exchange that wraps around another currency exchange
- * and caches the results of it's calcuations.
+ * and caches the results of it's calcuations.  The cache is thread safe and
+ * only calls the underlying exchange once for a pair of currencies, even when
+ * many threads ask for the same rate at the same time.
  * 
  * @author Andrew Tillman
  * @version 0.9
  */
 public final class CachingExchange implements CurrencyExchange {
 	
+	//Thrown by the loader when the underlying exchange has no rate, so that nothing is cached and the rate is
+	//asked for again next time, as it was before the cache.  It has no stack trace, so it costs nothing to throw.
+	private static final RuntimeException NO_RATE = new RuntimeException("No rate.", null, false, false) {
+	};
+
 	private final CurrencyExchange currencyExchange;
-	private final Map<ExchangeKey, BigDecimal> cache = 
-		new HashMap<ExchangeKey, BigDecimal>();
+	private final MemoizingCache<ExchangeKey, BigDecimal> cache;
 
 	/**
-	 * Creates a new CachingExchange that wraps around the given CurrencyExchange. 
+	 * Creates a new CachingExchange that wraps around the given CurrencyExchange
+	 * and keeps every rate it has calculated.
 	 * 
 	 * @param currencyExchange The underlying exchange for the new CachingExchange.
 	 */
 	public CachingExchange(final CurrencyExchange currencyExchange) {
+		this(currencyExchange, CacheSpec.unbounded());
+	}
+
+	/**
+	 * Creates a new CachingExchange that wraps around the given CurrencyExchange
+	 * and bounds or expires its rates as described by the spec.
+	 * 
+	 * @param currencyExchange The underlying exchange for the new CachingExchange.
+	 * @param cacheSpec The bounds and expiration of the cached rates.
+	 * @throws NullPointerException If cacheSpec is null.
+	 */
+	public CachingExchange(final CurrencyExchange currencyExchange, final CacheSpec cacheSpec) {
 		this.currencyExchange = currencyExchange;
+		this.cache = MemoizingCache.create(cacheSpec, new Function<ExchangeKey, BigDecimal>() {
+			public BigDecimal apply(final ExchangeKey key) {
+				ExchangeRateLoadEvent event = new ExchangeRateLoadEvent();
+				event.begin();
+				BigDecimal rate = currencyExchange.calculateExchangeRate(key.from, key.to);
+				event.commit(key.from, key.to, currencyExchange);
+				if (rate == null) throw NO_RATE;
+				return rate;
+			}
+		});
 	}
 
 	/**
 	 * Calculates the exchange rate using the cache if these two currencies have
 	 * been encountered before, or calls to the underlying exchange if they have
-	 * not.
+	 * not.  A null rate from the underlying exchange is returned but not cached.
 	 * 
 	 * @param from The currency converting from.
 	 * @param to The currency converting to.
-	 * @return The exchange rate for these 2 currencies.
+	 * @return The exchange rate for these 2 currencies, or null if the underlying exchange gave none.
 	 */
 	public BigDecimal calculateExchangeRate(final Currency from, final Currency to) {
-		ExchangeKey exchangeKey = new ExchangeKey(from, to);
-		BigDecimal rate = cache.get(exchangeKey);
-		if(rate == null) {
-			rate = currencyExchange.calculateExchangeRate(from, to);
-			cache.put(exchangeKey, rate);
+		try {
+			return cache.get(new ExchangeKey(from, to));
+		} catch (RuntimeException e) {
+			if (e == NO_RATE) return null;
+			throw e;
 		}
-		return rate;
+	}
+
+	/**
+	 * @return The hit, miss and eviction statistics of the rate cache.
+	 */
+	public CacheStats cacheStats() {
+		return cache.stats();
 	}
 
 
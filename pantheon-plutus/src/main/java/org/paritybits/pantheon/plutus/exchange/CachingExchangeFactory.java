@@ -1,6 +1,8 @@
 package org.paritybits.pantheon.plutus.exchange;
 
 import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.plutus.CurrencyExchange;
+import org.paritybits.pantheon.plutus.jfr.ExchangeCreationEvent;
 
 import java.util.Date;
 
@@ -34,7 +36,10 @@ public final class CachingExchangeFactory implements CurrencyExchangeFactory {
      * @return A new CachingExchange object.
      */
     public CachingExchange createCurrencyExchange(final Date exchangeDate) {
-        return new CachingExchange(
-                wrappedFactory.createCurrencyExchange(exchangeDate));
+        ExchangeCreationEvent event = new ExchangeCreationEvent();
+        event.begin();
+        CurrencyExchange exchange = wrappedFactory.createCurrencyExchange(exchangeDate);
+        event.commit(wrappedFactory, exchangeDate);
+        return new CachingExchange(exchange);
 	}
 }
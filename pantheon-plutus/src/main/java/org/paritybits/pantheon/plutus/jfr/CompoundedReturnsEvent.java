@@ -0,0 +1,43 @@
+package org.paritybits.pantheon.plutus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for a run of FinancialCalculator.compoundedReturns.  Disabled by default.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.plutus.calculations.FinancialCalculator
+ */
+@Name("org.paritybits.pantheon.plutus.CompoundedReturns")
+@Label("Compounded Returns")
+@Description("Compounding a value over a range of periods.")
+@Category({"Pantheon", "Plutus"})
+@Enabled(false)
+public final class CompoundedReturnsEvent extends jdk.jfr.Event {
+
+    @Label("Returns")
+    private Class<?> returns;
+
+    @Label("Period Count")
+    private int periodCount;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param returnsUsed The returns that were compounded.
+     * @param periods     The number of periods compounded over.
+     */
+    public void commit(final Object returnsUsed, final int periods) {
+        end();
+        if (shouldCommit()) {
+            this.returns = returnsUsed.getClass();
+            this.periodCount = periods;
+            commit();
+        }
+    }
+}
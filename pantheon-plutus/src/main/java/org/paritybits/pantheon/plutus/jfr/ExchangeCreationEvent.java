@@ -0,0 +1,48 @@
+package org.paritybits.pantheon.plutus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timestamp;
+
+import java.util.Date;
+
+/**
+ * A Flight Recorder event for the creation of a CurrencyExchange by a CurrencyExchangeFactory.
+ * Disabled by default.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.plutus.exchange.CurrencyExchangeFactory
+ */
+@Name("org.paritybits.pantheon.plutus.ExchangeCreation")
+@Label("Currency Exchange Creation")
+@Description("A CurrencyExchangeFactory creating the exchange for a date.")
+@Category({"Pantheon", "Plutus"})
+@Enabled(false)
+public final class ExchangeCreationEvent extends jdk.jfr.Event {
+
+    @Label("Factory")
+    private Class<?> factory;
+
+    @Label("Exchange Date")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private long exchangeDate;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param exchangeFactory The factory that created the exchange.
+     * @param date            The date the exchange was created for.
+     */
+    public void commit(final Object exchangeFactory, final Date date) {
+        end();
+        if (shouldCommit()) {
+            this.factory = exchangeFactory.getClass();
+            this.exchangeDate = date == null ? 0 : date.getTime();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.paritybits.pantheon.plutus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Currency;
+
+/**
+ * A Flight Recorder event for a CachingExchange miss.  The duration is the time the underlying exchange
+ * took to calculate the rate.  Disabled by default.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.plutus.exchange.CachingExchange
+ */
+@Name("org.paritybits.pantheon.plutus.ExchangeRateLoad")
+@Label("Exchange Rate Load")
+@Description("A CachingExchange cache miss and the call to the underlying exchange it caused.")
+@Category({"Pantheon", "Plutus"})
+@Enabled(false)
+@StackTrace(false)
+public final class ExchangeRateLoadEvent extends jdk.jfr.Event {
+
+    @Label("From Currency")
+    private String fromCurrency;
+
+    @Label("To Currency")
+    private String toCurrency;
+
+    @Label("Exchange")
+    private Class<?> exchange;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param from             The currency converted from.
+     * @param to               The currency converted to.
+     * @param currencyExchange The underlying exchange that was called.
+     */
+    public void commit(final Currency from, final Currency to, final Object currencyExchange) {
+        end();
+        if (shouldCommit()) {
+            this.fromCurrency = from.getCurrencyCode();
+            this.toCurrency = to.getCurrencyCode();
+            this.exchange = currencyExchange.getClass();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.paritybits.pantheon.plutus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Currency;
+
+/**
+ * A Flight Recorder event for converting a MoneyBag to a single currency.  Disabled by default.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.plutus.MoneyBag#valueInCurrency
+ */
+@Name("org.paritybits.pantheon.plutus.MoneyBagConversion")
+@Label("MoneyBag Conversion")
+@Description("Converting the totals of a MoneyBag into a single currency.")
+@Category({"Pantheon", "Plutus"})
+@Enabled(false)
+@StackTrace(false)
+public final class MoneyBagConversionEvent extends jdk.jfr.Event {
+
+    @Label("Currency")
+    private String currency;
+
+    @Label("Currency Count")
+    @Description("The number of currencies in the bag.")
+    private int currencyCount;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param toCurrency The currency converted to.
+     * @param currencies The number of currencies in the bag.
+     */
+    public void commit(final Currency toCurrency, final int currencies) {
+        end();
+        if (shouldCommit()) {
+            this.currency = toCurrency.getCurrencyCode();
+            this.currencyCount = currencies;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.paritybits.pantheon.plutus;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.AllocationMeter.Operation;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.paritybits.pantheon.common.AllocationMeter.assertWithinBudget;
+
+/**
+ * Allocation budgets for the hot paths of Money, MoneyBag and MoneyArray.  A budget is the most bytes a single call may
+ * allocate on a warmed up HotSpot JVM, set a little above what the code allocates today.  Lower a budget
+ * when the path gets cheaper.
+ */
+public class AllocationBudgetTest {
+
+    //Budgets in bytes per call.
+    private static final long MONEY_ADD = 320;
+    private static final long MONEY_BAG_ADD = 640;
+    private static final long MONEY_ARRAY_CURSOR = 0;
+
+    @Test
+    public void moneyAdd() {
+        final Money price = Money.valueOf("1234.56 USD");
+        final Money tax = Money.valueOf("98.77 USD");
+        assertWithinBudget("Money.add", MONEY_ADD, new Operation() {
+            public Object run() {
+                return price.add(tax);
+            }
+        });
+    }
+
+    @Test
+    public void moneyBagAdd() {
+        final MoneyBag bag = MoneyBag.containing(
+                Money.valueOf("1 USD"), Money.valueOf("2 EUR"), Money.valueOf("3 GBP"));
+        final Money amount = Money.valueOf("98.77 USD");
+        assertWithinBudget("MoneyBag.add", MONEY_BAG_ADD, new Operation() {
+            public Object run() {
+                return bag.add(amount);
+            }
+        });
+    }
+
+    @Test
+    public void moneyArrayCursor() {
+        final MoneyArray array = MoneyArray.create(1024);
+        for (int i = 0; i < 1024; i++) {
+            array.add(Money.valueOf(BigDecimal.valueOf(i, 2), Currency.getInstance(i % 2 == 0 ? "USD" : "EUR")));
+        }
+        final MoneyArray.Cursor cursor = array.cursor();
+        assertWithinBudget("MoneyArray.Cursor", MONEY_ARRAY_CURSOR, new Operation() {
+            private int index;
+
+            public Object run() {
+                cursor.at(index++ & 1023);
+                return cursor.unscaled() + cursor.scale() > 0 ? cursor.currency() : cursor;
+            }
+        });
+    }
+}
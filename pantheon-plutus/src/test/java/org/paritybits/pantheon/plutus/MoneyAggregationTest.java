@@ -0,0 +1,125 @@
+package org.paritybits.pantheon.plutus;
+
+import org.junit.Test;
+import org.paritybits.pantheon.janus.simple.Aggregator;
+import org.paritybits.pantheon.janus.simple.Bucketizer;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class MoneyAggregationTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final Bucketizer<Day> days = Bucketizer.create(Day.class, NEW_YORK);
+    private final Bucketizer<Month> months = Bucketizer.create(Month.class, NEW_YORK);
+    private final long june15 = Instant.parse("2015-06-15T16:00:00Z").toEpochMilli();
+    private final long july1 = Instant.parse("2015-07-01T16:00:00Z").toEpochMilli();
+
+    @Test
+    public void totalsByCurrency() {
+        MoneyAggregation aggregation = MoneyAggregation.create(Arrays.asList(days, months), Aggregator.SUM,
+                Aggregator.MAX, Aggregator.COUNT);
+        aggregation.add(june15, money("10.25", USD));
+        aggregation.add(june15 + 1, money("0.10", USD));
+        aggregation.add(july1, Money.valueOf(new BigDecimal("3"), USD));
+        aggregation.add(july1, money("500", JPY));
+        assertEquals(new HashSet<Currency>(Arrays.asList(USD, JPY)), aggregation.currencies());
+
+        SortedMap<Month, Money> sums = aggregation.toMap(months, Aggregator.SUM, USD);
+        assertEquals(2, sums.size());
+        assertEquals(money("10.35", USD), sums.get(Month.valueOf("2015-06", NEW_YORK)));
+        assertEquals(money("3.00", USD), sums.get(Month.valueOf("2015-07", NEW_YORK)));
+        assertEquals(money("10.25", USD),
+                aggregation.toMap(days, Aggregator.MAX, USD).get(Day.valueOf("2015-06-15", NEW_YORK)));
+        assertEquals(money("500", JPY),
+                aggregation.toMap(months, Aggregator.SUM, JPY).get(Month.valueOf("2015-07", NEW_YORK)));
+        assertEquals(1035, aggregation.series(months, Aggregator.SUM, USD).total(Month.valueOf("2015-06", NEW_YORK)),
+                0);
+        assertEquals(2, aggregation.series(days, Aggregator.COUNT, USD).count(Day.valueOf("2015-06-15", NEW_YORK)));
+        assertTrue(aggregation.series(days, Aggregator.SUM, Currency.getInstance("EUR")).isEmpty());
+    }
+
+    @Test
+    public void moneyArraysAndStreams() {
+        final long[] millis = new long[1000];
+        final Money[] monies = new Money[millis.length];
+        MoneyArray array = MoneyArray.create(millis.length);
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = june15 + i * 3600000L;
+            monies[i] = i % 3 == 0 ? Money.valueOf(BigDecimal.valueOf(i * 7L, 1), USD)
+                    : Money.valueOf(BigDecimal.valueOf(i, 0), JPY);
+            array.add(monies[i]);
+        }
+        MoneyAggregation expected = MoneyAggregation.create(days, Aggregator.SUM, Aggregator.MIN);
+        expected.addAll(millis, monies);
+        MoneyAggregation fromArray = expected.emptyCopy();
+        fromArray.addAll(millis, array);
+        MoneyAggregation collected = IntStream.range(0, millis.length).boxed().parallel()
+                .collect(expected.collector(i -> millis[i], i -> monies[i]));
+        for (Currency currency : Arrays.asList(USD, JPY)) {
+            for (Aggregator aggregator : Arrays.asList(Aggregator.SUM, Aggregator.MIN)) {
+                assertEquals(expected.toMap(days, aggregator, currency), fromArray.toMap(days, aggregator, currency));
+                assertEquals(expected.toMap(days, aggregator, currency), collected.toMap(days, aggregator, currency));
+            }
+        }
+        assertTrue(expected.toMap(days, Aggregator.SUM, USD).containsKey(Day.valueOf("2015-06-15", NEW_YORK)));
+    }
+
+    @Test
+    public void merge() {
+        MoneyAggregation first = MoneyAggregation.create(months, Aggregator.SUM);
+        first.add(june15, money("1.50", USD));
+        MoneyAggregation second = first.emptyCopy();
+        second.add(june15, money("2.25", USD));
+        second.add(june15, money("7", JPY));
+        first.merge(second);
+        assertEquals(money("3.75", USD),
+                first.toMap(months, Aggregator.SUM, USD).get(Month.valueOf("2015-06", NEW_YORK)));
+        assertEquals(money("7", JPY),
+                first.toMap(months, Aggregator.SUM, JPY).get(Month.valueOf("2015-06", NEW_YORK)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooPrecise() {
+        MoneyAggregation.create(days, Aggregator.SUM).add(june15, money("1.005", USD));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooPreciseInAnArray() {
+        MoneyArray array = MoneyArray.create(1);
+        array.add(money("0.5", JPY));
+        MoneyAggregation.create(days, Aggregator.SUM).addAll(new long[]{june15}, array);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooLarge() {
+        MoneyAggregation.create(days, Aggregator.SUM).add(june15, money("100000000000000.00", USD));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void countIsNotMoney() {
+        MoneyAggregation.create(days, Aggregator.COUNT).toMap(days, Aggregator.COUNT, USD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedMerge() {
+        MoneyAggregation.create(days, Aggregator.SUM).merge(MoneyAggregation.create(months, Aggregator.SUM));
+    }
+
+    private static Money money(final String amount, final Currency currency) {
+        return Money.valueOf(new BigDecimal(amount), currency);
+    }
+}
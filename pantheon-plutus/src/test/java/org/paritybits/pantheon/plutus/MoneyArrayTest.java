@@ -0,0 +1,62 @@
+package org.paritybits.pantheon.plutus;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.Assert.*;
+
+public class MoneyArrayTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    public void addGetAndSet() {
+        MoneyArray array = MoneyArray.create(2);
+        for (int i = 0; i < 100; i++) {
+            array.add(Money.valueOf(BigDecimal.valueOf(i * 101, 2), i % 2 == 0 ? USD : JPY));
+        }
+        assertEquals(100, array.size());
+        assertEquals(12 * array.capacity(), array.allocatedBytes());
+        assertEquals(Money.valueOf(new BigDecimal("10.10"), USD), array.get(10));
+        assertEquals(1111, array.unscaled(11));
+        assertEquals(2, array.scale(11));
+        assertEquals(JPY, array.currency(11));
+        array.set(11, Money.valueOf(new BigDecimal("-0.001"), Currency.getInstance("BHD")));
+        assertEquals(Money.valueOf(new BigDecimal("-0.001"), Currency.getInstance("BHD")), array.get(11));
+    }
+
+    @Test
+    public void cursorIteratorAndCopy() {
+        MoneyArray array = MoneyArray.create(0);
+        array.add(Money.valueOf(new BigDecimal("1.25"), USD));
+        array.add(Money.valueOf(new BigDecimal("300"), JPY));
+        MoneyArray.Cursor cursor = array.cursor();
+        assertEquals(300, cursor.at(1).unscaled());
+        assertEquals(0, cursor.scale());
+        assertEquals(JPY, cursor.currency());
+        assertEquals(array.get(1), cursor.toMoney());
+
+        MoneyArray copy = MoneyArray.create(0);
+        array.copyTo(0, copy, 0, 2);
+        array.copyTo(0, copy, 2, 2);
+        MoneyBag total = MoneyBag.emptyBag();
+        for (Money money : copy) {
+            total = total.add(money);
+        }
+        assertEquals(MoneyBag.containing(Money.valueOf(new BigDecimal("2.50"), USD),
+                Money.valueOf(new BigDecimal("600"), JPY)), total);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooLarge() {
+        MoneyArray array = MoneyArray.create(1);
+        try {
+            array.add(Money.valueOf(new BigDecimal("12345678901234567890"), USD));
+        } finally {
+            assertEquals(0, array.size());
+        }
+    }
+}
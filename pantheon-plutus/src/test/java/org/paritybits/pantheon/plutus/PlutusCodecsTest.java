@@ -0,0 +1,87 @@
+package org.paritybits.pantheon.plutus;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Currency;
+
+import static org.junit.Assert.*;
+
+public class PlutusCodecsTest {
+
+    private final CodecRegistry registry = CodecRegistry.standard();
+
+    @Test
+    public void money() throws Exception {
+        Money money = Money.valueOf(new BigDecimal("1234.56"), Currency.getInstance("USD"));
+        Money read = registry.fromBytes(registry.toBytes(money), Money.class);
+        assertEquals(money, read);
+        assertEquals(2, read.amount().scale());
+        assertEquals(8, registry.toBytes(money).length);
+        assertRoundTrip(Money.valueOf(new BigDecimal("-0.001"), Currency.getInstance("JPY")));
+        assertRoundTrip(Money.valueOf(new BigDecimal("123456789012345678901234567890.12"),
+                Currency.getInstance("BHD")));
+        assertRoundTrip(Money.zero("XAU"));
+    }
+
+    @Test
+    public void allAvailableCurrencies() throws Exception {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            assertRoundTrip(Money.valueOf(BigDecimal.TEN, currency));
+        }
+    }
+
+    @Test
+    public void moneyBag() throws Exception {
+        assertRoundTrip(MoneyBag.emptyBag());
+        assertSame(MoneyBag.emptyBag(), registry.fromBytes(registry.toBytes(MoneyBag.emptyBag()), MoneyBag.class));
+        assertRoundTrip(MoneyBag.containing(Money.valueOf("1 USD"), Money.valueOf("2 EUR"), Money.valueOf("3 GBP")));
+    }
+
+    @Test
+    public void corruptMoneyBag() throws Exception {
+        //The tag of an empty bag followed by a count of -1, then one of Integer.MAX_VALUE with one money after it.
+        byte[] empty = registry.toBytes(MoneyBag.emptyBag());
+        byte[] money = registry.toBytes(Money.valueOf("1 USD"));
+        assertCorrupt(empty, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F});
+        assertCorrupt(empty, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+        byte[] huge = new byte[5 + money.length];
+        System.arraycopy(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, 0, huge, 0, 5);
+        System.arraycopy(money, 0, huge, 5, money.length);
+        assertCorrupt(empty, huge);
+    }
+
+    @Test
+    public void directBuffer() throws Exception {
+        MoneyBag bag = MoneyBag.containing(Money.valueOf("10 CAD"), Money.valueOf("20 CHF"));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        registry.write(bag, buffer);
+        buffer.flip();
+        assertEquals(bag, registry.read(buffer, MoneyBag.class));
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownCurrency() throws Exception {
+        //Tag 32 then ZZZ packed.
+        registry.fromBytes(new byte[]{32, (byte) 0x44, (byte) 0xA7, 0, 0, 0}, Money.class);
+    }
+
+    private void assertRoundTrip(final Object value) throws IOException {
+        assertEquals(value, registry.fromBytes(registry.toBytes(value), value.getClass()));
+    }
+
+    private void assertCorrupt(final byte[] empty, final byte[] count) {
+        byte[] bytes = Arrays.copyOf(empty, empty.length - 1 + count.length);
+        System.arraycopy(count, 0, bytes, empty.length - 1, count.length);
+        try {
+            registry.fromBytes(bytes, MoneyBag.class);
+            fail("Read a corrupt bag.");
+        } catch (IOException e) {
+            //Expected
+        }
+    }
+}
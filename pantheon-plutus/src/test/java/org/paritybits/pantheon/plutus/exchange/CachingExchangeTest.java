@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 import java.util.Currency;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 
 @RunWith(JMock.class)
@@ -71,4 +72,23 @@ public class CachingExchangeTest {
 		assertEquals(dollarToYenRate, cachingExchange.calculateExchangeRate(yen, dollar));
 		
 	}
+
+    @Test
+    public void nullRatesAreNotCached() {
+        final CurrencyExchange currencyExchange = context.mock(CurrencyExchange.class);
+        CachingExchange cachingExchange = new CachingExchange(currencyExchange);
+        final Currency dollar = Currency.getInstance("USD");
+        final Currency gold = Currency.getInstance("XAU");
+        final BigDecimal rate = new BigDecimal("0.0008");
+        //The exchange has no rate the first two times it is asked and one the third.
+        context.checking(new Expectations(){{
+            exactly(2).of(currencyExchange).calculateExchangeRate(dollar, gold); will(returnValue(null));
+            oneOf(currencyExchange).calculateExchangeRate(dollar, gold); will(returnValue(rate));
+        }});
+        assertNull(cachingExchange.calculateExchangeRate(dollar, gold));
+        assertNull(cachingExchange.calculateExchangeRate(dollar, gold));
+        assertEquals(rate, cachingExchange.calculateExchangeRate(dollar, gold));
+        assertEquals(rate, cachingExchange.calculateExchangeRate(dollar, gold));
+        assertEquals(1, cachingExchange.cacheStats().hitCount());
+    }
 }
@@ -0,0 +1,93 @@
+package org.paritybits.pantheon.plutus.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.plutus.CurrencyExchange;
+import org.paritybits.pantheon.plutus.Money;
+import org.paritybits.pantheon.plutus.MoneyBag;
+import org.paritybits.pantheon.plutus.calculations.FinancialCalculator;
+import org.paritybits.pantheon.plutus.exchange.CachingExchange;
+import org.paritybits.pantheon.plutus.exchange.CachingExchangeFactory;
+import org.paritybits.pantheon.plutus.exchange.CurrencyExchangeFactory;
+import org.paritybits.pantheon.plutus.returns.FixedRate;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PlutusEventsTest {
+
+    private static final String PREFIX = "org.paritybits.pantheon.plutus.";
+
+    private static final CurrencyExchange FIXED_EXCHANGE = new CurrencyExchange() {
+        public BigDecimal calculateExchangeRate(Currency from, Currency to) {
+            return from.equals(to) ? BigDecimal.ONE : new BigDecimal("2");
+        }
+    };
+
+    @Test
+    public void eventsAreRecordedWhenEnabled() throws Exception {
+        File file = File.createTempFile("plutus", ".jfr");
+        try {
+            Recording recording = new Recording();
+            recording.enable(PREFIX + "ExchangeRateLoad");
+            recording.enable(PREFIX + "ExchangeCreation");
+            recording.enable(PREFIX + "CompoundedReturns");
+            recording.enable(PREFIX + "MoneyBagConversion");
+            recording.start();
+
+            CurrencyExchangeFactory factory = new CachingExchangeFactory(new CurrencyExchangeFactory() {
+                public CurrencyExchange createCurrencyExchange(Date exchangeDate) {
+                    return FIXED_EXCHANGE;
+                }
+            });
+            CachingExchange exchange = (CachingExchange) factory.createCurrencyExchange(new Date(0));
+            Currency usd = Currency.getInstance("USD");
+            Currency eur = Currency.getInstance("EUR");
+            exchange.calculateExchangeRate(eur, usd);
+            exchange.calculateExchangeRate(eur, usd);
+
+            MoneyBag bag = MoneyBag.containing(Money.valueOf("1 USD"), Money.valueOf("2 EUR"));
+            assertEquals(Money.valueOf("5 USD"), bag.valueInCurrency(usd, exchange));
+
+            Month month = Month.valueOf("2010-01");
+            FinancialCalculator.compoundedReturns(FixedRate.create(Percentage.valueOf("1%")),
+                    Range.create(month, month.roll(2)), Money.valueOf("100 USD"));
+
+            recording.stop();
+            recording.dump(file.toPath());
+            recording.close();
+
+            Map<String, RecordedEvent> byName = new HashMap<String, RecordedEvent>();
+            Map<String, Integer> counts = new HashMap<String, Integer>();
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+            for (RecordedEvent event : events) {
+                String name = event.getEventType().getName();
+                if (!name.startsWith(PREFIX)) continue;
+                String shortName = name.substring(PREFIX.length());
+                byName.put(shortName, event);
+                Integer count = counts.get(shortName);
+                counts.put(shortName, count == null ? 1 : count + 1);
+            }
+            //The second rate lookup and the lookups in valueInCurrency are all cache hits.
+            assertEquals(Integer.valueOf(1), counts.get("ExchangeRateLoad"));
+            assertEquals("EUR", byName.get("ExchangeRateLoad").getString("fromCurrency"));
+            assertEquals(Integer.valueOf(1), counts.get("ExchangeCreation"));
+            assertEquals(2, byName.get("MoneyBagConversion").getInt("currencyCount"));
+            assertEquals(3, byName.get("CompoundedReturns").getInt("periodCount"));
+        } finally {
+            file.delete();
+        }
+    }
+}
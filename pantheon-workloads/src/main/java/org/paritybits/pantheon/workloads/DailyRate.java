@@ -0,0 +1,98 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * The exchange rate between two currencies on a day: one unit of from buys rate units of to.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.workloads.RateHistory
+ */
+@Immutable
+public final class DailyRate {
+
+    private final Day day;
+    private final Currency from;
+    private final Currency to;
+    private final BigDecimal rate;
+
+    private DailyRate(final Day day, final Currency from, final Currency to, final BigDecimal rate) {
+        this.day = day;
+        this.from = from;
+        this.to = to;
+        this.rate = rate;
+    }
+
+    /**
+     * @param day  The day of the rate.
+     * @param from The currency converted from.
+     * @param to   The currency converted to.
+     * @param rate The units of to one unit of from buys.
+     * @return The rate.
+     * @throws NullPointerException If any parameter is null.
+     */
+    public static DailyRate create(final Day day, final Currency from, final Currency to, final BigDecimal rate) {
+        if (day == null || from == null || to == null || rate == null) {
+            throw new NullPointerException("Day, currencies and rate are required.");
+        }
+        return new DailyRate(day, from, to, rate);
+    }
+
+    /**
+     * @return The day of the rate.
+     */
+    public Day day() {
+        return day;
+    }
+
+    /**
+     * @return The currency converted from.
+     */
+    public Currency from() {
+        return from;
+    }
+
+    /**
+     * @return The currency converted to.
+     */
+    public Currency to() {
+        return to;
+    }
+
+    /**
+     * @return The units of to one unit of from buys.
+     */
+    public BigDecimal rate() {
+        return rate;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DailyRate)) return false;
+        DailyRate other = (DailyRate) o;
+        return day.equals(other.day) && from.equals(other.from) && to.equals(other.to)
+                && rate.compareTo(other.rate) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = day.hashCode();
+        result = 31 * result + from.hashCode();
+        result = 31 * result + to.hashCode();
+        return 31 * result + rate.stripTrailingZeros().hashCode();
+    }
+
+    /**
+     * @return The rate as <i>yyyy-MM-dd FROM/TO rate</i>.
+     */
+    @Override
+    public String toString() {
+        return day + " " + from + '/' + to + ' ' + rate.toPlainString();
+    }
+}
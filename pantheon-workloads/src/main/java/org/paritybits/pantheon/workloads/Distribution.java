@@ -0,0 +1,111 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Immutable;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks indexes from 0 up to a size, either uniformly or with a Zipf skew where index 0 is the most popular,
+ * index 1 the next and so on.  An exponent of 0 is uniform, around 1 is the usual "a few items get most of the
+ * traffic" shape and larger exponents concentrate further.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+@Immutable
+public final class Distribution {
+
+    private final int size;
+    private final double exponent;
+
+    //Cumulative probabilities of a skewed distribution, null for a uniform one.
+    private final double[] cumulative;
+
+    private Distribution(final int size, final double exponent) {
+        this.size = size;
+        this.exponent = exponent;
+        if (exponent == 0) {
+            cumulative = null;
+        } else {
+            cumulative = new double[size];
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += 1 / StrictMath.pow(i + 1, exponent);
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < size; i++) {
+                cumulative[i] /= total;
+            }
+        }
+    }
+
+    /**
+     * @param size The number of indexes.
+     * @return A distribution where every index is equally likely.
+     * @throws IllegalArgumentException If size is not positive.
+     */
+    public static Distribution uniform(final int size) {
+        return zipf(size, 0);
+    }
+
+    /**
+     * @param size     The number of indexes.
+     * @param exponent The skew, 0 for uniform.
+     * @return A distribution where index i is picked in proportion to 1 / (i + 1)^exponent.
+     * @throws IllegalArgumentException If size is not positive or exponent is negative.
+     */
+    public static Distribution zipf(final int size, final double exponent) {
+        if (size <= 0) throw new IllegalArgumentException("Size must be positive.");
+        if (!(exponent >= 0)) throw new IllegalArgumentException("Exponent cannot be negative.");
+        return new Distribution(size, exponent);
+    }
+
+    /**
+     * @return The number of indexes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The skew, 0 for uniform.
+     */
+    public double exponent() {
+        return exponent;
+    }
+
+    /**
+     * @param random The source of randomness.
+     * @return An index from 0 up to size.
+     */
+    public int sample(final SplittableRandom random) {
+        if (cumulative == null) return random.nextInt(size);
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, size - 1);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Distribution)) return false;
+        Distribution other = (Distribution) o;
+        return size == other.size && Double.compare(exponent, other.exponent) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Double.valueOf(exponent).hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return exponent == 0 ? "Uniform over " + size : "Zipf(" + exponent + ") over " + size;
+    }
+
+    //A standard normal value by the Box-Muller transform, SplittableRandom has no nextGaussian.
+    static double gaussian(final SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return StrictMath.sqrt(-2 * StrictMath.log(u)) * StrictMath.cos(2 * Math.PI * random.nextDouble());
+    }
+}
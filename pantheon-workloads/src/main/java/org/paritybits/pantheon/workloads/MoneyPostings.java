@@ -0,0 +1,132 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.plutus.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Money postings, as a ledger would see them.  The currency of each posting is picked with a Zipf skew over
+ * the currencies, the first being the most common, and the amount is spread evenly over its orders of
+ * magnitude, from one minor unit up to 10^amountDigits of them, in the scale of its currency.  One posting
+ * in twenty is negative.
+ * <p/>
+ * The default is 32 of the most traded currencies with a skew of 1.1, so USD, EUR and JPY make up about
+ * half of the postings, and amounts of up to seven digits of minor units.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class MoneyPostings extends Workload<Money> {
+
+    /**
+     * The default currencies, most traded first.
+     */
+    public static final List<Currency> DEFAULT_CURRENCIES = currencies("USD", "EUR", "JPY", "GBP", "CNY", "AUD",
+            "CAD", "CHF", "HKD", "SGD", "SEK", "KRW", "NOK", "NZD", "INR", "MXN", "TWD", "ZAR", "BRL", "DKK", "PLN",
+            "THB", "ILS", "IDR", "CZK", "AED", "TRY", "HUF", "CLP", "SAR", "PHP", "BHD");
+
+    private static final double DEFAULT_SKEW = 1.1;
+    private static final int DEFAULT_AMOUNT_DIGITS = 7;
+    private static final int NEGATIVE_ONE_IN = 20;
+
+    private final long size;
+    private final List<Currency> currencies;
+    private final Distribution currencyDistribution;
+    private final int amountDigits;
+
+    private MoneyPostings(final long seed, final long size, final List<Currency> currencies, final double skew,
+                          final int amountDigits) {
+        super(seed);
+        this.size = size;
+        this.currencies = currencies;
+        this.currencyDistribution = Distribution.zipf(currencies.size(), skew);
+        this.amountDigits = amountDigits;
+    }
+
+    /**
+     * @param seed The seed to generate from.
+     * @param size The number of postings.
+     * @return The postings.
+     * @throws IllegalArgumentException If size is negative.
+     */
+    public static MoneyPostings create(final long seed, final long size) {
+        if (size < 0) throw new IllegalArgumentException("Size cannot be negative.");
+        return new MoneyPostings(seed, size, DEFAULT_CURRENCIES, DEFAULT_SKEW, DEFAULT_AMOUNT_DIGITS);
+    }
+
+    /**
+     * @param newCurrencies The currencies to post in, most common first.
+     * @return These postings in the given currencies.
+     * @throws IllegalArgumentException If there are no currencies.
+     */
+    public MoneyPostings withCurrencies(final Currency... newCurrencies) {
+        if (newCurrencies.length == 0) throw new IllegalArgumentException("There must be a currency.");
+        return new MoneyPostings(seed(), size, Collections.unmodifiableList(new ArrayList<Currency>(
+                Arrays.asList(newCurrencies))), currencyDistribution.exponent(), amountDigits);
+    }
+
+    /**
+     * @param skew The Zipf exponent of the currencies, 0 for every currency being as common.
+     * @return These postings with the given skew.
+     * @throws IllegalArgumentException If skew is negative.
+     */
+    public MoneyPostings withCurrencySkew(final double skew) {
+        return new MoneyPostings(seed(), size, currencies, skew, amountDigits);
+    }
+
+    /**
+     * @param digits The most digits of minor units an amount can have, from 1 to 18.
+     * @return These postings with amounts up to the given size.
+     * @throws IllegalArgumentException If digits is out of range.
+     */
+    public MoneyPostings withAmountDigits(final int digits) {
+        if (digits < 1 || digits > 18) throw new IllegalArgumentException("Digits must be from 1 to 18.");
+        return new MoneyPostings(seed(), size, currencies, currencyDistribution.exponent(), digits);
+    }
+
+    /**
+     * @return The number of postings.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return The currencies posted in, most common first.
+     */
+    public List<Currency> currencies() {
+        return currencies;
+    }
+
+    Iterator<Money> generate(final SplittableRandom random) {
+        return new Generator<Money>(size) {
+            Money generate() {
+                Currency currency = currencies.get(currencyDistribution.sample(random));
+                long minorUnits = (long) StrictMath.pow(10, random.nextDouble() * amountDigits);
+                if (random.nextInt(NEGATIVE_ONE_IN) == 0) minorUnits = -minorUnits;
+                return Money.valueOf(BigDecimal.valueOf(minorUnits, Math.max(0, currency.getDefaultFractionDigits())),
+                        currency);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return size + " postings in " + currencies.size() + " currencies from seed " + seed();
+    }
+
+    private static List<Currency> currencies(final String... codes) {
+        List<Currency> currencies = new ArrayList<Currency>(codes.length);
+        for (String code : codes) {
+            currencies.add(Currency.getInstance(code));
+        }
+        return Collections.unmodifiableList(currencies);
+    }
+}
@@ -0,0 +1,70 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Immutable;
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.janus.Period;
+
+/**
+ * The return over a period.
+ *
+ * @author andrew
+ * @version 0.9
+ * @see org.paritybits.pantheon.workloads.ReturnsSeries
+ */
+@Immutable
+public final class PeriodReturn {
+
+    private final Period period;
+    private final Percentage rate;
+
+    private PeriodReturn(final Period period, final Percentage rate) {
+        this.period = period;
+        this.rate = rate;
+    }
+
+    /**
+     * @param period The period of the return.
+     * @param rate   The return over the period.
+     * @return The return.
+     * @throws NullPointerException If period or rate is null.
+     */
+    public static PeriodReturn create(final Period period, final Percentage rate) {
+        if (period == null || rate == null) throw new NullPointerException("Period and rate are required.");
+        return new PeriodReturn(period, rate);
+    }
+
+    /**
+     * @return The period of the return.
+     */
+    public Period period() {
+        return period;
+    }
+
+    /**
+     * @return The return over the period.
+     */
+    public Percentage rate() {
+        return rate;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PeriodReturn)) return false;
+        PeriodReturn other = (PeriodReturn) o;
+        return period.equals(other.period) && rate.equals(other.rate);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * period.hashCode() + rate.hashCode();
+    }
+
+    /**
+     * @return The return as <i>period rate</i>.
+     */
+    @Override
+    public String toString() {
+        return period + " " + rate;
+    }
+}
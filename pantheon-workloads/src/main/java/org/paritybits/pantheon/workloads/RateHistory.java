@@ -0,0 +1,143 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Daily exchange rates from a base currency to each of a set of currencies over a range of days.  Each rate
+ * starts somewhere between 0.1 and 1000 and follows its own random walk, moving by the daily volatility on a
+ * typical day, and is rounded to six decimal places.  The rates of a day come in the order of the currencies,
+ * days in the order of the range.
+ * <p/>
+ * The default is USD against the other default currencies of MoneyPostings with a daily volatility of 0.6%.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class RateHistory extends Workload<DailyRate> {
+
+    private static final Currency DEFAULT_BASE = Currency.getInstance("USD");
+    private static final double DEFAULT_VOLATILITY = 0.006;
+    private static final int RATE_SCALE = 6;
+    private static final double LOWEST_START = StrictMath.log(0.1);
+    private static final double HIGHEST_START = StrictMath.log(1000);
+
+    private final Range<Day> days;
+    private final Currency base;
+    private final List<Currency> currencies;
+    private final double volatility;
+
+    private RateHistory(final long seed, final Range<Day> days, final Currency base, final List<Currency> currencies,
+                        final double volatility) {
+        super(seed);
+        this.days = days;
+        this.base = base;
+        this.currencies = currencies;
+        this.volatility = volatility;
+    }
+
+    /**
+     * @param seed The seed to generate from.
+     * @param days The days to generate rates for.
+     * @return The rate history.
+     * @throws NullPointerException If days is null.
+     */
+    public static RateHistory create(final long seed, final Range<Day> days) {
+        if (days == null) throw new NullPointerException("Days cannot be null.");
+        return new RateHistory(seed, days, DEFAULT_BASE, withoutBase(DEFAULT_BASE, MoneyPostings.DEFAULT_CURRENCIES),
+                DEFAULT_VOLATILITY);
+    }
+
+    /**
+     * @param newBase       The currency every rate converts from.
+     * @param newCurrencies The currencies rates convert to, the base is left out if it is one of them.
+     * @return This history with the given currencies.
+     * @throws NullPointerException If newBase is null.
+     */
+    public RateHistory withCurrencies(final Currency newBase, final Currency... newCurrencies) {
+        if (newBase == null) throw new NullPointerException("Base cannot be null.");
+        return new RateHistory(seed(), days, newBase, withoutBase(newBase, Arrays.asList(newCurrencies)), volatility);
+    }
+
+    /**
+     * @param dailyVolatility The standard deviation of the daily change in a rate, 0.01 for 1%.
+     * @return This history with the given volatility.
+     * @throws IllegalArgumentException If dailyVolatility is negative.
+     */
+    public RateHistory withVolatility(final double dailyVolatility) {
+        if (!(dailyVolatility >= 0)) throw new IllegalArgumentException("Volatility cannot be negative.");
+        return new RateHistory(seed(), days, base, currencies, dailyVolatility);
+    }
+
+    /**
+     * @return The days rates are generated for.
+     */
+    public Range<Day> days() {
+        return days;
+    }
+
+    /**
+     * @return The currency every rate converts from.
+     */
+    public Currency base() {
+        return base;
+    }
+
+    /**
+     * @return The currencies the rates convert to.
+     */
+    public List<Currency> currencies() {
+        return currencies;
+    }
+
+    Iterator<DailyRate> generate(final SplittableRandom random) {
+        final Iterator<Day> dayIterator = days.iterator();
+        final double[] logRates = new double[currencies.size()];
+        for (int i = 0; i < logRates.length; i++) {
+            logRates[i] = LOWEST_START + random.nextDouble() * (HIGHEST_START - LOWEST_START);
+        }
+        return new Iterator<DailyRate>() {
+            private Day day;
+            private int currency = currencies.size();
+
+            public boolean hasNext() {
+                return !currencies.isEmpty() && (currency < currencies.size() || dayIterator.hasNext());
+            }
+
+            public DailyRate next() {
+                if (currency == currencies.size()) {
+                    day = dayIterator.next();
+                    currency = 0;
+                }
+                int index = currency++;
+                BigDecimal rate = BigDecimal.valueOf(Math.round(StrictMath.exp(logRates[index]) * 1e6), RATE_SCALE);
+                logRates[index] += volatility * Distribution.gaussian(random);
+                return DailyRate.create(day, base, currencies.get(index), rate);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Workloads cannot be changed.");
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return base + " rates against " + currencies.size() + " currencies over " + days + " from seed " + seed();
+    }
+
+    private static List<Currency> withoutBase(final Currency base, final List<Currency> currencies) {
+        List<Currency> withoutBase = new ArrayList<Currency>(currencies);
+        withoutBase.remove(base);
+        return Collections.unmodifiableList(withoutBase);
+    }
+}
@@ -0,0 +1,119 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.Period;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.plutus.returns.Returns;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Monthly returns over a range of months, normally distributed around a mean and rounded to a hundredth of a
+ * basis point.  The default is a mean of 0.6% with a volatility of 4% a month, about what a broad equity
+ * index has had.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class ReturnsSeries extends Workload<PeriodReturn> {
+
+    private static final double DEFAULT_MEAN = 0.006;
+    private static final double DEFAULT_VOLATILITY = 0.04;
+    private static final int RATE_SCALE = 6;
+
+    private final Range<Month> months;
+    private final double mean;
+    private final double volatility;
+
+    private ReturnsSeries(final long seed, final Range<Month> months, final double mean, final double volatility) {
+        super(seed);
+        this.months = months;
+        this.mean = mean;
+        this.volatility = volatility;
+    }
+
+    /**
+     * @param seed   The seed to generate from.
+     * @param months The months to generate returns for.
+     * @return The returns.
+     * @throws NullPointerException If months is null.
+     */
+    public static ReturnsSeries create(final long seed, final Range<Month> months) {
+        if (months == null) throw new NullPointerException("Months cannot be null.");
+        return new ReturnsSeries(seed, months, DEFAULT_MEAN, DEFAULT_VOLATILITY);
+    }
+
+    /**
+     * @param newMean       The mean monthly return.
+     * @param newVolatility The standard deviation of the monthly return.
+     * @return These returns with the given mean and volatility.
+     * @throws NullPointerException     If either is null.
+     * @throws IllegalArgumentException If newVolatility is negative.
+     */
+    public ReturnsSeries withDistribution(final Percentage newMean, final Percentage newVolatility) {
+        if (newMean == null || newVolatility == null) throw new NullPointerException("Mean and volatility are required.");
+        if (newVolatility.value().signum() < 0) throw new IllegalArgumentException("Volatility cannot be negative.");
+        return new ReturnsSeries(seed(), months, newMean.doubleValue(), newVolatility.doubleValue());
+    }
+
+    /**
+     * @return The months returns are generated for.
+     */
+    public Range<Month> months() {
+        return months;
+    }
+
+    /**
+     * Collects the returns into a Returns.  Unlike iterating this holds every return, one per month.
+     *
+     * @return A Returns with the generated return for each month, throwing IllegalArgumentException for any
+     *         other period.
+     */
+    public Returns toReturns() {
+        final Map<Period, Percentage> rates = new HashMap<Period, Percentage>();
+        for (PeriodReturn periodReturn : this) {
+            rates.put(periodReturn.period(), periodReturn.rate());
+        }
+        return new Returns() {
+            public Percentage returnForPeriod(final Period period) {
+                Percentage rate = rates.get(period);
+                if (rate == null) throw new IllegalArgumentException("No return for " + period + ".");
+                return rate;
+            }
+
+            @Override
+            public String toString() {
+                return ReturnsSeries.this.toString();
+            }
+        };
+    }
+
+    Iterator<PeriodReturn> generate(final SplittableRandom random) {
+        final Iterator<Month> monthIterator = months.iterator();
+        return new Iterator<PeriodReturn>() {
+            public boolean hasNext() {
+                return monthIterator.hasNext();
+            }
+
+            public PeriodReturn next() {
+                double rate = mean + volatility * Distribution.gaussian(random);
+                return PeriodReturn.create(monthIterator.next(),
+                        Percentage.valueOf(BigDecimal.valueOf(Math.round(rate * 1e6), RATE_SCALE)));
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Workloads cannot be changed.");
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "Monthly returns over " + months + " from seed " + seed();
+    }
+}
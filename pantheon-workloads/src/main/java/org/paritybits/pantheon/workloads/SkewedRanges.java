@@ -0,0 +1,99 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ranges of days inside a window, as reports and queries ask for them.  Starts are skewed towards the end of
+ * the window, recent days being asked about most, and lengths are skewed towards a single day, so most ranges
+ * are short and recent with a long tail of long and old ones.  A range that would run past the end of the
+ * window is cut short at it.
+ * <p/>
+ * The defaults are a skew of 1 for starts and 1.2 for lengths.  The days of the window are held in an array.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class SkewedRanges extends Workload<Range<Day>> {
+
+    private static final double DEFAULT_START_SKEW = 1;
+    private static final double DEFAULT_LENGTH_SKEW = 1.2;
+
+    private final long size;
+    private final Range<Day> window;
+    private final Day[] days;
+    private final Distribution starts;
+    private final Distribution lengths;
+
+    private SkewedRanges(final long seed, final long size, final Range<Day> window, final Day[] days,
+                         final Distribution starts, final Distribution lengths) {
+        super(seed);
+        this.size = size;
+        this.window = window;
+        this.days = days;
+        this.starts = starts;
+        this.lengths = lengths;
+    }
+
+    /**
+     * @param seed      The seed to generate from.
+     * @param size      The number of ranges.
+     * @param window    The days every range lies in.
+     * @param maxLength The most days a range can have.
+     * @return The ranges.
+     * @throws NullPointerException     If window is null.
+     * @throws IllegalArgumentException If size is negative or maxLength is not positive.
+     */
+    public static SkewedRanges create(final long seed, final long size, final Range<Day> window, final int maxLength) {
+        if (window == null) throw new NullPointerException("Window cannot be null.");
+        if (size < 0) throw new IllegalArgumentException("Size cannot be negative.");
+        List<Day> windowDays = window.asList();
+        return new SkewedRanges(seed, size, window, windowDays.toArray(new Day[windowDays.size()]),
+                Distribution.zipf(windowDays.size(), DEFAULT_START_SKEW),
+                Distribution.zipf(maxLength, DEFAULT_LENGTH_SKEW));
+    }
+
+    /**
+     * @param startSkew  The Zipf exponent of the starts, 0 for starts spread evenly over the window.
+     * @param lengthSkew The Zipf exponent of the lengths, 0 for lengths spread evenly up to the maximum.
+     * @return These ranges with the given skews.
+     * @throws IllegalArgumentException If either skew is negative.
+     */
+    public SkewedRanges withSkew(final double startSkew, final double lengthSkew) {
+        return new SkewedRanges(seed(), size, window, days, Distribution.zipf(days.length, startSkew),
+                Distribution.zipf(lengths.size(), lengthSkew));
+    }
+
+    /**
+     * @return The number of ranges.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return The days every range lies in.
+     */
+    public Range<Day> window() {
+        return window;
+    }
+
+    Iterator<Range<Day>> generate(final SplittableRandom random) {
+        return new Generator<Range<Day>>(size) {
+            Range<Day> generate() {
+                int start = days.length - 1 - starts.sample(random);
+                int end = Math.min(days.length - 1, start + lengths.sample(random));
+                return Range.create(days[start], days[end]);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return size + " ranges in " + window + " from seed " + seed();
+    }
+}
@@ -0,0 +1,132 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * A repeatable stream of generated values.  Every iterator starts again from the seed, so iterating twice
+ * gives the same values in the same order, on any JVM, and nothing is held in memory beyond what the next
+ * value needs.  Workloads are immutable, the with methods of each one return a new workload.
+ * <p/>
+ * A workload can be written to a file in the binary form of the standard CodecRegistry, to be read back with
+ * a WorkloadReader, or as one line of toString per value.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <T> The type of value generated.
+ * @see org.paritybits.pantheon.workloads.WorkloadReader
+ */
+public abstract class Workload<T> implements Iterable<T> {
+
+    private final long seed;
+
+    Workload(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return The seed the values are generated from.
+     */
+    public final long seed() {
+        return seed;
+    }
+
+    /**
+     * @return An iterator over the values, starting from the seed.
+     */
+    public final Iterator<T> iterator() {
+        return generate(new SplittableRandom(seed));
+    }
+
+    /**
+     * @param random The randomness to generate from, seeded with the seed of this workload.
+     * @return An iterator that generates the values.
+     */
+    abstract Iterator<T> generate(SplittableRandom random);
+
+    /**
+     * Writes every value, each with its codec tag, followed by a null.
+     *
+     * @param out Where to write, not closed.
+     * @return The number of values written.
+     * @throws IOException If out throws one.
+     */
+    public long writeTo(final OutputStream out) throws IOException {
+        CodecRegistry registry = CodecRegistry.standard();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        long count = 0;
+        for (T value : this) {
+            registry.write(value, data);
+            count++;
+        }
+        registry.write(null, data);
+        data.flush();
+        return count;
+    }
+
+    /**
+     * @param file The file to write the values to, replaced if it exists.
+     * @return The number of values written.
+     * @throws IOException If the file cannot be written.
+     */
+    public long writeTo(final File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            return writeTo(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @param writer Where to write the values, one toString per line.  Not closed.
+     * @return The number of values written.
+     * @throws IOException If writer throws one.
+     */
+    public long writeLinesTo(final Writer writer) throws IOException {
+        long count = 0;
+        for (T value : this) {
+            writer.write(value.toString());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    //An iterator that generates a fixed number of values.
+    abstract static class Generator<T> implements Iterator<T> {
+        private final long size;
+        private long generated;
+
+        Generator(final long size) {
+            this.size = size;
+        }
+
+        abstract T generate();
+
+        public boolean hasNext() {
+            return generated < size;
+        }
+
+        public T next() {
+            if (generated >= size) throw new NoSuchElementException();
+            generated++;
+            return generate();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Workloads cannot be changed.");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.common.codec.Codec;
+import org.paritybits.pantheon.common.codec.CodecProvider;
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+import org.paritybits.pantheon.common.codec.CodecSupport;
+import org.paritybits.pantheon.janus.Period;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Currency;
+
+/**
+ * The codecs for the values workloads generate that are not pantheon types of their own.  Days, periods and
+ * percentages are written with their own codecs.
+ * <p/>
+ * Tags: 48 DailyRate, 49 PeriodReturn.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class WorkloadCodecs implements CodecProvider {
+
+    public void registerCodecs(final CodecRegistry registry) {
+        registry.register(48, DailyRate.class, new Codec<DailyRate>() {
+            public void write(final DailyRate value, final DataOutput out) throws IOException {
+                registry.write(value.day(), out);
+                CodecSupport.writeString(value.from().getCurrencyCode(), out);
+                CodecSupport.writeString(value.to().getCurrencyCode(), out);
+                CodecSupport.writeDecimal(value.rate(), out);
+            }
+
+            public DailyRate read(final DataInput in) throws IOException {
+                Day day = registry.read(in, Day.class);
+                Currency from = currency(CodecSupport.readString(in));
+                Currency to = currency(CodecSupport.readString(in));
+                return DailyRate.create(day, from, to, CodecSupport.readDecimal(in));
+            }
+        });
+        registry.register(49, PeriodReturn.class, new Codec<PeriodReturn>() {
+            public void write(final PeriodReturn value, final DataOutput out) throws IOException {
+                registry.write(value.period(), out);
+                registry.write(value.rate(), out);
+            }
+
+            public PeriodReturn read(final DataInput in) throws IOException {
+                Period period = registry.read(in, Period.class);
+                return PeriodReturn.create(period, registry.read(in, Percentage.class));
+            }
+        });
+    }
+
+    private static Currency currency(final String code) throws IOException {
+        try {
+            return Currency.getInstance(code);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown currency " + code + ".");
+        }
+    }
+}
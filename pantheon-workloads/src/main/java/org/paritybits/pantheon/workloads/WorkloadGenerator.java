@@ -0,0 +1,67 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes a workload to a file from the command line, so load tests outside the JVM can share the inputs of
+ * the benchmarks:
+ * <pre>
+ * java org.paritybits.pantheon.workloads.WorkloadGenerator postings|rates|returns|ranges seed size file
+ * </pre>
+ * The size is the number of postings or ranges, or the number of days of rates or months of returns from
+ * 2000-01-01.  The file is in the binary form WorkloadReader reads.
+ *
+ * @author andrew
+ * @version 0.9
+ */
+public final class WorkloadGenerator {
+
+    private static final Day FIRST_DAY = Day.valueOf("2000-01-01");
+    private static final Month FIRST_MONTH = Month.valueOf("2000-01");
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private WorkloadGenerator() {
+    }
+
+    /**
+     * @param args The kind of workload, the seed, the size and the file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: WorkloadGenerator postings|rates|returns|ranges seed size file");
+            System.exit(1);
+        }
+        Workload<?> workload = create(args[0], Long.parseLong(args[1]), Integer.parseInt(args[2]));
+        long count = workload.writeTo(new File(args[3]));
+        System.out.println("Wrote " + count + " values of " + workload + " to " + args[3]);
+    }
+
+    /**
+     * @param kind The kind of workload: postings, rates, returns or ranges.
+     * @param seed The seed to generate from.
+     * @param size The number of postings or ranges, days of rates or months of returns.
+     * @return The workload.
+     * @throws IllegalArgumentException If kind is not known or size is not positive.
+     */
+    static Workload<?> create(final String kind, final long seed, final int size) {
+        if (size <= 0) throw new IllegalArgumentException("Size must be positive.");
+        if ("postings".equals(kind)) {
+            return MoneyPostings.create(seed, size);
+        } else if ("rates".equals(kind)) {
+            return RateHistory.create(seed, Range.create(FIRST_DAY, FIRST_DAY.roll(size - 1)));
+        } else if ("returns".equals(kind)) {
+            return ReturnsSeries.create(seed, Range.create(FIRST_MONTH, FIRST_MONTH.roll(size - 1)));
+        } else if ("ranges".equals(kind)) {
+            Day lastDay = Day.valueOf("2019-12-31");
+            return SkewedRanges.create(seed, size, Range.create(FIRST_DAY, lastDay), MAX_RANGE_DAYS);
+        } else {
+            throw new IllegalArgumentException("Unknown workload " + kind + ".");
+        }
+    }
+}
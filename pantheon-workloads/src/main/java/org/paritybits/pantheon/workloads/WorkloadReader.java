@@ -0,0 +1,95 @@
+package org.paritybits.pantheon.workloads;
+
+import org.paritybits.pantheon.common.codec.CodecRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads back the values a Workload wrote, one at a time.  The stream is closed when the last value has been
+ * read or when the reader is closed.  Not thread safe.
+ *
+ * @author andrew
+ * @version 0.9
+ * @param <T> The type of value read.
+ * @see org.paritybits.pantheon.workloads.Workload#writeTo(java.io.OutputStream)
+ */
+public final class WorkloadReader<T> implements Iterator<T>, Closeable {
+
+    private final CodecRegistry registry = CodecRegistry.standard();
+    private final DataInputStream in;
+    private final Class<T> type;
+    private T next;
+    private boolean done;
+
+    private WorkloadReader(final InputStream in, final Class<T> type) {
+        if (type == null) throw new NullPointerException("Type cannot be null.");
+        this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        this.type = type;
+    }
+
+    /**
+     * @param in   The stream a workload was written to.
+     * @param type The type of value in the stream.
+     * @param <T>  The type of value in the stream.
+     * @return A reader over the values in the stream.
+     */
+    public static <T> WorkloadReader<T> open(final InputStream in, final Class<T> type) {
+        if (in == null) throw new NullPointerException("Input cannot be null.");
+        return new WorkloadReader<T>(in, type);
+    }
+
+    /**
+     * @param file The file a workload was written to.
+     * @param type The type of value in the file.
+     * @param <T>  The type of value in the file.
+     * @return A reader over the values in the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static <T> WorkloadReader<T> open(final File file, final Class<T> type) throws IOException {
+        return open(new FileInputStream(file), type);
+    }
+
+    /**
+     * @return true if there is another value.
+     * @throws IllegalStateException If the stream cannot be read.
+     */
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = registry.read(in, type);
+                if (next == null) close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read the workload.", e);
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * @return The next value.
+     * @throws NoSuchElementException If there are no more values.
+     */
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        T value = next;
+        next = null;
+        return value;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("Workloads cannot be changed.");
+    }
+
+    public void close() throws IOException {
+        done = true;
+        in.close();
+    }
+}
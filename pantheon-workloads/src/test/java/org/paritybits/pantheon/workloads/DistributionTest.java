@@ -0,0 +1,53 @@
+package org.paritybits.pantheon.workloads;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class DistributionTest {
+
+    @Test
+    public void uniform() {
+        int[] counts = sample(Distribution.uniform(10), 100000);
+        for (int count : counts) {
+            assertEquals(10000, count, 500);
+        }
+    }
+
+    @Test
+    public void zipf() {
+        int[] counts = sample(Distribution.zipf(100, 1), 100000);
+        //With an exponent of 1 index i is picked 1 / (i + 1) as often as index 0.
+        assertEquals(counts[0] / 2.0, counts[1], counts[0] * 0.05);
+        assertEquals(counts[0] / 10.0, counts[9], counts[0] * 0.02);
+        for (int i = 10; i < counts.length; i++) {
+            assertTrue(counts[i] < counts[0] / 5);
+        }
+    }
+
+    @Test
+    public void singleIndex() {
+        assertEquals(0, Distribution.zipf(1, 2).sample(new SplittableRandom(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeExponent() {
+        Distribution.zipf(10, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyDistribution() {
+        Distribution.uniform(0);
+    }
+
+    private static int[] sample(final Distribution distribution, final int samples) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[distribution.size()];
+        for (int i = 0; i < samples; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+}
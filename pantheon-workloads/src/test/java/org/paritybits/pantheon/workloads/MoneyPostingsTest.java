@@ -0,0 +1,76 @@
+package org.paritybits.pantheon.workloads;
+
+import org.junit.Test;
+import org.paritybits.pantheon.plutus.Money;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MoneyPostingsTest {
+
+    @Test
+    public void sameSeedSamePostings() {
+        MoneyPostings postings = MoneyPostings.create(7, 1000);
+        assertEquals(list(postings), list(postings));
+        assertEquals(list(postings), list(MoneyPostings.create(7, 1000)));
+        assertFalse(list(postings).equals(list(MoneyPostings.create(8, 1000))));
+    }
+
+    @Test
+    public void goldenValues() {
+        //The amounts come from StrictMath, so a seed gives these on every JVM.
+        Iterator<Money> postings = MoneyPostings.create(7, 1000).iterator();
+        for (String expected : new String[]{"0.01 EUR", "14.69 CNY", "197 JPY", "0.05 EUR", "12569.62 THB"}) {
+            assertEquals(expected, postings.next().toString());
+        }
+    }
+
+    @Test
+    public void sizeAndCurrencies() {
+        Map<Currency, Integer> counts = new HashMap<Currency, Integer>();
+        int size = 0;
+        for (Money money : MoneyPostings.create(1, 50000)) {
+            Integer count = counts.get(money.currency());
+            counts.put(money.currency(), count == null ? 1 : count + 1);
+            assertEquals(Math.max(0, money.currency().getDefaultFractionDigits()), money.amount().scale());
+            size++;
+        }
+        assertEquals(50000, size);
+        assertTrue(MoneyPostings.DEFAULT_CURRENCIES.size() >= 30);
+        assertEquals(MoneyPostings.DEFAULT_CURRENCIES.size(), counts.size());
+        assertTrue(counts.get(Currency.getInstance("USD")) > 5 * counts.get(Currency.getInstance("BHD")));
+    }
+
+    @Test
+    public void configured() {
+        Currency usd = Currency.getInstance("USD");
+        Currency jpy = Currency.getInstance("JPY");
+        for (Money money : MoneyPostings.create(3, 1000).withCurrencies(usd, jpy).withAmountDigits(2)) {
+            assertTrue(money.currency().equals(usd) || money.currency().equals(jpy));
+            assertTrue(money.amount().unscaledValue().abs().intValue() < 100);
+        }
+    }
+
+    @Test
+    public void streams() {
+        Iterator<Money> iterator = MoneyPostings.create(1, Long.MAX_VALUE).iterator();
+        for (int i = 0; i < 100000; i++) {
+            assertNotNull(iterator.next());
+        }
+        assertTrue(iterator.hasNext());
+    }
+
+    private static List<Money> list(final Iterable<Money> postings) {
+        List<Money> list = new ArrayList<Money>();
+        for (Money money : postings) {
+            list.add(money);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,68 @@
+package org.paritybits.pantheon.workloads;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import java.util.Currency;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class RateHistoryTest {
+
+    private final Range<Day> days = Range.create(Day.valueOf("2010-01-01"), Day.valueOf("2010-12-31"));
+
+    @Test
+    public void ratePerCurrencyPerDay() {
+        RateHistory history = RateHistory.create(5, days);
+        assertEquals(MoneyPostings.DEFAULT_CURRENCIES.size() - 1, history.currencies().size());
+        assertFalse(history.currencies().contains(history.base()));
+        int count = 0;
+        Day day = days.from().prior();
+        for (DailyRate rate : history) {
+            int currency = count % history.currencies().size();
+            if (currency == 0) day = day.next();
+            assertEquals(history.base(), rate.from());
+            assertEquals(history.currencies().get(currency), rate.to());
+            assertEquals(day, rate.day());
+            assertTrue(rate.rate().signum() > 0);
+            count++;
+        }
+        assertEquals(365 * history.currencies().size(), count);
+    }
+
+    @Test
+    public void goldenValues() {
+        //The rates come from StrictMath, so a seed gives these on every JVM.
+        Iterator<DailyRate> rates = RateHistory.create(5, days).iterator();
+        for (String expected : new String[]{"2010-01-01 USD/EUR 3.524294", "2010-01-01 USD/JPY 102.147576",
+                "2010-01-01 USD/GBP 0.852779", "2010-01-01 USD/CNY 0.249665", "2010-01-01 USD/AUD 0.564730"}) {
+            assertEquals(expected, rates.next().toString());
+        }
+    }
+
+    @Test
+    public void randomWalk() {
+        Currency eur = Currency.getInstance("EUR");
+        RateHistory history = RateHistory.create(5, days).withCurrencies(Currency.getInstance("USD"), eur)
+                .withVolatility(0.01);
+        Iterator<DailyRate> rates = history.iterator();
+        double previous = rates.next().rate().doubleValue();
+        while (rates.hasNext()) {
+            double rate = rates.next().rate().doubleValue();
+            assertTrue(Math.abs(Math.log(rate / previous)) < 0.06);
+            previous = rate;
+        }
+    }
+
+    @Test
+    public void repeatable() {
+        Iterator<DailyRate> first = RateHistory.create(9, days).iterator();
+        Iterator<DailyRate> second = RateHistory.create(9, days).iterator();
+        while (first.hasNext()) {
+            assertEquals(first.next(), second.next());
+        }
+        assertFalse(second.hasNext());
+    }
+}
@@ -0,0 +1,60 @@
+package org.paritybits.pantheon.workloads;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Percentage;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.plutus.returns.Returns;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class ReturnsSeriesTest {
+
+    private final Range<Month> months = Range.create(Month.valueOf("1900-01"), Month.valueOf("2099-12"));
+
+    @Test
+    public void meanAndVolatility() {
+        double sum = 0;
+        double sumOfSquares = 0;
+        int count = 0;
+        for (PeriodReturn periodReturn : ReturnsSeries.create(11, months)) {
+            double rate = periodReturn.rate().doubleValue();
+            sum += rate;
+            sumOfSquares += rate * rate;
+            count++;
+        }
+        assertEquals(2400, count);
+        double mean = sum / count;
+        assertEquals(0.006, mean, 0.003);
+        assertEquals(0.04, Math.sqrt(sumOfSquares / count - mean * mean), 0.003);
+    }
+
+    @Test
+    public void goldenValues() {
+        //The returns come from StrictMath, so a seed gives these on every JVM.
+        Iterator<PeriodReturn> returns = ReturnsSeries.create(11, months).iterator();
+        for (String expected : new String[]{"1900-01 0.3293%", "1900-02 -5.1002%", "1900-03 -1.6768%",
+                "1900-04 0.9448%", "1900-05 4.1185%"}) {
+            assertEquals(expected, returns.next().toString());
+        }
+    }
+
+    @Test
+    public void toReturns() {
+        ReturnsSeries series = ReturnsSeries.create(11, months).withDistribution(
+                Percentage.valueOf("1%"), Percentage.ZERO);
+        Returns returns = series.toReturns();
+        assertEquals(Percentage.valueOf("1%"), returns.returnForPeriod(Month.valueOf("1950-06")));
+        for (PeriodReturn periodReturn : series) {
+            assertEquals(periodReturn.rate(), returns.returnForPeriod(periodReturn.period()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noReturnOutsideTheSeries() {
+        ReturnsSeries.create(11, months).toReturns().returnForPeriod(Day.valueOf("1950-06-01"));
+    }
+}
@@ -0,0 +1,42 @@
+package org.paritybits.pantheon.workloads;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+
+import static org.junit.Assert.*;
+
+public class SkewedRangesTest {
+
+    private final Range<Day> window = Range.create(Day.valueOf("2000-01-01"), Day.valueOf("2009-12-31"));
+
+    @Test
+    public void rangesLieInTheWindow() {
+        int count = 0;
+        int recent = 0;
+        int short_ = 0;
+        Day recentStart = Day.valueOf("2009-01-01");
+        for (Range<Day> range : SkewedRanges.create(3, 10000, window, 90)) {
+            assertTrue(range.from().compareTo(window.from()) >= 0);
+            assertTrue(range.to().compareTo(window.to()) <= 0);
+            assertTrue(range.from().compareTo(range.to()) <= 0);
+            if (range.from().compareTo(recentStart) >= 0) recent++;
+            if (range.from().equals(range.to())) short_++;
+            count++;
+        }
+        assertEquals(10000, count);
+        //The last 10% of the window gets most of the starts and a single day is the most common length.
+        assertTrue(recent > 6000);
+        assertTrue(short_ > 1000);
+    }
+
+    @Test
+    public void unskewed() {
+        int recent = 0;
+        Day recentStart = Day.valueOf("2009-01-01");
+        for (Range<Day> range : SkewedRanges.create(3, 10000, window, 90).withSkew(0, 0)) {
+            if (range.from().compareTo(recentStart) >= 0) recent++;
+        }
+        assertEquals(1000, recent, 150);
+    }
+}
@@ -0,0 +1,73 @@
+package org.paritybits.pantheon.workloads;
+
+import org.junit.Test;
+import org.paritybits.pantheon.common.Range;
+import org.paritybits.pantheon.janus.simple.Day;
+import org.paritybits.pantheon.janus.simple.Month;
+import org.paritybits.pantheon.plutus.Money;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class WorkloadReaderTest {
+
+    @Test
+    public void postingsThroughAFile() throws IOException {
+        MoneyPostings postings = MoneyPostings.create(1, 20000);
+        File file = File.createTempFile("postings", ".bin");
+        try {
+            assertEquals(20000, postings.writeTo(file));
+            //About eight bytes a posting.
+            assertTrue(file.length() < 20000 * 10);
+            WorkloadReader<Money> reader = WorkloadReader.open(file, Money.class);
+            assertSameValues(postings.iterator(), reader);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void everyWorkload() throws IOException {
+        assertRoundTrip(RateHistory.create(2, Range.create(Day.valueOf("2011-01-01"), Day.valueOf("2011-01-31"))),
+                DailyRate.class);
+        assertRoundTrip(ReturnsSeries.create(2, Range.create(Month.valueOf("2000-01"), Month.valueOf("2009-12"))),
+                PeriodReturn.class);
+        assertRoundTrip(SkewedRanges.create(2, 500, Range.create(Day.valueOf("2011-01-01"),
+                Day.valueOf("2011-12-31")), 30), Range.class);
+    }
+
+    @Test
+    public void lines() throws IOException {
+        StringWriter writer = new StringWriter();
+        assertEquals(3, MoneyPostings.create(1, 3).writeLinesTo(writer));
+        String[] lines = writer.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(MoneyPostings.create(1, 3).iterator().next().toString(), lines[0]);
+    }
+
+    @Test
+    public void generator() {
+        assertTrue(WorkloadGenerator.create("rates", 1, 10) instanceof RateHistory);
+        assertEquals(10, ((ReturnsSeries) WorkloadGenerator.create("returns", 1, 10)).months().asList().size());
+    }
+
+    private static <T> void assertRoundTrip(final Workload<?> workload, final Class<T> type) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workload.writeTo(out);
+        assertSameValues(workload.iterator(), WorkloadReader.open(new ByteArrayInputStream(out.toByteArray()), type));
+    }
+
+    private static void assertSameValues(final Iterator<?> expected, final Iterator<?> actual) {
+        while (expected.hasNext()) {
+            assertTrue(actual.hasNext());
+            assertEquals(expected.next(), actual.next());
+        }
+        assertFalse(actual.hasNext());
+    }
+}